@@ -0,0 +1,110 @@
+package com.calendarapi.lbprojektm165calendarapi.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Vergleicht ein JMH-Ergebnis (JSON, {@code -rf json}) mit der eingecheckten Baseline.
+ *
+ * <p>Alle Benchmarks laufen im Modus {@code AverageTime}; ein höherer Wert ist also langsamer.
+ * Als Regression gilt ein Ergebnis nur, wenn es um mehr als die Toleranz über der Baseline liegt
+ * <em>und</em> sich die Fehlerbereiche ({@code scoreError}, 99,9 %-Konfidenz) nicht überlappen, also
+ * {@code aktuell - fehler > baseline + fehler}. Abweichungen innerhalb des Rauschens werden nur markiert.
+ * Benchmarks ohne Baseline-Eintrag werden nur gemeldet.</p>
+ *
+ * <p>Aufruf: {@code BaselineComparator <baseline.json> <result.json> <toleranz> [failOnRegression]},
+ * z.B. {@code 0.25} für 25 %. Nur mit {@code failOnRegression = true} endet das Programm bei einer
+ * Regression mit Exit-Code 1, sodass der Maven-Build fehlschlägt.</p>
+ *
+ * @author Arvin
+ */
+public final class BaselineComparator {
+
+    private BaselineComparator() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 3 && args.length != 4) {
+            System.err.println("Aufruf: BaselineComparator <baseline.json> <result.json> <toleranz> [failOnRegression]");
+            System.exit(2);
+        }
+        File baselineFile = new File(args[0]);
+        if (!baselineFile.isFile()) {
+            System.out.println("Keine Baseline unter " + baselineFile + " – Vergleich übersprungen.");
+            return;
+        }
+        Map<String, Score> baseline = read(baselineFile);
+        Map<String, Score> current = read(new File(args[1]));
+        double tolerance = Double.parseDouble(args[2]);
+        boolean failOnRegression = args.length == 4 && Boolean.parseBoolean(args[3]);
+
+        int regressions = 0;
+        System.out.printf("%-75s %22s %22s %9s%n", "Benchmark", "Baseline", "Aktuell", "Delta");
+        for (Map.Entry<String, Score> entry : current.entrySet()) {
+            Score now = entry.getValue();
+            Score reference = baseline.get(entry.getKey());
+            if (reference == null) {
+                System.out.printf("%-75s %22s %22s %9s%n", entry.getKey(), "-", now, "neu");
+                continue;
+            }
+            double delta = (now.score() - reference.score()) / reference.score();
+            String verdict = "";
+            if (delta > tolerance) {
+                boolean regression = now.score() - now.error() > reference.score() + reference.error();
+                regressions += regression ? 1 : 0;
+                verdict = regression ? "  REGRESSION" : "  (im Rauschen)";
+            }
+            System.out.printf("%-75s %22s %22s %+8.1f%%%s%n", entry.getKey(), reference, now, delta * 100, verdict);
+        }
+
+        if (regressions > 0) {
+            System.err.printf("%d Benchmark(s) langsamer als Baseline + %.0f %% (ausserhalb der Fehlerbereiche)%n",
+                    regressions, tolerance * 100);
+            if (failOnRegression) {
+                System.exit(1);
+            }
+        }
+    }
+
+    /**
+     * Liest ein JMH-JSON-Ergebnis als Name (inklusive Parameter) → Score mit Fehler.
+     */
+    static Map<String, Score> read(File file) throws IOException {
+        Map<String, Score> scores = new TreeMap<>();
+        for (JsonNode run : new ObjectMapper().readTree(file)) {
+            JsonNode metric = run.path("primaryMetric");
+            // Bei nur einer Messung liefert JMH "NaN" als Fehler
+            double error = metric.path("scoreError").asDouble();
+            scores.put(key(run), new Score(metric.path("score").asDouble(), Double.isNaN(error) ? 0 : error));
+        }
+        return scores;
+    }
+
+    private static String key(JsonNode run) {
+        String name = run.path("benchmark").asText();
+        name = name.substring(name.lastIndexOf('.', name.lastIndexOf('.') - 1) + 1);
+
+        Map<String, String> params = new LinkedHashMap<>();
+        for (Map.Entry<String, JsonNode> field : run.path("params").properties()) {
+            params.put(field.getKey(), field.getValue().asText());
+        }
+        return params.isEmpty() ? name : name + params;
+    }
+
+    /**
+     * Ergebnis eines Benchmarks mit halber Breite des Konfidenzintervalls.
+     */
+    record Score(double score, double error) {
+
+        @Override
+        public String toString() {
+            return String.format("%.3f +- %.3f", score, error);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.calendarapi.lbprojektm165calendarapi.benchmark;
+
+import com.calendarapi.lbprojektm165calendarapi.cron.CompiledCron;
+import com.calendarapi.lbprojektm165calendarapi.cron.CronCache;
+import com.cronutils.model.Cron;
+import com.cronutils.model.definition.CronDefinitionBuilder;
+import com.cronutils.model.time.ExecutionTime;
+import com.cronutils.parser.CronParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static com.cronutils.model.CronType.QUARTZ;
+
+/**
+ * Misst Parsen und Validieren von Cron-Ausdrücken (direkt über den {@link CronParser}
+ * und über den {@link CronCache}) sowie die Berechnung des nächsten Vorkommens.
+ *
+ * @author Preo
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CronBenchmark {
+
+    @Param({"0 0 12 * * ? *", "0 15 9 ? * MON-FRI *", "0 0/30 8-17 1,15 * ? *"})
+    public String pattern;
+
+    private final CronParser parser = new CronParser(CronDefinitionBuilder.instanceDefinitionFor(QUARTZ));
+    private final ZonedDateTime now = ZonedDateTime.of(2025, 7, 10, 8, 0, 0, 0, ZoneOffset.UTC);
+    private CronCache cache;
+    private ExecutionTime executionTime;
+
+    @Setup
+    public void setUp() {
+        cache = new CronCache(16);
+        executionTime = ExecutionTime.forCron(parser.parse(pattern));
+    }
+
+    /**
+     * Parsen und Validieren ohne Cache (Verhalten vor dem gemeinsamen Cron-Cache).
+     */
+    @Benchmark
+    public Cron parseAndValidate() {
+        return parser.parse(pattern).validate();
+    }
+
+    /**
+     * Validierung über den gemeinsamen Cache (Treffer).
+     */
+    @Benchmark
+    public CompiledCron compileCached() {
+        return cache.compile(pattern);
+    }
+
+    /**
+     * Nächstes Vorkommen ab einem festen Zeitpunkt.
+     */
+    @Benchmark
+    public Optional<ZonedDateTime> nextExecution() {
+        return executionTime.nextExecution(now);
+    }
+}
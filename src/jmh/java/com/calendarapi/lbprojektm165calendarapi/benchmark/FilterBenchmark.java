@@ -0,0 +1,48 @@
+package com.calendarapi.lbprojektm165calendarapi.benchmark;
+
+import com.calendarapi.lbprojektm165calendarapi.dto.FilterDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Misst das Übernehmen der Query-Parameter in ein {@link FilterDto} und dessen Normalisierung
+ * (Schlüssel des Abfrage-Caches).
+ *
+ * @author Arvin
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class FilterBenchmark {
+
+    /**
+     * Alle Parameter gesetzt, wie sie vom Controller ankommen.
+     */
+    @Benchmark
+    public FilterDto parseAllParams() {
+        FilterDto filter = new FilterDto();
+        filter.setWeekday("monday,FRIDAY");
+        filter.setMonth("12,3,5");
+        filter.setFrom("2025-01-01T00:00:00Z");
+        filter.setTo("2025-12-31T23:59:59.999Z");
+        filter.setTag("Arbeit");
+        filter.setTitleContains("Sprint");
+        filter.setDateFrom("2025-08-01");
+        filter.setDateTo("2025-08-31");
+        return filter;
+    }
+
+    /**
+     * Parsen inklusive kanonischer Form.
+     */
+    @Benchmark
+    public FilterDto parseAndNormalize() {
+        return parseAllParams().normalized();
+    }
+}
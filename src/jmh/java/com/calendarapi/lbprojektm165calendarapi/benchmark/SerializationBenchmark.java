@@ -0,0 +1,70 @@
+package com.calendarapi.lbprojektm165calendarapi.benchmark;
+
+import com.calendarapi.lbprojektm165calendarapi.model.Event;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Misst die JSON-Serialisierung von Event-Listen unterschiedlicher Größe,
+ * wie sie {@code GET /api/events} ausliefert.
+ *
+ * @author Chris
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SerializationBenchmark {
+
+    @Param({"10", "1000", "10000"})
+    public int size;
+
+    private ObjectWriter writer;
+    private List<Event> events;
+
+    @Setup
+    public void setUp() {
+        // Entspricht der Spring-Boot-Konfiguration: ISO-Zeitstempel statt Zahlen
+        writer = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .writerFor(List.class);
+
+        Instant base = Instant.parse("2025-01-06T08:00:00Z");
+        events = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Instant start = base.plus(Duration.ofHours(i));
+            events.add(Event.builder()
+                    .id(String.format("%024x", i))
+                    .title("Daily Standup " + i)
+                    .description("Kurzes Abstimmungsmeeting")
+                    .start(start)
+                    .end(start.plus(Duration.ofMinutes(15)))
+                    .cron("0 0 8 ? * MON-FRI *")
+                    .tags(List.of("Arbeit", "Team"))
+                    .daysOfWeek(List.of("MONDAY", "TUESDAY", "WEDNESDAY", "THURSDAY", "FRIDAY"))
+                    .months(List.of(1, 2, 3))
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeList() throws Exception {
+        return writer.writeValueAsBytes(events);
+    }
+}
@@ -0,0 +1,60 @@
+package com.calendarapi.lbprojektm165calendarapi.repository;
+
+import com.calendarapi.lbprojektm165calendarapi.dto.FilterDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Misst den Aufbau der MongoDB-{@link Query} in {@link EventRepositoryImpl#buildQuery(FilterDto)}
+ * ohne Datenbankzugriff. Liegt im Repository-Package, da {@code buildQuery} package-private ist.
+ *
+ * @author Ricardo Cardoso
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class QueryBuildBenchmark {
+
+    private FilterDto monthAndTag;
+    private FilterDto allParams;
+
+    @Setup
+    public void setUp() {
+        monthAndTag = new FilterDto();
+        monthAndTag.setMonth("3,12");
+        monthAndTag.setTag("Arbeit");
+
+        allParams = new FilterDto();
+        allParams.setWeekday("MONDAY");
+        allParams.setMonth("1,3,5");
+        allParams.setFrom("2025-01-01T00:00:00Z");
+        allParams.setTo("2025-12-31T23:59:59Z");
+        allParams.setTag("Arbeit");
+        allParams.setTitleContains("Sprint");
+        allParams.setDateTo("2025-08-31");
+    }
+
+    /**
+     * Häufige Dashboard-Abfrage: Monat und Tag.
+     */
+    @Benchmark
+    public Query monthAndTag() {
+        return EventRepositoryImpl.buildQuery(monthAndTag);
+    }
+
+    /**
+     * Alle kombinierbaren Parameter gesetzt (inklusive Regex auf den Titel).
+     */
+    @Benchmark
+    public Query allParams() {
+        return EventRepositoryImpl.buildQuery(allParams);
+    }
+}
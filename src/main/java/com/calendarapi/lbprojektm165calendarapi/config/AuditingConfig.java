@@ -0,0 +1,30 @@
+package com.calendarapi.lbprojektm165calendarapi.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.config.EnableMongoAuditing;
+import org.springframework.data.mongodb.config.EnableReactiveMongoAuditing;
+
+/**
+ * Aktiviert Spring Data Auditing, damit {@code @LastModifiedDate} (z.B. {@code Event#lastModified})
+ * bei jedem Speichern gesetzt wird.
+ * <p>
+ * Das {@code MongoTemplate} wertet die Annotation über {@link EnableMongoAuditing} aus, das
+ * {@code ReactiveMongoTemplate} im Profil {@code reactive} über {@link EnableReactiveMongoAuditing}.
+ * </p>
+ *
+ * @author Preo
+ */
+@Configuration
+@EnableMongoAuditing
+public class AuditingConfig {
+
+    /**
+     * Auditing für das {@code ReactiveMongoTemplate}.
+     */
+    @Configuration
+    @Profile("reactive")
+    @EnableReactiveMongoAuditing
+    static class Reactive {
+    }
+}
@@ -0,0 +1,26 @@
+package com.calendarapi.lbprojektm165calendarapi.config;
+
+import com.calendarapi.lbprojektm165calendarapi.cron.CronCache;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Stellt den gemeinsamen {@link CronCache} als Spring-Bean bereit.
+ * <p>
+ * Es wird bewusst dieselbe Instanz wie im {@code @ValidCron}-Validator verwendet,
+ * damit jedes Pattern im gesamten Prozess nur einmal geparst wird.
+ * </p>
+ *
+ * @author Preo
+ */
+@Configuration
+public class CronConfig {
+
+    /**
+     * @return die gemeinsame {@link CronCache}-Instanz
+     */
+    @Bean
+    public CronCache cronCache() {
+        return CronCache.getDefault();
+    }
+}
@@ -0,0 +1,73 @@
+package com.calendarapi.lbprojektm165calendarapi.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Stellt die Executors für die interne Parallelisierung bereit (Validierung und Schreiben beim
+ * Massenimport, partitionierte Expansion von Vorkommen).
+ * <p>
+ * Mit {@code spring.threads.virtual.enabled=true} (Profil {@code virtual}) starten beide Executors
+ * für jede Aufgabe einen eigenen virtuellen Thread; die Parallelität wird dann allein durch die
+ * Aufrufer ({@code calendar.bulk.max-pending-chunks}, Partitionsgrösse) und den
+ * MongoDB-Connection-Pool begrenzt. Ohne virtuelle Threads werden feste Pools mit
+ * {@code calendar.bulk.validation-threads} bzw. {@code calendar.occurrences.threads} Threads
+ * verwendet (Standard: Anzahl verfügbarer Prozessoren).
+ * </p>
+ *
+ * @author Preo
+ */
+@Configuration
+public class ExecutorConfig {
+
+    /** Ob virtuelle Threads aktiv sind (gleiche Eigenschaft wie für Tomcat) */
+    private final boolean virtualThreads;
+
+    /**
+     * @param virtualThreads Wert von {@code spring.threads.virtual.enabled}
+     */
+    public ExecutorConfig(@Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.virtualThreads = virtualThreads;
+    }
+
+    /**
+     * @param threads Anzahl der Validierungs-Threads; {@code 0} = Anzahl Prozessoren (nur ohne virtuelle Threads)
+     * @return Executor für die Validierung und das Schreiben von Import-Chunks
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService bulkExecutor(@Value("${calendar.bulk.validation-threads:0}") int threads) {
+        return newExecutor("bulk-", threads);
+    }
+
+    /**
+     * @param threads Anzahl der Expansions-Threads; {@code 0} = Anzahl Prozessoren (nur ohne virtuelle Threads)
+     * @return Executor für die parallele Expansion von Vorkommen
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService occurrenceExecutor(@Value("${calendar.occurrences.threads:0}") int threads) {
+        return newExecutor("occurrences-", threads);
+    }
+
+    /**
+     * Erstellt einen Executor mit virtuellen Threads pro Aufgabe oder einen festen Pool aus Daemon-Threads.
+     */
+    private ExecutorService newExecutor(String prefix, int threads) {
+        if (virtualThreads) {
+            return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(prefix, 1).factory());
+        }
+        int size = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger counter = new AtomicInteger();
+        ThreadFactory factory = runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        return Executors.newFixedThreadPool(size, factory);
+    }
+}
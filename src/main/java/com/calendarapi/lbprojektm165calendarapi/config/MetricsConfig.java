@@ -0,0 +1,47 @@
+package com.calendarapi.lbprojektm165calendarapi.config;
+
+import com.calendarapi.lbprojektm165calendarapi.cron.CronCache;
+import com.calendarapi.lbprojektm165calendarapi.service.EventCache;
+import com.calendarapi.lbprojektm165calendarapi.service.EventQueryCache;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Konfiguration der Micrometer-Metriken.
+ * <p>
+ * Aktiviert {@code @Timed} auf Spring-Beans und veröffentlicht die Statistiken der
+ * In-Process-Caches (Cron, Events, Abfragen) unter {@code cache.*} mit dem Tag {@code cache}.
+ * HTTP-Timer ({@code http.server.requests}) und MongoDB-Treiber-Metriken
+ * ({@code mongodb.driver.commands}, {@code mongodb.driver.pool.*}) stellt Spring Boot Actuator bereit.
+ * </p>
+ *
+ * @author Preo
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * @param registry die Registry der Anwendung
+     * @return Aspekt, der {@code @Timed}-annotierte Methoden misst
+     */
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+
+    /**
+     * @return Binder für Größe, Treffer, Fehlzugriffe und Verdrängungen der Caches
+     */
+    @Bean
+    public MeterBinder cacheMetrics(CronCache cronCache, EventCache eventCache, EventQueryCache queryCache) {
+        return registry -> {
+            CaffeineCacheMetrics.monitor(registry, cronCache.nativeCache(), "cron");
+            CaffeineCacheMetrics.monitor(registry, eventCache.nativeCache(), "events");
+            CaffeineCacheMetrics.monitor(registry, queryCache.nativeCache(), "queries");
+        };
+    }
+}
@@ -0,0 +1,51 @@
+package com.calendarapi.lbprojektm165calendarapi.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Konfiguriert den Connection-Pool des MongoDB-Treibers über {@code calendar.mongo.pool.*}.
+ * <p>
+ * Die Standardwerte entsprechen denen des Treibers. Mit virtuellen Threads ist die Anzahl gleichzeitiger
+ * Requests praktisch unbegrenzt; der Pool ist dann die eigentliche Begrenzung der Last auf die Datenbank.
+ * Das Profil {@code virtual} setzt deshalb eine kurze Wartezeit, damit Anfragen bei erschöpftem Pool
+ * schnell fehlschlagen, statt sich unbegrenzt anzustauen.
+ * </p>
+ *
+ * @author Ricardo Cardoso
+ */
+@Configuration
+public class MongoPoolConfig {
+
+    /**
+     * @param maxSize       maximale Anzahl Verbindungen
+     * @param minSize       Anzahl Verbindungen, die offen gehalten werden
+     * @param maxWait       maximale Wartezeit auf eine freie Verbindung
+     * @param maxConnecting maximale Anzahl gleichzeitig aufgebauter Verbindungen
+     * @param maxIdle       Leerlaufzeit, nach der eine Verbindung geschlossen wird ({@code 0} = nie)
+     * @return Anpassung der Client-Einstellungen für Spring Boot
+     */
+    @Bean
+    public MongoClientSettingsBuilderCustomizer connectionPoolCustomizer(
+            @Value("${calendar.mongo.pool.max-size:100}") int maxSize,
+            @Value("${calendar.mongo.pool.min-size:0}") int minSize,
+            @Value("${calendar.mongo.pool.max-wait:PT2M}") Duration maxWait,
+            @Value("${calendar.mongo.pool.max-connecting:2}") int maxConnecting,
+            @Value("${calendar.mongo.pool.max-idle:PT0S}") Duration maxIdle) {
+        if (minSize > maxSize) {
+            throw new IllegalArgumentException(
+                    "calendar.mongo.pool.min-size darf nicht grösser als calendar.mongo.pool.max-size sein");
+        }
+        return builder -> builder.applyToConnectionPoolSettings(pool -> pool
+                .maxSize(maxSize)
+                .minSize(minSize)
+                .maxWaitTime(maxWait.toMillis(), TimeUnit.MILLISECONDS)
+                .maxConnecting(maxConnecting)
+                .maxConnectionIdleTime(maxIdle.toMillis(), TimeUnit.MILLISECONDS));
+    }
+}
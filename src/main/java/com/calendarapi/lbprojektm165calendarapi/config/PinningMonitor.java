@@ -0,0 +1,146 @@
+package com.calendarapi.lbprojektm165calendarapi.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Meldet, wenn ein virtueller Thread seinen Träger-Thread blockiert ("Pinning"), z.B. weil er
+ * innerhalb eines {@code synchronized}-Blocks auf I/O wartet.
+ * <p>
+ * Liest das JFR-Ereignis {@code jdk.VirtualThreadPinned} im laufenden Prozess (ohne Aufzeichnung auf
+ * Platte). Jedes Ereignis über {@code calendar.threads.pinning.threshold} wird als Timer
+ * {@code calendar.threads.pinned} mit dem Tag {@code site} (erster Frame ausserhalb des JDK) gezählt.
+ * Die erste Meldung je Stelle wird mit Stacktrace als WARN geloggt, weitere nur auf DEBUG.
+ * </p>
+ * <p>
+ * Aktiv mit {@code calendar.threads.pinning.enabled=true} (im Profil {@code virtual} gesetzt).
+ * </p>
+ *
+ * @author Arvin
+ */
+@Component
+@ConditionalOnProperty(name = "calendar.threads.pinning.enabled", havingValue = "true")
+public class PinningMonitor implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(PinningMonitor.class);
+
+    private static final String EVENT = "jdk.VirtualThreadPinned";
+
+    /** Anzahl Frames im geloggten Stacktrace */
+    private static final int LOGGED_FRAMES = 12;
+
+    private final MeterRegistry registry;
+    private final Duration threshold;
+
+    /** Stellen, für die bereits ein Stacktrace geloggt wurde */
+    private final Set<String> reportedSites = ConcurrentHashMap.newKeySet();
+
+    /** Timer je Stelle */
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    private RecordingStream stream;
+
+    /**
+     * @param registry  Registry für den Timer {@code calendar.threads.pinned}
+     * @param threshold Mindestdauer, ab der ein Pinning gemeldet wird
+     */
+    public PinningMonitor(MeterRegistry registry,
+                          @Value("${calendar.threads.pinning.threshold:PT0.02S}") Duration threshold) {
+        this.registry = registry;
+        this.threshold = threshold;
+    }
+
+    @Override
+    public synchronized void start() {
+        RecordingStream recording = new RecordingStream();
+        recording.enable(EVENT).withThreshold(threshold).withStackTrace();
+        recording.onEvent(EVENT, this::onPinned);
+        recording.startAsync();
+        stream = recording;
+        logger.info("Überwachung von Pinning virtueller Threads aktiv (Schwelle {} ms)", threshold.toMillis());
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (stream != null) {
+            stream.close();
+            stream = null;
+        }
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return stream != null;
+    }
+
+    /**
+     * Verarbeitet ein Pinning-Ereignis.
+     *
+     * @param event das JFR-Ereignis
+     */
+    void onPinned(RecordedEvent event) {
+        List<RecordedFrame> frames = event.getStackTrace() == null
+                ? List.of()
+                : event.getStackTrace().getFrames();
+        String site = siteOf(frames);
+        timers.computeIfAbsent(site, s -> Timer.builder("calendar.threads.pinned")
+                        .tag("site", s)
+                        .description("Dauer, während der ein virtueller Thread seinen Träger blockiert hat")
+                        .register(registry))
+                .record(event.getDuration());
+
+        if (reportedSites.add(site)) {
+            logger.warn("Virtueller Thread {} ms gepinnt bei {}:\n{}",
+                    event.getDuration().toMillis(), site, format(event.getStackTrace()));
+        } else {
+            logger.debug("Virtueller Thread {} ms gepinnt bei {}", event.getDuration().toMillis(), site);
+        }
+    }
+
+    /**
+     * @return {@code Klasse.methode} des ersten Frames ausserhalb des JDK, sonst des obersten Frames
+     */
+    static String siteOf(List<RecordedFrame> frames) {
+        if (frames.isEmpty()) {
+            return "unbekannt";
+        }
+        RecordedFrame site = frames.stream()
+                .filter(RecordedFrame::isJavaFrame)
+                .filter(frame -> !isJdk(frame.getMethod().getType().getName()))
+                .findFirst()
+                .orElse(frames.get(0));
+        return site.getMethod().getType().getName() + "." + site.getMethod().getName();
+    }
+
+    private static boolean isJdk(String className) {
+        return className.startsWith("java.") || className.startsWith("jdk.") || className.startsWith("sun.");
+    }
+
+    private static String format(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return "\t(kein Stacktrace)";
+        }
+        return stackTrace.getFrames().stream()
+                .limit(LOGGED_FRAMES)
+                .map(frame -> "\tat " + frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                        + ":" + frame.getLineNumber())
+                .collect(Collectors.joining("\n"));
+    }
+}
@@ -0,0 +1,18 @@
+package com.calendarapi.lbprojektm165calendarapi.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Aktiviert {@code @Scheduled}-Methoden (z.B. die Erweiterung der materialisierten Vorkommen).
+ * <p>
+ * Den Scheduler stellt Spring Boot bereit ({@code spring.task.scheduling.*}); im Profil {@code virtual}
+ * laufen die Aufgaben auf virtuellen Threads.
+ * </p>
+ *
+ * @author Preo
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -1,20 +1,45 @@
 package com.calendarapi.lbprojektm165calendarapi.controller;
 
-import com.cronutils.model.definition.CronDefinition;
-import com.cronutils.model.definition.CronDefinitionBuilder;
-import com.cronutils.parser.CronParser;
+import com.calendarapi.lbprojektm165calendarapi.cron.CronCache;
+import com.calendarapi.lbprojektm165calendarapi.dto.BulkChangeDto;
+import com.calendarapi.lbprojektm165calendarapi.dto.BulkReportDto;
+import com.calendarapi.lbprojektm165calendarapi.dto.CountGroup;
+import com.calendarapi.lbprojektm165calendarapi.dto.EventChangesDto;
+import com.calendarapi.lbprojektm165calendarapi.dto.EventCountsDto;
+import com.calendarapi.lbprojektm165calendarapi.dto.EventPageDto;
+import com.calendarapi.lbprojektm165calendarapi.dto.EventPatch;
+import com.calendarapi.lbprojektm165calendarapi.dto.EventProjection;
+import com.calendarapi.lbprojektm165calendarapi.dto.FilterDto;
+import com.calendarapi.lbprojektm165calendarapi.dto.IntervalMatch;
+import com.calendarapi.lbprojektm165calendarapi.dto.SearchPageDto;
+import com.calendarapi.lbprojektm165calendarapi.dto.TimeBucket;
+import com.calendarapi.lbprojektm165calendarapi.model.CalendarMasks;
 import com.calendarapi.lbprojektm165calendarapi.model.Event;
+import com.calendarapi.lbprojektm165calendarapi.service.BulkIngestService;
+import com.calendarapi.lbprojektm165calendarapi.service.EventNdjsonService;
 import com.calendarapi.lbprojektm165calendarapi.service.EventService;
-import com.calendarapi.lbprojektm165calendarapi.dto.FilterDto;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 
-import static com.cronutils.model.CronType.QUARTZ; // spring hat 6 stellig und quartz 7 stellig **900?
-
 /**
  * Der {@code EventController} stellt REST-Endpunkte zur Verwaltung von Kalender-Events bereit.
  * Dazu gehören das Erstellen, Bearbeiten, Löschen und Filtern von Ereignissen.
@@ -25,23 +50,33 @@ import static com.cronutils.model.CronType.QUARTZ; // spring hat 6 stellig und q
  * @author Chris
  */
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/events")
 public class EventController {
 
     private final EventService eventService; // Service-Klasse zur Event-Verarbeitung
-    private final CronParser cronParser;     // Parser zur Validierung von Cron-Ausdrücken
+    private final CronCache cronCache;       // Gemeinsamer Cache kompilierter Cron-Ausdrücke (QUARTZ)
+    private final ObjectMapper objectMapper; // JSON-Mapper für gestreamte Antworten
+    private final BulkIngestService bulkIngestService; // Massenimport per Bulk-Write
+    private final EventNdjsonService ndjsonService;    // NDJSON-Import und -Export
 
     /**
      * Konstruktor mit Dependency Injection.
-     * Initialisiert den CronParser mit QUARTZ-Spezifikation (7-stellig).
      *
      * @param eventService Service-Schicht für Events
+     * @param cronCache    gemeinsamer Cache für geparste Cron-Ausdrücke (QUARTZ, 7-stellig)
+     * @param objectMapper von Spring konfigurierter JSON-Mapper
+     * @param bulkIngestService Service für den Massenimport
+     * @param ndjsonService Service für NDJSON-Import und -Export
      */
     @Autowired
-    public EventController(EventService eventService) {
+    public EventController(EventService eventService, CronCache cronCache, ObjectMapper objectMapper,
+                           BulkIngestService bulkIngestService, EventNdjsonService ndjsonService) {
         this.eventService = eventService;
-        CronDefinition definition = CronDefinitionBuilder.instanceDefinitionFor(QUARTZ);
-        this.cronParser = new CronParser(definition);
+        this.cronCache = cronCache;
+        this.objectMapper = objectMapper;
+        this.bulkIngestService = bulkIngestService;
+        this.ndjsonService = ndjsonService;
     }
 
     /**
@@ -53,21 +88,67 @@ public class EventController {
     @PostMapping
     public Event create(@RequestBody Event event) {
         validateCron(event.getCron());
+        validateWeekdays(event.getDaysOfWeek());
+        validateMonths(event.getMonths());
         return eventService.createEvent(event);
     }
 
     /**
      * Aktualisiert ein bestehendes Event anhand seiner ID.
+     * Mit {@code If-Match} wird nur gespeichert, wenn das Event seit dem Lesen unverändert ist.
      *
-     * @param id    ID des zu aktualisierenden Events
-     * @param event Event-Daten, die gespeichert werden sollen
-     * @return Das aktualisierte Event
+     * @param id      ID des zu aktualisierenden Events
+     * @param event   Event-Daten, die gespeichert werden sollen
+     * @param ifMatch ETag aus einer vorherigen Antwort (optional)
+     * @return Das aktualisierte Event mit neuem ETag; 404, wenn es nicht existiert,
+     * 412 bei veraltetem ETag oder mit {@code If-Match} auf ein fehlendes Event
      */
     @PutMapping("/{id}")
-    public Event update(@PathVariable String id, @RequestBody Event event) {
+    public ResponseEntity<Event> update(@PathVariable String id, @RequestBody Event event,
+                                        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         validateCron(event.getCron());
+        validateWeekdays(event.getDaysOfWeek());
+        validateMonths(event.getMonths());
         event.setId(id);
-        return eventService.updateEvent(event);
+        Event saved = eventService.updateEvent(event, EventETags.expected(ifMatch));
+        return ResponseEntity.ok().eTag(EventETags.of(saved)).body(saved);
+    }
+
+    /**
+     * Ändert einzelne Felder eines Events per JSON Merge Patch (auch mit {@code application/json}).
+     * Das Cron-Pattern wird nur geprüft, wenn der Patch es ändert.
+     *
+     * @param id      ID des Events
+     * @param patch   Patch-Dokument, z.B. {@code {"title": "Neu", "description": null}}
+     * @param ifMatch ETag aus einer vorherigen Antwort (optional)
+     * @return Das geänderte Event mit neuem ETag; 404, wenn es nicht existiert,
+     * 412 bei veraltetem ETag oder mit {@code If-Match} auf ein fehlendes Event
+     */
+    @PatchMapping(value = "/{id}", consumes = {EventPatch.MERGE_PATCH_JSON, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<Event> mergePatch(@PathVariable String id, @RequestBody JsonNode patch,
+                                            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return patch(id, EventPatch.fromMergePatch(patch, objectMapper), ifMatch);
+    }
+
+    /**
+     * Ändert einzelne Felder eines Events per JSON Patch, z.B. {@code [{"op": "add", "path": "/tags/-", "value": "Team"}]}.
+     *
+     * @param id      ID des Events
+     * @param patch   Array der Operationen (siehe {@link EventPatch})
+     * @param ifMatch ETag aus einer vorherigen Antwort (optional)
+     * @return Das geänderte Event mit neuem ETag; 404, wenn es nicht existiert,
+     * 412 bei veraltetem ETag oder mit {@code If-Match} auf ein fehlendes Event
+     */
+    @PatchMapping(value = "/{id}", consumes = EventPatch.JSON_PATCH_JSON)
+    public ResponseEntity<Event> jsonPatch(@PathVariable String id, @RequestBody JsonNode patch,
+                                           @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return patch(id, EventPatch.fromJsonPatch(patch, objectMapper), ifMatch);
+    }
+
+    private ResponseEntity<Event> patch(String id, EventPatch patch, String ifMatch) {
+        validatePatch(patch);
+        Event saved = eventService.patchEvent(id, patch, EventETags.expected(ifMatch));
+        return ResponseEntity.ok().eTag(EventETags.of(saved)).body(saved);
     }
 
     /**
@@ -82,24 +163,59 @@ public class EventController {
 
     /**
      * Gibt ein Event anhand seiner ID zurück.
+     * Stimmt {@code If-None-Match} mit dem aktuellen ETag überein, wird nur {@code 304} ohne Body gesendet.
      *
-     * @param id Die ID des gesuchten Events
-     * @return Das gefundene Event-Objekt
+     * @param id      Die ID des gesuchten Events
+     * @param request Zugriff auf die bedingten Request-Header
+     * @return Das gefundene Event-Objekt mit ETag
      */
     @GetMapping("/{id}")
-    public Event getById(@PathVariable String id) {
-        return eventService.getById(id);
+    public ResponseEntity<Event> getById(@PathVariable String id, WebRequest request) {
+        Event event = eventService.getById(id);
+        String etag = EventETags.of(event);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).body(event);
     }
 
     /**
      * Löscht ein Event anhand seiner ID.
+     * Mit {@code If-Match} wird nur gelöscht, wenn das Event seit dem Lesen unverändert ist; sonst,
+     * auch bei {@code If-Match: *} auf ein fehlendes Event, folgt 412.
      *
-     * @param id Die ID des zu löschenden Events
+     * @param id      Die ID des zu löschenden Events
+     * @param ifMatch ETag aus einer vorherigen Antwort (optional)
      */
     @DeleteMapping("/{id}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
-    public void delete(@PathVariable String id) {
-        eventService.deleteEvent(id);
+    public void delete(@PathVariable String id,
+                       @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        eventService.deleteEvent(id, EventETags.expected(ifMatch));
+    }
+
+    /**
+     * Findet Events nach ihrer Beziehung zu einem Zeitfenster, z.B. alle Events, die
+     * {@code [from, to)} überschneiden.
+     *
+     * @param from  Beginn des Fensters (ISO 8601, inklusive)
+     * @param to    Ende des Fensters (ISO 8601, exklusive)
+     * @param match   {@code overlaps} (Standard), {@code within} oder {@code contains}
+     * @param weekday Optionaler Filter für Wochentage ("MONDAY,FRIDAY")
+     * @param month   Optionaler Filter für Monate ("1,2,12")
+     * @return die Events, sortiert nach {@code (start, id)}
+     */
+    @GetMapping("/intervals")
+    public List<Event> findByInterval(
+            @RequestParam String from,
+            @RequestParam String to,
+            @RequestParam(required = false) String match,
+            @RequestParam(required = false) String weekday,
+            @RequestParam(required = false) String month
+    ) {
+        FilterDto recurrence = FilterDto.of(weekday, month, null, null, null, null, null, null);
+        return eventService.findByInterval(parseInstant("from", from), parseInstant("to", to), IntervalMatch.parse(match),
+                recurrence.weekdayMask(), recurrence.monthMask());
     }
 
     /**
@@ -110,9 +226,7 @@ public class EventController {
      * @throws ResponseStatusException wenn das Cron-Pattern ungültig ist
      */
     private void validateCron(String cronPattern) {
-        try {
-            cronParser.parse(cronPattern).validate();
-        } catch (Exception e) {
+        if (!cronCache.isValid(cronPattern)) {
             throw new ResponseStatusException(
                     HttpStatus.BAD_REQUEST,
                     "Ungültiges Cron-Pattern: " + cronPattern
@@ -122,13 +236,17 @@ public class EventController {
 
     /**
      * Erstellt mehrere Events in einem einzigen Request.
+     * <p>
+     * Die Events werden parallel validiert und in Chunks per Bulk-Write gespeichert.
+     * Ungültige Einträge werden übersprungen und im Bericht gemeldet.
+     * </p>
      *
      * @param events Liste von Event-Objekten
-     * @return Liste der gespeicherten Events
+     * @return Bericht mit dem Ergebnis (ID oder Fehlermeldung) je Eintrag
      */
     @PostMapping("/batch")
-    public List<Event> createEvents(@RequestBody List<Event> events) {
-        return eventService.saveAll(events);
+    public BulkReportDto createEvents(@RequestBody List<Event> events) {
+        return bulkIngestService.ingest(events);
     }
 
     /**
@@ -142,10 +260,249 @@ public class EventController {
      * @param titleContains  Optionaler Teilstring, der im Titel enthalten sein soll
      * @param dateFrom       Optionales Startdatum im Format yyyy-MM-dd
      * @param dateTo         Optionales Enddatum im Format yyyy-MM-dd
-     * @return Gefilterte Liste von Events
+     * @param view           Optionale Sicht: {@code summary} (id, title, start, end, tags) oder {@code full}
+     * @param fields         Optionale Feldliste als Alternative zu {@code view} ("title,start")
+     * @return Gefilterte Liste von Events, bei {@code view}/{@code fields} nur mit den gewählten Feldern
      */
     @GetMapping
-    public List<Event> listEvents(
+    public List<?> listEvents(
+            @RequestParam(required = false) String weekday,
+            @RequestParam(required = false) String month,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            @RequestParam(required = false) String tag,
+            @RequestParam(required = false) String titleContains,
+            @RequestParam(required = false) String dateFrom,
+            @RequestParam(required = false) String dateTo,
+            @RequestParam(required = false) String view,
+            @RequestParam(required = false) String fields
+    ) {
+        FilterDto filter = FilterDto.of(weekday, month, from, to, tag, titleContains, dateFrom, dateTo);
+        EventProjection projection = EventProjection.parse(view, fields);
+        return projection == null ? eventService.listEvents(filter) : eventService.listEvents(filter, projection);
+    }
+
+    /**
+     * Löscht alle Events, die den Filter erfüllen, mit einem einzigen {@code remove}.
+     * Die Filterparameter entsprechen {@link #listEvents}; mindestens einer muss gesetzt sein.
+     *
+     * @param dryRun {@code true}, um nur die betroffenen Events zu ermitteln
+     * @param max    Höchstzahl betroffener Events (Standard und Obergrenze: {@code calendar.bulk.filter.max-affected})
+     * @return Anzahl passender und gelöschter Events; 400, wenn der Filter mehr als {@code max} Events trifft
+     *         oder {@code from}/{@code to} kein gültiger Zeitpunkt ist
+     */
+    @DeleteMapping
+    public BulkChangeDto deleteByFilter(
+            @RequestParam(required = false) String weekday,
+            @RequestParam(required = false) String month,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            @RequestParam(required = false) String tag,
+            @RequestParam(required = false) String titleContains,
+            @RequestParam(required = false) String dateFrom,
+            @RequestParam(required = false) String dateTo,
+            @RequestParam(defaultValue = "false") boolean dryRun,
+            @RequestParam(required = false) Integer max
+    ) {
+        FilterDto filter = FilterDto.strict(weekday, month, from, to, tag, titleContains, dateFrom, dateTo);
+        return eventService.deleteByFilter(filter, dryRun, max);
+    }
+
+    /**
+     * Ändert alle Events, die den Filter erfüllen, per JSON Merge Patch mit einem einzigen {@code updateMulti}.
+     * Die Filterparameter entsprechen {@link #listEvents}; mindestens einer muss gesetzt sein.
+     *
+     * @param patch  Patch-Dokument wie bei {@code PATCH /api/events/{id}}
+     * @param dryRun {@code true}, um nur die betroffenen Events zu ermitteln
+     * @param max    Höchstzahl betroffener Events (Standard und Obergrenze: {@code calendar.bulk.filter.max-affected})
+     * @return Anzahl passender und geänderter Events; 400, wenn der Filter mehr als {@code max} Events trifft
+     *         oder {@code from}/{@code to} kein gültiger Zeitpunkt ist
+     */
+    @PatchMapping(consumes = {EventPatch.MERGE_PATCH_JSON, MediaType.APPLICATION_JSON_VALUE})
+    public BulkChangeDto mergePatchByFilter(
+            @RequestBody JsonNode patch,
+            @RequestParam(required = false) String weekday,
+            @RequestParam(required = false) String month,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            @RequestParam(required = false) String tag,
+            @RequestParam(required = false) String titleContains,
+            @RequestParam(required = false) String dateFrom,
+            @RequestParam(required = false) String dateTo,
+            @RequestParam(defaultValue = "false") boolean dryRun,
+            @RequestParam(required = false) Integer max
+    ) {
+        FilterDto filter = FilterDto.strict(weekday, month, from, to, tag, titleContains, dateFrom, dateTo);
+        return patchByFilter(filter, EventPatch.fromMergePatch(patch, objectMapper), dryRun, max);
+    }
+
+    /**
+     * Ändert alle Events, die den Filter erfüllen, per JSON Patch, z.B. um ein Tag bei allen zu entfernen.
+     * Die Filterparameter entsprechen {@link #listEvents}; mindestens einer muss gesetzt sein.
+     *
+     * @param patch  Array der Operationen (siehe {@link EventPatch})
+     * @param dryRun {@code true}, um nur die betroffenen Events zu ermitteln
+     * @param max    Höchstzahl betroffener Events (Standard und Obergrenze: {@code calendar.bulk.filter.max-affected})
+     * @return Anzahl passender und geänderter Events; 400, wenn der Filter mehr als {@code max} Events trifft
+     *         oder {@code from}/{@code to} kein gültiger Zeitpunkt ist
+     */
+    @PatchMapping(consumes = EventPatch.JSON_PATCH_JSON)
+    public BulkChangeDto jsonPatchByFilter(
+            @RequestBody JsonNode patch,
+            @RequestParam(required = false) String weekday,
+            @RequestParam(required = false) String month,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            @RequestParam(required = false) String tag,
+            @RequestParam(required = false) String titleContains,
+            @RequestParam(required = false) String dateFrom,
+            @RequestParam(required = false) String dateTo,
+            @RequestParam(defaultValue = "false") boolean dryRun,
+            @RequestParam(required = false) Integer max
+    ) {
+        FilterDto filter = FilterDto.strict(weekday, month, from, to, tag, titleContains, dateFrom, dateTo);
+        return patchByFilter(filter, EventPatch.fromJsonPatch(patch, objectMapper), dryRun, max);
+    }
+
+    private BulkChangeDto patchByFilter(FilterDto filter, EventPatch patch, boolean dryRun, Integer max) {
+        validatePatch(patch);
+        return eventService.patchByFilter(filter, patch, dryRun, max);
+    }
+
+    /**
+     * Zählt die passenden Events je Gruppe, ohne die Events zu übertragen.
+     * Die Filterparameter entsprechen {@link #listEvents}.
+     *
+     * @param by     Gruppierung: {@code tag}, {@code month}, {@code weekday} oder {@code start}
+     * @param bucket Zeitabschnitt bei {@code by=start}: {@code day}, {@code week}, {@code month} (Standard), {@code year}
+     * @return die Gruppen mit ihrer Anzahl
+     */
+    @GetMapping("/counts")
+    public EventCountsDto countEvents(
+            @RequestParam(required = false) String by,
+            @RequestParam(required = false) String bucket,
+            @RequestParam(required = false) String weekday,
+            @RequestParam(required = false) String month,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            @RequestParam(required = false) String tag,
+            @RequestParam(required = false) String titleContains,
+            @RequestParam(required = false) String dateFrom,
+            @RequestParam(required = false) String dateTo
+    ) {
+        FilterDto filter = FilterDto.of(weekday, month, from, to, tag, titleContains, dateFrom, dateTo);
+        return eventService.countEvents(filter, CountGroup.parse(by),
+                bucket == null || bucket.isBlank() ? null : TimeBucket.parse(bucket));
+    }
+
+    /**
+     * Volltextsuche über Titel, Tags und Beschreibung, absteigend nach Relevanz.
+     *
+     * @param q     Suchbegriffe, z.B. {@code sprint planung} oder {@code "code review"}
+     * @param page  Nummer der Seite ab 0
+     * @param limit Seitengröße (Standard und Maximum siehe {@code calendar.pagination.*})
+     * @return die Seite mit Treffern und Relevanz
+     */
+    @GetMapping("/search")
+    public SearchPageDto search(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer limit
+    ) {
+        return eventService.search(q, page, limit);
+    }
+
+    /**
+     * Delta-Synchronisation: liefert die seit {@code since} geänderten und gelöschten Events.
+     *
+     * @param since Token {@code nextToken} der vorherigen Antwort (leer für eine vollständige Synchronisation)
+     * @param limit Seitengröße (Standard und Maximum siehe {@code calendar.pagination.*})
+     * @return geänderte Events, IDs gelöschter Events und das Token für die nächste Anfrage
+     */
+    @GetMapping("/changes")
+    public EventChangesDto listChanges(
+            @RequestParam(required = false) String since,
+            @RequestParam(required = false) Integer limit
+    ) {
+        return eventService.changesSince(since, limit);
+    }
+
+    /**
+     * Listet Events seitenweise (Keyset-Pagination nach {@code (start, id)}).
+     * Die Filterparameter entsprechen {@link #listEvents}.
+     *
+     * @param cursor Token {@code nextCursor} der vorherigen Seite (leer für die erste Seite)
+     * @param limit  Seitengröße (Standard und Maximum siehe {@code calendar.pagination.*})
+     * @param request Zugriff auf {@code If-None-Match}
+     * @return die Seite inklusive Token für die nächste Seite und ETag; {@code 304}, wenn unverändert
+     */
+    @GetMapping("/page")
+    public ResponseEntity<EventPageDto> listEventsPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String weekday,
+            @RequestParam(required = false) String month,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            @RequestParam(required = false) String tag,
+            @RequestParam(required = false) String titleContains,
+            @RequestParam(required = false) String dateFrom,
+            @RequestParam(required = false) String dateTo,
+            WebRequest request
+    ) {
+        FilterDto filter = FilterDto.of(weekday, month, from, to, tag, titleContains, dateFrom, dateTo);
+        EventPageDto page = eventService.listEventsPage(filter, cursor, limit);
+        String etag = EventETags.of(page);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).body(page);
+    }
+
+    /**
+     * Streamt alle passenden Events als JSON-Array, während sie vom Datenbank-Cursor gelesen werden.
+     * Der Speicherbedarf bleibt unabhängig von der Ergebnisgröße konstant.
+     * Die Filterparameter entsprechen {@link #listEvents}.
+     *
+     * @return JSON-Array der Events, sortiert nach {@code (start, id)}
+     */
+    @GetMapping("/stream")
+    public ResponseEntity<StreamingResponseBody> streamEvents(
+            @RequestParam(required = false) String weekday,
+            @RequestParam(required = false) String month,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            @RequestParam(required = false) String tag,
+            @RequestParam(required = false) String titleContains,
+            @RequestParam(required = false) String dateFrom,
+            @RequestParam(required = false) String dateTo
+    ) {
+        FilterDto filter = FilterDto.of(weekday, month, from, to, tag, titleContains, dateFrom, dateTo);
+        StreamingResponseBody body = out -> {
+            // Kein Flush pro Element: Jackson schreibt blockweise aus seinem Puffer
+            try (SequenceWriter writer = objectMapper.writer()
+                    .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                    .writeValuesAsArray(out)) {
+                eventService.streamEvents(filter, event -> {
+                    try {
+                        writer.write(event);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    /**
+     * Exportiert alle passenden Events als NDJSON (ein Event pro Zeile).
+     * Die Filterparameter entsprechen {@link #listEvents}.
+     *
+     * @return NDJSON-Stream der Events, sortiert nach {@code (start, id)}
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportEvents(
             @RequestParam(required = false) String weekday,
             @RequestParam(required = false) String month,
             @RequestParam(required = false) String from,
@@ -155,15 +512,76 @@ public class EventController {
             @RequestParam(required = false) String dateFrom,
             @RequestParam(required = false) String dateTo
     ) {
-        FilterDto filter = new FilterDto();
-        filter.setWeekday(weekday);
-        filter.setMonth(month);
-        filter.setFrom(from);
-        filter.setTo(to);
-        filter.setTag(tag);
-        filter.setTitleContains(titleContains);
-        filter.setDateFrom(dateFrom);
-        filter.setDateTo(dateTo);
-        return eventService.listEvents(filter);
+        FilterDto filter = FilterDto.of(weekday, month, from, to, tag, titleContains, dateFrom, dateTo);
+        StreamingResponseBody body = out -> ndjsonService.exportEvents(filter, out);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    /**
+     * Importiert Events aus NDJSON (ein Event pro Zeile), ohne den gesamten Body im Speicher zu halten.
+     *
+     * @param body der Request-Body als Stream
+     * @return Bericht mit Zählern und den fehlgeschlagenen Zeilen
+     * @throws IOException bei Lesefehlern
+     */
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public BulkReportDto importEvents(InputStream body) throws IOException {
+        return ndjsonService.importEvents(body);
+    }
+
+    /**
+     * Prüft Cron-Pattern, Wochentage und Monate eines Patches, sofern er sie ändert.
+     *
+     * @param patch der Patch
+     */
+    private void validatePatch(EventPatch patch) {
+        if (patch.changes("cron")) {
+            validateCron(patch.getCron());
+        }
+        if (patch.changes("daysOfWeek")) {
+            validateWeekdays(patch.getDaysOfWeek());
+        }
+        if (patch.changes("months")) {
+            validateMonths(patch.getMonths());
+        }
+    }
+
+    /**
+     * Prüft, ob alle Wochentage erkannt werden ("MONDAY" oder "MON"); gespeichert wird die Vollform.
+     *
+     * @param days die Wochentage des Events
+     * @throws ResponseStatusException wenn ein Wert keinem Wochentag entspricht
+     */
+    private static void validateWeekdays(List<String> days) {
+        String invalid = CalendarMasks.firstInvalidWeekday(days);
+        if (invalid != null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Ungültiger Wochentag: " + invalid);
+        }
+    }
+
+    /**
+     * Prüft, ob alle Monate zwischen 1 und 12 liegen, statt ungültige Werte beim Speichern zu verwerfen.
+     *
+     * @param months die Monate des Events
+     * @throws ResponseStatusException wenn ein Monat ausserhalb von 1–12 liegt
+     */
+    private static void validateMonths(List<Integer> months) {
+        Integer invalid = CalendarMasks.firstInvalidMonth(months);
+        if (invalid != null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Ungültiger Monat: " + invalid);
+        }
+    }
+
+    /**
+     * Parst einen Zeitpunkt im ISO-8601-Format.
+     *
+     * @throws IllegalArgumentException wenn der Wert kein gültiger Zeitpunkt ist
+     */
+    private static Instant parseInstant(String name, String value) {
+        try {
+            return Instant.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Ungültiger Zeitpunkt für '" + name + "': " + value);
+        }
     }
 }
@@ -0,0 +1,85 @@
+package com.calendarapi.lbprojektm165calendarapi.controller;
+
+import com.calendarapi.lbprojektm165calendarapi.dto.EventPageDto;
+import com.calendarapi.lbprojektm165calendarapi.dto.EventVersion;
+import com.calendarapi.lbprojektm165calendarapi.exception.PreconditionFailedException;
+import com.calendarapi.lbprojektm165calendarapi.model.Event;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+/**
+ * Starke ETags für Events und Seiten sowie das Auswerten von {@code If-Match}.
+ *
+ * <p>Das ETag eines Events ist {@code "<version>-<lastModified in ms>"}; es ändert sich mit jedem Speichern.
+ * Das ETag einer Seite ist der MD5-Hash über die ETags aller Events und den {@code nextCursor}, sodass
+ * es ohne Serialisierung des Bodys berechnet wird.</p>
+ *
+ * @author Preo
+ */
+final class EventETags {
+
+    private EventETags() {
+    }
+
+    /**
+     * @param event das Event
+     * @return das ETag inklusive Anführungszeichen
+     */
+    static String of(Event event) {
+        return "\"" + raw(event) + "\"";
+    }
+
+    /**
+     * @param page die Seite
+     * @return das ETag inklusive Anführungszeichen
+     */
+    static String of(EventPageDto page) {
+        StringBuilder raw = new StringBuilder();
+        for (Event event : page.getItems()) {
+            raw.append(event.getId()).append(':').append(raw(event)).append(',');
+        }
+        raw.append(page.getNextCursor());
+        return "\"" + DigestUtils.md5DigestAsHex(raw.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    /**
+     * Liest den erwarteten Stand aus einem {@code If-Match}-Header.
+     *
+     * @param ifMatch der Header oder {@code null}
+     * @return der Stand, {@link EventVersion#ANY} für {@code *} oder {@code null}, wenn der Header fehlt
+     * @throws PreconditionFailedException wenn der Header kein einzelnes starkes ETag dieser API ist
+     */
+    static EventVersion expected(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank()) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.equals("*")) {
+            return EventVersion.ANY;
+        }
+        // Schwache ETags erfüllen If-Match nie (starker Vergleich)
+        if (tag.length() < 2 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+            throw new PreconditionFailedException("If-Match erwartet genau ein starkes ETag: " + ifMatch);
+        }
+        String value = tag.substring(1, tag.length() - 1);
+        int sep = value.indexOf('-');
+        try {
+            if (sep < 0) {
+                throw new NumberFormatException(value);
+            }
+            long modified = Long.parseLong(value.substring(sep + 1));
+            return new EventVersion(Long.parseLong(value.substring(0, sep)),
+                    modified == 0 ? null : Instant.ofEpochMilli(modified));
+        } catch (NumberFormatException e) {
+            throw new PreconditionFailedException("If-Match erwartet genau ein starkes ETag: " + ifMatch);
+        }
+    }
+
+    private static String raw(Event event) {
+        EventVersion version = EventVersion.of(event);
+        long modified = version.lastModified() == null ? 0 : version.lastModified().toEpochMilli();
+        return version.version() + "-" + modified;
+    }
+}
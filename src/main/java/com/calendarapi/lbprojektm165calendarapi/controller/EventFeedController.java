@@ -0,0 +1,97 @@
+package com.calendarapi.lbprojektm165calendarapi.controller;
+
+import com.calendarapi.lbprojektm165calendarapi.dto.EventChangeDto;
+import com.calendarapi.lbprojektm165calendarapi.dto.FilterDto;
+import com.calendarapi.lbprojektm165calendarapi.service.EventChangeFeed;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+
+/**
+ * Live-Feed der Event-Änderungen als Server-Sent Events ({@code GET /api/events/feed}).
+ * <p>
+ * Jede Verbindung abonniert den gemeinsamen Change Stream des {@link EventChangeFeed}; der
+ * Servlet-Thread wird dabei nicht belegt. Aktiv mit {@code calendar.feed.enabled=true}.
+ * </p>
+ *
+ * @author Chris
+ */
+@RestController
+@Profile("!reactive")
+@ConditionalOnProperty(name = "calendar.feed.enabled", havingValue = "true")
+@RequestMapping("/api/events")
+public class EventFeedController {
+
+    private final EventChangeFeed feed; // Gemeinsamer Change Stream
+
+    /**
+     * Konstruktor mit Dependency Injection.
+     *
+     * @param feed Quelle der Änderungen
+     */
+    public EventFeedController(EventChangeFeed feed) {
+        this.feed = feed;
+    }
+
+    /**
+     * Liefert alle künftigen Änderungen an passenden Events; Löschungen werden immer gesendet.
+     * Die Filterparameter entsprechen {@link EventController#listEvents}.
+     *
+     * @param lastEventId  Header {@code Last-Event-ID}, den Browser beim automatischen Neuverbinden setzen
+     * @param resumeToken  Alternative zum Header, z.B. für das erste Verbinden mit einem gespeicherten Token
+     * @return SSE-Strom mit den Ereignissen {@code insert}, {@code update}, {@code delete} und {@code leave}
+     */
+    @GetMapping(value = "/feed", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter feed(
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+            @RequestParam(required = false) String resumeToken,
+            @RequestParam(required = false) String weekday,
+            @RequestParam(required = false) String month,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            @RequestParam(required = false) String tag,
+            @RequestParam(required = false) String titleContains,
+            @RequestParam(required = false) String dateFrom,
+            @RequestParam(required = false) String dateTo
+    ) {
+        FilterDto filter = FilterDto.of(weekday, month, from, to, tag, titleContains, dateFrom, dateTo);
+        Flux<ServerSentEvent<EventChangeDto>> events = feed.events(filter, lastEventId != null ? lastEventId : resumeToken);
+
+        // Etwas länger als der Feed selbst, damit dieser regulär abschliesst
+        SseEmitter emitter = new SseEmitter(feed.getTimeout().toMillis() + 5_000);
+        Disposable subscription = events.subscribe(
+                event -> send(emitter, event),
+                emitter::completeWithError,
+                emitter::complete);
+        emitter.onCompletion(subscription::dispose);
+        emitter.onTimeout(subscription::dispose);
+        emitter.onError(error -> subscription.dispose());
+        return emitter;
+    }
+
+    private static void send(SseEmitter emitter, ServerSentEvent<EventChangeDto> event) {
+        SseEmitter.SseEventBuilder builder = SseEmitter.event();
+        if (event.comment() != null) {
+            builder.comment(event.comment());
+        } else {
+            builder.id(event.id()).name(event.event()).data(event.data(), MediaType.APPLICATION_JSON);
+        }
+        try {
+            emitter.send(builder);
+        } catch (IOException e) {
+            // Client hat die Verbindung getrennt; onError/onCompletion beenden das Abonnement
+            emitter.completeWithError(e);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.calendarapi.lbprojektm165calendarapi.controller;
+
+import com.calendarapi.lbprojektm165calendarapi.dto.FilterDto;
+import com.calendarapi.lbprojektm165calendarapi.dto.FreeBusyDto;
+import com.calendarapi.lbprojektm165calendarapi.dto.OccurrenceWindowDto;
+import com.calendarapi.lbprojektm165calendarapi.service.FreeBusyService;
+import com.calendarapi.lbprojektm165calendarapi.service.OccurrenceService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Der {@code OccurrenceController} stellt die serverseitige Expansion wiederkehrender Events bereit.
+ * <p>
+ * Statt alle Events zu laden und die Cron-Patterns im Client auszuwerten, liefert
+ * {@code GET /api/events/occurrences} die konkreten Vorkommen in einem Zeitfenster.
+ * </p>
+ *
+ * @author Preo
+ */
+@RestController
+@Profile("!reactive")
+@RequestMapping("/api/events")
+public class OccurrenceController {
+
+    private final OccurrenceService occurrenceService; // Service zur Expansion der Cron-Patterns
+    private final FreeBusyService freeBusyService;     // Service für belegte Zeiträume und Konflikte
+
+    /**
+     * Konstruktor mit Dependency Injection.
+     *
+     * @param occurrenceService Service zur Expansion wiederkehrender Events
+     * @param freeBusyService   Service für die Frei/Belegt-Auskunft
+     */
+    @Autowired
+    public OccurrenceController(OccurrenceService occurrenceService, FreeBusyService freeBusyService) {
+        this.occurrenceService = occurrenceService;
+        this.freeBusyService = freeBusyService;
+    }
+
+    /**
+     * Listet die Vorkommen aller passenden Events im Fenster {@code [from, to)}.
+     *
+     * @param from          Beginn des Fensters (ISO 8601, inklusive)
+     * @param to            Ende des Fensters (ISO 8601, exklusive)
+     * @param weekday       Optionaler Filter für Wochentag ("MONDAY")
+     * @param month         Optionaler Filter für Monat ("1,2,12")
+     * @param tag           Optionaler Tag-Filter ("Privat")
+     * @param titleContains Optionaler Teilstring, der im Titel enthalten sein soll
+     * @param limit         Optionale maximale Anzahl Vorkommen
+     * @return die Vorkommen im Fenster, aufsteigend nach Startzeit
+     */
+    @GetMapping("/occurrences")
+    public OccurrenceWindowDto listOccurrences(
+            @RequestParam String from,
+            @RequestParam String to,
+            @RequestParam(required = false) String weekday,
+            @RequestParam(required = false) String month,
+            @RequestParam(required = false) String tag,
+            @RequestParam(required = false) String titleContains,
+            @RequestParam(required = false) Integer limit
+    ) {
+        FilterDto filter = new FilterDto();
+        filter.setWeekday(weekday);
+        filter.setMonth(month);
+        filter.setTag(tag);
+        filter.setTitleContains(titleContains);
+        return occurrenceService.expand(filter, parseInstant("from", from), parseInstant("to", to), limit);
+    }
+
+    /**
+     * Liefert belegte Zeiträume und Konflikte im Fenster {@code [from, to)}, z.B. für die
+     * Terminplanung über mehrere Kalender (Tags) hinweg.
+     *
+     * @param from Beginn des Fensters (ISO 8601, inklusive)
+     * @param to   Ende des Fensters (ISO 8601, exklusive)
+     * @param tags Optionale Tags als CSV ("Arbeit,Team"); ohne Angabe alle Events
+     * @return zusammengeführte belegte Zeiträume und Überschneidungen
+     */
+    @GetMapping("/freebusy")
+    public FreeBusyDto freeBusy(
+            @RequestParam String from,
+            @RequestParam String to,
+            @RequestParam(required = false) String tags
+    ) {
+        return freeBusyService.compute(parseTags(tags), parseInstant("from", from), parseInstant("to", to));
+    }
+
+    /**
+     * Parst einen Zeitpunkt im ISO-8601-Format.
+     *
+     * @param name  Name des Parameters (für die Fehlermeldung)
+     * @param value der zu parsende Wert
+     * @return der geparste Zeitpunkt
+     * @throws IllegalArgumentException wenn der Wert kein gültiger Zeitpunkt ist
+     */
+    private static Instant parseInstant(String name, String value) {
+        try {
+            return Instant.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Ungültiger Zeitpunkt für '" + name + "': " + value);
+        }
+    }
+
+    /**
+     * Zerlegt eine CSV-Liste von Tags; {@code null} ergibt eine leere Liste.
+     */
+    private static List<String> parseTags(String tags) {
+        return tags == null ? List.of() : Arrays.asList(tags.split(","));
+    }
+}
@@ -0,0 +1,561 @@
+package com.calendarapi.lbprojektm165calendarapi.controller;
+
+import com.calendarapi.lbprojektm165calendarapi.cron.CronCache;
+import com.calendarapi.lbprojektm165calendarapi.dto.BulkChangeDto;
+import com.calendarapi.lbprojektm165calendarapi.dto.BulkReportDto;
+import com.calendarapi.lbprojektm165calendarapi.dto.CountGroup;
+import com.calendarapi.lbprojektm165calendarapi.dto.EventChangesDto;
+import com.calendarapi.lbprojektm165calendarapi.dto.EventCountsDto;
+import com.calendarapi.lbprojektm165calendarapi.dto.EventPageDto;
+import com.calendarapi.lbprojektm165calendarapi.dto.EventPatch;
+import com.calendarapi.lbprojektm165calendarapi.dto.EventProjection;
+import com.calendarapi.lbprojektm165calendarapi.dto.FilterDto;
+import com.calendarapi.lbprojektm165calendarapi.dto.IntervalMatch;
+import com.calendarapi.lbprojektm165calendarapi.dto.SearchPageDto;
+import com.calendarapi.lbprojektm165calendarapi.dto.TimeBucket;
+import com.calendarapi.lbprojektm165calendarapi.model.CalendarMasks;
+import com.calendarapi.lbprojektm165calendarapi.model.Event;
+import com.calendarapi.lbprojektm165calendarapi.service.BulkIngestService;
+import com.calendarapi.lbprojektm165calendarapi.service.EventNdjsonService;
+import com.calendarapi.lbprojektm165calendarapi.service.ReactiveEventService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+/**
+ * WebFlux-Variante des {@link EventController} für das Profil {@code reactive}.
+ * <p>
+ * Pfade, Parameter und Antwortformate entsprechen dem blockierenden Controller. Listen werden als
+ * {@link Flux} direkt vom MongoDB-Cursor geliefert, sodass die Nachfrage der HTTP-Verbindung bis
+ * zum Cursor durchgereicht wird. Der Massenimport nutzt den blockierenden {@link BulkIngestService}
+ * auf dem {@code boundedElastic}-Scheduler, damit die Event-Loop-Threads frei bleiben.
+ * </p>
+ *
+ * @author Chris
+ */
+@RestController
+@Profile("reactive")
+@RequestMapping("/api/events")
+public class ReactiveEventController {
+
+    private final ReactiveEventService eventService; // Reaktive Service-Schicht
+    private final CronCache cronCache;               // Gemeinsamer Cache kompilierter Cron-Ausdrücke (QUARTZ)
+    private final BulkIngestService bulkIngestService; // Massenimport per Bulk-Write (blockierend)
+    private final EventNdjsonService ndjsonService;    // NDJSON-Import (blockierend)
+    private final ObjectMapper objectMapper;           // JSON-Mapper für Patch-Werte
+
+    /**
+     * Konstruktor mit Dependency Injection.
+     *
+     * @param eventService      reaktive Service-Schicht für Events
+     * @param cronCache         gemeinsamer Cache für geparste Cron-Ausdrücke
+     * @param bulkIngestService Service für den Massenimport
+     * @param ndjsonService     Service für den NDJSON-Import
+     * @param objectMapper      JSON-Mapper für die Feldwerte eines Patches
+     */
+    public ReactiveEventController(ReactiveEventService eventService, CronCache cronCache,
+                                   BulkIngestService bulkIngestService, EventNdjsonService ndjsonService,
+                                   ObjectMapper objectMapper) {
+        this.eventService = eventService;
+        this.cronCache = cronCache;
+        this.bulkIngestService = bulkIngestService;
+        this.ndjsonService = ndjsonService;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Erstellt ein einzelnes Event.
+     *
+     * @param event Das zu erstellende Event
+     * @return Das gespeicherte Event mit generierter ID
+     */
+    @PostMapping
+    public Mono<Event> create(@RequestBody Event event) {
+        validateCron(event.getCron());
+        validateWeekdays(event.getDaysOfWeek());
+        validateMonths(event.getMonths());
+        return eventService.createEvent(event);
+    }
+
+    /**
+     * Aktualisiert ein bestehendes Event anhand seiner ID.
+     * Mit {@code If-Match} wird nur gespeichert, wenn das Event seit dem Lesen unverändert ist.
+     *
+     * @param id      ID des zu aktualisierenden Events
+     * @param event   Event-Daten, die gespeichert werden sollen
+     * @param ifMatch ETag aus einer vorherigen Antwort (optional)
+     * @return Das aktualisierte Event mit neuem ETag; 404, wenn es nicht existiert,
+     * 412 bei veraltetem ETag oder mit {@code If-Match} auf ein fehlendes Event
+     */
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<Event>> update(@PathVariable String id, @RequestBody Event event,
+                                              @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        validateCron(event.getCron());
+        validateWeekdays(event.getDaysOfWeek());
+        validateMonths(event.getMonths());
+        event.setId(id);
+        return eventService.updateEvent(event, EventETags.expected(ifMatch))
+                .map(saved -> ResponseEntity.ok().eTag(EventETags.of(saved)).body(saved));
+    }
+
+    /**
+     * Ändert einzelne Felder eines Events per JSON Merge Patch (auch mit {@code application/json}).
+     * Das Cron-Pattern wird nur geprüft, wenn der Patch es ändert.
+     *
+     * @param id      ID des Events
+     * @param patch   Patch-Dokument, z.B. {@code {"title": "Neu", "description": null}}
+     * @param ifMatch ETag aus einer vorherigen Antwort (optional)
+     * @return Das geänderte Event mit neuem ETag; 404, wenn es nicht existiert,
+     * 412 bei veraltetem ETag oder mit {@code If-Match} auf ein fehlendes Event
+     */
+    @PatchMapping(value = "/{id}", consumes = {EventPatch.MERGE_PATCH_JSON, MediaType.APPLICATION_JSON_VALUE})
+    public Mono<ResponseEntity<Event>> mergePatch(@PathVariable String id, @RequestBody JsonNode patch,
+                                                        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return patch(id, EventPatch.fromMergePatch(patch, objectMapper), ifMatch);
+    }
+
+    /**
+     * Ändert einzelne Felder eines Events per JSON Patch, z.B. {@code [{"op": "add", "path": "/tags/-", "value": "Team"}]}.
+     *
+     * @param id      ID des Events
+     * @param patch   Array der Operationen (siehe {@link EventPatch})
+     * @param ifMatch ETag aus einer vorherigen Antwort (optional)
+     * @return Das geänderte Event mit neuem ETag; 404, wenn es nicht existiert,
+     * 412 bei veraltetem ETag oder mit {@code If-Match} auf ein fehlendes Event
+     */
+    @PatchMapping(value = "/{id}", consumes = EventPatch.JSON_PATCH_JSON)
+    public Mono<ResponseEntity<Event>> jsonPatch(@PathVariable String id, @RequestBody JsonNode patch,
+                                                 @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return patch(id, EventPatch.fromJsonPatch(patch, objectMapper), ifMatch);
+    }
+
+    private Mono<ResponseEntity<Event>> patch(String id, EventPatch patch, String ifMatch) {
+        validatePatch(patch);
+        return eventService.patchEvent(id, patch, EventETags.expected(ifMatch))
+                .map(saved -> ResponseEntity.ok().eTag(EventETags.of(saved)).body(saved));
+    }
+
+    /**
+     * Test-Endpunkt zur Überprüfung, ob die API erreichbar ist.
+     *
+     * @return Der Text "Hello World!"
+     */
+    @GetMapping("/hello")
+    public Mono<String> hello() {
+        return Mono.just("Hello World!");
+    }
+
+    /**
+     * Gibt ein Event anhand seiner ID zurück.
+     * Stimmt {@code If-None-Match} mit dem aktuellen ETag überein, wird nur {@code 304} ohne Body gesendet.
+     *
+     * @param id       Die ID des gesuchten Events
+     * @param exchange Zugriff auf die bedingten Request-Header
+     * @return Das gefundene Event-Objekt mit ETag
+     */
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<Event>> getById(@PathVariable String id, ServerWebExchange exchange) {
+        return eventService.getById(id).map(event -> conditional(EventETags.of(event), event, exchange));
+    }
+
+    /**
+     * Löscht ein Event anhand seiner ID.
+     * Mit {@code If-Match} wird nur gelöscht, wenn das Event seit dem Lesen unverändert ist; sonst,
+     * auch bei {@code If-Match: *} auf ein fehlendes Event, folgt 412.
+     *
+     * @param id      Die ID des zu löschenden Events
+     * @param ifMatch ETag aus einer vorherigen Antwort (optional)
+     * @return Abschluss-Signal
+     */
+    @DeleteMapping("/{id}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public Mono<Void> delete(@PathVariable String id,
+                             @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return eventService.deleteEvent(id, EventETags.expected(ifMatch));
+    }
+
+    /**
+     * Erstellt mehrere Events in einem einzigen Request (siehe {@link EventController#createEvents}).
+     *
+     * @param events Liste von Event-Objekten
+     * @return Bericht mit dem Ergebnis je Eintrag
+     */
+    @PostMapping("/batch")
+    public Mono<BulkReportDto> createEvents(@RequestBody List<Event> events) {
+        return Mono.fromCallable(() -> bulkIngestService.ingest(events))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * Listet Events mit optionalen Filterkriterien (siehe {@link EventController#listEvents}).
+     *
+     * @return die passenden Events als JSON-Array, bei {@code view}/{@code fields} nur mit den gewählten Feldern
+     */
+    @GetMapping
+    public Flux<?> listEvents(
+            @RequestParam(required = false) String weekday,
+            @RequestParam(required = false) String month,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            @RequestParam(required = false) String tag,
+            @RequestParam(required = false) String titleContains,
+            @RequestParam(required = false) String dateFrom,
+            @RequestParam(required = false) String dateTo,
+            @RequestParam(required = false) String view,
+            @RequestParam(required = false) String fields
+    ) {
+        FilterDto filter = FilterDto.of(weekday, month, from, to, tag, titleContains, dateFrom, dateTo);
+        EventProjection projection = EventProjection.parse(view, fields);
+        return projection == null ? eventService.listEvents(filter) : eventService.listEvents(filter, projection);
+    }
+
+    /**
+     * Löscht alle Events, die den Filter erfüllen, mit einem einzigen {@code remove}.
+     * Die Filterparameter entsprechen {@link #listEvents}; mindestens einer muss gesetzt sein.
+     *
+     * @param dryRun {@code true}, um nur die betroffenen Events zu ermitteln
+     * @param max    Höchstzahl betroffener Events (Standard und Obergrenze: {@code calendar.bulk.filter.max-affected})
+     * @return Anzahl passender und gelöschter Events; 400, wenn der Filter mehr als {@code max} Events trifft
+     *         oder {@code from}/{@code to} kein gültiger Zeitpunkt ist
+     */
+    @DeleteMapping
+    public Mono<BulkChangeDto> deleteByFilter(
+            @RequestParam(required = false) String weekday,
+            @RequestParam(required = false) String month,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            @RequestParam(required = false) String tag,
+            @RequestParam(required = false) String titleContains,
+            @RequestParam(required = false) String dateFrom,
+            @RequestParam(required = false) String dateTo,
+            @RequestParam(defaultValue = "false") boolean dryRun,
+            @RequestParam(required = false) Integer max
+    ) {
+        FilterDto filter = FilterDto.strict(weekday, month, from, to, tag, titleContains, dateFrom, dateTo);
+        return eventService.deleteByFilter(filter, dryRun, max);
+    }
+
+    /**
+     * Ändert alle Events, die den Filter erfüllen, per JSON Merge Patch mit einem einzigen {@code updateMulti}.
+     * Die Filterparameter entsprechen {@link #listEvents}; mindestens einer muss gesetzt sein.
+     *
+     * @param patch  Patch-Dokument wie bei {@code PATCH /api/events/{id}}
+     * @param dryRun {@code true}, um nur die betroffenen Events zu ermitteln
+     * @param max    Höchstzahl betroffener Events (Standard und Obergrenze: {@code calendar.bulk.filter.max-affected})
+     * @return Anzahl passender und geänderter Events; 400, wenn der Filter mehr als {@code max} Events trifft
+     *         oder {@code from}/{@code to} kein gültiger Zeitpunkt ist
+     */
+    @PatchMapping(consumes = {EventPatch.MERGE_PATCH_JSON, MediaType.APPLICATION_JSON_VALUE})
+    public Mono<BulkChangeDto> mergePatchByFilter(
+            @RequestBody JsonNode patch,
+            @RequestParam(required = false) String weekday,
+            @RequestParam(required = false) String month,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            @RequestParam(required = false) String tag,
+            @RequestParam(required = false) String titleContains,
+            @RequestParam(required = false) String dateFrom,
+            @RequestParam(required = false) String dateTo,
+            @RequestParam(defaultValue = "false") boolean dryRun,
+            @RequestParam(required = false) Integer max
+    ) {
+        FilterDto filter = FilterDto.strict(weekday, month, from, to, tag, titleContains, dateFrom, dateTo);
+        return patchByFilter(filter, EventPatch.fromMergePatch(patch, objectMapper), dryRun, max);
+    }
+
+    /**
+     * Ändert alle Events, die den Filter erfüllen, per JSON Patch, z.B. um ein Tag bei allen zu entfernen.
+     * Die Filterparameter entsprechen {@link #listEvents}; mindestens einer muss gesetzt sein.
+     *
+     * @param patch  Array der Operationen (siehe {@link EventPatch})
+     * @param dryRun {@code true}, um nur die betroffenen Events zu ermitteln
+     * @param max    Höchstzahl betroffener Events (Standard und Obergrenze: {@code calendar.bulk.filter.max-affected})
+     * @return Anzahl passender und geänderter Events; 400, wenn der Filter mehr als {@code max} Events trifft
+     *         oder {@code from}/{@code to} kein gültiger Zeitpunkt ist
+     */
+    @PatchMapping(consumes = EventPatch.JSON_PATCH_JSON)
+    public Mono<BulkChangeDto> jsonPatchByFilter(
+            @RequestBody JsonNode patch,
+            @RequestParam(required = false) String weekday,
+            @RequestParam(required = false) String month,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            @RequestParam(required = false) String tag,
+            @RequestParam(required = false) String titleContains,
+            @RequestParam(required = false) String dateFrom,
+            @RequestParam(required = false) String dateTo,
+            @RequestParam(defaultValue = "false") boolean dryRun,
+            @RequestParam(required = false) Integer max
+    ) {
+        FilterDto filter = FilterDto.strict(weekday, month, from, to, tag, titleContains, dateFrom, dateTo);
+        return patchByFilter(filter, EventPatch.fromJsonPatch(patch, objectMapper), dryRun, max);
+    }
+
+    private Mono<BulkChangeDto> patchByFilter(FilterDto filter, EventPatch patch, boolean dryRun, Integer max) {
+        validatePatch(patch);
+        return eventService.patchByFilter(filter, patch, dryRun, max);
+    }
+
+    /**
+     * Zählt die passenden Events je Gruppe, ohne die Events zu übertragen.
+     * Die Filterparameter entsprechen {@link #listEvents}.
+     *
+     * @param by     Gruppierung: {@code tag}, {@code month}, {@code weekday} oder {@code start}
+     * @param bucket Zeitabschnitt bei {@code by=start}: {@code day}, {@code week}, {@code month} (Standard), {@code year}
+     * @return die Gruppen mit ihrer Anzahl
+     */
+    @GetMapping("/counts")
+    public Mono<EventCountsDto> countEvents(
+            @RequestParam(required = false) String by,
+            @RequestParam(required = false) String bucket,
+            @RequestParam(required = false) String weekday,
+            @RequestParam(required = false) String month,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            @RequestParam(required = false) String tag,
+            @RequestParam(required = false) String titleContains,
+            @RequestParam(required = false) String dateFrom,
+            @RequestParam(required = false) String dateTo
+    ) {
+        FilterDto filter = FilterDto.of(weekday, month, from, to, tag, titleContains, dateFrom, dateTo);
+        return eventService.countEvents(filter, CountGroup.parse(by),
+                bucket == null || bucket.isBlank() ? null : TimeBucket.parse(bucket));
+    }
+
+    /**
+     * Volltextsuche über Titel, Tags und Beschreibung, absteigend nach Relevanz.
+     *
+     * @param q     Suchbegriffe, z.B. {@code sprint planung} oder {@code "code review"}
+     * @param page  Nummer der Seite ab 0
+     * @param limit Seitengröße (Standard und Maximum siehe {@code calendar.pagination.*})
+     * @return die Seite mit Treffern und Relevanz
+     */
+    @GetMapping("/search")
+    public Mono<SearchPageDto> search(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer limit
+    ) {
+        return eventService.search(q, page, limit);
+    }
+
+    /**
+     * Delta-Synchronisation: liefert die seit {@code since} geänderten und gelöschten Events.
+     *
+     * @param since Token {@code nextToken} der vorherigen Antwort (leer für eine vollständige Synchronisation)
+     * @param limit Seitengröße (Standard und Maximum siehe {@code calendar.pagination.*})
+     * @return geänderte Events, IDs gelöschter Events und das Token für die nächste Anfrage
+     */
+    @GetMapping("/changes")
+    public Mono<EventChangesDto> listChanges(
+            @RequestParam(required = false) String since,
+            @RequestParam(required = false) Integer limit
+    ) {
+        return eventService.changesSince(since, limit);
+    }
+
+    /**
+     * Listet Events seitenweise (Keyset-Pagination nach {@code (start, id)}).
+     *
+     * @param cursor Token {@code nextCursor} der vorherigen Seite (leer für die erste Seite)
+     * @param limit  Seitengröße
+     * @param exchange Zugriff auf {@code If-None-Match}
+     * @return die Seite inklusive Token für die nächste Seite und ETag; {@code 304}, wenn unverändert
+     */
+    @GetMapping("/page")
+    public Mono<ResponseEntity<EventPageDto>> listEventsPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String weekday,
+            @RequestParam(required = false) String month,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            @RequestParam(required = false) String tag,
+            @RequestParam(required = false) String titleContains,
+            @RequestParam(required = false) String dateFrom,
+            @RequestParam(required = false) String dateTo,
+            ServerWebExchange exchange
+    ) {
+        FilterDto filter = FilterDto.of(weekday, month, from, to, tag, titleContains, dateFrom, dateTo);
+        return eventService.listEventsPage(filter, cursor, limit)
+                .map(page -> conditional(EventETags.of(page), page, exchange));
+    }
+
+    /**
+     * Antwortet mit {@code 304} ohne Body, wenn {@code If-None-Match} den ETag enthält, sonst mit {@code 200}.
+     */
+    private static <T> ResponseEntity<T> conditional(String etag, T body, ServerWebExchange exchange) {
+        if (exchange.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.ok().eTag(etag).body(body);
+    }
+
+    /**
+     * Streamt alle passenden Events als JSON-Array, sortiert nach {@code (start, id)}.
+     *
+     * @return die passenden Events
+     */
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Flux<Event> streamEvents(
+            @RequestParam(required = false) String weekday,
+            @RequestParam(required = false) String month,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            @RequestParam(required = false) String tag,
+            @RequestParam(required = false) String titleContains,
+            @RequestParam(required = false) String dateFrom,
+            @RequestParam(required = false) String dateTo
+    ) {
+        return eventService.streamEvents(FilterDto.of(weekday, month, from, to, tag, titleContains, dateFrom, dateTo));
+    }
+
+    /**
+     * Exportiert alle passenden Events als NDJSON (ein Event pro Zeile).
+     *
+     * @return die passenden Events, sortiert nach {@code (start, id)}
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Event> exportEvents(
+            @RequestParam(required = false) String weekday,
+            @RequestParam(required = false) String month,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            @RequestParam(required = false) String tag,
+            @RequestParam(required = false) String titleContains,
+            @RequestParam(required = false) String dateFrom,
+            @RequestParam(required = false) String dateTo
+    ) {
+        return eventService.streamEvents(FilterDto.of(weekday, month, from, to, tag, titleContains, dateFrom, dateTo));
+    }
+
+    /**
+     * Importiert Events aus NDJSON (ein Event pro Zeile).
+     * <p>
+     * Die Zeilen werden nacheinander auf einem {@code boundedElastic}-Thread verarbeitet; dessen
+     * begrenzter Puffer ({@code prefetch}) sorgt dafür, dass nur so schnell vom Client gelesen wird,
+     * wie die Bulk-Writes abgeschlossen werden.
+     * </p>
+     *
+     * @param lines der Request-Body zeilenweise
+     * @return Bericht mit Zählern und den fehlgeschlagenen Zeilen
+     */
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public Mono<BulkReportDto> importEvents(@RequestBody Flux<String> lines) {
+        return Mono.fromSupplier(ndjsonService::openImport)
+                .flatMap(session -> lines
+                        .publishOn(Schedulers.boundedElastic(), 256)
+                        .doOnNext(session::accept)
+                        .then(Mono.fromCallable(session::finish)))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * Findet Events nach ihrer Beziehung zu einem Zeitfenster, z.B. alle Events, die
+     * {@code [from, to)} überschneiden.
+     *
+     * @param from  Beginn des Fensters (ISO 8601, inklusive)
+     * @param to    Ende des Fensters (ISO 8601, exklusive)
+     * @param match   {@code overlaps} (Standard), {@code within} oder {@code contains}
+     * @param weekday Optionaler Filter für Wochentage ("MONDAY,FRIDAY")
+     * @param month   Optionaler Filter für Monate ("1,2,12")
+     * @return die Events, sortiert nach {@code (start, id)}
+     */
+    @GetMapping("/intervals")
+    public Flux<Event> findByInterval(
+            @RequestParam String from,
+            @RequestParam String to,
+            @RequestParam(required = false) String match,
+            @RequestParam(required = false) String weekday,
+            @RequestParam(required = false) String month
+    ) {
+        FilterDto recurrence = FilterDto.of(weekday, month, null, null, null, null, null, null);
+        return eventService.findByInterval(parseInstant("from", from), parseInstant("to", to), IntervalMatch.parse(match),
+                recurrence.weekdayMask(), recurrence.monthMask());
+    }
+
+    /**
+     * Validiert einen Cron-Ausdruck im Kontext eines QUARTZ-Cron-Formats.
+     *
+     * @param cronPattern Der zu überprüfende Cron-Ausdruck
+     * @throws ResponseStatusException wenn das Cron-Pattern ungültig ist
+     */
+    private void validateCron(String cronPattern) {
+        if (!cronCache.isValid(cronPattern)) {
+            throw new ResponseStatusException(
+                    HttpStatus.BAD_REQUEST,
+                    "Ungültiges Cron-Pattern: " + cronPattern
+            );
+        }
+    }
+
+    /**
+     * Prüft Cron-Pattern, Wochentage und Monate eines Patches, sofern er sie ändert.
+     *
+     * @param patch der Patch
+     */
+    private void validatePatch(EventPatch patch) {
+        if (patch.changes("cron")) {
+            validateCron(patch.getCron());
+        }
+        if (patch.changes("daysOfWeek")) {
+            validateWeekdays(patch.getDaysOfWeek());
+        }
+        if (patch.changes("months")) {
+            validateMonths(patch.getMonths());
+        }
+    }
+
+    /**
+     * Prüft, ob alle Wochentage erkannt werden ("MONDAY" oder "MON"); gespeichert wird die Vollform.
+     *
+     * @param days die Wochentage des Events
+     * @throws ResponseStatusException wenn ein Wert keinem Wochentag entspricht
+     */
+    private static void validateWeekdays(List<String> days) {
+        String invalid = CalendarMasks.firstInvalidWeekday(days);
+        if (invalid != null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Ungültiger Wochentag: " + invalid);
+        }
+    }
+
+    /**
+     * Prüft, ob alle Monate zwischen 1 und 12 liegen, statt ungültige Werte beim Speichern zu verwerfen.
+     *
+     * @param months die Monate des Events
+     * @throws ResponseStatusException wenn ein Monat ausserhalb von 1–12 liegt
+     */
+    private static void validateMonths(List<Integer> months) {
+        Integer invalid = CalendarMasks.firstInvalidMonth(months);
+        if (invalid != null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Ungültiger Monat: " + invalid);
+        }
+    }
+
+    /**
+     * Parst einen Zeitpunkt im ISO-8601-Format.
+     *
+     * @throws IllegalArgumentException wenn der Wert kein gültiger Zeitpunkt ist
+     */
+    private static Instant parseInstant(String name, String value) {
+        try {
+            return Instant.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Ungültiger Zeitpunkt für '" + name + "': " + value);
+        }
+    }
+}
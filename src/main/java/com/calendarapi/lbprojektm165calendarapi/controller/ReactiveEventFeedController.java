@@ -0,0 +1,62 @@
+package com.calendarapi.lbprojektm165calendarapi.controller;
+
+import com.calendarapi.lbprojektm165calendarapi.dto.EventChangeDto;
+import com.calendarapi.lbprojektm165calendarapi.dto.FilterDto;
+import com.calendarapi.lbprojektm165calendarapi.service.EventChangeFeed;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+
+/**
+ * WebFlux-Variante des {@link EventFeedController} für das Profil {@code reactive}.
+ *
+ * @author Chris
+ */
+@RestController
+@Profile("reactive")
+@ConditionalOnProperty(name = "calendar.feed.enabled", havingValue = "true")
+@RequestMapping("/api/events")
+public class ReactiveEventFeedController {
+
+    private final EventChangeFeed feed; // Gemeinsamer Change Stream
+
+    /**
+     * Konstruktor mit Dependency Injection.
+     *
+     * @param feed Quelle der Änderungen
+     */
+    public ReactiveEventFeedController(EventChangeFeed feed) {
+        this.feed = feed;
+    }
+
+    /**
+     * Liefert alle künftigen Änderungen an passenden Events, siehe {@link EventFeedController#feed}.
+     *
+     * @param lastEventId Header {@code Last-Event-ID}
+     * @param resumeToken Alternative zum Header
+     * @return SSE-Strom mit den Ereignissen {@code insert}, {@code update}, {@code delete} und {@code leave}
+     */
+    @GetMapping(value = "/feed", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<EventChangeDto>> feed(
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+            @RequestParam(required = false) String resumeToken,
+            @RequestParam(required = false) String weekday,
+            @RequestParam(required = false) String month,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            @RequestParam(required = false) String tag,
+            @RequestParam(required = false) String titleContains,
+            @RequestParam(required = false) String dateFrom,
+            @RequestParam(required = false) String dateTo
+    ) {
+        FilterDto filter = FilterDto.of(weekday, month, from, to, tag, titleContains, dateFrom, dateTo);
+        return feed.events(filter, lastEventId != null ? lastEventId : resumeToken);
+    }
+}
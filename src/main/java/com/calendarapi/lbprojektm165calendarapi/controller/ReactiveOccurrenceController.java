@@ -0,0 +1,110 @@
+package com.calendarapi.lbprojektm165calendarapi.controller;
+
+import com.calendarapi.lbprojektm165calendarapi.dto.FilterDto;
+import com.calendarapi.lbprojektm165calendarapi.dto.FreeBusyDto;
+import com.calendarapi.lbprojektm165calendarapi.dto.OccurrenceWindowDto;
+import com.calendarapi.lbprojektm165calendarapi.service.FreeBusyService;
+import com.calendarapi.lbprojektm165calendarapi.service.OccurrenceService;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * WebFlux-Variante des {@link OccurrenceController} für das Profil {@code reactive}.
+ * <p>
+ * Die Expansion ist CPU-gebunden und liest die Events blockierend; sie läuft daher auf dem
+ * {@code boundedElastic}-Scheduler.
+ * </p>
+ *
+ * @author Preo
+ */
+@RestController
+@Profile("reactive")
+@RequestMapping("/api/events")
+public class ReactiveOccurrenceController {
+
+    private final OccurrenceService occurrenceService; // Service zur Expansion der Cron-Patterns
+    private final FreeBusyService freeBusyService;     // Service für belegte Zeiträume und Konflikte
+
+    /**
+     * Konstruktor mit Dependency Injection.
+     *
+     * @param occurrenceService Service zur Expansion wiederkehrender Events
+     * @param freeBusyService   Service für die Frei/Belegt-Auskunft
+     */
+    public ReactiveOccurrenceController(OccurrenceService occurrenceService, FreeBusyService freeBusyService) {
+        this.occurrenceService = occurrenceService;
+        this.freeBusyService = freeBusyService;
+    }
+
+    /**
+     * Listet die Vorkommen aller passenden Events im Fenster {@code [from, to)}
+     * (Parameter siehe {@link OccurrenceController#listOccurrences}).
+     *
+     * @return die Vorkommen im Fenster, aufsteigend nach Startzeit
+     */
+    @GetMapping("/occurrences")
+    public Mono<OccurrenceWindowDto> listOccurrences(
+            @RequestParam String from,
+            @RequestParam String to,
+            @RequestParam(required = false) String weekday,
+            @RequestParam(required = false) String month,
+            @RequestParam(required = false) String tag,
+            @RequestParam(required = false) String titleContains,
+            @RequestParam(required = false) Integer limit
+    ) {
+        FilterDto filter = FilterDto.of(weekday, month, null, null, tag, titleContains, null, null);
+        Instant windowFrom = parseInstant("from", from);
+        Instant windowTo = parseInstant("to", to);
+        return Mono.fromCallable(() -> occurrenceService.expand(filter, windowFrom, windowTo, limit))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * Liefert belegte Zeiträume und Konflikte im Fenster {@code [from, to)}
+     * (Parameter siehe {@link OccurrenceController#freeBusy}).
+     *
+     * @return belegte Zeiträume und Konflikte
+     */
+    @GetMapping("/freebusy")
+    public Mono<FreeBusyDto> freeBusy(
+            @RequestParam String from,
+            @RequestParam String to,
+            @RequestParam(required = false) String tags
+    ) {
+        List<String> selected = parseTags(tags);
+        Instant windowFrom = parseInstant("from", from);
+        Instant windowTo = parseInstant("to", to);
+        return Mono.fromCallable(() -> freeBusyService.compute(selected, windowFrom, windowTo))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * Parst einen Zeitpunkt im ISO-8601-Format.
+     *
+     * @throws IllegalArgumentException wenn der Wert kein gültiger Zeitpunkt ist
+     */
+    private static Instant parseInstant(String name, String value) {
+        try {
+            return Instant.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Ungültiger Zeitpunkt für '" + name + "': " + value);
+        }
+    }
+
+    /**
+     * Zerlegt eine CSV-Liste von Tags; {@code null} ergibt eine leere Liste.
+     */
+    private static List<String> parseTags(String tags) {
+        return tags == null ? List.of() : Arrays.asList(tags.split(","));
+    }
+}
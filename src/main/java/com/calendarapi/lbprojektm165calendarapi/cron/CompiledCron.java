@@ -0,0 +1,86 @@
+package com.calendarapi.lbprojektm165calendarapi.cron;
+
+import com.cronutils.model.Cron;
+import com.cronutils.model.time.ExecutionTime;
+
+/**
+ * Ergebnis des einmaligen Parsens eines Cron-Patterns im QUARTZ-Format.
+ * <p>
+ * Enthält entweder den geparsten {@link Cron} samt {@link ExecutionTime} oder die Fehlermeldung,
+ * falls das Pattern ungültig ist. Instanzen sind unveränderlich und werden vom {@link CronCache}
+ * zwischen allen Aufrufern geteilt.
+ * </p>
+ *
+ * @author Arvin
+ */
+public final class CompiledCron {
+
+    private final String pattern;
+    private final Cron cron;
+    private final ExecutionTime executionTime;
+    private final String error;
+
+    private CompiledCron(String pattern, Cron cron, ExecutionTime executionTime, String error) {
+        this.pattern = pattern;
+        this.cron = cron;
+        this.executionTime = executionTime;
+        this.error = error;
+    }
+
+    /**
+     * Erzeugt ein gültiges Ergebnis.
+     *
+     * @param pattern das normalisierte Pattern
+     * @param cron    der validierte Cron-Ausdruck
+     * @return das kompilierte Pattern
+     */
+    static CompiledCron valid(String pattern, Cron cron) {
+        return new CompiledCron(pattern, cron, ExecutionTime.forCron(cron), null);
+    }
+
+    /**
+     * Erzeugt ein ungültiges Ergebnis.
+     *
+     * @param pattern das normalisierte Pattern
+     * @param error   die Fehlermeldung des Parsers
+     * @return das ungültige Ergebnis
+     */
+    static CompiledCron invalid(String pattern, String error) {
+        return new CompiledCron(pattern, null, null, error);
+    }
+
+    /**
+     * @return das normalisierte Pattern
+     */
+    public String getPattern() {
+        return pattern;
+    }
+
+    /**
+     * @return {@code true}, wenn das Pattern gültig ist
+     */
+    public boolean isValid() {
+        return cron != null;
+    }
+
+    /**
+     * @return der geparste Cron-Ausdruck oder {@code null}, wenn ungültig
+     */
+    public Cron getCron() {
+        return cron;
+    }
+
+    /**
+     * @return die Ausführungszeiten-Berechnung oder {@code null}, wenn ungültig
+     */
+    public ExecutionTime getExecutionTime() {
+        return executionTime;
+    }
+
+    /**
+     * @return die Fehlermeldung des Parsers oder {@code null}, wenn gültig
+     */
+    public String getError() {
+        return error;
+    }
+}
@@ -0,0 +1,147 @@
+package com.calendarapi.lbprojektm165calendarapi.cron;
+
+import com.cronutils.model.definition.CronDefinitionBuilder;
+import com.cronutils.parser.CronParser;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+import static com.cronutils.model.CronType.QUARTZ;
+
+/**
+ * Begrenzter Cache von normalisierten Cron-Patterns auf ihre kompilierte Form ({@link CompiledCron}).
+ * <p>
+ * Controller, {@code @ValidCron}-Validator und Occurrence-Expansion parsen dieselben Patterns immer
+ * wieder. Da in der Praxis nur wenige hundert verschiedene Patterns existieren, wird jedes Pattern
+ * genau einmal geparst und validiert. Auch ungültige Patterns werden gecacht, damit wiederholte
+ * fehlerhafte Anfragen den Parser nicht erneut belasten.
+ * </p>
+ *
+ * <p>Die Verdrängung erfolgt über Caffeine (W-TinyLFU); Treffer und Fehlzugriffe werden in
+ * {@link #stats()} gezählt.</p>
+ *
+ * <p>Da Bean-Validierung Validatoren auch außerhalb des Spring-Kontexts instanziiert, gibt es eine
+ * gemeinsame Instanz {@link #getDefault()}, die auch als Spring-Bean bereitgestellt wird.</p>
+ *
+ * @author Arvin
+ */
+public class CronCache {
+
+    /** Standardgröße des gemeinsamen Caches (Anzahl verschiedener Patterns) */
+    public static final int DEFAULT_MAX_SIZE = 1024;
+
+    /** Gemeinsame Instanz für alle Codepfade */
+    private static final CronCache DEFAULT = new CronCache(DEFAULT_MAX_SIZE);
+
+    /** Mehrfache Leerzeichen zwischen den Cron-Feldern */
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    /** CronParser-Instanz für Quartz-Cron-Ausdrücke */
+    private final CronParser parser = new CronParser(CronDefinitionBuilder.instanceDefinitionFor(QUARTZ));
+
+    /** Normalisiertes Pattern → kompiliertes Ergebnis */
+    private final Cache<String, CompiledCron> cache;
+
+    /**
+     * Erstellt einen Cache mit der angegebenen Maximalgröße.
+     *
+     * @param maxSize maximale Anzahl gecachter Patterns
+     */
+    public CronCache(int maxSize) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * @return die gemeinsame Instanz für Controller, Validator und Expansion
+     */
+    public static CronCache getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Normalisiert ein Cron-Pattern: Leerzeichen am Rand entfernen, Feldtrenner vereinheitlichen
+     * und Großschreibung ({@code mon} und {@code MON} sind für Quartz gleichwertig).
+     *
+     * @param pattern das Roh-Pattern
+     * @return das normalisierte Pattern oder {@code null}, wenn das Pattern leer ist
+     */
+    public static String normalize(String pattern) {
+        if (pattern == null || pattern.isBlank()) {
+            return null;
+        }
+        return WHITESPACE.matcher(pattern.trim()).replaceAll(" ").toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * Liefert die kompilierte Form eines Patterns; beim ersten Zugriff wird es geparst und validiert.
+     *
+     * @param pattern das Cron-Pattern im QUARTZ-Format
+     * @return das Ergebnis (gültig oder ungültig), niemals {@code null}
+     */
+    public CompiledCron compile(String pattern) {
+        String key = normalize(pattern);
+        if (key == null) {
+            return CompiledCron.invalid(pattern, "Cron-Ausdruck ist null oder leer");
+        }
+        return cache.get(key, this::parse);
+    }
+
+    /**
+     * Prüft, ob ein Pattern gültig ist.
+     *
+     * @param pattern das Cron-Pattern im QUARTZ-Format
+     * @return {@code true}, wenn das Pattern gültig ist
+     */
+    public boolean isValid(String pattern) {
+        return compile(pattern).isValid();
+    }
+
+    /**
+     * @return Treffer-, Fehlzugriffs- und Verdrängungsstatistik
+     */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    /**
+     * @return ungefähre Anzahl gecachter Patterns
+     */
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    /**
+     * @return der zugrunde liegende Caffeine-Cache (z.B. für Metriken)
+     */
+    public Cache<String, CompiledCron> nativeCache() {
+        return cache;
+    }
+
+    /**
+     * Parst und validiert ein normalisiertes Pattern (nur bei Cache-Fehlzugriff).
+     * <p>
+     * Manche Patterns (z.B. {@code 0 0 12 ? * 1-L *}) besteht {@code validate()}, die Berechnung der
+     * Ausführungszeiten scheitert aber mit einer Laufzeitausnahme. Deshalb wird einmal
+     * {@code nextExecution} berechnet; scheitert das, gilt das Pattern als ungültig.
+     * </p>
+     */
+    private CompiledCron parse(String key) {
+        try {
+            CompiledCron compiled = CompiledCron.valid(key, parser.parse(key).validate());
+            compiled.getExecutionTime().nextExecution(ZonedDateTime.now(ZoneOffset.UTC));
+            return compiled;
+        } catch (IllegalArgumentException e) {
+            return CompiledCron.invalid(key, e.getMessage());
+        } catch (RuntimeException e) {
+            return CompiledCron.invalid(key, "Ausführungszeiten nicht berechenbar: " + e);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.calendarapi.lbprojektm165calendarapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Ergebnis einer Massenänderung bzw. -löschung per Filter ({@code PATCH}/{@code DELETE /api/events}).
+ *
+ * @author Chris
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkChangeDto {
+
+    /** {@code true}, wenn nur gezählt und nichts geschrieben wurde. */
+    private boolean dryRun;
+
+    /** Anzahl Events, die den Filter erfüllen. */
+    private long matched;
+
+    /** Anzahl tatsächlich geänderter bzw. gelöschter Events (0 bei {@code dryRun}). */
+    private long affected;
+
+    /** Höchstzahl betroffener Events für diesen Request. */
+    private int max;
+
+    /** IDs der ausgewählten Events nach {@code (start, id)}, höchstens {@code max}. */
+    private List<String> ids;
+}
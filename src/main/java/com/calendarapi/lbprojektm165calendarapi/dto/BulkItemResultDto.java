@@ -0,0 +1,30 @@
+package com.calendarapi.lbprojektm165calendarapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Ergebnis eines einzelnen Eintrags beim Massenimport.
+ *
+ * @author Chris
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkItemResultDto {
+
+    /** Position des Eintrags im Request (0-basiert). */
+    private int index;
+
+    /** ID des gespeicherten Events oder {@code null} bei Fehler vor dem Schreiben. */
+    private String id;
+
+    /** {@code true}, wenn das Event gespeichert wurde. */
+    private boolean success;
+
+    /** Fehlermeldung oder {@code null} bei Erfolg. */
+    private String error;
+}
@@ -0,0 +1,32 @@
+package com.calendarapi.lbprojektm165calendarapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Bericht eines Massenimports mit Zusammenfassung und Ergebnis je Eintrag.
+ *
+ * @author Chris
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkReportDto {
+
+    /** Anzahl übergebener Einträge. */
+    private int total;
+
+    /** Anzahl gespeicherter Events. */
+    private int succeeded;
+
+    /** Anzahl fehlgeschlagener Einträge. */
+    private int failed;
+
+    /** Ergebnisse in Request-Reihenfolge. */
+    private List<BulkItemResultDto> items;
+}
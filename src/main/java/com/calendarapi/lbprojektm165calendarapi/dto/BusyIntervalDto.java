@@ -0,0 +1,26 @@
+package com.calendarapi.lbprojektm165calendarapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Ein zusammenhängender belegter Zeitraum {@code [start, end)} in der Frei/Belegt-Auskunft.
+ *
+ * @author Chris
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BusyIntervalDto {
+
+    /** Beginn der Belegung (UTC, inklusive). */
+    private Instant start;
+
+    /** Ende der Belegung (UTC, exklusive). */
+    private Instant end;
+}
@@ -0,0 +1,33 @@
+package com.calendarapi.lbprojektm165calendarapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Ein Zeitraum {@code [start, end)}, in dem sich mindestens zwei Vorkommen überschneiden.
+ *
+ * @author Chris
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConflictDto {
+
+    /** Beginn der Überschneidung (UTC, inklusive). */
+    private Instant start;
+
+    /** Ende der Überschneidung (UTC, exklusive). */
+    private Instant end;
+
+    /** Höchste Anzahl gleichzeitiger Vorkommen im Zeitraum. */
+    private int maxOverlap;
+
+    /** IDs der beteiligten Events, in der Reihenfolge ihres Beginns. */
+    private List<String> eventIds;
+}
@@ -0,0 +1,24 @@
+package com.calendarapi.lbprojektm165calendarapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Anzahl Events in einer Gruppe der Auswertung {@code GET /api/events/counts}.
+ *
+ * @author Chris
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CountDto {
+
+    /** Schlüssel der Gruppe: Tag, Monatsnummer, Wochentag oder Zeitabschnitt. */
+    private Object key;
+
+    /** Anzahl Events in der Gruppe. */
+    private long count;
+}
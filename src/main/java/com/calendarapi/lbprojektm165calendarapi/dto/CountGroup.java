@@ -0,0 +1,58 @@
+package com.calendarapi.lbprojektm165calendarapi.dto;
+
+import java.util.Locale;
+
+/**
+ * Merkmal, nach dem {@code GET /api/events/counts} die passenden Events gruppiert.
+ *
+ * <p>Bei den Listenfeldern zählt ein Event in jeder seiner Gruppen (ein Event mit zwei Tags zählt
+ * bei beiden); Events ohne Eintrag im Feld zählen in keiner Gruppe.</p>
+ *
+ * @author Chris
+ */
+public enum CountGroup {
+
+    /** Je Tag aus {@code tags} */
+    TAG("tags"),
+
+    /** Je Monat aus {@code months} (1–12) */
+    MONTH("months"),
+
+    /** Je Wochentag aus {@code daysOfWeek} */
+    WEEKDAY("daysOfWeek"),
+
+    /** Je Zeitabschnitt von {@code start} (siehe {@link TimeBucket}) */
+    START("start");
+
+    private final String field;
+
+    CountGroup(String field) {
+        this.field = field;
+    }
+
+    /**
+     * @return das gruppierte Feld des Events
+     */
+    public String getField() {
+        return field;
+    }
+
+    /**
+     * Parst den Request-Parameter {@code by} (Gross-/Kleinschreibung egal).
+     *
+     * @param value der Parameter
+     * @return das Gruppierungsmerkmal
+     * @throws IllegalArgumentException wenn der Wert fehlt oder unbekannt ist
+     */
+    public static CountGroup parse(String value) {
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("Der Parameter 'by' ist erforderlich (tag, month, weekday, start).");
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(
+                    "Ungültiger Wert für 'by': " + value + " (erlaubt: tag, month, weekday, start)");
+        }
+    }
+}
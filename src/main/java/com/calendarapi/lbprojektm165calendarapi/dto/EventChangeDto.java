@@ -0,0 +1,57 @@
+package com.calendarapi.lbprojektm165calendarapi.dto;
+
+import com.calendarapi.lbprojektm165calendarapi.model.Event;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Eine Änderung an der Collection "events" aus dem Change Stream, wie sie über
+ * {@code GET /api/events/feed} ausgeliefert wird.
+ *
+ * <p>{@code token} ist das Resume-Token von MongoDB und wird als SSE-{@code id} gesendet; ein Client,
+ * der es beim erneuten Verbinden als {@code Last-Event-ID} mitschickt, erhält alle späteren Änderungen.</p>
+ *
+ * @author Chris
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventChangeDto {
+
+    /**
+     * Art der Änderung.
+     */
+    public enum Type {
+        /** Neues Event */
+        INSERT,
+        /** Geändertes oder ersetztes Event */
+        UPDATE,
+        /** Gelöschtes Event; {@code event} ist {@code null} */
+        DELETE,
+        /**
+         * Geändertes Event, das den Filter des Abonnenten nicht (mehr) erfüllt; {@code event} ist {@code null}.
+         * Ohne Pre-Image ist unbekannt, ob es ihn vorher erfüllte; Clients entfernen es wie bei {@link #DELETE}.
+         */
+        LEAVE
+    }
+
+    /** Art der Änderung. */
+    private Type type;
+
+    /** ID des betroffenen Events. */
+    private String id;
+
+    /** Stand des Events nach der Änderung, bei {@link Type#DELETE} und {@link Type#LEAVE} {@code null}. */
+    private Event event;
+
+    /** Resume-Token dieser Änderung. */
+    private String token;
+
+    /** Laufende Nummer innerhalb dieser Instanz; nur für die Wiedergabe aus dem Puffer. */
+    @JsonIgnore
+    private long sequence;
+}
@@ -0,0 +1,91 @@
+package com.calendarapi.lbprojektm165calendarapi.dto;
+
+import com.calendarapi.lbprojektm165calendarapi.model.Event;
+import com.calendarapi.lbprojektm165calendarapi.model.EventTombstone;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Antwort der Delta-Synchronisation {@code GET /api/events/changes}.
+ *
+ * <p>Der Client übernimmt {@code changed} (anlegen oder ersetzen) und entfernt {@code deleted}; ist
+ * {@code reset} gesetzt, verwirft er vorher seinen lokalen Stand. {@code nextToken} wird als {@code since}
+ * an die nächste Anfrage übergeben, bei {@code hasMore} sofort, sonst bei der nächsten Synchronisation.</p>
+ *
+ * @author Chris
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventChangesDto {
+
+    /** Reihenfolge von Änderungen und Löschvermerken */
+    private static final Comparator<Change> ORDER = Comparator.comparing(Change::lastModified)
+            .thenComparing(Change::id);
+
+    /** Geänderte oder neue Events im aktuellen Stand. */
+    private List<Event> changed;
+
+    /** IDs der gelöschten Events. */
+    private List<String> deleted;
+
+    /** Token für die nächste Anfrage. */
+    private String nextToken;
+
+    /** {@code true}, wenn sofort weitere Änderungen abgeholt werden sollen. */
+    private boolean hasMore;
+
+    /** {@code true}, wenn der Client seinen lokalen Stand verwerfen muss (erste oder abgelaufene Synchronisation). */
+    private boolean reset;
+
+    /**
+     * Führt die nach {@code (lastModified, id)} sortierten Events und Löschvermerke zu einer Seite zusammen.
+     *
+     * @param events     geänderte Events, je bis zu {@code pageSize + 1}
+     * @param tombstones Löschvermerke, je bis zu {@code pageSize + 1}
+     * @param pageSize   angewendete Seitengröße
+     * @param until      obere Grenze der Abfrage (exklusive)
+     * @param reset      ob der Client seinen lokalen Stand verwerfen muss
+     * @return die Seite inklusive {@code nextToken}
+     */
+    public static EventChangesDto of(List<Event> events, List<EventTombstone> tombstones, int pageSize,
+                                     Instant until, boolean reset) {
+        List<Change> merged = new ArrayList<>(events.size() + tombstones.size());
+        events.forEach(event -> merged.add(new Change(event.getLastModified(), event.getId(), event)));
+        tombstones.forEach(tombstone -> merged.add(new Change(tombstone.getLastModified(), tombstone.getId(), null)));
+        merged.sort(ORDER);
+
+        boolean hasMore = merged.size() > pageSize;
+        List<Change> page = hasMore ? merged.subList(0, pageSize) : merged;
+        List<Event> changed = new ArrayList<>();
+        List<String> deleted = new ArrayList<>();
+        for (Change change : page) {
+            if (change.event() != null) {
+                changed.add(change.event());
+            } else {
+                deleted.add(change.id());
+            }
+        }
+        // Ohne weitere Seite ist alles vor 'until' übertragen; das Token bleibt so auch ohne Änderungen aktuell
+        Change last = hasMore ? page.get(page.size() - 1) : null;
+        SyncToken next = last != null ? new SyncToken(last.lastModified(), last.id()) : new SyncToken(until, null);
+        return EventChangesDto.builder()
+                .changed(changed)
+                .deleted(deleted)
+                .nextToken(next.encode())
+                .hasMore(hasMore)
+                .reset(reset)
+                .build();
+    }
+
+    private record Change(Instant lastModified, String id, Event event) {
+    }
+}
@@ -0,0 +1,32 @@
+package com.calendarapi.lbprojektm165calendarapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Antwortobjekt der Auswertung {@code GET /api/events/counts}.
+ *
+ * <p>Tags sind absteigend nach Anzahl sortiert, Monate und Wochentage in Kalenderreihenfolge,
+ * Zeitabschnitte chronologisch.</p>
+ *
+ * @author Chris
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventCountsDto {
+
+    /** Gruppierungsmerkmal. */
+    private CountGroup by;
+
+    /** Zeitabschnitt bei {@link CountGroup#START}, sonst {@code null}. */
+    private TimeBucket bucket;
+
+    /** Gruppen mit ihrer Anzahl. */
+    private List<CountDto> counts;
+}
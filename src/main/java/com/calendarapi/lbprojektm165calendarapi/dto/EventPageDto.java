@@ -0,0 +1,51 @@
+package com.calendarapi.lbprojektm165calendarapi.dto;
+
+import com.calendarapi.lbprojektm165calendarapi.model.Event;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Eine Seite von Events aus der Keyset-Pagination.
+ *
+ * <p>{@code nextCursor} wird als Parameter {@code cursor} an die nächste Anfrage übergeben;
+ * ist er {@code null}, wurde die letzte Seite erreicht.</p>
+ *
+ * @author Chris
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventPageDto {
+
+    /** Events der Seite, sortiert nach {@code (start, id)}. */
+    private List<Event> items;
+
+    /** Angewendete Seitengröße. */
+    private int limit;
+
+    /** Token für die nächste Seite oder {@code null}. */
+    private String nextCursor;
+
+    /**
+     * Erstellt die Seite aus bis zu {@code pageSize + 1} gelesenen Zeilen; die zusätzliche Zeile
+     * zeigt nur an, dass eine weitere Seite existiert.
+     *
+     * @param rows     gelesene Zeilen in Sortierreihenfolge
+     * @param pageSize angewendete Seitengröße
+     * @return die Seite inklusive {@code nextCursor}, falls weitere Zeilen existieren
+     */
+    public static EventPageDto of(List<Event> rows, int pageSize) {
+        boolean hasMore = rows.size() > pageSize;
+        List<Event> items = hasMore ? rows.subList(0, pageSize) : rows;
+        return EventPageDto.builder()
+                .items(items)
+                .limit(pageSize)
+                .nextCursor(hasMore ? PageCursor.after(items.get(items.size() - 1)).encode() : null)
+                .build();
+    }
+}
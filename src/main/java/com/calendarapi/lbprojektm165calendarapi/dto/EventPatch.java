@@ -0,0 +1,295 @@
+package com.calendarapi.lbprojektm165calendarapi.dto;
+
+import com.calendarapi.lbprojektm165calendarapi.model.CalendarMasks;
+import com.calendarapi.lbprojektm165calendarapi.model.Event;
+import com.calendarapi.lbprojektm165calendarapi.model.TitleGrams;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Teiländerung eines Events für {@code PATCH /api/events/{id}}, übersetzt in ein MongoDB-{@link Update}.
+ *
+ * <p>Statt das ganze Dokument zu ersetzen, werden nur die geänderten Felder per {@code $set}/{@code $unset}
+ * geschrieben; Tags lassen sich einzeln per {@code $addToSet}/{@code $pull} hinzufügen und entfernen.
+ * Abgeleitete Felder ({@code weekdayMask}, {@code monthMask}, {@code titleGrams}) werden im selben Update
+ * mitgeschrieben, da ein Update den {@code EventMaskCallback} nicht auslöst.</p>
+ *
+ * <p>Unterstützt werden JSON Merge Patch (RFC 7396, {@code null} entfernt ein Feld) und JSON Patch
+ * (RFC 6902) mit {@code add}/{@code replace}/{@code remove} auf Feldern, {@code add} auf {@code /tags/-}
+ * sowie {@code remove} auf {@code /tags} mit {@code value} zum Entfernen eines Tags nach Wert.
+ * Array-Indizes werden nicht unterstützt, da sie den aktuellen Stand voraussetzen.</p>
+ *
+ * @author Ricardo Cardoso
+ */
+public final class EventPatch {
+
+    /** Content-Type für JSON Merge Patch */
+    public static final String MERGE_PATCH_JSON = "application/merge-patch+json";
+
+    /** Content-Type für JSON Patch */
+    public static final String JSON_PATCH_JSON = "application/json-patch+json";
+
+    /** Über die API änderbare Felder */
+    private static final List<String> FIELDS = List.of(
+            "title", "description", "start", "end", "cron", "tags", "daysOfWeek", "dayOfMonth", "months");
+
+    /** Felder, die nur der Server setzt */
+    private static final List<String> READ_ONLY = List.of("id", "version", "lastModified");
+
+    private static final TypeReference<List<String>> STRINGS = new TypeReference<>() {
+    };
+    private static final TypeReference<List<Integer>> INTEGERS = new TypeReference<>() {
+    };
+
+    /** Feld → neuer Wert; {@code null} entfernt das Feld */
+    private final Map<String, Object> values = new LinkedHashMap<>();
+
+    /** Tags für {@code $addToSet} bzw. {@code $pull} */
+    private final Set<String> addedTags = new LinkedHashSet<>();
+    private final Set<String> removedTags = new LinkedHashSet<>();
+
+    private EventPatch() {
+    }
+
+    /**
+     * Übersetzt ein JSON Merge Patch (RFC 7396).
+     *
+     * @param patch        das Patch-Dokument
+     * @param objectMapper Mapper für die Feldwerte
+     * @return der Patch
+     * @throws IllegalArgumentException bei unbekannten oder nicht änderbaren Feldern, ungültigen Werten oder leerem Patch
+     */
+    public static EventPatch fromMergePatch(JsonNode patch, ObjectMapper objectMapper) {
+        if (patch == null || !patch.isObject()) {
+            throw new IllegalArgumentException("Ein Merge Patch muss ein JSON-Objekt sein.");
+        }
+        EventPatch result = new EventPatch();
+        for (Map.Entry<String, JsonNode> entry : patch.properties()) {
+            String field = field(entry.getKey());
+            result.set(field, value(field, entry.getValue(), objectMapper));
+        }
+        return result.requireChanges();
+    }
+
+    /**
+     * Übersetzt ein JSON Patch (RFC 6902); die Operationen werden in ihrer Reihenfolge angewendet.
+     *
+     * @param patch        Array der Operationen
+     * @param objectMapper Mapper für die Feldwerte
+     * @return der Patch
+     * @throws IllegalArgumentException bei nicht unterstützten Operationen oder Pfaden, ungültigen Werten oder leerem Patch
+     */
+    public static EventPatch fromJsonPatch(JsonNode patch, ObjectMapper objectMapper) {
+        if (patch == null || !patch.isArray()) {
+            throw new IllegalArgumentException("Ein JSON Patch muss ein Array von Operationen sein.");
+        }
+        EventPatch result = new EventPatch();
+        for (JsonNode operation : patch) {
+            String op = operation.path("op").asText();
+            String path = operation.path("path").asText();
+            JsonNode value = operation.get("value");
+            if (op.equals("add") && path.equals("/tags/-")) {
+                result.addTag(tag(value));
+            } else if (op.equals("remove") && path.equals("/tags") && value != null) {
+                result.removeTag(tag(value));
+            } else if ((op.equals("add") || op.equals("replace")) && value != null) {
+                String field = field(path(path));
+                result.set(field, value(field, value, objectMapper));
+            } else if (op.equals("remove")) {
+                result.set(field(path(path)), null);
+            } else {
+                throw new IllegalArgumentException("Nicht unterstützte Patch-Operation: " + operation);
+            }
+        }
+        return result.requireChanges();
+    }
+
+    /**
+     * @param field Feldname
+     * @return {@code true}, wenn der Patch das Feld setzt oder entfernt
+     */
+    public boolean changes(String field) {
+        return values.containsKey(field) || (field.equals("tags") && !(addedTags.isEmpty() && removedTags.isEmpty()));
+    }
+
+    /**
+     * @return das neue Cron-Pattern (nur aussagekräftig, wenn {@code changes("cron")})
+     */
+    public String getCron() {
+        return (String) values.get("cron");
+    }
+
+    /**
+     * @return die neuen Wochentage (nur aussagekräftig, wenn {@code changes("daysOfWeek")})
+     */
+    @SuppressWarnings("unchecked")
+    public List<String> getDaysOfWeek() {
+        return (List<String>) values.get("daysOfWeek");
+    }
+
+    /**
+     * @return die neuen Monate (nur aussagekräftig, wenn {@code changes("months")})
+     */
+    @SuppressWarnings("unchecked")
+    public List<Integer> getMonths() {
+        return (List<Integer>) values.get("months");
+    }
+
+    /**
+     * Baut das MongoDB-Update inklusive der abgeleiteten Felder (ohne {@code version}/{@code lastModified}).
+     *
+     * @return das Update
+     */
+    @SuppressWarnings("unchecked")
+    public Update toUpdate() {
+        Update update = new Update();
+        values.forEach((field, value) -> {
+            switch (field) {
+                case "title" -> {
+                    setOrUnset(update, field, value);
+                    update.set("titleGrams", TitleGrams.of((String) value));
+                }
+                case "daysOfWeek" -> {
+                    List<String> days = CalendarMasks.canonicalWeekdays((List<String>) value);
+                    setOrUnset(update, field, days);
+                    update.set("weekdayMask", CalendarMasks.weekdays(days));
+                }
+                case "months" -> {
+                    List<Integer> months = CalendarMasks.canonicalMonths((List<Integer>) value);
+                    setOrUnset(update, field, months);
+                    update.set("monthMask", CalendarMasks.months(months));
+                }
+                default -> setOrUnset(update, field, value);
+            }
+        });
+        if (!addedTags.isEmpty()) {
+            update.addToSet("tags").each(addedTags.toArray());
+        }
+        if (!removedTags.isEmpty()) {
+            update.pullAll("tags", removedTags.toArray());
+        }
+        return update;
+    }
+
+    private static void setOrUnset(Update update, String field, Object value) {
+        if (value == null) {
+            update.unset(field);
+        } else {
+            update.set(field, value);
+        }
+    }
+
+    private void set(String field, Object value) {
+        values.put(field, value);
+        if (field.equals("tags")) {
+            addedTags.clear();
+            removedTags.clear();
+        }
+    }
+
+    /**
+     * Nach einem {@code $set} auf {@code tags} wird die neue Liste direkt angepasst; sonst wird
+     * {@code $addToSet} bzw. {@code $pull} vorgemerkt. Beides zusammen lässt MongoDB in einem Update nicht zu.
+     */
+    @SuppressWarnings("unchecked")
+    private void addTag(String tag) {
+        if (values.containsKey("tags")) {
+            List<String> current = (List<String>) values.get("tags");
+            List<String> tags = current == null ? new ArrayList<>() : new ArrayList<>(current);
+            if (!tags.contains(tag)) {
+                tags.add(tag);
+            }
+            values.put("tags", tags);
+        } else if (removedTags.isEmpty()) {
+            addedTags.add(tag);
+        } else {
+            throw new IllegalArgumentException("Tags können in einem Patch nur hinzugefügt oder nur entfernt werden.");
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void removeTag(String tag) {
+        if (values.containsKey("tags")) {
+            if (values.get("tags") != null) {
+                List<String> tags = new ArrayList<>((List<String>) values.get("tags"));
+                tags.removeIf(tag::equals);
+                values.put("tags", tags);
+            }
+        } else if (addedTags.isEmpty()) {
+            removedTags.add(tag);
+        } else {
+            throw new IllegalArgumentException("Tags können in einem Patch nur hinzugefügt oder nur entfernt werden.");
+        }
+    }
+
+    private EventPatch requireChanges() {
+        if (values.isEmpty() && addedTags.isEmpty() && removedTags.isEmpty()) {
+            throw new IllegalArgumentException("Der Patch enthält keine Änderungen.");
+        }
+        return this;
+    }
+
+    /**
+     * Liest den Feldnamen aus einem JSON Pointer der Form {@code /feld}.
+     */
+    private static String path(String pointer) {
+        if (!pointer.startsWith("/") || pointer.indexOf('/', 1) >= 0) {
+            throw new IllegalArgumentException("Nicht unterstützter Pfad: " + pointer);
+        }
+        return pointer.substring(1).replace("~1", "/").replace("~0", "~");
+    }
+
+    private static String field(String name) {
+        if (READ_ONLY.contains(name)) {
+            throw new IllegalArgumentException("Feld '" + name + "' kann nicht geändert werden.");
+        }
+        if (!FIELDS.contains(name)) {
+            throw new IllegalArgumentException(
+                    "Unbekanntes Feld: " + name + " (erlaubt: " + String.join(", ", FIELDS) + ")");
+        }
+        return name;
+    }
+
+    private static String tag(JsonNode value) {
+        if (value == null || !value.isTextual()) {
+            throw new IllegalArgumentException("Ein Tag muss ein Text sein: " + value);
+        }
+        return value.asText();
+    }
+
+    /**
+     * Liest einen Feldwert im Typ des {@link Event}-Felds; {@code null} entfernt das Feld.
+     */
+    private static Object value(String field, JsonNode node, ObjectMapper objectMapper) {
+        if (node == null || node.isNull()) {
+            return null;
+        }
+        try {
+            return switch (field) {
+                case "start", "end" -> objectMapper.treeToValue(node, Instant.class);
+                case "dayOfMonth" -> objectMapper.treeToValue(node, Integer.class);
+                case "tags", "daysOfWeek" -> objectMapper.readerFor(STRINGS).readValue(node);
+                case "months" -> objectMapper.readerFor(INTEGERS).readValue(node);
+                default -> {
+                    if (!node.isTextual()) {
+                        throw new IllegalArgumentException("Ungültiger Wert für '" + field + "': " + node);
+                    }
+                    yield node.asText();
+                }
+            };
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Ungültiger Wert für '" + field + "': " + node);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.calendarapi.lbprojektm165calendarapi.dto;
+
+import com.calendarapi.lbprojektm165calendarapi.model.Event;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Auswahl der Event-Felder, die eine Listenabfrage liest und ausgibt.
+ *
+ * <p>Die Projektion wird in der MongoDB-Abfrage gesetzt, sodass nicht benötigte Felder weder vom
+ * Server gelesen und übertragen noch auf das {@link Event} gemappt werden. Die Ausgabe enthält nur die
+ * gewählten Felder ({@link #apply(Event)}), {@code id} ist immer enthalten.</p>
+ *
+ * <p>Angefragt wird entweder über eine benannte Sicht ({@code view=summary}) oder eine explizite
+ * Feldliste ({@code fields=title,start}); ohne beides wird das vollständige Event geliefert.</p>
+ *
+ * @author Chris
+ */
+public final class EventProjection {
+
+    /** Alle über die API sichtbaren Felder in Ausgabereihenfolge */
+    private static final List<String> FIELDS = List.of(
+            "id", "title", "description", "start", "end", "cron", "tags", "daysOfWeek", "dayOfMonth", "months");
+
+    /** Felder der Sicht {@code summary}, z.B. für die Kalenderansicht */
+    private static final List<String> SUMMARY = List.of("id", "title", "start", "end", "tags");
+
+    private final List<String> fields;
+
+    private EventProjection(List<String> fields) {
+        this.fields = fields;
+    }
+
+    /**
+     * Parst die Request-Parameter {@code view} und {@code fields}.
+     *
+     * @param view   {@code summary} oder {@code full}; {@code null} für keine Sicht
+     * @param fields Feldnamen als CSV; {@code null} für keine Feldliste
+     * @return die Projektion oder {@code null} für das vollständige Event
+     * @throws IllegalArgumentException bei unbekannter Sicht, unbekanntem Feld oder beiden Parametern
+     */
+    public static EventProjection parse(String view, String fields) {
+        boolean hasView = view != null && !view.isBlank();
+        boolean hasFields = fields != null && !fields.isBlank();
+        if (hasView && hasFields) {
+            throw new IllegalArgumentException("Entweder 'view' oder 'fields' angeben, nicht beides.");
+        }
+        if (hasView) {
+            return switch (view.trim().toLowerCase(Locale.ROOT)) {
+                case "full" -> null;
+                case "summary" -> new EventProjection(SUMMARY);
+                default -> throw new IllegalArgumentException(
+                        "Ungültiger Wert für 'view': " + view + " (erlaubt: summary, full)");
+            };
+        }
+        if (!hasFields) {
+            return null;
+        }
+        Set<String> requested = new LinkedHashSet<>();
+        for (String part : fields.split(",")) {
+            String name = part.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!FIELDS.contains(name)) {
+                throw new IllegalArgumentException(
+                        "Unbekanntes Feld: " + name + " (erlaubt: " + String.join(", ", FIELDS) + ")");
+            }
+            requested.add(name);
+        }
+        List<String> ordered = new ArrayList<>();
+        for (String name : FIELDS) {
+            if (name.equals("id") || requested.contains(name)) {
+                ordered.add(name);
+            }
+        }
+        return new EventProjection(List.copyOf(ordered));
+    }
+
+    /**
+     * @return die ausgegebenen Felder, beginnend mit {@code id}
+     */
+    public List<String> getFields() {
+        return fields;
+    }
+
+    /**
+     * Überträgt die gewählten Felder eines (projiziert gelesenen) Events in die Ausgabe.
+     *
+     * @param event das Event
+     * @return Feldname → Wert in Ausgabereihenfolge
+     */
+    public Map<String, Object> apply(Event event) {
+        Map<String, Object> out = new LinkedHashMap<>();
+        for (String name : fields) {
+            out.put(name, switch (name) {
+                case "id" -> event.getId();
+                case "title" -> event.getTitle();
+                case "description" -> event.getDescription();
+                case "start" -> event.getStart();
+                case "end" -> event.getEnd();
+                case "cron" -> event.getCron();
+                case "tags" -> event.getTags();
+                case "daysOfWeek" -> event.getDaysOfWeek();
+                case "dayOfMonth" -> event.getDayOfMonth();
+                case "months" -> event.getMonths();
+                default -> throw new IllegalStateException(name);
+            });
+        }
+        return out;
+    }
+
+    @Override
+    public String toString() {
+        return String.join(",", fields);
+    }
+}
@@ -0,0 +1,48 @@
+package com.calendarapi.lbprojektm165calendarapi.dto;
+
+import com.calendarapi.lbprojektm165calendarapi.model.Event;
+
+import java.time.Instant;
+
+/**
+ * Stand eines Events aus {@code version} und {@code lastModified}, wie er im ETag steht.
+ *
+ * <p>Dient als Vorbedingung aus {@code If-Match}: Nur wenn beide Werte mit dem gespeicherten Stand
+ * übereinstimmen, wird geschrieben; so wird auch eine Änderung erkannt, die die Version nicht erhöht hat.
+ * {@link #ANY} steht für {@code If-Match: *} und verlangt nur, dass das Event existiert.</p>
+ *
+ * @param version      die Version oder {@code null} für {@link #ANY}
+ * @param lastModified Änderungszeitpunkt auf Millisekunden oder {@code null}, wenn das Event keinen hat
+ * @author Preo
+ */
+public record EventVersion(Long version, Instant lastModified) {
+
+    /** Vorbedingung {@code If-Match: *} */
+    public static final EventVersion ANY = new EventVersion(null, null);
+
+    /**
+     * @param event das gespeicherte Event
+     * @return sein Stand; fehlende Werte wie im ETag als {@code 0} bzw. {@code null}
+     */
+    public static EventVersion of(Event event) {
+        long version = event.getVersion() == null ? 0 : event.getVersion();
+        Instant modified = event.getLastModified() == null ? null
+                : Instant.ofEpochMilli(event.getLastModified().toEpochMilli());
+        return new EventVersion(version, modified);
+    }
+
+    /**
+     * @return {@code true} für {@code If-Match: *}
+     */
+    public boolean isAny() {
+        return version == null;
+    }
+
+    /**
+     * @param current der gespeicherte Stand oder {@code null}, wenn das Event nicht existiert
+     * @return {@code true}, wenn die Vorbedingung erfüllt ist
+     */
+    public boolean matches(EventVersion current) {
+        return current != null && (isAny() || equals(current));
+    }
+}
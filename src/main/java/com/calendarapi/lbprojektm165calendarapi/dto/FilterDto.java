@@ -1,10 +1,23 @@
 package com.calendarapi.lbprojektm165calendarapi.dto;
 
+import com.calendarapi.lbprojektm165calendarapi.model.CalendarMasks;
+import com.calendarapi.lbprojektm165calendarapi.model.Event;
+
+import java.time.DayOfWeek;
 import java.time.Instant;
 import java.time.LocalDate;
+import java.time.ZoneOffset;
 import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.TreeSet;
 import java.util.stream.Collectors;
 
 /**
@@ -22,12 +35,16 @@ import java.util.stream.Collectors;
  *
  * <p>Wird hauptsächlich vom {@code EventController} verwendet.</p>
  *
+ * <p>{@link #normalized()} liefert die kanonische Form eines Filters; zwei Filter mit gleicher
+ * kanonischer Form liefern dieselben Events und sind über {@link #equals(Object)} gleich.
+ * Sie dient als Schlüssel des Abfrage-Caches.</p>
+ *
  * @author Chris
  */
 public class FilterDto {
 
-    // Rohdaten-String für Wochentage ("MONDAY,TUESDAY")
-    private String weekday;
+    // Wochentage als Menge; "MON", "monday" usw. werden beim Setzen normalisiert
+    private EnumSet<DayOfWeek> weekdays;
 
     // Liste von Monaten (1 = Januar, 12 = Dezember)
     private List<Integer> month;
@@ -47,12 +64,82 @@ public class FilterDto {
     private LocalDate dateTo;
 
     /**
-     * Setzt die Wochentage als CSV-String ("MONDAY,TUESDAY").
+     * Erstellt einen Filter aus den rohen Query-Parametern; {@code null} bedeutet "nicht gesetzt".
+     *
+     * @param weekday       Wochentage als CSV
+     * @param month         Monate als CSV
+     * @param from          Startzeitpunkt (ISO 8601)
+     * @param to            Endzeitpunkt (ISO 8601)
+     * @param tag           Tag
+     * @param titleContains Teilwort im Titel
+     * @param dateFrom      Startdatum (yyyy-MM-dd)
+     * @param dateTo        Enddatum (yyyy-MM-dd)
+     * @return der befüllte Filter
+     */
+    public static FilterDto of(String weekday, String month, String from, String to,
+                               String tag, String titleContains, String dateFrom, String dateTo) {
+        FilterDto filter = new FilterDto();
+        filter.setWeekday(weekday);
+        filter.setMonth(month);
+        filter.setFrom(from);
+        filter.setTo(to);
+        filter.setTag(tag);
+        filter.setTitleContains(titleContains);
+        filter.setDateFrom(dateFrom);
+        filter.setDateTo(dateTo);
+        return filter;
+    }
+
+    /**
+     * Wie {@link #of}, weist aber ungültige Zeitpunkte in {@code from}/{@code to} ab, statt sie zu ignorieren.
+     * Für schreibende Endpunkte, bei denen ein ignoriertes Kriterium den Filter unbemerkt erweitern würde.
+     *
+     * @return der befüllte Filter
+     * @throws IllegalArgumentException wenn {@code from} oder {@code to} kein gültiger Zeitpunkt ist
+     */
+    public static FilterDto strict(String weekday, String month, String from, String to,
+                                   String tag, String titleContains, String dateFrom, String dateTo) {
+        requireInstant("from", from);
+        requireInstant("to", to);
+        return of(weekday, month, from, to, tag, titleContains, dateFrom, dateTo);
+    }
+
+    private static void requireInstant(String name, String value) {
+        if (value == null || value.isBlank()) {
+            return;
+        }
+        try {
+            Instant.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Ungültiger Zeitpunkt für '" + name + "': " + value);
+        }
+    }
+
+    /**
+     * Setzt die Wochentage als CSV-String ("MONDAY,TUESDAY") und normalisiert sie zu einer Menge.
+     * Erkannt werden englische Vollformen und dreibuchstabige Kürzel ("MON"), unabhängig von der
+     * Gross-/Kleinschreibung.
      *
      * @param weekdaysCsv Kommagetrennte Liste von Wochentagen
+     * @throws IllegalArgumentException wenn ein Wert keinem Wochentag entspricht
      */
     public void setWeekday(String weekdaysCsv) {
-        this.weekday = weekdaysCsv;
+        if (weekdaysCsv == null || weekdaysCsv.isBlank()) {
+            this.weekdays = null;
+            return;
+        }
+        EnumSet<DayOfWeek> days = EnumSet.noneOf(DayOfWeek.class);
+        for (String value : weekdaysCsv.split(",")) {
+            if (value.isBlank()) {
+                continue;
+            }
+            DayOfWeek day = CalendarMasks.parseWeekday(value);
+            if (day == null) {
+                throw new IllegalArgumentException("Ungültiger Wochentag: " + value.trim());
+            }
+            days.add(day);
+        }
+        this.weekdays = days.isEmpty() ? null : days;
     }
 
     /**
@@ -136,10 +223,18 @@ public class FilterDto {
     // -------------------- Getter --------------------
 
     /**
-     * @return CSV-String der gesetzten Wochentage
+     * @return die gesetzten Wochentage als kanonischer CSV-String ("MONDAY,FRIDAY") oder {@code null}
      */
     public String getWeekday() {
-        return weekday;
+        return weekdays == null ? null
+                : weekdays.stream().map(DayOfWeek::name).collect(Collectors.joining(","));
+    }
+
+    /**
+     * @return die gesetzten Wochentage (leer, wenn nicht gesetzt)
+     */
+    public Set<DayOfWeek> getWeekdays() {
+        return weekdays == null ? Set.of() : Collections.unmodifiableSet(weekdays);
     }
 
     /**
@@ -190,4 +285,169 @@ public class FilterDto {
     public LocalDate getDateTo() {
         return dateTo;
     }
+
+    // -------------------- Kanonische Form --------------------
+
+    /**
+     * Erstellt die kanonische Form dieses Filters:
+     * <ul>
+     *   <li>Wochentage: bereits beim Setzen als Menge normalisiert</li>
+     *   <li>Monate: ohne Duplikate, aufsteigend sortiert</li>
+     *   <li>{@code from}/{@code to}: auf volle Sekunden abgeschnitten</li>
+     *   <li>leere Werte werden zu {@code null}</li>
+     * </ul>
+     *
+     * @return ein neuer, normalisierter Filter
+     */
+    public FilterDto normalized() {
+        FilterDto n = new FilterDto();
+        n.weekdays = weekdays == null ? null : EnumSet.copyOf(weekdays);
+        if (month != null && !month.isEmpty()) {
+            n.month = new ArrayList<>(new TreeSet<>(month));
+        }
+        n.from = from == null ? null : from.truncatedTo(ChronoUnit.SECONDS);
+        n.to = to == null ? null : to.truncatedTo(ChronoUnit.SECONDS);
+        n.tag = tag == null || tag.isBlank() ? null : tag;
+        n.titleContains = titleContains == null || titleContains.isBlank() ? null : titleContains;
+        n.dateFrom = dateFrom;
+        n.dateTo = dateTo;
+        return n;
+    }
+
+    /**
+     * Kopie dieses Filters mit ersetztem Zeitbereich; dieser Filter bleibt unverändert,
+     * da er z.B. als Schlüssel des Abfrage-Caches dient.
+     *
+     * @param from neuer Startzeitpunkt oder {@code null}
+     * @param to   neuer Endzeitpunkt oder {@code null}
+     * @return ein neuer Filter
+     */
+    public FilterDto withTimeRange(Instant from, Instant to) {
+        FilterDto copy = new FilterDto();
+        copy.weekdays = weekdays == null ? null : EnumSet.copyOf(weekdays);
+        copy.month = month == null ? null : new ArrayList<>(month);
+        copy.from = from;
+        copy.to = to;
+        copy.tag = tag;
+        copy.titleContains = titleContains;
+        copy.dateFrom = dateFrom;
+        copy.dateTo = dateTo;
+        return copy;
+    }
+
+    /**
+     * @return die gesetzten Wochentage als Bitmaske ({@link CalendarMasks}), 0 wenn nicht gesetzt
+     */
+    public int weekdayMask() {
+        int mask = 0;
+        if (weekdays != null) {
+            for (DayOfWeek day : weekdays) {
+                mask |= 1 << day.ordinal();
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * @return die gesetzten Monate als Bitmaske ({@link CalendarMasks}), 0 wenn nicht gesetzt
+     * @throws IllegalArgumentException wenn ein Monat ausserhalb von 1–12 liegt
+     */
+    public int monthMask() {
+        if (month == null || month.isEmpty()) {
+            return 0;
+        }
+        for (Integer value : month) {
+            if (value == null || value < 1 || value > 12) {
+                throw new IllegalArgumentException("Ungültiger Monat: " + value);
+            }
+        }
+        return CalendarMasks.months(month);
+    }
+
+    /**
+     * Prüft ein einzelnes Event im Speicher mit derselben Semantik wie die MongoDB-Abfrage
+     * ({@code EventRepositoryImpl#buildQuery}), z.B. für Änderungen aus dem Change Stream.
+     *
+     * @param event das Event
+     * @return {@code true}, wenn das Event alle gesetzten Kriterien erfüllt
+     * @throws IllegalArgumentException wenn ein Monat ausserhalb von 1–12 liegt
+     */
+    public boolean matches(Event event) {
+        if (!CalendarMasks.anySet(CalendarMasks.weekdays(event.getDaysOfWeek()), weekdayMask())
+                || !CalendarMasks.anySet(CalendarMasks.months(event.getMonths()), monthMask())) {
+            return false;
+        }
+        Instant start = event.getStart();
+        if ((from != null || to != null) && start == null) {
+            return false;
+        }
+        if ((from != null && start.isBefore(from)) || (to != null && start.isAfter(to))) {
+            return false;
+        }
+        if (tag != null && !tag.isBlank() && (event.getTags() == null || !event.getTags().contains(tag))) {
+            return false;
+        }
+        if (titleContains != null && !titleContains.isBlank() && (event.getTitle() == null
+                || !event.getTitle().toLowerCase(Locale.ROOT).contains(titleContains.toLowerCase(Locale.ROOT)))) {
+            return false;
+        }
+        if (dateFrom != null && (start == null || start.isBefore(dateFrom.atStartOfDay(ZoneOffset.UTC).toInstant()))) {
+            return false;
+        }
+        return dateTo == null || (event.getEnd() != null
+                && !event.getEnd().isAfter(dateTo.plusDays(1).atStartOfDay(ZoneOffset.UTC).toInstant()));
+    }
+
+    /**
+     * @return {@code true}, wenn kein Filterparameter gesetzt ist (der Filter trifft alle Events)
+     */
+    public boolean isEmpty() {
+        return shape().equals("none");
+    }
+
+    /**
+     * Beschreibt, welche Parameter gesetzt sind (z.B. {@code "month+tag"}), unabhängig von ihren Werten.
+     * Wird als Dimension für Cache- und Abfragemetriken verwendet.
+     *
+     * @return die Form des Filters oder {@code "none"}, wenn kein Parameter gesetzt ist
+     */
+    public String shape() {
+        StringJoiner joiner = new StringJoiner("+");
+        joiner.setEmptyValue("none");
+        if (weekdays != null) joiner.add("weekday");
+        if (month != null && !month.isEmpty()) joiner.add("month");
+        if (from != null) joiner.add("from");
+        if (to != null) joiner.add("to");
+        if (tag != null && !tag.isBlank()) joiner.add("tag");
+        if (titleContains != null && !titleContains.isBlank()) joiner.add("titleContains");
+        if (dateFrom != null) joiner.add("dateFrom");
+        if (dateTo != null) joiner.add("dateTo");
+        return joiner.toString();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof FilterDto other)) return false;
+        return Objects.equals(weekdays, other.weekdays)
+                && Objects.equals(month, other.month)
+                && Objects.equals(from, other.from)
+                && Objects.equals(to, other.to)
+                && Objects.equals(tag, other.tag)
+                && Objects.equals(titleContains, other.titleContains)
+                && Objects.equals(dateFrom, other.dateFrom)
+                && Objects.equals(dateTo, other.dateTo);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(weekdays, month, from, to, tag, titleContains, dateFrom, dateTo);
+    }
+
+    @Override
+    public String toString() {
+        return "FilterDto{weekday=" + getWeekday() + ", month=" + month + ", from=" + from + ", to=" + to
+                + ", tag=" + tag + ", titleContains=" + titleContains
+                + ", dateFrom=" + dateFrom + ", dateTo=" + dateTo + "}";
+    }
 }
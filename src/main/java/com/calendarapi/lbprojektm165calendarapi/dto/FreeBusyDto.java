@@ -0,0 +1,46 @@
+package com.calendarapi.lbprojektm165calendarapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Antwortobjekt der Frei/Belegt-Auskunft für ein Zeitfenster {@code [from, to)}.
+ *
+ * <p>Die Grösse hängt nur von der Anzahl belegter Zeiträume und Konflikte ab, nicht von der
+ * Anzahl der Events. {@code truncated} ist {@code true}, wenn die Expansion wegen
+ * {@code calendar.occurrences.max-results} abgebrochen wurde; das Ergebnis ist dann unvollständig.</p>
+ *
+ * @author Chris
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FreeBusyDto {
+
+    /** Beginn des Fensters (inklusive). */
+    private Instant from;
+
+    /** Ende des Fensters (exklusive). */
+    private Instant to;
+
+    /** Berücksichtigte Tags; leer bedeutet alle Events. */
+    private List<String> tags;
+
+    /** Anzahl der berücksichtigten Vorkommen. */
+    private int occurrences;
+
+    /** Gibt an, ob die Expansion abgeschnitten wurde. */
+    private boolean truncated;
+
+    /** Zusammengeführte belegte Zeiträume, aufsteigend sortiert. */
+    private List<BusyIntervalDto> busy;
+
+    /** Zeiträume mit Überschneidungen, aufsteigend sortiert. */
+    private List<ConflictDto> conflicts;
+}
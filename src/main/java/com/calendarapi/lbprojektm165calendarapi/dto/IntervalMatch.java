@@ -0,0 +1,43 @@
+package com.calendarapi.lbprojektm165calendarapi.dto;
+
+import java.util.Locale;
+
+/**
+ * Beziehung zwischen dem Zeitraum {@code [start, end)} eines Events und einem angefragten Fenster
+ * {@code [from, to)}.
+ *
+ * <p>Events ohne Ende oder mit {@code end <= start} gelten als Zeitpunkt und belegen
+ * {@code [start, start + 1 ms)}.</p>
+ *
+ * @author Chris
+ */
+public enum IntervalMatch {
+
+    /** Das Event überschneidet das Fenster: {@code start < to && end > from} */
+    OVERLAPS,
+
+    /** Das Event liegt vollständig im Fenster: {@code start >= from && end <= to} */
+    WITHIN,
+
+    /** Das Event umfasst das Fenster vollständig: {@code start <= from && end >= to} */
+    CONTAINS;
+
+    /**
+     * Parst den Request-Parameter {@code match} (Gross-/Kleinschreibung egal).
+     *
+     * @param value der Parameter; {@code null} oder leer ergibt {@link #OVERLAPS}
+     * @return die Beziehung
+     * @throws IllegalArgumentException bei unbekanntem Wert
+     */
+    public static IntervalMatch parse(String value) {
+        if (value == null || value.isBlank()) {
+            return OVERLAPS;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(
+                    "Ungültiger Wert für 'match': " + value + " (erlaubt: overlaps, within, contains)");
+        }
+    }
+}
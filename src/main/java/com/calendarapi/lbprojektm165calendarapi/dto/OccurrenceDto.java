@@ -0,0 +1,39 @@
+package com.calendarapi.lbprojektm165calendarapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Eine konkrete Ausprägung (Vorkommen) eines Events innerhalb eines Zeitfensters.
+ *
+ * <p>Bei wiederkehrenden Events entsteht pro Ausführungszeitpunkt des Cron-Patterns
+ * ein {@code OccurrenceDto}; einmalige Events liefern genau ein Vorkommen.</p>
+ *
+ * @author Chris
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OccurrenceDto {
+
+    /** ID des Events, aus dem das Vorkommen erzeugt wurde. */
+    private String eventId;
+
+    /** Titel des Events. */
+    private String title;
+
+    /** Beginn des Vorkommens (UTC). */
+    private Instant start;
+
+    /** Ende des Vorkommens (UTC), berechnet aus der Dauer des Events. */
+    private Instant end;
+
+    /** Tags des Events. */
+    private List<String> tags;
+}
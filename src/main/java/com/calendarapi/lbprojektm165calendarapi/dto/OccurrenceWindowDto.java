@@ -0,0 +1,39 @@
+package com.calendarapi.lbprojektm165calendarapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Antwortobjekt für die Expansion wiederkehrender Events in einem Zeitfenster {@code [from, to)}.
+ *
+ * <p>{@code truncated} ist {@code true}, wenn das Fenster mehr Vorkommen enthält,
+ * als das Limit zulässt. In diesem Fall enthält {@code occurrences} die frühesten Vorkommen.</p>
+ *
+ * @author Chris
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OccurrenceWindowDto {
+
+    /** Beginn des Fensters (inklusive). */
+    private Instant from;
+
+    /** Ende des Fensters (exklusive). */
+    private Instant to;
+
+    /** Anzahl der zurückgegebenen Vorkommen. */
+    private int count;
+
+    /** Gibt an, ob die Liste wegen des Limits abgeschnitten wurde. */
+    private boolean truncated;
+
+    /** Vorkommen, aufsteigend nach Startzeit sortiert. */
+    private List<OccurrenceDto> occurrences;
+}
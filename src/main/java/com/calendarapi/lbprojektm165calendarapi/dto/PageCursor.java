@@ -0,0 +1,92 @@
+package com.calendarapi.lbprojektm165calendarapi.dto;
+
+import com.calendarapi.lbprojektm165calendarapi.model.Event;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position innerhalb einer nach {@code (start, id)} sortierten Event-Liste für die Keyset-Pagination.
+ *
+ * <p>Nach außen wird der Cursor als undurchsichtiges Token (Base64-URL) weitergegeben;
+ * Clients sollen es nur unverändert zurücksenden.</p>
+ *
+ * @author Chris
+ */
+public final class PageCursor {
+
+    /** Trennzeichen zwischen Startzeit und ID im Token */
+    private static final char SEPARATOR = '|';
+
+    private final Instant start;
+    private final String id;
+
+    /**
+     * Erstellt einen Cursor.
+     *
+     * @param start Startzeit der letzten Zeile (darf {@code null} sein)
+     * @param id    ID der letzten Zeile
+     */
+    public PageCursor(Instant start, String id) {
+        this.start = start;
+        this.id = id;
+    }
+
+    /**
+     * Erstellt den Cursor hinter dem angegebenen Event.
+     *
+     * @param event die letzte Zeile der aktuellen Seite
+     * @return Cursor hinter diesem Event
+     */
+    public static PageCursor after(Event event) {
+        return new PageCursor(event.getStart(), event.getId());
+    }
+
+    /**
+     * Dekodiert ein Token.
+     *
+     * @param token das Token aus einer vorherigen Antwort
+     * @return der Cursor oder {@code null}, wenn das Token leer ist
+     * @throws IllegalArgumentException wenn das Token ungültig ist
+     */
+    public static PageCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int sep = raw.indexOf(SEPARATOR);
+            if (sep < 0 || sep == raw.length() - 1) {
+                throw new IllegalArgumentException("Ungültiger Cursor: " + token);
+            }
+            Instant start = sep == 0 ? null : Instant.parse(raw.substring(0, sep));
+            return new PageCursor(start, raw.substring(sep + 1));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Ungültiger Cursor: " + token);
+        }
+    }
+
+    /**
+     * @return das undurchsichtige Token für diesen Cursor
+     */
+    public String encode() {
+        String raw = (start == null ? "" : start.toString()) + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return Startzeit der letzten Zeile
+     */
+    public Instant getStart() {
+        return start;
+    }
+
+    /**
+     * @return ID der letzten Zeile
+     */
+    public String getId() {
+        return id;
+    }
+}
@@ -0,0 +1,25 @@
+package com.calendarapi.lbprojektm165calendarapi.dto;
+
+import com.calendarapi.lbprojektm165calendarapi.model.Event;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Ein Treffer der Volltextsuche mit seiner Relevanz.
+ *
+ * @author Chris
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchHitDto {
+
+    /** Relevanz laut Text-Index; Treffer im Titel zählen stärker als in Tags und Beschreibung. */
+    private float score;
+
+    /** Das gefundene Event. */
+    private Event event;
+}
@@ -0,0 +1,63 @@
+package com.calendarapi.lbprojektm165calendarapi.dto;
+
+import com.calendarapi.lbprojektm165calendarapi.model.Event;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Eine Seite der Volltextsuche, absteigend nach Relevanz sortiert.
+ *
+ * <p>Da die Reihenfolge von der Relevanz abhängt, wird über {@code page} statt per Keyset-Cursor
+ * geblättert; {@code hasMore} zeigt an, ob eine weitere Seite existiert.</p>
+ *
+ * @author Chris
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchPageDto {
+
+    /** Der Suchbegriff. */
+    private String query;
+
+    /** Nummer der Seite (ab 0). */
+    private int page;
+
+    /** Angewendete Seitengröße. */
+    private int limit;
+
+    /** Gibt an, ob eine weitere Seite existiert. */
+    private boolean hasMore;
+
+    /** Treffer der Seite, absteigend nach Relevanz. */
+    private List<SearchHitDto> items;
+
+    /**
+     * Erstellt die Seite aus bis zu {@code pageSize + 1} gelesenen Treffern; der zusätzliche Treffer
+     * zeigt nur an, dass eine weitere Seite existiert.
+     *
+     * @param query    der Suchbegriff
+     * @param page     Nummer der Seite
+     * @param rows     gelesene Events in Relevanzreihenfolge, mit gesetztem {@code score}
+     * @param pageSize angewendete Seitengröße
+     * @return die Seite
+     */
+    public static SearchPageDto of(String query, int page, List<Event> rows, int pageSize) {
+        boolean hasMore = rows.size() > pageSize;
+        List<Event> events = hasMore ? rows.subList(0, pageSize) : rows;
+        return SearchPageDto.builder()
+                .query(query)
+                .page(page)
+                .limit(pageSize)
+                .hasMore(hasMore)
+                .items(events.stream()
+                        .map(event -> new SearchHitDto(event.getScore() == null ? 0F : event.getScore(), event))
+                        .toList())
+                .build();
+    }
+}
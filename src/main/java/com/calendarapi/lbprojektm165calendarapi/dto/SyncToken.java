@@ -0,0 +1,81 @@
+package com.calendarapi.lbprojektm165calendarapi.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position innerhalb der nach {@code (lastModified, id)} sortierten Änderungen für die Delta-Synchronisation.
+ *
+ * <p>Ohne ID steht das Token für "alle Änderungen vor {@code lastModified} sind übertragen"; so bleibt
+ * es auch dann aktuell, wenn seit der letzten Synchronisation nichts geändert wurde. Nach außen wird das
+ * Token wie {@link PageCursor} undurchsichtig (Base64-URL) weitergegeben.</p>
+ *
+ * @author Chris
+ */
+public final class SyncToken {
+
+    /** Trennzeichen zwischen Zeitpunkt und ID im Token */
+    private static final char SEPARATOR = '|';
+
+    private final Instant lastModified;
+    private final String id;
+
+    /**
+     * Erstellt ein Token.
+     *
+     * @param lastModified Änderungszeitpunkt der letzten übertragenen Änderung bzw. Grenze
+     * @param id           ID der letzten übertragenen Änderung oder {@code null} für eine Grenze
+     */
+    public SyncToken(Instant lastModified, String id) {
+        this.lastModified = lastModified;
+        this.id = id;
+    }
+
+    /**
+     * Dekodiert ein Token.
+     *
+     * @param token das Token aus einer vorherigen Antwort
+     * @return das Token oder {@code null}, wenn es leer ist
+     * @throws IllegalArgumentException wenn das Token ungültig ist
+     */
+    public static SyncToken decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int sep = raw.indexOf(SEPARATOR);
+            if (sep <= 0) {
+                throw new IllegalArgumentException("Ungültiges Sync-Token: " + token);
+            }
+            Instant lastModified = Instant.parse(raw.substring(0, sep));
+            return new SyncToken(lastModified, sep == raw.length() - 1 ? null : raw.substring(sep + 1));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Ungültiges Sync-Token: " + token);
+        }
+    }
+
+    /**
+     * @return das undurchsichtige Token
+     */
+    public String encode() {
+        String raw = lastModified.toString() + SEPARATOR + (id == null ? "" : id);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return Änderungszeitpunkt der letzten übertragenen Änderung bzw. Grenze
+     */
+    public Instant getLastModified() {
+        return lastModified;
+    }
+
+    /**
+     * @return ID der letzten übertragenen Änderung oder {@code null}
+     */
+    public String getId() {
+        return id;
+    }
+}
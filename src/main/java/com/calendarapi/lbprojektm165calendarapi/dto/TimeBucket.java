@@ -0,0 +1,58 @@
+package com.calendarapi.lbprojektm165calendarapi.dto;
+
+import java.util.Locale;
+
+/**
+ * Zeitabschnitt für die Gruppierung nach {@code start} ({@link CountGroup#START}).
+ *
+ * <p>Der Schlüssel einer Gruppe ist der Beginn des Abschnitts in UTC, formatiert mit
+ * {@code $dateToString}; die Schlüssel sind damit lexikografisch chronologisch sortiert.</p>
+ *
+ * @author Chris
+ */
+public enum TimeBucket {
+
+    /** Tag, z.B. {@code 2025-07-14} */
+    DAY("%Y-%m-%d"),
+
+    /** ISO-Kalenderwoche, z.B. {@code 2025-W29} */
+    WEEK("%G-W%V"),
+
+    /** Monat, z.B. {@code 2025-07} */
+    MONTH("%Y-%m"),
+
+    /** Jahr, z.B. {@code 2025} */
+    YEAR("%Y");
+
+    private final String format;
+
+    TimeBucket(String format) {
+        this.format = format;
+    }
+
+    /**
+     * @return das Format für {@code $dateToString}
+     */
+    public String getFormat() {
+        return format;
+    }
+
+    /**
+     * Parst den Request-Parameter {@code bucket} (Gross-/Kleinschreibung egal).
+     *
+     * @param value der Parameter; {@code null} oder leer ergibt {@link #MONTH}
+     * @return der Zeitabschnitt
+     * @throws IllegalArgumentException bei unbekanntem Wert
+     */
+    public static TimeBucket parse(String value) {
+        if (value == null || value.isBlank()) {
+            return MONTH;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(
+                    "Ungültiger Wert für 'bucket': " + value + " (erlaubt: day, week, month, year)");
+        }
+    }
+}
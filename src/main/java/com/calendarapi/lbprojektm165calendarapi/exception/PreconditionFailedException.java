@@ -0,0 +1,19 @@
+package com.calendarapi.lbprojektm165calendarapi.exception;
+
+/**
+ * Wird geworfen, wenn die Vorbedingung eines bedingten Requests ({@code If-Match}) nicht erfüllt ist,
+ * z.B. weil das Event seit dem Lesen geändert wurde.
+ *
+ * @author Preo
+ */
+public class PreconditionFailedException extends RuntimeException {
+
+    /**
+     * Erzeugt eine neue {@code PreconditionFailedException}.
+     *
+     * @param message Beschreibung der nicht erfüllten Vorbedingung
+     */
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
@@ -1,5 +1,6 @@
 package com.calendarapi.lbprojektm165calendarapi.exception;
 
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -23,6 +24,8 @@ import java.util.Map;
  *   <li>IllegalArgumentException für ungültige Methodenargumente</li>
  *   <li>InvalidCronException bei fehlerhaften Cron-Ausdrücken</li>
  *   <li>EventNotFoundException, wenn ein Event nicht existiert</li>
+ *   <li>OptimisticLockingFailureException bei einer veralteten Version</li>
+ *   <li>PreconditionFailedException bei nicht erfülltem {@code If-Match}</li>
  * </ul>
  *
  * @author Preo
@@ -91,4 +94,32 @@ public class RestExceptionHandler {
         error.put("error", ex.getMessage());
         return new ResponseEntity<>(error, HttpStatus.NOT_FOUND);
     }
+
+    /**
+     * Behandelt Updates mit veralteter {@code version} (optimistisches Sperren).
+     *
+     * @param ex die OptimisticLockingFailureException
+     * @return ResponseEntity mit der Fehlermeldung und HTTP 409
+     */
+    // Event wurde zwischenzeitlich geändert
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Map<String, String>> handleOptimisticLocking(OptimisticLockingFailureException ex) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", "Das Event wurde zwischenzeitlich geändert; bitte neu laden.");
+        return new ResponseEntity<>(error, HttpStatus.CONFLICT);
+    }
+
+    /**
+     * Behandelt nicht erfüllte Vorbedingungen ({@code If-Match}).
+     *
+     * @param ex die PreconditionFailedException
+     * @return ResponseEntity mit der Fehlermeldung und HTTP 412
+     */
+    // ETag aus If-Match ist veraltet
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<Map<String, String>> handlePreconditionFailed(PreconditionFailedException ex) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", ex.getMessage());
+        return new ResponseEntity<>(error, HttpStatus.PRECONDITION_FAILED);
+    }
 }
@@ -56,7 +56,7 @@ public class DataInitializer {
             // Tags: Kategorien zur Gruppierung des Events
             sprint.setTags(List.of("Agile", "Team"));
             // Wochentage: Hier MON für Montag
-            sprint.setDaysOfWeek(List.of("MON"));
+            sprint.setDaysOfWeek(List.of("MONDAY"));
             // Tag des Monats: 1 (relevant für manche Cron-Patterns)
             sprint.setDayOfMonth(1);
             // Monate: 1–12 = Januar bis Dezember
@@ -70,7 +70,7 @@ public class DataInitializer {
             retro.setEnd(Instant.parse("2025-07-08T17:00:00Z"));
             retro.setCron("0 0 16 ? * TUE#2");
             retro.setTags(List.of("Agile", "Review"));
-            retro.setDaysOfWeek(List.of("TUE"));
+            retro.setDaysOfWeek(List.of("TUESDAY"));
             retro.setDayOfMonth(8);
             retro.setMonths(List.of(1,2,3,4,5,6,7,8,9,10,11,12));
 
@@ -94,7 +94,7 @@ public class DataInitializer {
             devops.setEnd(Instant.parse("2025-07-01T04:00:00Z"));
             devops.setCron("0 0 3 ? * SUN");
             devops.setTags(List.of("DevOps", "Monitoring"));
-            devops.setDaysOfWeek(List.of("SUN"));
+            devops.setDaysOfWeek(List.of("SUNDAY"));
             devops.setDayOfMonth(null);
             devops.setMonths(List.of(1,2,3,4,5,6,7,8,9,10,11,12));
 
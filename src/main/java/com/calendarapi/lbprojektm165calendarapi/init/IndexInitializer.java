@@ -0,0 +1,193 @@
+package com.calendarapi.lbprojektm165calendarapi.init;
+
+import com.calendarapi.lbprojektm165calendarapi.model.Event;
+import com.calendarapi.lbprojektm165calendarapi.model.EventTombstone;
+import com.calendarapi.lbprojektm165calendarapi.model.Occurrence;
+import com.calendarapi.lbprojektm165calendarapi.model.TitleGrams;
+import com.calendarapi.lbprojektm165calendarapi.repository.EventIndexes;
+import com.calendarapi.lbprojektm165calendarapi.repository.EventTombstoneIndexes;
+import com.calendarapi.lbprojektm165calendarapi.repository.OccurrenceIndexes;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexField;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.TextIndexDefinition;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Legt beim Start der Anwendung die definierten MongoDB-Indizes der Collections "events",
+ * "occurrences" und "event_tombstones" an und gleicht sie ab.
+ * <p>
+ * Verwaltet werden nur Indizes mit dem Präfix {@value EventIndexes#MANAGED_PREFIX}:
+ * Fehlende werden erstellt, veraltete (nicht mehr definiert, mit anderen Schlüsseln oder bei Text-Indizes
+ * mit anderen Gewichten bzw. anderer Standardsprache) werden gelöscht und neu angelegt. Manuell erstellte Indizes und {@code _id_} bleiben unberührt.
+ * </p>
+ *
+ * <p>Anschließend wird protokolliert, welche {@code FilterDto}-Kombinationen weiterhin
+ * als COLLSCAN laufen würden.</p>
+ *
+ * <p>Abschaltbar über {@code calendar.mongo.indexes.enabled=false}.</p>
+ *
+ * @author Ricardo Cardoso
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(name = "calendar.mongo.indexes.enabled", havingValue = "true", matchIfMissing = true)
+public class IndexInitializer implements CommandLineRunner {
+
+    /** Logger für den Index-Abgleich und den COLLSCAN-Report */
+    private static final Logger logger = LoggerFactory.getLogger(IndexInitializer.class);
+
+    /** Zugriff auf die Index-Operationen der Collections */
+    private final MongoTemplate mongoTemplate;
+
+    /** Aufbewahrungsdauer der Löschvermerke (TTL-Index) */
+    private final Duration tombstoneRetention;
+
+    /**
+     * Konstruktor mit Dependency Injection.
+     *
+     * @param mongoTemplate      Template für den Zugriff auf MongoDB
+     * @param tombstoneRetention Aufbewahrungsdauer der Löschvermerke
+     */
+    public IndexInitializer(MongoTemplate mongoTemplate,
+                            @Value("${calendar.sync.tombstone-retention:P30D}") Duration tombstoneRetention) {
+        this.mongoTemplate = mongoTemplate;
+        this.tombstoneRetention = tombstoneRetention;
+    }
+
+    /**
+     * Gleicht die Indizes ab und erstellt den COLLSCAN-Report.
+     *
+     * @param args Kommandozeilenargumente (nicht verwendet)
+     */
+    @Override
+    public void run(String... args) {
+        reconcile(Event.class, EventIndexes.definitions());
+        reconcile(Occurrence.class, OccurrenceIndexes.definitions());
+        reconcile(EventTombstone.class, EventTombstoneIndexes.definitions(tombstoneRetention));
+        reportCollectionScans();
+    }
+
+    /**
+     * Gleicht die vorhandenen verwalteten Indizes einer Collection mit den Definitionen ab.
+     *
+     * @param entityClass die Entity-Klasse der Collection
+     * @param definitions die gewünschten Indizes
+     */
+    void reconcile(Class<?> entityClass, List<IndexDefinition> definitions) {
+        IndexOperations ops = mongoTemplate.indexOps(entityClass);
+        // Die Rohdokumente enthalten auch "weights" und "default_language" der Text-Indizes
+        Map<String, Document> rawIndexes = new HashMap<>();
+        for (Document raw : mongoTemplate.getCollection(mongoTemplate.getCollectionName(entityClass)).listIndexes()) {
+            rawIndexes.put(raw.getString("name"), raw);
+        }
+
+        Map<String, IndexDefinition> wanted = new LinkedHashMap<>();
+        for (IndexDefinition definition : definitions) {
+            wanted.put(definition.getIndexOptions().getString("name"), definition);
+        }
+
+        Set<String> upToDate = new HashSet<>();
+        for (IndexInfo info : ops.getIndexInfo()) {
+            String name = info.getName();
+            if (!name.startsWith(EventIndexes.MANAGED_PREFIX)) {
+                continue;
+            }
+            IndexDefinition definition = wanted.get(name);
+            if (definition != null && sameKeys(info, rawIndexes.get(name), definition)) {
+                upToDate.add(name);
+            } else {
+                logger.info("Veralteten Index '{}' entfernen", name);
+                ops.dropIndex(name);
+            }
+        }
+
+        for (Map.Entry<String, IndexDefinition> entry : wanted.entrySet()) {
+            if (!upToDate.contains(entry.getKey())) {
+                logger.info("Index '{}' anlegen: {}", entry.getKey(), entry.getValue().getIndexKeys().toJson());
+                ops.createIndex(entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * Protokolliert alle Filterkombinationen, die keinen Index nutzen können.
+     */
+    void reportCollectionScans() {
+        List<Set<String>> shapes = EventIndexes.collectionScanShapes(EventIndexes.definitions());
+        logger.info("Index-Report: {} von {} Filterkombinationen sind indexgestützt",
+                EventIndexes.shapeCount() - shapes.size(), EventIndexes.shapeCount());
+        for (Set<String> shape : shapes) {
+            logger.warn("COLLSCAN für Filterkombination {}", shape.isEmpty() ? "[ohne Filter]" : shape);
+        }
+        for (Set<String> shape : EventIndexes.shortTitleScanShapes(EventIndexes.definitions())) {
+            logger.warn("COLLSCAN für Filterkombination {}, wenn titleContains kürzer als {} Zeichen ist "
+                    + "(kein Trigramm für den Index, nur Regex)", shape, TitleGrams.SIZE);
+        }
+    }
+
+    /**
+     * Vergleicht die Schlüssel (inklusive Reihenfolge und Richtung) eines vorhandenen Index
+     * mit einer Definition. Bei Text-Indizes werden die indizierten Felder mit ihren Gewichten und die
+     * Standardsprache verglichen, bei TTL-Indizes zusätzlich die Ablaufdauer.
+     */
+    private static boolean sameKeys(IndexInfo info, Document raw, IndexDefinition definition) {
+        if (definition instanceof TextIndexDefinition) {
+            Document options = definition.getIndexOptions();
+            // Ohne Angabe legt MongoDB Text-Indizes mit "english" an
+            String language = Objects.requireNonNullElse(options.getString("default_language"), "english");
+            return raw != null
+                    && textWeights(raw.get("weights", Document.class), null)
+                    .equals(textWeights(options.get("weights", Document.class), definition.getIndexKeys().keySet()))
+                    && language.equals(raw.getString("default_language"));
+        }
+        Number expire = definition.getIndexOptions().get("expireAfterSeconds", Number.class);
+        Duration wantedExpire = expire == null ? null : Duration.ofSeconds(expire.longValue());
+        if (!Objects.equals(info.getExpireAfter().orElse(null), wantedExpire)) {
+            return false;
+        }
+        Document existing = new Document();
+        for (IndexField field : info.getIndexFields()) {
+            existing.put(field.getKey(), field.getDirection() == Sort.Direction.DESC ? -1 : 1);
+        }
+        return new ArrayList<>(existing.entrySet()).equals(new ArrayList<>(definition.getIndexKeys().entrySet()));
+    }
+
+    /**
+     * Feld → Gewicht eines Text-Index; Felder ohne Gewicht erhalten wie in MongoDB das Gewicht 1.
+     *
+     * @param weights das Dokument {@code weights} oder {@code null}
+     * @param fields  zusätzlich indizierte Felder (aus einer Definition) oder {@code null}
+     */
+    private static Map<String, Double> textWeights(Document weights, Set<String> fields) {
+        Map<String, Double> result = new HashMap<>();
+        if (fields != null) {
+            fields.forEach(field -> result.put(field, 1.0));
+        }
+        if (weights != null) {
+            weights.forEach((field, weight) -> result.put(field, ((Number) weight).doubleValue()));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,132 @@
+package com.calendarapi.lbprojektm165calendarapi.init;
+
+import com.calendarapi.lbprojektm165calendarapi.model.CalendarMasks;
+import com.calendarapi.lbprojektm165calendarapi.model.Event;
+import com.calendarapi.lbprojektm165calendarapi.model.TitleGrams;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Ergänzt beim Start {@code weekdayMask} und {@code monthMask} an Events, die vor der Einführung
+ * der Bitmasken gespeichert wurden, und normalisiert dabei {@code daysOfWeek} und {@code months}
+ * (z.B. {@code "MON"} → {@code "MONDAY"}, siehe {@link CalendarMasks#apply(Event)}). Fehlende
+ * {@code titleGrams} (siehe {@link TitleGrams}) werden ebenfalls ergänzt, fehlende {@code version}
+ * (0) und {@code lastModified} (Zeitpunkt der Migration) per {@code updateMulti}, damit ältere Events
+ * versioniert gespeichert werden können und in der Delta-Synchronisation erscheinen.
+ * <p>
+ * Gelesen werden nur Dokumente ohne abgeleitete Felder oder mit nicht kanonischen Wochentagen und davon
+ * nur {@code title}/{@code daysOfWeek}/{@code months};
+ * geschrieben wird per ungeordnetem Bulk-{@code $set} in Blöcken von
+ * {@code calendar.migration.masks.batch-size}. Nach einem vollständigen Lauf findet die Abfrage
+ * keine Dokumente mehr, die Migration ist damit idempotent.
+ * </p>
+ *
+ * <p>Abschaltbar über {@code calendar.migration.masks.enabled=false}.</p>
+ *
+ * @author Ricardo Cardoso
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@ConditionalOnProperty(name = "calendar.migration.masks.enabled", havingValue = "true", matchIfMissing = true)
+public class MaskMigration implements CommandLineRunner {
+
+    /** Logger für den Fortschritt der Migration */
+    private static final Logger logger = LoggerFactory.getLogger(MaskMigration.class);
+
+    /** Kanonische Wochentage; andere Werte in {@code daysOfWeek} werden normalisiert */
+    private static final List<String> CANONICAL_WEEKDAYS =
+            Arrays.stream(DayOfWeek.values()).map(DayOfWeek::name).toList();
+
+    private final MongoTemplate mongoTemplate;
+    private final int batchSize;
+
+    /**
+     * Konstruktor mit Dependency Injection.
+     *
+     * @param mongoTemplate Template für den Zugriff auf MongoDB
+     * @param batchSize     Anzahl Updates pro Bulk-Write
+     */
+    public MaskMigration(MongoTemplate mongoTemplate,
+                         @Value("${calendar.migration.masks.batch-size:1000}") int batchSize) {
+        this.mongoTemplate = mongoTemplate;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    /**
+     * Führt die Migration aus.
+     *
+     * @param args Kommandozeilenargumente (nicht verwendet)
+     */
+    @Override
+    public void run(String... args) {
+        String collection = mongoTemplate.getCollectionName(Event.class);
+        Query missing = new Query(new Criteria().orOperator(
+                Criteria.where("weekdayMask").exists(false),
+                Criteria.where("monthMask").exists(false),
+                Criteria.where("titleGrams").exists(false),
+                Criteria.where("daysOfWeek").elemMatch(new Criteria().nin(CANONICAL_WEEKDAYS))));
+        missing.fields().include("title").include("daysOfWeek").include("months");
+
+        long migrated = 0;
+        BulkOperations ops = null;
+        int pending = 0;
+        try (Stream<Document> documents = mongoTemplate.stream(missing, Document.class, collection)) {
+            for (Document document : (Iterable<Document>) documents::iterator) {
+                if (ops == null) {
+                    ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, collection);
+                }
+                Event event = new Event();
+                event.setTitle(document.getString("title"));
+                event.setDaysOfWeek(document.getList("daysOfWeek", String.class));
+                event.setMonths(document.getList("months", Integer.class));
+                CalendarMasks.apply(event);
+                TitleGrams.apply(event);
+                ops.updateOne(Query.query(Criteria.where("_id").is(document.get("_id"))), new Update()
+                        .set("daysOfWeek", event.getDaysOfWeek())
+                        .set("months", event.getMonths())
+                        .set("weekdayMask", event.getWeekdayMask())
+                        .set("monthMask", event.getMonthMask())
+                        .set("titleGrams", event.getTitleGrams()));
+                if (++pending == batchSize) {
+                    ops.execute();
+                    migrated += pending;
+                    ops = null;
+                    pending = 0;
+                }
+            }
+        }
+        if (pending > 0) {
+            ops.execute();
+            migrated += pending;
+        }
+        if (migrated > 0) {
+            logger.info("Abgeleitete Felder für {} Events ergänzt bzw. normalisiert", migrated);
+        }
+
+        long versioned = mongoTemplate.updateMulti(Query.query(Criteria.where("version").exists(false)),
+                new Update().set("version", 0L), collection).getModifiedCount();
+        long stamped = mongoTemplate.updateMulti(Query.query(Criteria.where("lastModified").exists(false)),
+                new Update().set("lastModified", Instant.now()), collection).getModifiedCount();
+        if (versioned > 0 || stamped > 0) {
+            logger.info("Version für {} und Änderungszeitpunkt für {} Events ergänzt", versioned, stamped);
+        }
+    }
+}
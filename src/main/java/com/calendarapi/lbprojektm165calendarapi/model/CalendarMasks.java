@@ -0,0 +1,212 @@
+package com.calendarapi.lbprojektm165calendarapi.model;
+
+import java.time.DayOfWeek;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Bitmasken-Kodierung für {@link Event#getDaysOfWeek()} und {@link Event#getMonths()}.
+ *
+ * <p>Wochentage belegen 7 Bits (Bit 0 = Montag … Bit 6 = Sonntag, entsprechend
+ * {@link DayOfWeek#ordinal()}), Monate 12 Bits (Bit 0 = Januar … Bit 11 = Dezember).
+ * Die Masken werden beim Speichern neben den Listen abgelegt ({@code weekdayMask}, {@code monthMask})
+ * und abgefragt: Monate mit {@code $bitsAnySet}, Wochentage als {@code $in} über alle passenden Masken
+ * (siehe {@link #weekdayMasksMatching(int)}); im Speicher genügt ein bitweises UND.</p>
+ *
+ * <p>Wochentage werden englisch als Vollform ({@code "MONDAY"}) oder mit den ersten drei Buchstaben
+ * ({@code "MON"}) erkannt, unabhängig von Gross-/Kleinschreibung. Gespeichert wird immer die
+ * kanonische Form: Vollform in Grossbuchstaben, ohne Duplikate, in Wochenreihenfolge.</p>
+ *
+ * @author Ricardo Cardoso
+ */
+public final class CalendarMasks {
+
+    /** Alle 7 Wochentags-Bits */
+    public static final int ALL_WEEKDAYS = (1 << 7) - 1;
+
+    /** Alle 12 Monats-Bits */
+    public static final int ALL_MONTHS = (1 << 12) - 1;
+
+    private CalendarMasks() {
+    }
+
+    /**
+     * Erkennt einen Wochentag in Vollform oder dreibuchstabiger Kurzform.
+     *
+     * @param value z.B. {@code "MONDAY"}, {@code "mon"}
+     * @return der Wochentag oder {@code null}, wenn der Wert keinem Wochentag entspricht
+     */
+    public static DayOfWeek parseWeekday(String value) {
+        if (value == null) {
+            return null;
+        }
+        String normalized = value.trim().toUpperCase(Locale.ROOT);
+        if (normalized.length() < 3) {
+            return null;
+        }
+        for (DayOfWeek day : DayOfWeek.values()) {
+            String name = day.name();
+            if (name.equals(normalized) || (normalized.length() == 3 && name.startsWith(normalized))) {
+                return day;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Liefert den ersten Wert, der keinem Wochentag entspricht.
+     *
+     * @param days Wochentage als Text oder {@code null}
+     * @return der ungültige Wert oder {@code null}, wenn alle Werte gültig sind
+     */
+    public static String firstInvalidWeekday(Collection<String> days) {
+        if (days != null) {
+            for (String value : days) {
+                if (parseWeekday(value) == null) {
+                    return value;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Liefert den ersten Monat ausserhalb von 1–12.
+     *
+     * @param months Monatsnummern oder {@code null}
+     * @return der ungültige Wert oder {@code null}, wenn alle Werte gültig sind
+     */
+    public static Integer firstInvalidMonth(Collection<Integer> months) {
+        if (months != null) {
+            for (Integer month : months) {
+                if (month != null && (month < 1 || month > 12)) {
+                    return month;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Normalisiert Wochentage in die kanonische Form; nicht erkannte Werte werden verworfen.
+     *
+     * @param days Wochentage als Text oder {@code null}
+     * @return z.B. {@code ["MONDAY", "FRIDAY"]} für {@code ["fri", "MON", "Monday"]}; {@code null} bleibt {@code null}
+     */
+    public static List<String> canonicalWeekdays(Collection<String> days) {
+        if (days == null) {
+            return null;
+        }
+        EnumSet<DayOfWeek> set = EnumSet.noneOf(DayOfWeek.class);
+        for (String value : days) {
+            DayOfWeek day = parseWeekday(value);
+            if (day != null) {
+                set.add(day);
+            }
+        }
+        return new ArrayList<>(set.stream().map(DayOfWeek::name).toList());
+    }
+
+    /**
+     * Normalisiert Monate: aufsteigend, ohne Duplikate, nur 1–12.
+     *
+     * @param months Monatsnummern oder {@code null}
+     * @return die normalisierte Liste; {@code null} bleibt {@code null}
+     */
+    public static List<Integer> canonicalMonths(Collection<Integer> months) {
+        if (months == null) {
+            return null;
+        }
+        int mask = months(months);
+        List<Integer> result = new ArrayList<>(Integer.bitCount(mask));
+        for (int bit = 0; bit < 12; bit++) {
+            if ((mask & (1 << bit)) != 0) {
+                result.add(bit + 1);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Zählt alle Wochentagsmasken auf, die mindestens ein Bit des Filters enthalten.
+     *
+     * <p>Damit wird {@code $bitsAnySet} als {@code $in} über höchstens 127 Werte formuliert, was der
+     * Index {@code weekdayMask/start} als Punktabfragen auflöst statt den ganzen Index zu lesen.</p>
+     *
+     * @param filter die Filtermaske (nicht 0)
+     * @return die passenden Masken, aufsteigend
+     */
+    public static List<Integer> weekdayMasksMatching(int filter) {
+        List<Integer> masks = new ArrayList<>();
+        for (int mask = 1; mask <= ALL_WEEKDAYS; mask++) {
+            if ((mask & filter) != 0) {
+                masks.add(mask);
+            }
+        }
+        return masks;
+    }
+
+    /**
+     * Kodiert Wochentage; nicht erkannte Werte werden ignoriert.
+     *
+     * @param days Wochentage als Text oder {@code null}
+     * @return die Maske (0, wenn kein Wochentag erkannt wurde)
+     */
+    public static int weekdays(Collection<String> days) {
+        int mask = 0;
+        if (days != null) {
+            for (String value : days) {
+                DayOfWeek day = parseWeekday(value);
+                if (day != null) {
+                    mask |= 1 << day.ordinal();
+                }
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Kodiert Monate; Werte ausserhalb von 1–12 werden ignoriert.
+     *
+     * @param months Monatsnummern oder {@code null}
+     * @return die Maske (0, wenn kein gültiger Monat enthalten ist)
+     */
+    public static int months(Collection<Integer> months) {
+        int mask = 0;
+        if (months != null) {
+            for (Integer month : months) {
+                if (month != null && month >= 1 && month <= 12) {
+                    mask |= 1 << (month - 1);
+                }
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Prüft im Speicher, ob ein Wert mindestens ein Bit der Filtermaske enthält
+     * (entspricht {@code $bitsAnySet}). Eine leere Filtermaske trifft immer zu.
+     *
+     * @param value  Maske des Events ({@code null} wie 0)
+     * @param filter Maske des Filters, 0 für "nicht gesetzt"
+     * @return {@code true}, wenn das Event den Filter erfüllt
+     */
+    public static boolean anySet(Integer value, int filter) {
+        return filter == 0 || (value != null && (value & filter) != 0);
+    }
+
+    /**
+     * Normalisiert die Listen eines Events und berechnet daraus die Masken.
+     *
+     * @param event das zu speichernde Event
+     */
+    public static void apply(Event event) {
+        event.setDaysOfWeek(canonicalWeekdays(event.getDaysOfWeek()));
+        event.setMonths(canonicalMonths(event.getMonths()));
+        event.setWeekdayMask(weekdays(event.getDaysOfWeek()));
+        event.setMonthMask(months(event.getMonths()));
+    }
+}
@@ -1,8 +1,12 @@
 package com.calendarapi.lbprojektm165calendarapi.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.*;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.TextScore;
 
 import java.time.Instant;
 import java.util.List;
@@ -17,7 +21,7 @@ import java.util.List;
  */
 @Document(collection = "events")
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class Event {
@@ -75,4 +79,46 @@ public class Event {
      * <p>Beispiel: {@code [1, 6, 12]} für Januar, Juni und Dezember.</p>
      */
     private List<Integer> months;
+
+    /**
+     * Versionszähler für optimistisches Sperren; wird bei jedem Speichern über {@code save} erhöht.
+     * <p>Ein Update mit veraltetem Wert schlägt fehl, statt eine fremde Änderung zu überschreiben.</p>
+     */
+    @Version
+    private Long version;
+
+    /**
+     * Zeitpunkt der letzten Änderung (UTC), gesetzt beim Speichern (Spring Data Auditing).
+     * <p>Trägt zusammen mit der ID die Reihenfolge der Delta-Synchronisation ({@code GET /api/events/changes}).</p>
+     */
+    @LastModifiedDate
+    private Instant lastModified;
+
+    /**
+     * Wochentage als Bitmaske (Bit 0 = Montag), abgeleitet aus {@link #daysOfWeek}.
+     * <p>Wird beim Speichern gesetzt (siehe {@link CalendarMasks}) und nicht über die API ausgegeben.</p>
+     */
+    @JsonIgnore
+    private Integer weekdayMask;
+
+    /**
+     * Monate als Bitmaske (Bit 0 = Januar), abgeleitet aus {@link #months}.
+     * <p>Wird beim Speichern gesetzt (siehe {@link CalendarMasks}) und nicht über die API ausgegeben.</p>
+     */
+    @JsonIgnore
+    private Integer monthMask;
+
+    /**
+     * Trigramme des kleingeschriebenen Titels für die Teilwortsuche, abgeleitet aus {@link #title}.
+     * <p>Wird beim Speichern gesetzt (siehe {@link TitleGrams}) und nicht über die API ausgegeben.</p>
+     */
+    @JsonIgnore
+    private List<String> titleGrams;
+
+    /**
+     * Relevanz aus der Volltextsuche; wird nur bei Suchabfragen gelesen und nie gespeichert.
+     */
+    @JsonIgnore
+    @TextScore
+    private Float score;
 }
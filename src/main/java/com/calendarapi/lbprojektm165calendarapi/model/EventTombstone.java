@@ -0,0 +1,39 @@
+package com.calendarapi.lbprojektm165calendarapi.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * Vermerk über ein gelöschtes Event in der Collection "event_tombstones".
+ *
+ * <p>Die Delta-Synchronisation meldet darüber Löschungen, obwohl das Event selbst nicht mehr existiert.
+ * Vermerke verfallen nach {@code calendar.sync.tombstone-retention} (TTL-Index); ältere Sync-Tokens
+ * erzwingen deshalb eine vollständige Synchronisation.</p>
+ *
+ * @author Ricardo Cardoso
+ */
+@Document(collection = "event_tombstones")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventTombstone {
+
+    /**
+     * Die ID des gelöschten Events.
+     */
+    @Id
+    private String id;
+
+    /**
+     * Zeitpunkt der Löschung (UTC); gleicher Feldname wie {@link Event#getLastModified()},
+     * damit Events und Vermerke in derselben Reihenfolge gelesen werden.
+     */
+    private Instant lastModified;
+}
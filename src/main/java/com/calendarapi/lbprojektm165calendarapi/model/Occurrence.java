@@ -0,0 +1,58 @@
+package com.calendarapi.lbprojektm165calendarapi.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Ein materialisiertes Vorkommen eines Events in der MongoDB-Collection "occurrences".
+ *
+ * <p>Pro konkretem Ausführungszeitpunkt innerhalb des materialisierten Horizonts existiert ein Dokument.
+ * Titel und Tags werden aus dem Event übernommen, damit Bereichsabfragen ohne Join auskommen.</p>
+ *
+ * @author Ricardo Cardoso
+ */
+@Document(collection = "occurrences")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Occurrence {
+
+    /**
+     * Die eindeutige ID des Vorkommens (wird von MongoDB generiert).
+     */
+    @Id
+    private String id;
+
+    /**
+     * ID des Events, aus dem das Vorkommen erzeugt wurde.
+     */
+    private String eventId;
+
+    /**
+     * Titel des Events.
+     */
+    private String title;
+
+    /**
+     * Beginn des Vorkommens (UTC).
+     */
+    private Instant start;
+
+    /**
+     * Ende des Vorkommens (UTC).
+     */
+    private Instant end;
+
+    /**
+     * Tags des Events.
+     */
+    private List<String> tags;
+}
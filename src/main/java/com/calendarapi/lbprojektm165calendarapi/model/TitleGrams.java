@@ -0,0 +1,53 @@
+package com.calendarapi.lbprojektm165calendarapi.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.TreeSet;
+
+/**
+ * Zerlegt Titel in Trigramme für die indexgestützte Teilwortsuche ({@code titleContains}).
+ *
+ * <p>Jedes Event speichert die Trigramme seines kleingeschriebenen Titels in {@code titleGrams}
+ * (Multikey-Index {@code idx_titleGrams}). Ein Suchbegriff mit mindestens {@value #SIZE} Zeichen
+ * kommt nur in Titeln vor, die alle seine Trigramme enthalten; diese Dokumente liefert der Index,
+ * die eigentliche Teilwortprüfung erfolgt danach nur noch auf ihnen. Kürzere Begriffe haben keine
+ * Trigramme und werden wie bisher per Regex über alle Titel geprüft.</p>
+ *
+ * @author Ricardo Cardoso
+ */
+public final class TitleGrams {
+
+    /** Länge eines Gramms */
+    public static final int SIZE = 3;
+
+    private TitleGrams() {
+    }
+
+    /**
+     * Liefert die Trigramme eines Textes.
+     *
+     * @param text Titel oder Suchbegriff, {@code null} erlaubt
+     * @return die Trigramme ohne Duplikate, sortiert; leer bei Texten unter {@value #SIZE} Zeichen
+     */
+    public static List<String> of(String text) {
+        if (text == null) {
+            return new ArrayList<>();
+        }
+        String normalized = text.toLowerCase(Locale.ROOT);
+        TreeSet<String> grams = new TreeSet<>();
+        for (int i = 0; i + SIZE <= normalized.length(); i++) {
+            grams.add(normalized.substring(i, i + SIZE));
+        }
+        return new ArrayList<>(grams);
+    }
+
+    /**
+     * Setzt {@code titleGrams} aus dem Titel eines Events.
+     *
+     * @param event das zu speichernde Event
+     */
+    public static void apply(Event event) {
+        event.setTitleGrams(of(event.getTitle()));
+    }
+}
@@ -0,0 +1,168 @@
+package com.calendarapi.lbprojektm165calendarapi.repository;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.TextIndexDefinition;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Definiert den Index-Satz der Collection "events" passend zu den Abfrageformen von
+ * {@link EventRepositoryImpl#findByFilters}.
+ *
+ * <p>{@code tags} erhält einen Multikey-Index mit {@code start} als zweitem Schlüssel, damit kombinierte
+ * Zeitfilter im selben Index-Scan eingeschränkt werden. Wochentage und Monate werden über die skalaren
+ * Bitmasken {@code weekdayMask}/{@code monthMask} gefiltert; deren Indizes sind keine Multikey-Indizes
+ * und enthalten einen Schlüssel pro Dokument statt einen pro Listeneintrag. Der Wochentagsfilter ist ein
+ * {@code $in} über alle passenden Masken
+ * ({@link com.calendarapi.lbprojektm165calendarapi.model.CalendarMasks#weekdayMasksMatching}) und nutzt
+ * damit Punktgrenzen in {@code weekdayMask_start}. Der Monatsfilter ({@code $bitsAnySet}) kann dagegen
+ * keine Indexgrenzen nutzen: Er wird zwar auf den Schlüsseln von {@code monthMask_start} ausgewertet
+ * (nur passende Dokumente werden gelesen), der Index wird aber vollständig durchlaufen. Allein gilt
+ * {@code month} deshalb in der Analyse als Scan.</p>
+ *
+ * <p>{@code start/_id} trägt die stabile Sortierung der Keyset-Pagination und des Streamings,
+ * {@code lastModified/_id} die der Delta-Synchronisation.</p>
+ *
+ * <p>{@code titleContains} wird über die Trigramme in {@code titleGrams} vorgefiltert (siehe
+ * {@link com.calendarapi.lbprojektm165calendarapi.model.TitleGrams}); erst danach prüft die Regex die
+ * verbleibenden Titel. Der Text-Index {@value #TEXT_INDEX} über {@code title}, {@code tags} und
+ * {@code description} trägt die gewichtete Volltextsuche von {@link EventRepositoryImpl#search}.
+ * Er verwendet die Sprache {@code none} (keine Stammformen, keine Stoppwörter), da Titel gemischt
+ * deutsch und englisch sind.</p>
+ *
+ * <p>Zusätzlich bietet die Klasse eine statische Analyse, welche Kombinationen von
+ * {@code FilterDto}-Parametern keinen passenden Index finden und damit als COLLSCAN laufen.</p>
+ *
+ * @author Ricardo Cardoso
+ */
+public final class EventIndexes {
+
+    /** Präfix aller von der Anwendung verwalteten Indizes */
+    public static final String MANAGED_PREFIX = "idx_";
+
+    /** Name des Text-Index für die Volltextsuche */
+    public static final String TEXT_INDEX = MANAGED_PREFIX + "text";
+
+    /**
+     * Zuordnung der {@code FilterDto}-Parameter auf das abgefragte MongoDB-Feld.
+     * {@code null} bedeutet: Das Prädikat kann keine Indexgrenzen nutzen.
+     */
+    static final Map<String, String> FILTER_FIELDS;
+
+    static {
+        Map<String, String> fields = new LinkedHashMap<>();
+        fields.put("weekday", "weekdayMask");
+        // $bitsAnySet hat keine Indexgrenzen
+        fields.put("month", null);
+        fields.put("from", "start");
+        fields.put("to", "start");
+        fields.put("tag", "tags");
+        fields.put("titleContains", "titleGrams");
+        fields.put("dateFrom", "start");
+        fields.put("dateTo", "end");
+        FILTER_FIELDS = Collections.unmodifiableMap(fields);
+    }
+
+    private EventIndexes() {
+    }
+
+    /**
+     * @return alle von der Anwendung verwalteten Indizes der Collection "events"
+     */
+    public static List<IndexDefinition> definitions() {
+        return List.of(
+                new Index().on("start", Sort.Direction.ASC).on("end", Sort.Direction.ASC)
+                        .named(MANAGED_PREFIX + "start_end"),
+                new Index().on("start", Sort.Direction.ASC).on("_id", Sort.Direction.ASC)
+                        .named(MANAGED_PREFIX + "start_id"),
+                new Index().on("end", Sort.Direction.ASC)
+                        .named(MANAGED_PREFIX + "end"),
+                new Index().on("lastModified", Sort.Direction.ASC).on("_id", Sort.Direction.ASC)
+                        .named(MANAGED_PREFIX + "lastModified_id"),
+                new Index().on("tags", Sort.Direction.ASC).on("start", Sort.Direction.ASC)
+                        .named(MANAGED_PREFIX + "tags_start"),
+                new Index().on("weekdayMask", Sort.Direction.ASC).on("start", Sort.Direction.ASC)
+                        .named(MANAGED_PREFIX + "weekdayMask_start"),
+                new Index().on("monthMask", Sort.Direction.ASC).on("start", Sort.Direction.ASC)
+                        .named(MANAGED_PREFIX + "monthMask_start"),
+                new Index().on("titleGrams", Sort.Direction.ASC)
+                        .named(MANAGED_PREFIX + "titleGrams"),
+                TextIndexDefinition.builder()
+                        .named(TEXT_INDEX)
+                        .onField("title", 10F)
+                        .onField("tags", 5F)
+                        .onField("description")
+                        .withDefaultLanguage("none")
+                        .build()
+        );
+    }
+
+    /**
+     * Ermittelt alle Kombinationen von {@code FilterDto}-Parametern, für die kein Index mit
+     * passendem führendem Schlüssel existiert. Solche Abfragen laufen als COLLSCAN.
+     *
+     * @param definitions der zu prüfende Index-Satz
+     * @return die Parameter-Kombinationen ohne nutzbaren Index (inklusive der leeren Kombination)
+     */
+    public static List<Set<String>> collectionScanShapes(List<IndexDefinition> definitions) {
+        return scanShapes(definitions, FILTER_FIELDS);
+    }
+
+    /**
+     * Ermittelt die Kombinationen, die nur über {@code titleGrams} indexgestützt sind und deshalb als
+     * COLLSCAN laufen, wenn {@code titleContains} kürzer als ein Trigramm
+     * ({@value com.calendarapi.lbprojektm165calendarapi.model.TitleGrams#SIZE} Zeichen) ist: Dann gibt es
+     * keine Trigramme zum Vorfiltern, und nur die Regex prüft die Titel.
+     *
+     * @param definitions der zu prüfende Index-Satz
+     * @return die zusätzlich betroffenen Parameter-Kombinationen (alle mit {@code titleContains})
+     */
+    public static List<Set<String>> shortTitleScanShapes(List<IndexDefinition> definitions) {
+        Map<String, String> fields = new LinkedHashMap<>(FILTER_FIELDS);
+        fields.put("titleContains", null);
+        List<Set<String>> shapes = scanShapes(definitions, fields);
+        shapes.removeAll(collectionScanShapes(definitions));
+        return shapes;
+    }
+
+    private static List<Set<String>> scanShapes(List<IndexDefinition> definitions, Map<String, String> filterFields) {
+        Set<String> leadingFields = new LinkedHashSet<>();
+        for (IndexDefinition definition : definitions) {
+            leadingFields.add(definition.getIndexKeys().keySet().iterator().next());
+        }
+
+        List<String> params = new ArrayList<>(filterFields.keySet());
+        List<Set<String>> shapes = new ArrayList<>();
+        for (int mask = 0; mask < (1 << params.size()); mask++) {
+            Set<String> shape = new LinkedHashSet<>();
+            boolean indexable = false;
+            for (int i = 0; i < params.size(); i++) {
+                if ((mask & (1 << i)) != 0) {
+                    String param = params.get(i);
+                    shape.add(param);
+                    String field = filterFields.get(param);
+                    indexable |= field != null && leadingFields.contains(field);
+                }
+            }
+            if (!indexable) {
+                shapes.add(shape);
+            }
+        }
+        return shapes;
+    }
+
+    /**
+     * @return Anzahl aller möglichen Kombinationen von {@code FilterDto}-Parametern
+     */
+    public static int shapeCount() {
+        return 1 << FILTER_FIELDS.size();
+    }
+}
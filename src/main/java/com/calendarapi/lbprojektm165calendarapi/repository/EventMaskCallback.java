@@ -0,0 +1,45 @@
+package com.calendarapi.lbprojektm165calendarapi.repository;
+
+import com.calendarapi.lbprojektm165calendarapi.model.CalendarMasks;
+import com.calendarapi.lbprojektm165calendarapi.model.Event;
+import com.calendarapi.lbprojektm165calendarapi.model.TitleGrams;
+import org.reactivestreams.Publisher;
+import org.springframework.data.mongodb.core.mapping.event.BeforeConvertCallback;
+import org.springframework.data.mongodb.core.mapping.event.ReactiveBeforeConvertCallback;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Normalisiert {@code daysOfWeek}/{@code months} und setzt die abgeleiteten Felder
+ * {@code weekdayMask}/{@code monthMask} (siehe {@link CalendarMasks#apply(Event)}) sowie
+ * {@code titleGrams} (siehe {@link TitleGrams#apply(Event)}) vor jedem Speichern eines {@link Event}.
+ *
+ * <p>Greift bei {@code save}, {@code insert} und Bulk-Writes des {@code MongoTemplate} sowie des
+ * {@code ReactiveMongoTemplate}; die abgeleiteten Felder können dadurch nicht von den Quellfeldern abweichen.</p>
+ *
+ * @author Ricardo Cardoso
+ */
+@Component
+public class EventMaskCallback implements BeforeConvertCallback<Event> {
+
+    @Override
+    public Event onBeforeConvert(Event event, String collection) {
+        CalendarMasks.apply(event);
+        TitleGrams.apply(event);
+        return event;
+    }
+
+    /**
+     * Gegenstück für das {@code ReactiveMongoTemplate} (Profil {@code reactive}).
+     */
+    @Component
+    public static class Reactive implements ReactiveBeforeConvertCallback<Event> {
+
+        @Override
+        public Publisher<Event> onBeforeConvert(Event event, String collection) {
+            CalendarMasks.apply(event);
+            TitleGrams.apply(event);
+            return Mono.just(event);
+        }
+    }
+}
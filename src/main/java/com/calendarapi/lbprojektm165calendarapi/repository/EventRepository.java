@@ -15,6 +15,6 @@ import org.springframework.data.mongodb.repository.MongoRepository;
  */
 public interface EventRepository extends MongoRepository<Event, String>, EventRepositoryCustom {
 
-    // Keine zusätzlichen Methoden hier notwendig – Standardmethoden werden von MongoRepository bereitgestellt.
+    // Standardmethoden werden von MongoRepository bereitgestellt.
     // Erweiterungen befinden sich in EventRepositoryCustom und dessen Implementierung.
 }
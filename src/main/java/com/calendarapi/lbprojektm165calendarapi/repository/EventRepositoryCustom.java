@@ -1,9 +1,23 @@
 package com.calendarapi.lbprojektm165calendarapi.repository;
 
+import com.calendarapi.lbprojektm165calendarapi.dto.CountDto;
+import com.calendarapi.lbprojektm165calendarapi.dto.CountGroup;
+import com.calendarapi.lbprojektm165calendarapi.dto.EventPatch;
+import com.calendarapi.lbprojektm165calendarapi.dto.EventProjection;
+import com.calendarapi.lbprojektm165calendarapi.dto.EventVersion;
 import com.calendarapi.lbprojektm165calendarapi.dto.FilterDto;
+import com.calendarapi.lbprojektm165calendarapi.dto.IntervalMatch;
+import com.calendarapi.lbprojektm165calendarapi.dto.PageCursor;
+import com.calendarapi.lbprojektm165calendarapi.dto.SyncToken;
+import com.calendarapi.lbprojektm165calendarapi.dto.TimeBucket;
 import com.calendarapi.lbprojektm165calendarapi.model.Event;
+import com.calendarapi.lbprojektm165calendarapi.model.EventTombstone;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
 /**
  * Benutzerdefinierte Repository-Schnittstelle für komplexe Event-Abfragen.
@@ -33,4 +47,182 @@ public interface EventRepositoryCustom {
      * @return Liste von {@link Event}-Objekten, die den angegebenen Kriterien entsprechen
      */
     List<Event> findByFilters(FilterDto filter);
+
+    /**
+     * Findet {@link Event}-Objekte wie {@link #findByFilters(FilterDto)}, liest aber nur die Felder der Projektion.
+     *
+     * @param filter     ein {@link FilterDto}-Objekt mit allen gewünschten Filterparametern
+     * @param projection die zu lesenden Felder
+     * @return Liste von Events, in denen nur die projizierten Felder gesetzt sind
+     */
+    List<Event> findByFilters(FilterDto filter, EventProjection projection);
+
+    /**
+     * Findet eine Seite von {@link Event}-Objekten per Keyset-Pagination, sortiert nach {@code (start, id)}.
+     *
+     * @param filter ein {@link FilterDto}-Objekt mit allen gewünschten Filterparametern
+     * @param after  Position der letzten Zeile der vorherigen Seite oder {@code null} für die erste Seite
+     * @param limit  maximale Anzahl gelieferter Events
+     * @return Liste von höchstens {@code limit} Events
+     */
+    List<Event> findPageByFilters(FilterDto filter, PageCursor after, int limit);
+
+    /**
+     * Liefert die passenden {@link Event}-Objekte als Stream direkt vom Datenbank-Cursor.
+     * Der Stream muss geschlossen werden.
+     *
+     * @param filter ein {@link FilterDto}-Objekt mit allen gewünschten Filterparametern
+     * @return Stream der Events, sortiert nach {@code (start, id)}
+     */
+    Stream<Event> streamByFilters(FilterDto filter);
+
+    /**
+     * Findet alle Events, deren Zeitraum {@code [start, end)} in der angegebenen Beziehung zum
+     * Fenster {@code [from, to)} steht (siehe {@link IntervalMatch}).
+     *
+     * @param from        Beginn des Fensters (inklusive)
+     * @param to          Ende des Fensters (exklusive)
+     * @param match       gesuchte Beziehung
+     * @param weekdayMask Wochentage, von denen mindestens einer gesetzt sein muss (0 = beliebig)
+     * @param monthMask   Monate, von denen mindestens einer gesetzt sein muss (0 = beliebig)
+     * @return die Events, sortiert nach {@code (start, id)}
+     */
+    List<Event> findByInterval(Instant from, Instant to, IntervalMatch match, int weekdayMask, int monthMask);
+
+    /**
+     * Volltextsuche über {@code title}, {@code tags} und {@code description}.
+     *
+     * @param terms Suchbegriffe
+     * @param skip  Anzahl zu überspringender Treffer
+     * @param limit maximale Anzahl Treffer
+     * @return die Treffer absteigend nach Relevanz, mit gesetztem {@code score}
+     */
+    List<Event> search(String terms, int skip, int limit);
+
+    /**
+     * Zählt die passenden Events je Gruppe, ohne die Events selbst zu übertragen.
+     *
+     * @param filter ein {@link FilterDto}-Objekt mit allen gewünschten Filterparametern
+     * @param by     Gruppierungsmerkmal
+     * @param bucket Zeitabschnitt bei {@link CountGroup#START}
+     * @return die Gruppen mit ihrer Anzahl
+     */
+    List<CountDto> countByFilters(FilterDto filter, CountGroup by, TimeBucket bucket);
+
+    /**
+     * Liest nur die IDs der passenden Events, sortiert nach {@code (start, id)}.
+     *
+     * @param filter ein {@link FilterDto}-Objekt mit allen gewünschten Filterparametern
+     * @param limit  maximale Anzahl gelieferter IDs
+     * @return Liste von höchstens {@code limit} IDs
+     */
+    List<String> findIdsByFilters(FilterDto filter, int limit);
+
+    /**
+     * Zählt die passenden Events, ohne sie zu übertragen.
+     *
+     * @param filter ein {@link FilterDto}-Objekt mit allen gewünschten Filterparametern
+     * @return Anzahl passender Events
+     */
+    long countMatching(FilterDto filter);
+
+    /**
+     * Wendet einen Patch in einem einzigen {@code updateMulti} auf mehrere Events an
+     * (siehe {@link #patch(String, EventPatch, EventVersion, Instant)}). Geändert werden nur die Events,
+     * die den Filter zum Zeitpunkt des Schreibens noch erfüllen.
+     *
+     * @param filter die Filterkriterien, mit denen die IDs gelesen wurden
+     * @param ids    die IDs der zu ändernden Events
+     * @param patch  die Änderungen
+     * @param at     Zeitpunkt der Änderung
+     * @return die tatsächlich geänderten Events im neuen Stand
+     */
+    List<Event> patchAll(FilterDto filter, Collection<String> ids, EventPatch patch, Instant at);
+
+    /**
+     * Löscht mehrere Events, die den Filter zum Zeitpunkt des Löschens noch erfüllen.
+     *
+     * @param filter die Filterkriterien, mit denen die IDs gelesen wurden
+     * @param ids    die IDs der zu löschenden Events
+     * @return die IDs der tatsächlich gelöschten Events
+     */
+    List<String> removeAll(FilterDto filter, Collection<String> ids);
+
+    /**
+     * Liest nur Version und {@code lastModified} eines Events.
+     *
+     * @param id die ID des Events
+     * @return der gespeicherte Stand oder {@code null}, wenn das Event nicht existiert
+     */
+    EventVersion findVersionById(String id);
+
+    /**
+     * Löscht ein Event nur, wenn es noch im erwarteten Stand ist (bedingtes Löschen mit {@code If-Match}).
+     *
+     * @param id       die ID des Events
+     * @param expected der erwartete Stand oder {@code null} für keine Prüfung
+     * @return Anzahl gelöschter Events (0 oder 1)
+     */
+    long deleteIfMatches(String id, EventVersion expected);
+
+    /**
+     * Ändert einzelne Felder eines Events in einem Schritt (siehe {@link EventPatch#toUpdate()}),
+     * erhöht die Version und setzt {@code lastModified}.
+     *
+     * @param id       die ID des Events
+     * @param patch    die Änderungen
+     * @param expected erwarteter Stand oder {@code null} für keine Prüfung
+     * @param at       Zeitpunkt der Änderung
+     * @return das geänderte Event oder {@code null}, wenn kein Event mit ID (und Stand) existiert
+     */
+    Event patch(String id, EventPatch patch, EventVersion expected, Instant at);
+
+    /**
+     * Findet die seit einem Sync-Token geänderten Events, sortiert nach {@code (lastModified, id)}.
+     *
+     * @param after Position der letzten übertragenen Änderung oder {@code null} für alle Events
+     * @param until obere Grenze für {@code lastModified} (exklusive)
+     * @param limit maximale Anzahl gelieferter Events
+     * @return Liste von höchstens {@code limit} Events
+     */
+    List<Event> findModifiedSince(SyncToken after, Instant until, int limit);
+
+    /**
+     * Findet die seit einem Sync-Token geschriebenen Löschvermerke, sortiert nach {@code (lastModified, id)}.
+     *
+     * @param after Position der letzten übertragenen Änderung oder {@code null} für alle Vermerke
+     * @param until obere Grenze für {@code lastModified} (exklusive)
+     * @param limit maximale Anzahl gelieferter Vermerke
+     * @return Liste von höchstens {@code limit} Vermerken
+     */
+    List<EventTombstone> findDeletedSince(SyncToken after, Instant until, int limit);
+
+    /**
+     * Schreibt den Löschvermerk für ein Event (oder aktualisiert dessen Zeitpunkt).
+     *
+     * @param id die ID des gelöschten Events
+     * @param at Zeitpunkt der Löschung
+     */
+    void markDeleted(String id, Instant at);
+
+    /**
+     * Schreibt die Löschvermerke mehrerer Events in einem ungeordneten Bulk-Write.
+     *
+     * @param ids die IDs der gelöschten Events
+     * @param at  Zeitpunkt der Löschung
+     */
+    void markDeleted(Collection<String> ids, Instant at);
+
+    /**
+     * Schreibt mehrere Events in einem ungeordneten Bulk-Write.
+     *
+     * <p>Events ohne ID werden eingefügt (die ID wird vorab vergeben und am Objekt gesetzt),
+     * Events mit ID werden ersetzt bzw. neu angelegt. Ersetzt wird ohne Versionsprüfung (letzter
+     * Schreiber gewinnt); die gespeicherte {@code version} wird dabei erhöht, nie aus dem Event übernommen.
+     * Fehlgeschlagene Einträge brechen die übrigen nicht ab.</p>
+     *
+     * @param events die zu schreibenden Events
+     * @return Position in {@code events} → Fehlermeldung für alle nicht geschriebenen Einträge
+     */
+    Map<Integer, String> bulkSave(List<Event> events);
 }
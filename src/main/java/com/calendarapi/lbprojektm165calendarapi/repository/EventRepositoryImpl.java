@@ -1,16 +1,56 @@
 package com.calendarapi.lbprojektm165calendarapi.repository;
 
+import com.calendarapi.lbprojektm165calendarapi.dto.CountDto;
+import com.calendarapi.lbprojektm165calendarapi.dto.CountGroup;
+import com.calendarapi.lbprojektm165calendarapi.dto.EventCountsDto;
+import com.calendarapi.lbprojektm165calendarapi.dto.EventPatch;
+import com.calendarapi.lbprojektm165calendarapi.dto.EventProjection;
+import com.calendarapi.lbprojektm165calendarapi.dto.EventVersion;
 import com.calendarapi.lbprojektm165calendarapi.dto.FilterDto;
+import com.calendarapi.lbprojektm165calendarapi.dto.IntervalMatch;
+import com.calendarapi.lbprojektm165calendarapi.dto.PageCursor;
+import com.calendarapi.lbprojektm165calendarapi.dto.SyncToken;
+import com.calendarapi.lbprojektm165calendarapi.dto.TimeBucket;
+import com.calendarapi.lbprojektm165calendarapi.model.CalendarMasks;
 import com.calendarapi.lbprojektm165calendarapi.model.Event;
+import com.calendarapi.lbprojektm165calendarapi.model.EventTombstone;
+import com.calendarapi.lbprojektm165calendarapi.model.TitleGrams;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.bson.Document;
+import org.bson.types.ObjectId;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
 import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.aggregation.DateOperators;
+import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.TextCriteria;
+import org.springframework.data.mongodb.core.query.TextQuery;
+import org.springframework.data.mongodb.core.query.Update;
 
+import java.time.DayOfWeek;
 import java.time.Instant;
 import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
+import java.util.stream.Stream;
 
 /**
  * Implementierung von benutzerdefinierten Abfragen für Events.
@@ -31,6 +71,33 @@ public class EventRepositoryImpl implements EventRepositoryCustom {
     @Autowired
     private MongoTemplate mongoTemplate;
 
+    /**
+     * Registry für den Timer {@code calendar.repository.find-by-filters}.
+     */
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /**
+     * Timer je Filterform ({@link FilterDto#shape()}); höchstens 2^8 Einträge.
+     */
+    private final Map<String, Timer> findTimers = new ConcurrentHashMap<>();
+
+    /**
+     * Batch-Größe des MongoDB-Cursors beim Streaming.
+     */
+    @Value("${calendar.stream.batch-size:500}")
+    private int streamBatchSize;
+
+    /**
+     * Stabile Sortierung für Keyset-Pagination und Streaming.
+     */
+    static final Sort KEYSET_SORT = Sort.by(Sort.Direction.ASC, "start").and(Sort.by(Sort.Direction.ASC, "id"));
+
+    /**
+     * Sortierung der Delta-Synchronisation.
+     */
+    static final Sort CHANGES_SORT = Sort.by(Sort.Direction.ASC, "lastModified").and(Sort.by(Sort.Direction.ASC, "id"));
+
     /**
      * Findet Events, die den gegebenen Filterkriterien entsprechen.
      *
@@ -47,16 +114,543 @@ public class EventRepositoryImpl implements EventRepositoryCustom {
      */
     @Override
     public List<Event> findByFilters(FilterDto filter) {
+        Timer timer = findTimers.computeIfAbsent(filter.shape(), shape -> Timer.builder("calendar.repository.find-by-filters")
+                .description("Dauer von findByFilters je Kombination gesetzter Filterfelder")
+                .tag("shape", shape)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+        return timer.record(() -> mongoTemplate.find(buildQuery(filter), Event.class));
+    }
+
+    /**
+     * Findet Events wie {@link #findByFilters(FilterDto)}, liest aber nur die Felder der Projektion.
+     *
+     * @param filter     das Filterobjekt {@link FilterDto}
+     * @param projection die zu lesenden Felder
+     * @return die Events, in denen nur die projizierten Felder gesetzt sind
+     */
+    @Override
+    public List<Event> findByFilters(FilterDto filter, EventProjection projection) {
+        return mongoTemplate.find(project(buildQuery(filter), projection), Event.class);
+    }
+
+    /**
+     * Lädt eine Seite von Events per Keyset-Pagination, sortiert nach {@code (start, id)}.
+     *
+     * <p>Statt {@code skip} wird ab der Position des Cursors weitergelesen, sodass jede Seite
+     * unabhängig von ihrer Position nur einen Index-Bereich liest.</p>
+     *
+     * @param filter das Filterobjekt {@link FilterDto}
+     * @param after  Position der letzten Zeile der vorherigen Seite oder {@code null} für die erste Seite
+     * @param limit  maximale Anzahl gelieferter Events
+     * @return die Events der Seite in Sortierreihenfolge
+     */
+    @Override
+    public List<Event> findPageByFilters(FilterDto filter, PageCursor after, int limit) {
+        return mongoTemplate.find(buildPageQuery(filter, after, limit), Event.class);
+    }
+
+    /**
+     * Liefert die passenden Events als Stream direkt vom MongoDB-Cursor.
+     *
+     * <p>Es wird jeweils nur ein Batch ({@code calendar.stream.batch-size}) im Speicher gehalten.
+     * Der Stream muss vom Aufrufer geschlossen werden, damit der Cursor freigegeben wird.</p>
+     *
+     * @param filter das Filterobjekt {@link FilterDto}
+     * @return Stream der passenden Events, sortiert nach {@code (start, id)}
+     */
+    @Override
+    public Stream<Event> streamByFilters(FilterDto filter) {
+        Query query = buildQuery(filter).with(KEYSET_SORT).cursorBatchSize(streamBatchSize);
+        return mongoTemplate.stream(query, Event.class);
+    }
+
+    /**
+     * Findet Events nach ihrer Beziehung zum Fenster {@code [from, to)}.
+     *
+     * @param from  Beginn des Fensters (inklusive)
+     * @param to    Ende des Fensters (exklusive)
+     * @param match gesuchte Beziehung
+     * @return die Events, sortiert nach {@code (start, id)}
+     */
+    @Override
+    public List<Event> findByInterval(Instant from, Instant to, IntervalMatch match, int weekdayMask, int monthMask) {
+        return mongoTemplate.find(buildIntervalQuery(from, to, match, weekdayMask, monthMask), Event.class);
+    }
+
+    /**
+     * Volltextsuche über {@code title}, {@code tags} und {@code description} per Text-Index.
+     *
+     * @param terms Suchbegriffe (Syntax von {@code $text}: Wörter, {@code "Phrase"}, {@code -Ausschluss})
+     * @param skip  Anzahl zu überspringender Treffer
+     * @param limit maximale Anzahl Treffer
+     * @return die Treffer absteigend nach Relevanz, mit gesetztem {@code score}
+     */
+    @Override
+    public List<Event> search(String terms, int skip, int limit) {
+        return mongoTemplate.find(buildSearchQuery(terms, skip, limit), Event.class);
+    }
+
+    /**
+     * Zählt die passenden Events je Gruppe per Aggregation-Pipeline (siehe {@link #buildCountAggregation}).
+     *
+     * @param filter das Filterobjekt {@link FilterDto} für die {@code $match}-Stufe
+     * @param by     Gruppierungsmerkmal
+     * @param bucket Zeitabschnitt bei {@link CountGroup#START}
+     * @return die Gruppen mit ihrer Anzahl, sortiert wie in {@link EventCountsDto} beschrieben
+     */
+    @Override
+    public List<CountDto> countByFilters(FilterDto filter, CountGroup by, TimeBucket bucket) {
+        List<Document> rows = mongoTemplate.aggregate(buildCountAggregation(filter, by, bucket), Document.class)
+                .getMappedResults();
+        return toCounts(rows, by);
+    }
+
+    /**
+     * Liest nur die IDs der passenden Events (Projektion auf {@code _id}).
+     *
+     * @param filter das Filterobjekt {@link FilterDto}
+     * @param limit  maximale Anzahl gelieferter IDs
+     * @return die IDs, sortiert nach {@code (start, id)}
+     */
+    @Override
+    public List<String> findIdsByFilters(FilterDto filter, int limit) {
+        return mongoTemplate.find(buildIdsQuery(filter, limit), Event.class).stream().map(Event::getId).toList();
+    }
+
+    /**
+     * Zählt die passenden Events per {@code countDocuments}.
+     *
+     * @param filter das Filterobjekt {@link FilterDto}
+     * @return Anzahl passender Events
+     */
+    @Override
+    public long countMatching(FilterDto filter) {
+        return mongoTemplate.count(buildQuery(filter), Event.class);
+    }
+
+    /**
+     * Wendet einen Patch per {@code updateMulti} auf die angegebenen Events an, die den Filter noch erfüllen,
+     * und liest die geänderten Events anhand ihres neuen {@code lastModified} zurück.
+     *
+     * @param filter das Filterobjekt {@link FilterDto}
+     * @param ids    die IDs der zu ändernden Events
+     * @param patch  die Änderungen
+     * @param at     Zeitpunkt der Änderung
+     * @return die geänderten Events im neuen Stand
+     */
+    @Override
+    public List<Event> patchAll(FilterDto filter, Collection<String> ids, EventPatch patch, Instant at) {
+        Instant stamp = at.truncatedTo(ChronoUnit.MILLIS);
+        long modified = mongoTemplate.updateMulti(buildBulkQuery(filter, ids), buildPatchUpdate(patch, stamp),
+                Event.class).getModifiedCount();
+        return modified == 0 ? List.of() : mongoTemplate.find(buildPatchedQuery(ids, stamp), Event.class);
+    }
+
+    /**
+     * Löscht die angegebenen Events, die den Filter noch erfüllen, per {@code findAllAndRemove}
+     * (nur {@code _id} wird gelesen).
+     *
+     * @param filter das Filterobjekt {@link FilterDto}
+     * @param ids    die IDs der zu löschenden Events
+     * @return die IDs der gelöschten Events
+     */
+    @Override
+    public List<String> removeAll(FilterDto filter, Collection<String> ids) {
+        Query query = buildBulkQuery(filter, ids);
+        query.fields().include("id");
+        return mongoTemplate.findAllAndRemove(query, Event.class).stream().map(Event::getId).toList();
+    }
+
+    /**
+     * Liest nur die Felder {@code version} und {@code lastModified} eines Events.
+     *
+     * @param id die ID des Events
+     * @return der gespeicherte Stand oder {@code null}, wenn das Event nicht existiert
+     */
+    @Override
+    public EventVersion findVersionById(String id) {
+        Event event = mongoTemplate.findOne(buildVersionProjection(id), Event.class);
+        return event == null ? null : EventVersion.of(event);
+    }
+
+    /**
+     * Löscht ein Event mit einem einzigen {@code remove}, dessen Filter den erwarteten Stand enthält.
+     *
+     * @param id       die ID des Events
+     * @param expected der erwartete Stand oder {@code null} für keine Prüfung
+     * @return Anzahl gelöschter Events (0 oder 1)
+     */
+    @Override
+    public long deleteIfMatches(String id, EventVersion expected) {
+        return mongoTemplate.remove(buildVersionQuery(id, expected), Event.class).getDeletedCount();
+    }
+
+    /**
+     * Ändert einzelne Felder per {@code findAndModify} und liefert den neuen Stand.
+     *
+     * @param id       die ID des Events
+     * @param patch    die Änderungen
+     * @param expected erwarteter Stand oder {@code null}
+     * @param at       Zeitpunkt der Änderung
+     * @return das geänderte Event oder {@code null}, wenn kein passendes Event existiert
+     */
+    @Override
+    public Event patch(String id, EventPatch patch, EventVersion expected, Instant at) {
+        return mongoTemplate.findAndModify(buildVersionQuery(id, expected), buildPatchUpdate(patch, at),
+                FindAndModifyOptions.options().returnNew(true), Event.class);
+    }
+
+    /**
+     * Findet die seit einem Sync-Token geänderten Events über den Index {@code lastModified/_id}.
+     *
+     * @param after Position der letzten übertragenen Änderung oder {@code null}
+     * @param until obere Grenze für {@code lastModified} (exklusive)
+     * @param limit maximale Anzahl Events
+     * @return die Events in Sync-Reihenfolge
+     */
+    @Override
+    public List<Event> findModifiedSince(SyncToken after, Instant until, int limit) {
+        return mongoTemplate.find(buildChangesQuery(after, until, limit), Event.class);
+    }
+
+    /**
+     * Findet die seit einem Sync-Token geschriebenen Löschvermerke (gleiche Abfrage wie für Events).
+     *
+     * @param after Position der letzten übertragenen Änderung oder {@code null}
+     * @param until obere Grenze für {@code lastModified} (exklusive)
+     * @param limit maximale Anzahl Vermerke
+     * @return die Vermerke in Sync-Reihenfolge
+     */
+    @Override
+    public List<EventTombstone> findDeletedSince(SyncToken after, Instant until, int limit) {
+        return mongoTemplate.find(buildChangesQuery(after, until, limit), EventTombstone.class);
+    }
+
+    /**
+     * Schreibt den Löschvermerk per Upsert.
+     *
+     * @param id die ID des gelöschten Events
+     * @param at Zeitpunkt der Löschung
+     */
+    @Override
+    public void markDeleted(String id, Instant at) {
+        mongoTemplate.upsert(Query.query(Criteria.where("id").is(id)), Update.update("lastModified", at),
+                EventTombstone.class);
+    }
+
+    /**
+     * Schreibt die Löschvermerke per Upsert in einem ungeordneten Bulk-Write.
+     *
+     * @param ids die IDs der gelöschten Events
+     * @param at  Zeitpunkt der Löschung
+     */
+    @Override
+    public void markDeleted(Collection<String> ids, Instant at) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        BulkOperations ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, EventTombstone.class);
+        for (String id : ids) {
+            ops.upsert(Query.query(Criteria.where("id").is(id)), Update.update("lastModified", at));
+        }
+        ops.execute();
+    }
+
+    /**
+     * Schreibt mehrere Events in einem ungeordneten Bulk-Write ({@link BulkOperations.BulkMode#UNORDERED}).
+     *
+     * <p>Neue Events erhalten vorab eine {@link ObjectId}, damit sie als reine Inserts geschrieben
+     * werden und die ID ohne Rücklesen bekannt ist. Events mit ID ersetzen das gespeicherte Dokument
+     * per Upsert ohne Versionsprüfung (letzter Schreiber gewinnt, siehe {@link #buildReplaceUpdate}); eine
+     * mitgesendete {@code version} wird ignoriert, MongoDB erhöht die gespeicherte. Die Reihenfolge der
+     * Operationen entspricht der Liste, sodass der Fehlerindex von MongoDB direkt der Position entspricht.</p>
+     *
+     * <p>Ersetzte Events haben danach {@code version == null}, da die neue Version nur in MongoDB bekannt ist.</p>
+     *
+     * @param events die zu schreibenden Events
+     * @return Position → Fehlermeldung für alle nicht geschriebenen Einträge
+     */
+    @Override
+    public Map<Integer, String> bulkSave(List<Event> events) {
+        Map<Integer, String> errors = new HashMap<>();
+        if (events.isEmpty()) {
+            return errors;
+        }
+
+        Instant now = Instant.now();
+        BulkOperations ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Event.class);
+        for (Event event : events) {
+            if (event.getId() == null) {
+                // Ohne Version könnte ein späteres save() das Event nicht ersetzen
+                event.setVersion(0L);
+                event.setId(new ObjectId().toHexString());
+                ops.insert(event);
+            } else {
+                // Das Pipeline-Update durchläuft weder Callbacks noch Auditing
+                CalendarMasks.apply(event);
+                TitleGrams.apply(event);
+                event.setVersion(null);
+                event.setLastModified(now);
+                Document document = new Document();
+                mongoTemplate.getConverter().write(event, document);
+                ops.upsert(Query.query(Criteria.where("id").is(event.getId())), buildReplaceUpdate(document));
+            }
+        }
+
+        try {
+            ops.execute();
+        } catch (BulkOperationException e) {
+            e.getErrors().forEach(error -> errors.put(error.getIndex(), error.getMessage()));
+        } catch (DataAccessException e) {
+            // Der gesamte Bulk-Write ist fehlgeschlagen (z.B. Verbindung verloren)
+            for (int i = 0; i < events.size(); i++) {
+                errors.put(i, e.getMostSpecificCause().getMessage());
+            }
+        }
+        return errors;
+    }
+
+    /**
+     * Erstellt die Abfrage für eine Seite der Keyset-Pagination.
+     *
+     * @param filter das Filterobjekt {@link FilterDto}
+     * @param after  Position der letzten Zeile der vorherigen Seite oder {@code null}
+     * @param limit  maximale Anzahl Zeilen
+     * @return die sortierte und begrenzte Abfrage
+     */
+    static Query buildPageQuery(FilterDto filter, PageCursor after, int limit) {
+        Query query = buildQuery(filter);
+        if (after != null) {
+            query.addCriteria(keysetAfter(after));
+        }
+        return query.with(KEYSET_SORT).limit(limit);
+    }
+
+    /**
+     * Abfrage der IDs passender Events für Massenänderungen, sortiert nach {@code (start, id)}.
+     *
+     * @param filter das Filterobjekt {@link FilterDto}
+     * @param limit  maximale Anzahl IDs
+     * @return die Abfrage mit Projektion auf {@code _id}
+     */
+    static Query buildIdsQuery(FilterDto filter, int limit) {
+        Query query = buildQuery(filter).with(KEYSET_SORT).limit(limit);
+        query.fields().include("id");
+        return query;
+    }
+
+    /**
+     * Abfrage einer Massenänderung: die vorab gelesenen IDs, sofern sie den Filter weiterhin erfüllen.
+     * So bleibt ein Event, das sich seit dem Lesen der IDs aus dem Filter heraus geändert hat, unberührt.
+     *
+     * @param filter das Filterobjekt {@link FilterDto}
+     * @param ids    die vorab gelesenen IDs
+     * @return die Abfrage
+     */
+    static Query buildBulkQuery(FilterDto filter, Collection<String> ids) {
+        return buildQuery(filter).addCriteria(Criteria.where("id").in(ids));
+    }
+
+    /**
+     * Abfrage der Events, die ein {@link #buildPatchUpdate Patch} zum Zeitpunkt {@code at} geändert hat.
+     *
+     * @param ids die IDs der zu ändernden Events
+     * @param at  Zeitpunkt der Änderung auf Millisekunden
+     * @return die Abfrage
+     */
+    static Query buildPatchedQuery(Collection<String> ids, Instant at) {
+        return Query.query(Criteria.where("id").in(ids).and("lastModified").is(at));
+    }
+
+    /**
+     * Abfrage auf ein Event, optional nur im erwarteten Stand aus Version und {@code lastModified}.
+     *
+     * @param id       die ID des Events
+     * @param expected erwarteter Stand oder {@code null}; {@link EventVersion#ANY} prüft nur die ID
+     * @return die Abfrage
+     */
+    static Query buildVersionQuery(String id, EventVersion expected) {
+        Criteria criteria = Criteria.where("id").is(id);
+        if (expected != null && !expected.isAny()) {
+            criteria.and("version").is(expected.version()).and("lastModified").is(expected.lastModified());
+        }
+        return Query.query(criteria);
+    }
+
+    /**
+     * Abfrage auf Version und {@code lastModified} eines Events.
+     *
+     * @param id die ID des Events
+     * @return die Abfrage mit Projektion
+     */
+    static Query buildVersionProjection(String id) {
+        Query query = Query.query(Criteria.where("id").is(id));
+        query.fields().include("version", "lastModified");
+        return query;
+    }
+
+    /**
+     * Pipeline-Update, das ein Event wie {@code replaceOne} vollständig ersetzt, die gespeicherte Version
+     * dabei aber um eins erhöht (neues Event: 0), sodass sie nie zurückfällt. Das Dokument wird per
+     * {@code $literal} eingesetzt, damit Werte mit {@code $} nicht als Ausdruck gelesen werden.
+     *
+     * @param document das konvertierte Event ohne {@code version}
+     * @return das Update
+     */
+    static AggregationUpdate buildReplaceUpdate(Document document) {
+        Document version = new Document("version", new Document("$add",
+                List.of(new Document("$ifNull", List.of("$version", -1L)), 1L)));
+        Document replacement = new Document("$mergeObjects", List.of(new Document("$literal", document), version));
+        return AggregationUpdate.from(List.<AggregationOperation>of(
+                context -> new Document("$replaceWith", replacement)));
+    }
+
+    /**
+     * Update eines Patches; erhöht zusätzlich {@code version} und setzt {@code lastModified},
+     * da Updates weder Versionierung noch Auditing von Spring Data durchlaufen.
+     *
+     * @param patch die Änderungen
+     * @param at    Zeitpunkt der Änderung
+     * @return das Update
+     */
+    static Update buildPatchUpdate(EventPatch patch, Instant at) {
+        return patch.toUpdate().inc("version", 1).set("lastModified", at);
+    }
+
+    /**
+     * Erstellt die Abfrage der Delta-Synchronisation, sortiert nach {@code (lastModified, id)}.
+     * Gilt für Events und Löschvermerke gleichermassen.
+     *
+     * @param after Position der letzten übertragenen Änderung oder {@code null} für alle
+     * @param until obere Grenze für {@code lastModified} (exklusive)
+     * @param limit maximale Anzahl Zeilen
+     * @return die sortierte und begrenzte Abfrage
+     */
+    static Query buildChangesQuery(SyncToken after, Instant until, int limit) {
+        Criteria criteria = Criteria.where("lastModified").lt(until);
+        if (after != null && after.getId() == null) {
+            criteria.gte(after.getLastModified());
+        } else if (after != null) {
+            criteria = new Criteria().andOperator(criteria, new Criteria().orOperator(
+                    Criteria.where("lastModified").gt(after.getLastModified()),
+                    Criteria.where("lastModified").is(after.getLastModified()).and("id").gt(after.getId())));
+        }
+        return Query.query(criteria).with(CHANGES_SORT).limit(limit);
+    }
+
+    /**
+     * Beschränkt eine Abfrage auf die Felder der Projektion; {@code _id} liefert MongoDB immer mit.
+     *
+     * @param query      die Abfrage
+     * @param projection die zu lesenden Felder
+     * @return dieselbe Abfrage
+     */
+    static Query project(Query query, EventProjection projection) {
+        for (String field : projection.getFields()) {
+            if (!field.equals("id")) {
+                query.fields().include(field);
+            }
+        }
+        return query;
+    }
+
+    /**
+     * Erstellt die Pipeline für die Zählung je Gruppe.
+     *
+     * <p>{@code $match} enthält dieselben Kriterien wie {@link #buildQuery} und nutzt damit dieselben Indizes.
+     * Danach wird nur noch das gruppierte Feld weitergereicht; Listenfelder werden per {@code $unwind}
+     * aufgelöst, {@code start} per {@code $dateToString} (UTC) auf den Zeitabschnitt gekürzt.
+     * Der Server liefert nur die Gruppen zurück, nicht die Events.</p>
+     *
+     * @param filter das Filterobjekt
+     * @param by     Gruppierungsmerkmal
+     * @param bucket Zeitabschnitt bei {@link CountGroup#START}
+     * @return die typisierte Aggregation auf der Collection "events"
+     */
+    static TypedAggregation<Event> buildCountAggregation(FilterDto filter, CountGroup by, TimeBucket bucket) {
+        List<AggregationOperation> stages = new ArrayList<>();
+        Document match = buildQuery(filter).getQueryObject();
+        if (!match.isEmpty()) {
+            stages.add(context -> new Document("$match", context.getMappedObject(match, Event.class)));
+        }
+        if (by == CountGroup.START) {
+            stages.add(Aggregation.project()
+                    .and(DateOperators.DateToString.dateOf(by.getField())
+                            .toString(bucket.getFormat())
+                            .withTimezone(DateOperators.Timezone.valueOf("UTC")))
+                    .as("bucket"));
+            stages.add(Aggregation.group("bucket").count().as("count"));
+        } else {
+            stages.add(Aggregation.project(by.getField()));
+            stages.add(Aggregation.unwind(by.getField()));
+            stages.add(Aggregation.group(by.getField()).count().as("count"));
+        }
+        stages.add(by == CountGroup.TAG
+                ? Aggregation.sort(Sort.by(Sort.Direction.DESC, "count").and(Sort.by(Sort.Direction.ASC, "_id")))
+                : Aggregation.sort(Sort.by(Sort.Direction.ASC, "_id")));
+        return Aggregation.newAggregation(Event.class, stages);
+    }
+
+    /**
+     * Übernimmt die Ergebnisse der Pipeline; Wochentage werden in Wochenreihenfolge gebracht,
+     * da {@code $sort} sie alphabetisch liefert.
+     *
+     * @param rows die Dokumente {@code {_id: Schlüssel, count: Anzahl}}
+     * @param by   Gruppierungsmerkmal
+     * @return die Gruppen mit ihrer Anzahl
+     */
+    static List<CountDto> toCounts(List<Document> rows, CountGroup by) {
+        List<CountDto> counts = new ArrayList<>(rows.size());
+        for (Document row : rows) {
+            counts.add(new CountDto(row.get("_id"), row.get("count", Number.class).longValue()));
+        }
+        if (by == CountGroup.WEEKDAY) {
+            counts.sort(Comparator.comparing(count -> {
+                DayOfWeek day = count.getKey() instanceof String value ? CalendarMasks.parseWeekday(value) : null;
+                return day == null ? DayOfWeek.values().length : day.ordinal();
+            }));
+        }
+        return counts;
+    }
+
+    /**
+     * Erstellt die Volltextabfrage, sortiert nach Relevanz und bei Gleichstand nach {@code id},
+     * damit aufeinanderfolgende Seiten stabil bleiben.
+     *
+     * @param terms Suchbegriffe
+     * @param skip  Anzahl zu überspringender Treffer
+     * @param limit maximale Anzahl Treffer
+     * @return die Abfrage inklusive Relevanz
+     */
+    static Query buildSearchQuery(String terms, int skip, int limit) {
+        return TextQuery.queryText(TextCriteria.forDefaultLanguage().matching(terms))
+                .sortByScore()
+                .includeScore()
+                .with(Sort.by(Sort.Direction.ASC, "id"))
+                .skip(skip)
+                .limit(limit);
+    }
+
+    /**
+     * Übersetzt die Filterkriterien in eine MongoDB-{@link Query}.
+     *
+     * @param filter das Filterobjekt {@link FilterDto}
+     * @return die Abfrage mit allen gesetzten Kriterien
+     */
+    static Query buildQuery(FilterDto filter) {
         Query query = new Query();
 
-        // Wochentage filtern
-        if (filter.getWeekday() != null && !filter.getWeekday().isEmpty()) {
-            query.addCriteria(Criteria.where("daysOfWeek").in(filter.getWeekday()));
+        // Wochentage filtern (mindestens einer der Tage gesetzt): Punktabfragen auf weekdayMask
+        int weekdayMask = filter.weekdayMask();
+        if (weekdayMask != 0) {
+            query.addCriteria(Criteria.where("weekdayMask").in(CalendarMasks.weekdayMasksMatching(weekdayMask)));
         }
 
-        // Monate filtern
-        if (filter.getMonth() != null && !filter.getMonth().isEmpty()) {
-            query.addCriteria(Criteria.where("months").in(filter.getMonth()));
+        // Monate filtern (mindestens einer der Monate gesetzt)
+        int monthMask = filter.monthMask();
+        if (monthMask != 0) {
+            query.addCriteria(Criteria.where("monthMask").bits().anySet(monthMask));
         }
 
         // Startzeit-Zeitraum (optional)
@@ -73,8 +667,12 @@ public class EventRepositoryImpl implements EventRepositoryCustom {
             query.addCriteria(Criteria.where("tags").is(filter.getTag()));
         }
 
-        // Titel enthält (case-insensitive)
+        // Titel enthält (case-insensitive): Trigramme grenzen per Index ein, die Regex prüft den Rest
         if (filter.getTitleContains() != null && !filter.getTitleContains().isBlank()) {
+            List<String> grams = TitleGrams.of(filter.getTitleContains());
+            if (!grams.isEmpty()) {
+                query.addCriteria(Criteria.where("titleGrams").all(grams));
+            }
             query.addCriteria(
                     Criteria.where("title")
                             .regex(".*" + Pattern.quote(filter.getTitleContains()) + ".*", "i")
@@ -103,6 +701,66 @@ public class EventRepositoryImpl implements EventRepositoryCustom {
             query.addCriteria(dateCriteria);
         }
 
-        return mongoTemplate.find(query, Event.class);
+        return query;
+    }
+
+    /**
+     * Übersetzt eine {@link IntervalMatch}-Beziehung in eine Abfrage auf {@code start} und {@code end}.
+     * <p>Wie im In-Process-Index gelten Events ohne Ende oder mit {@code end <= start} als Zeitpunkt
+     * {@code [start, start + 1 ms)}, daher die zusätzlichen Alternativen für diese Fälle.</p>
+     *
+     * @param from        Beginn des Fensters (inklusive)
+     * @param to          Ende des Fensters (exklusive)
+     * @param match       gesuchte Beziehung
+     * @param weekdayMask Wochentage, von denen mindestens einer gesetzt sein muss (0 = beliebig)
+     * @param monthMask   Monate, von denen mindestens einer gesetzt sein muss (0 = beliebig)
+     * @return die nach {@code (start, id)} sortierte Abfrage
+     */
+    static Query buildIntervalQuery(Instant from, Instant to, IntervalMatch match, int weekdayMask, int monthMask) {
+        Criteria criteria = switch (match) {
+            case OVERLAPS -> new Criteria().andOperator(
+                    Criteria.where("start").lt(to),
+                    new Criteria().orOperator(
+                            Criteria.where("end").gt(from),
+                            Criteria.where("start").gte(from)));
+            case WITHIN -> new Criteria().andOperator(
+                    Criteria.where("start").gte(from).lt(to),
+                    new Criteria().orOperator(
+                            Criteria.where("end").lte(to),
+                            Criteria.where("end").is(null)));
+            case CONTAINS -> new Criteria().andOperator(
+                    Criteria.where("start").lte(from),
+                    new Criteria().orOperator(
+                            Criteria.where("end").gte(to),
+                            Criteria.where("start").gte(to.minusMillis(1))));
+        };
+        Query query = new Query(criteria);
+        if (weekdayMask != 0) {
+            query.addCriteria(Criteria.where("weekdayMask").in(CalendarMasks.weekdayMasksMatching(weekdayMask)));
+        }
+        if (monthMask != 0) {
+            query.addCriteria(Criteria.where("monthMask").bits().anySet(monthMask));
+        }
+        return query.with(KEYSET_SORT);
+    }
+
+    /**
+     * Bedingung "nach dem Cursor" für die Sortierung {@code (start ASC, id ASC)}.
+     * <p>Fehlende Startzeiten sortiert MongoDB vor allen Datumswerten.</p>
+     *
+     * @param after Position der letzten gelieferten Zeile
+     * @return Kriterium für alle nachfolgenden Zeilen
+     */
+    static Criteria keysetAfter(PageCursor after) {
+        if (after.getStart() == null) {
+            return new Criteria().orOperator(
+                    Criteria.where("start").is(null).and("id").gt(after.getId()),
+                    Criteria.where("start").ne(null)
+            );
+        }
+        return new Criteria().orOperator(
+                Criteria.where("start").gt(after.getStart()),
+                Criteria.where("start").is(after.getStart()).and("id").gt(after.getId())
+        );
     }
 }
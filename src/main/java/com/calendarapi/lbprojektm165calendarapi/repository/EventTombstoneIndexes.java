@@ -0,0 +1,35 @@
+package com.calendarapi.lbprojektm165calendarapi.repository;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Definiert den Index-Satz der Collection "event_tombstones".
+ *
+ * <p>{@code lastModified/_id} trägt das Lesen der Löschvermerke in Sync-Reihenfolge, der TTL-Index
+ * auf {@code lastModified} entfernt Vermerke nach Ablauf der Aufbewahrungsdauer.</p>
+ *
+ * @author Ricardo Cardoso
+ */
+public final class EventTombstoneIndexes {
+
+    private EventTombstoneIndexes() {
+    }
+
+    /**
+     * @param retention Aufbewahrungsdauer der Vermerke
+     * @return alle von der Anwendung verwalteten Indizes der Collection "event_tombstones"
+     */
+    public static List<IndexDefinition> definitions(Duration retention) {
+        return List.of(
+                new Index().on("lastModified", Sort.Direction.ASC).on("_id", Sort.Direction.ASC)
+                        .named(EventIndexes.MANAGED_PREFIX + "lastModified_id"),
+                new Index().on("lastModified", Sort.Direction.ASC).expire(retention)
+                        .named(EventIndexes.MANAGED_PREFIX + "lastModified_ttl")
+        );
+    }
+}
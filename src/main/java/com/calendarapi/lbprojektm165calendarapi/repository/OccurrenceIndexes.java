@@ -0,0 +1,35 @@
+package com.calendarapi.lbprojektm165calendarapi.repository;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+
+import java.util.List;
+
+/**
+ * Definiert den Index-Satz der Collection "occurrences".
+ *
+ * <p>{@code start/eventId} trägt die Bereichsabfrage inklusive Sortierung, {@code eventId/start}
+ * das Ersetzen aller Vorkommen eines Events und {@code tags/start} die Abfrage mit Tag-Filter.</p>
+ *
+ * @author Ricardo Cardoso
+ */
+public final class OccurrenceIndexes {
+
+    private OccurrenceIndexes() {
+    }
+
+    /**
+     * @return alle von der Anwendung verwalteten Indizes der Collection "occurrences"
+     */
+    public static List<IndexDefinition> definitions() {
+        return List.of(
+                new Index().on("start", Sort.Direction.ASC).on("eventId", Sort.Direction.ASC)
+                        .named(EventIndexes.MANAGED_PREFIX + "start_eventId"),
+                new Index().on("eventId", Sort.Direction.ASC).on("start", Sort.Direction.ASC)
+                        .named(EventIndexes.MANAGED_PREFIX + "eventId_start"),
+                new Index().on("tags", Sort.Direction.ASC).on("start", Sort.Direction.ASC)
+                        .named(EventIndexes.MANAGED_PREFIX + "tags_start")
+        );
+    }
+}
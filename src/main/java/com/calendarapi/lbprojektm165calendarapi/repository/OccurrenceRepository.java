@@ -0,0 +1,15 @@
+package com.calendarapi.lbprojektm165calendarapi.repository;
+
+import com.calendarapi.lbprojektm165calendarapi.model.Occurrence;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+/**
+ * Repository-Interface für materialisierte {@link Occurrence}-Dokumente.
+ *
+ * <p>Erweiterungen für Bereichsabfragen und das Ersetzen der Vorkommen eines Events
+ * befinden sich in {@link OccurrenceRepositoryCustom}.</p>
+ *
+ * @author Ricardo Cardoso
+ */
+public interface OccurrenceRepository extends MongoRepository<Occurrence, String>, OccurrenceRepositoryCustom {
+}
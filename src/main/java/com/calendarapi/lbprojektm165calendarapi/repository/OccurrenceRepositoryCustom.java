@@ -0,0 +1,51 @@
+package com.calendarapi.lbprojektm165calendarapi.repository;
+
+import com.calendarapi.lbprojektm165calendarapi.model.Occurrence;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Benutzerdefinierte Abfragen und Schreiboperationen für materialisierte Vorkommen.
+ *
+ * <p>Die Implementierung erfolgt in {@code OccurrenceRepositoryImpl}.</p>
+ *
+ * @author Ricardo Cardoso
+ */
+public interface OccurrenceRepositoryCustom {
+
+    /**
+     * Liefert die Vorkommen mit Beginn in {@code [from, to)}, sortiert nach {@code (start, eventId)}.
+     *
+     * @param from          Beginn des Fensters (inklusive)
+     * @param to            Ende des Fensters (exklusive)
+     * @param tag           optionales Tag
+     * @param titleContains optionaler Teilstring des Titels (case-insensitive)
+     * @param limit         maximale Anzahl Vorkommen
+     * @return höchstens {@code limit} Vorkommen
+     */
+    List<Occurrence> findInWindow(Instant from, Instant to, String tag, String titleContains, int limit);
+
+    /**
+     * Fügt Vorkommen in einem ungeordneten Bulk-Write ein.
+     *
+     * @param occurrences die einzufügenden Vorkommen
+     */
+    void insertAll(List<Occurrence> occurrences);
+
+    /**
+     * Löscht alle Vorkommen der angegebenen Events.
+     *
+     * @param eventIds die IDs der Events
+     */
+    void deleteByEventIds(Collection<String> eventIds);
+
+    /**
+     * Löscht alle Vorkommen, die vor dem Zeitpunkt beginnen.
+     *
+     * @param before Grenze (exklusive)
+     * @return Anzahl gelöschter Vorkommen
+     */
+    long deleteStartingBefore(Instant before);
+}
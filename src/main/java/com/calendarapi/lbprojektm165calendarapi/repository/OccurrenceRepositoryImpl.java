@@ -0,0 +1,68 @@
+package com.calendarapi.lbprojektm165calendarapi.repository;
+
+import com.calendarapi.lbprojektm165calendarapi.model.Occurrence;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Implementierung der Abfragen und Schreiboperationen auf der Collection "occurrences".
+ *
+ * @author Ricardo Cardoso
+ */
+public class OccurrenceRepositoryImpl implements OccurrenceRepositoryCustom {
+
+    /** Sortierung passend zum Index {@code start/eventId} */
+    private static final Sort WINDOW_SORT =
+            Sort.by(Sort.Direction.ASC, "start").and(Sort.by(Sort.Direction.ASC, "eventId"));
+
+    /**
+     * {@link MongoTemplate} für direkte Abfragen auf MongoDB.
+     */
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Override
+    public List<Occurrence> findInWindow(Instant from, Instant to, String tag, String titleContains, int limit) {
+        Query query = new Query(Criteria.where("start").gte(from).lt(to));
+        if (tag != null && !tag.isBlank()) {
+            query.addCriteria(Criteria.where("tags").is(tag));
+        }
+        if (titleContains != null && !titleContains.isBlank()) {
+            query.addCriteria(Criteria.where("title").regex(".*" + Pattern.quote(titleContains) + ".*", "i"));
+        }
+        return mongoTemplate.find(query.with(WINDOW_SORT).limit(limit), Occurrence.class);
+    }
+
+    @Override
+    public void insertAll(List<Occurrence> occurrences) {
+        if (occurrences.isEmpty()) {
+            return;
+        }
+        mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Occurrence.class)
+                .insert(occurrences)
+                .execute();
+    }
+
+    @Override
+    public void deleteByEventIds(Collection<String> eventIds) {
+        if (eventIds.isEmpty()) {
+            return;
+        }
+        mongoTemplate.remove(Query.query(Criteria.where("eventId").in(eventIds)), Occurrence.class);
+    }
+
+    @Override
+    public long deleteStartingBefore(Instant before) {
+        return mongoTemplate.remove(Query.query(Criteria.where("start").lt(before)), Occurrence.class)
+                .getDeletedCount();
+    }
+}
@@ -0,0 +1,343 @@
+package com.calendarapi.lbprojektm165calendarapi.repository;
+
+import com.calendarapi.lbprojektm165calendarapi.dto.CountDto;
+import com.calendarapi.lbprojektm165calendarapi.dto.CountGroup;
+import com.calendarapi.lbprojektm165calendarapi.dto.EventPatch;
+import com.calendarapi.lbprojektm165calendarapi.dto.EventProjection;
+import com.calendarapi.lbprojektm165calendarapi.dto.EventVersion;
+import com.calendarapi.lbprojektm165calendarapi.dto.FilterDto;
+import com.calendarapi.lbprojektm165calendarapi.dto.IntervalMatch;
+import com.calendarapi.lbprojektm165calendarapi.dto.PageCursor;
+import com.calendarapi.lbprojektm165calendarapi.dto.SyncToken;
+import com.calendarapi.lbprojektm165calendarapi.dto.TimeBucket;
+import com.calendarapi.lbprojektm165calendarapi.model.Event;
+import com.calendarapi.lbprojektm165calendarapi.model.EventTombstone;
+import com.mongodb.client.result.DeleteResult;
+import com.mongodb.client.result.UpdateResult;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveBulkOperations;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Reaktiver Zugriff auf die Collection "events" für das Profil {@code reactive}.
+ *
+ * <p>Die Abfragen werden mit derselben Filterlogik wie im {@link EventRepositoryImpl} aufgebaut;
+ * Ergebnisse werden als {@link Flux} direkt vom MongoDB-Cursor geliefert. Die Nachfrage des
+ * Abonnenten (z.B. der HTTP-Verbindung) steuert, wie viele Dokumente nachgeladen werden.</p>
+ *
+ * @author Ricardo Cardoso
+ */
+@Repository
+@Profile("reactive")
+public class ReactiveEventRepository {
+
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final MeterRegistry meterRegistry;
+    private final int streamBatchSize;
+
+    /**
+     * Konstruktor mit Dependency Injection.
+     *
+     * @param mongoTemplate   reaktives Template
+     * @param meterRegistry   Registry für den Timer {@code calendar.repository.find-by-filters}
+     * @param streamBatchSize Batch-Größe des MongoDB-Cursors
+     */
+    public ReactiveEventRepository(ReactiveMongoTemplate mongoTemplate,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${calendar.stream.batch-size:500}") int streamBatchSize) {
+        this.mongoTemplate = mongoTemplate;
+        this.meterRegistry = meterRegistry;
+        this.streamBatchSize = streamBatchSize;
+    }
+
+    /**
+     * Findet Events, die den gegebenen Filterkriterien entsprechen (siehe {@link EventRepositoryImpl#findByFilters}).
+     *
+     * @param filter das Filterobjekt
+     * @return die passenden Events
+     */
+    public Flux<Event> findByFilters(FilterDto filter) {
+        Query query = EventRepositoryImpl.buildQuery(filter).cursorBatchSize(streamBatchSize);
+        Timer timer = Timer.builder("calendar.repository.find-by-filters")
+                .tag("shape", filter.shape())
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        return Flux.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            return mongoTemplate.find(query, Event.class).doFinally(signal -> sample.stop(timer));
+        });
+    }
+
+    /**
+     * Findet Events und liest nur die Felder der Projektion (siehe {@link EventRepositoryImpl#findByFilters(FilterDto, EventProjection)}).
+     *
+     * @param filter     das Filterobjekt
+     * @param projection die zu lesenden Felder
+     * @return die Events, in denen nur die projizierten Felder gesetzt sind
+     */
+    public Flux<Event> findByFilters(FilterDto filter, EventProjection projection) {
+        Query query = EventRepositoryImpl.project(EventRepositoryImpl.buildQuery(filter), projection)
+                .cursorBatchSize(streamBatchSize);
+        return mongoTemplate.find(query, Event.class);
+    }
+
+    /**
+     * Liefert die passenden Events sortiert nach {@code (start, id)}, z.B. für Export und Streaming.
+     *
+     * @param filter das Filterobjekt
+     * @return die passenden Events in stabiler Reihenfolge
+     */
+    public Flux<Event> streamByFilters(FilterDto filter) {
+        Query query = EventRepositoryImpl.buildQuery(filter)
+                .with(EventRepositoryImpl.KEYSET_SORT)
+                .cursorBatchSize(streamBatchSize);
+        return mongoTemplate.find(query, Event.class);
+    }
+
+    /**
+     * Lädt eine Seite per Keyset-Pagination (siehe {@link EventRepositoryImpl#findPageByFilters}).
+     *
+     * @param filter das Filterobjekt
+     * @param after  Position der letzten Zeile der vorherigen Seite oder {@code null}
+     * @param limit  maximale Anzahl Events
+     * @return die Events der Seite in Sortierreihenfolge
+     */
+    public Flux<Event> findPageByFilters(FilterDto filter, PageCursor after, int limit) {
+        return mongoTemplate.find(EventRepositoryImpl.buildPageQuery(filter, after, limit), Event.class);
+    }
+
+    /**
+     * Findet Events nach ihrer Beziehung zum Fenster (siehe {@link EventRepositoryImpl#findByInterval}).
+     *
+     * @param from        Beginn des Fensters (inklusive)
+     * @param to          Ende des Fensters (exklusive)
+     * @param match       gesuchte Beziehung
+     * @param weekdayMask Wochentage, von denen mindestens einer gesetzt sein muss (0 = beliebig)
+     * @param monthMask   Monate, von denen mindestens einer gesetzt sein muss (0 = beliebig)
+     * @return die Events, sortiert nach {@code (start, id)}
+     */
+    public Flux<Event> findByInterval(Instant from, Instant to, IntervalMatch match, int weekdayMask, int monthMask) {
+        return mongoTemplate.find(
+                EventRepositoryImpl.buildIntervalQuery(from, to, match, weekdayMask, monthMask), Event.class);
+    }
+
+    /**
+     * Volltextsuche (siehe {@link EventRepositoryImpl#search}).
+     *
+     * @param terms Suchbegriffe
+     * @param skip  Anzahl zu überspringender Treffer
+     * @param limit maximale Anzahl Treffer
+     * @return die Treffer absteigend nach Relevanz, mit gesetztem {@code score}
+     */
+    public Flux<Event> search(String terms, int skip, int limit) {
+        return mongoTemplate.find(EventRepositoryImpl.buildSearchQuery(terms, skip, limit), Event.class);
+    }
+
+    /**
+     * Zählt die passenden Events je Gruppe (siehe {@link EventRepositoryImpl#countByFilters}).
+     *
+     * @param filter das Filterobjekt
+     * @param by     Gruppierungsmerkmal
+     * @param bucket Zeitabschnitt bei {@link CountGroup#START}
+     * @return die Gruppen mit ihrer Anzahl
+     */
+    public Mono<List<CountDto>> countByFilters(FilterDto filter, CountGroup by, TimeBucket bucket) {
+        return mongoTemplate.aggregate(EventRepositoryImpl.buildCountAggregation(filter, by, bucket), Document.class)
+                .collectList()
+                .map(rows -> EventRepositoryImpl.toCounts(rows, by));
+    }
+
+    /**
+     * @param id die ID des Events
+     * @return das Event oder ein leeres {@link Mono}
+     */
+    public Mono<Event> findById(String id) {
+        return mongoTemplate.findById(id, Event.class);
+    }
+
+    /**
+     * Speichert ein Event (Insert oder Replace).
+     *
+     * @param event das Event
+     * @return das gespeicherte Event mit ID
+     */
+    public Mono<Event> save(Event event) {
+        return mongoTemplate.save(event);
+    }
+
+    /**
+     * @param id die ID des zu löschenden Events
+     * @return Abschluss-Signal
+     */
+    public Mono<Void> deleteById(String id) {
+        return mongoTemplate.remove(Query.query(Criteria.where("id").is(id)), Event.class).then();
+    }
+
+    /**
+     * Löscht ein Event nur, wenn es noch im erwarteten Stand ist (siehe {@link EventRepositoryImpl#deleteIfMatches}).
+     *
+     * @param id       die ID des Events
+     * @param expected der erwartete Stand oder {@code null} für keine Prüfung
+     * @return Anzahl gelöschter Events (0 oder 1)
+     */
+    public Mono<Long> deleteIfMatches(String id, EventVersion expected) {
+        return mongoTemplate.remove(EventRepositoryImpl.buildVersionQuery(id, expected), Event.class)
+                .map(DeleteResult::getDeletedCount);
+    }
+
+    /**
+     * Liest nur die IDs der passenden Events (siehe {@link EventRepositoryImpl#findIdsByFilters}).
+     *
+     * @param filter das Filterobjekt
+     * @param limit  maximale Anzahl IDs
+     * @return die IDs, sortiert nach {@code (start, id)}
+     */
+    public Mono<List<String>> findIdsByFilters(FilterDto filter, int limit) {
+        return mongoTemplate.find(EventRepositoryImpl.buildIdsQuery(filter, limit), Event.class)
+                .map(Event::getId)
+                .collectList();
+    }
+
+    /**
+     * @param filter das Filterobjekt
+     * @return Anzahl passender Events
+     */
+    public Mono<Long> countMatching(FilterDto filter) {
+        return mongoTemplate.count(EventRepositoryImpl.buildQuery(filter), Event.class);
+    }
+
+    /**
+     * Wendet einen Patch per {@code updateMulti} auf die Events an, die den Filter noch erfüllen
+     * (siehe {@link EventRepositoryImpl#patchAll}).
+     *
+     * @param filter das Filterobjekt
+     * @param ids    die IDs der zu ändernden Events
+     * @param patch  die Änderungen
+     * @param at     Zeitpunkt der Änderung
+     * @return die geänderten Events im neuen Stand
+     */
+    public Mono<List<Event>> patchAll(FilterDto filter, Collection<String> ids, EventPatch patch, Instant at) {
+        Instant stamp = at.truncatedTo(ChronoUnit.MILLIS);
+        return mongoTemplate.updateMulti(EventRepositoryImpl.buildBulkQuery(filter, ids),
+                        EventRepositoryImpl.buildPatchUpdate(patch, stamp), Event.class)
+                .map(UpdateResult::getModifiedCount)
+                .flatMap(modified -> modified == 0 ? Mono.just(List.<Event>of())
+                        : mongoTemplate.find(EventRepositoryImpl.buildPatchedQuery(ids, stamp), Event.class)
+                        .collectList());
+    }
+
+    /**
+     * @param ids die IDs der zu lesenden Events
+     * @return die Events in beliebiger Reihenfolge
+     */
+    public Flux<Event> findAllById(Collection<String> ids) {
+        return mongoTemplate.find(Query.query(Criteria.where("id").in(ids)), Event.class);
+    }
+
+    /**
+     * Löscht die Events, die den Filter noch erfüllen (siehe {@link EventRepositoryImpl#removeAll}).
+     *
+     * @param filter das Filterobjekt
+     * @param ids    die IDs der zu löschenden Events
+     * @return die IDs der gelöschten Events
+     */
+    public Mono<List<String>> removeAll(FilterDto filter, Collection<String> ids) {
+        Query query = EventRepositoryImpl.buildBulkQuery(filter, ids);
+        query.fields().include("id");
+        return mongoTemplate.findAllAndRemove(query, Event.class).map(Event::getId).collectList();
+    }
+
+    /**
+     * @param id die ID des Events
+     * @return Version und {@code lastModified} oder ein leeres {@link Mono}, wenn das Event nicht existiert
+     */
+    public Mono<EventVersion> findVersionById(String id) {
+        return mongoTemplate.findOne(EventRepositoryImpl.buildVersionProjection(id), Event.class).map(EventVersion::of);
+    }
+
+    /**
+     * Ändert einzelne Felder eines Events (siehe {@link EventRepositoryImpl#patch}).
+     *
+     * @param id       die ID des Events
+     * @param patch    die Änderungen
+     * @param expected erwarteter Stand oder {@code null}
+     * @param at       Zeitpunkt der Änderung
+     * @return das geänderte Event oder ein leeres {@link Mono}, wenn kein passendes Event existiert
+     */
+    public Mono<Event> patch(String id, EventPatch patch, EventVersion expected, Instant at) {
+        return mongoTemplate.findAndModify(EventRepositoryImpl.buildVersionQuery(id, expected),
+                EventRepositoryImpl.buildPatchUpdate(patch, at), FindAndModifyOptions.options().returnNew(true),
+                Event.class);
+    }
+
+    /**
+     * Findet die seit einem Sync-Token geänderten Events (siehe {@link EventRepositoryImpl#findModifiedSince}).
+     *
+     * @param after Position der letzten übertragenen Änderung oder {@code null}
+     * @param until obere Grenze für {@code lastModified} (exklusive)
+     * @param limit maximale Anzahl Events
+     * @return die Events in Sync-Reihenfolge
+     */
+    public Flux<Event> findModifiedSince(SyncToken after, Instant until, int limit) {
+        return mongoTemplate.find(EventRepositoryImpl.buildChangesQuery(after, until, limit), Event.class);
+    }
+
+    /**
+     * Findet die seit einem Sync-Token geschriebenen Löschvermerke.
+     *
+     * @param after Position der letzten übertragenen Änderung oder {@code null}
+     * @param until obere Grenze für {@code lastModified} (exklusive)
+     * @param limit maximale Anzahl Vermerke
+     * @return die Vermerke in Sync-Reihenfolge
+     */
+    public Flux<EventTombstone> findDeletedSince(SyncToken after, Instant until, int limit) {
+        return mongoTemplate.find(EventRepositoryImpl.buildChangesQuery(after, until, limit), EventTombstone.class);
+    }
+
+    /**
+     * Schreibt den Löschvermerk per Upsert.
+     *
+     * @param id die ID des gelöschten Events
+     * @param at Zeitpunkt der Löschung
+     * @return Abschluss-Signal
+     */
+    public Mono<Void> markDeleted(String id, Instant at) {
+        return mongoTemplate.upsert(Query.query(Criteria.where("id").is(id)), Update.update("lastModified", at),
+                EventTombstone.class).then();
+    }
+
+    /**
+     * Schreibt die Löschvermerke mehrerer Events in einem ungeordneten Bulk-Write.
+     *
+     * @param ids die IDs der gelöschten Events
+     * @param at  Zeitpunkt der Löschung
+     * @return Abschluss-Signal
+     */
+    public Mono<Void> markDeleted(Collection<String> ids, Instant at) {
+        if (ids.isEmpty()) {
+            return Mono.empty();
+        }
+        ReactiveBulkOperations ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, EventTombstone.class);
+        for (String id : ids) {
+            ops.upsert(Query.query(Criteria.where("id").is(id)), Update.update("lastModified", at));
+        }
+        return ops.execute().then();
+    }
+}
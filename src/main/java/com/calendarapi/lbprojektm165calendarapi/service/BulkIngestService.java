@@ -0,0 +1,299 @@
+package com.calendarapi.lbprojektm165calendarapi.service;
+
+import com.calendarapi.lbprojektm165calendarapi.cron.CronCache;
+import com.calendarapi.lbprojektm165calendarapi.dto.BulkItemResultDto;
+import com.calendarapi.lbprojektm165calendarapi.dto.BulkReportDto;
+import com.calendarapi.lbprojektm165calendarapi.model.CalendarMasks;
+import com.calendarapi.lbprojektm165calendarapi.model.Event;
+import com.calendarapi.lbprojektm165calendarapi.repository.EventRepository;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * Massenimport von Events mit Validierung und ungeordneten Bulk-Writes.
+ *
+ * <p>Ablauf einer {@link Ingestion}:</p>
+ * <ol>
+ *   <li>Eingehende Events werden in Chunks ({@code calendar.bulk.chunk-size}) gesammelt.</li>
+ *   <li>Jeder volle Chunk wird sofort auf dem {@code bulkExecutor} validiert (Cron-Pattern über den
+ *       {@link CronCache}), während der Aufrufer bereits den nächsten Chunk füllt.</li>
+ *   <li>Sind {@code calendar.bulk.max-pending-chunks} Chunks offen, schreibt der Aufrufer
+ *       den ältesten in einem ungeordneten Bulk-Write, bevor er weitere Events annimmt.
+ *       Dadurch bleibt der Speicherbedarf unabhängig von der Gesamtgröße begrenzt.</li>
+ * </ol>
+ *
+ * <p>Mit {@code calendar.bulk.parallel-writes=true} (Profil {@code virtual}) schreibt der
+ * {@code bulkExecutor} jeden Chunk direkt nach seiner Validierung, sodass bis zu
+ * {@code max-pending-chunks} Bulk-Writes gleichzeitig laufen; der Aufrufer sammelt nur noch die
+ * Ergebnisse ein. Kommt dieselbe ID in mehreren Chunks vor, ist dann nicht festgelegt, welcher
+ * Stand zuletzt gespeichert wird.</p>
+ *
+ * <p>Fehlerhafte Einträge brechen den Import nicht ab; jeder Eintrag erhält im Bericht
+ * sein eigenes Ergebnis.</p>
+ *
+ * @author Arvin
+ */
+@Service
+public class BulkIngestService {
+
+    private final EventRepository repository;
+    private final EventService eventService;
+    private final CronCache cronCache;
+    private final Executor bulkExecutor;
+    private final int chunkSize;
+    private final int maxPendingChunks;
+    private final boolean parallelWrites;
+
+    /**
+     * Konstruktor mit Dependency Injection.
+     *
+     * @param repository       Repository mit Bulk-Write-Unterstützung
+     * @param eventService     Service zum Aktualisieren der Caches nach jedem Chunk
+     * @param cronCache        gemeinsamer Cache kompilierter Cron-Ausdrücke
+     * @param bulkExecutor     Executor für die parallele Validierung
+     * @param chunkSize        Anzahl Events pro Bulk-Write
+     * @param maxPendingChunks maximale Anzahl validierter, noch nicht geschriebener Chunks
+     * @param parallelWrites   ob Chunks auf dem {@code bulkExecutor} parallel geschrieben werden
+     */
+    public BulkIngestService(EventRepository repository,
+                             EventService eventService,
+                             CronCache cronCache,
+                             @Qualifier("bulkExecutor") Executor bulkExecutor,
+                             @Value("${calendar.bulk.chunk-size:1000}") int chunkSize,
+                             @Value("${calendar.bulk.max-pending-chunks:4}") int maxPendingChunks,
+                             @Value("${calendar.bulk.parallel-writes:false}") boolean parallelWrites) {
+        if (chunkSize < 1 || maxPendingChunks < 1) {
+            throw new IllegalArgumentException(
+                    "calendar.bulk.chunk-size und calendar.bulk.max-pending-chunks müssen mindestens 1 sein");
+        }
+        this.repository = repository;
+        this.eventService = eventService;
+        this.cronCache = cronCache;
+        this.bulkExecutor = bulkExecutor;
+        this.chunkSize = chunkSize;
+        this.maxPendingChunks = maxPendingChunks;
+        this.parallelWrites = parallelWrites;
+    }
+
+    /**
+     * Importiert die Events und liefert das Ergebnis je Eintrag.
+     *
+     * @param events die zu importierenden Events
+     * @return Bericht mit einem Ergebnis pro Eintrag in Request-Reihenfolge
+     * @throws IllegalArgumentException wenn keine Liste übergeben wurde
+     */
+    public BulkReportDto ingest(List<Event> events) {
+        if (events == null) {
+            throw new IllegalArgumentException("Keine Events übergeben");
+        }
+        Ingestion ingestion = begin(true, Integer.MAX_VALUE);
+        events.forEach(ingestion::add);
+        return ingestion.finish();
+    }
+
+    /**
+     * Startet einen schrittweisen Import, z.B. für gestreamte Eingaben.
+     *
+     * @param reportSuccesses   ob erfolgreiche Einträge im Bericht aufgeführt werden
+     * @param maxReportedErrors maximale Anzahl aufgeführter Fehler (die Zähler bleiben vollständig)
+     * @return der neue Import; muss mit {@link Ingestion#finish()} abgeschlossen werden
+     */
+    public Ingestion begin(boolean reportSuccesses, int maxReportedErrors) {
+        return new Ingestion(reportSuccesses, maxReportedErrors);
+    }
+
+    /**
+     * Ein laufender Import. Nicht threadsicher; Events werden vom aufrufenden Thread übergeben.
+     */
+    public final class Ingestion {
+
+        private final boolean reportSuccesses;
+        private final int maxReportedErrors;
+        private final Deque<PendingChunk> pending = new ArrayDeque<>();
+        private final List<BulkItemResultDto> items = new ArrayList<>();
+
+        private List<Slot> current = new ArrayList<>();
+        private int total;
+        private int succeeded;
+        private int failed;
+        private int reportedErrors;
+
+        private Ingestion(boolean reportSuccesses, int maxReportedErrors) {
+            this.reportSuccesses = reportSuccesses;
+            this.maxReportedErrors = maxReportedErrors;
+        }
+
+        /**
+         * Übergibt das nächste Event.
+         *
+         * @param event das Event ({@code null} wird als Fehler gemeldet)
+         */
+        public void add(Event event) {
+            append(new Slot(total++, event, null));
+        }
+
+        /**
+         * Meldet einen Eintrag, der schon vor der Validierung fehlgeschlagen ist (z.B. nicht lesbar).
+         *
+         * @param error die Fehlermeldung
+         */
+        public void reject(String error) {
+            append(new Slot(total++, null, error));
+        }
+
+        /**
+         * Schreibt alle offenen Chunks und liefert den Bericht.
+         *
+         * @return Bericht über alle übergebenen Einträge
+         */
+        public BulkReportDto finish() {
+            if (!current.isEmpty()) {
+                submit();
+            }
+            while (!pending.isEmpty()) {
+                write(pending.removeFirst());
+            }
+            return BulkReportDto.builder()
+                    .total(total)
+                    .succeeded(succeeded)
+                    .failed(failed)
+                    .items(items)
+                    .build();
+        }
+
+        private void append(Slot slot) {
+            current.add(slot);
+            if (current.size() == chunkSize) {
+                submit();
+            }
+        }
+
+        /**
+         * Startet die Validierung des aktuellen Chunks. Sind bereits zu viele Chunks offen,
+         * wird vorher der älteste geschrieben (Backpressure auf den Aufrufer).
+         */
+        private void submit() {
+            List<Slot> chunk = current;
+            current = new ArrayList<>();
+            if (pending.size() >= maxPendingChunks) {
+                write(pending.removeFirst());
+            }
+            CompletableFuture<Void> work =
+                    CompletableFuture.runAsync(() -> chunk.forEach(BulkIngestService.this::validate), bulkExecutor);
+            if (parallelWrites) {
+                work = work.thenRunAsync(() -> store(chunk), bulkExecutor);
+            }
+            pending.addLast(new PendingChunk(chunk, work));
+        }
+
+        /**
+         * Wartet auf einen Chunk, schreibt ihn (falls nicht bereits parallel geschehen)
+         * und trägt die Ergebnisse ein.
+         */
+        private void write(PendingChunk chunk) {
+            try {
+                chunk.work().join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+            if (!parallelWrites) {
+                store(chunk.slots());
+            }
+
+            List<Event> saved = new ArrayList<>(chunk.slots().size());
+            for (Slot slot : chunk.slots()) {
+                if (slot.error == null) {
+                    succeeded++;
+                    saved.add(slot.event);
+                    if (reportSuccesses) {
+                        items.add(BulkItemResultDto.builder()
+                                .index(slot.index).id(slot.event.getId()).success(true).build());
+                    }
+                } else {
+                    failed++;
+                    if (reportedErrors < maxReportedErrors) {
+                        reportedErrors++;
+                        items.add(BulkItemResultDto.builder()
+                                .index(slot.index).id(slot.event == null ? null : slot.event.getId())
+                                .success(false).error(slot.error).build());
+                    }
+                }
+            }
+            eventService.onBulkSaved(saved);
+        }
+    }
+
+    /**
+     * Schreibt die gültigen Events eines validierten Chunks und trägt Schreibfehler am Eintrag ein.
+     */
+    private void store(List<Slot> slots) {
+        List<Slot> valid = new ArrayList<>(slots.size());
+        List<Event> batch = new ArrayList<>(slots.size());
+        for (Slot slot : slots) {
+            if (slot.error == null) {
+                valid.add(slot);
+                batch.add(slot.event);
+            }
+        }
+
+        Map<Integer, String> errors = repository.bulkSave(batch);
+        for (int i = 0; i < valid.size(); i++) {
+            valid.get(i).error = errors.get(i);
+        }
+    }
+
+    /**
+     * Prüft ein einzelnes Event mit denselben Regeln wie {@code POST /api/events}
+     * und trägt einen Fehler direkt am Eintrag ein.
+     */
+    private void validate(Slot slot) {
+        if (slot.error != null) {
+            return;
+        }
+        if (slot.event == null) {
+            slot.error = "Leerer Eintrag";
+        } else if (!cronCache.isValid(slot.event.getCron())) {
+            slot.error = "Ungültiges Cron-Pattern: " + slot.event.getCron();
+        } else if (CalendarMasks.firstInvalidWeekday(slot.event.getDaysOfWeek()) != null) {
+            slot.error = "Ungültiger Wochentag: " + CalendarMasks.firstInvalidWeekday(slot.event.getDaysOfWeek());
+        } else if (CalendarMasks.firstInvalidMonth(slot.event.getMonths()) != null) {
+            slot.error = "Ungültiger Monat: " + CalendarMasks.firstInvalidMonth(slot.event.getMonths());
+        }
+    }
+
+    /**
+     * Ein Eintrag des Imports mit Position und ggf. Fehler.
+     * {@code error} wird vom Validierungs- bzw. Schreib-Thread gesetzt; die Sichtbarkeit
+     * für den schreibenden Thread garantiert {@link CompletableFuture#join()}.
+     */
+    private static final class Slot {
+        private final int index;
+        private final Event event;
+        private String error;
+
+        private Slot(int index, Event event, String error) {
+            this.index = index;
+            this.event = event;
+            this.error = error;
+        }
+    }
+
+    /**
+     * Ein Chunk, dessen Validierung (und ggf. Schreiben) gestartet, der aber noch nicht ausgewertet wurde.
+     */
+    private record PendingChunk(List<Slot> slots, CompletableFuture<Void> work) {
+    }
+}
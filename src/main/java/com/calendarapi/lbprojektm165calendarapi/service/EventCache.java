@@ -0,0 +1,134 @@
+package com.calendarapi.lbprojektm165calendarapi.service;
+
+import com.calendarapi.lbprojektm165calendarapi.model.Event;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * In-Process-Read-Through-Cache für einzelne Events (ID → Event).
+ *
+ * <p>Größe und Lebensdauer sind über {@code calendar.cache.events.max-size} und
+ * {@code calendar.cache.events.ttl} begrenzt; Treffer, Fehlzugriffe und Verdrängungen
+ * werden in {@link #stats()} gezählt.</p>
+ *
+ * <p>Konsistenz: Schreibende Methoden des {@link EventService} aktualisieren bzw. entfernen den
+ * Eintrag erst <em>nach</em> dem erfolgreichen Datenbankzugriff. Ein Ladevorgang legt zuerst einen
+ * unvollständigen Eintrag an, den parallele Leser desselben Schlüssels abwarten. Ersetzt ein Schreiben
+ * diesen Eintrag, landet das Ergebnis des laufenden Ladevorgangs nicht mehr im Cache, sodass kein
+ * veralteter Stand nach dem Schreiben eingestellt wird.</p>
+ *
+ * <p>Der Loader läuft im aufrufenden Thread, aber ausserhalb der Sperren von Caffeine; ein virtueller
+ * Thread, der auf die Datenbank wartet, blockiert dadurch nicht seinen Träger-Thread.</p>
+ *
+ * <p>Gespeichert und ausgegeben werden Kopien, damit Aufrufer den gecachten Stand nicht verändern.</p>
+ *
+ * @author Arvin
+ */
+@Component
+public class EventCache {
+
+    /** ID → zuletzt gelesener bzw. geschriebener Stand */
+    private final AsyncCache<String, Event> cache;
+
+    /**
+     * Erstellt den Cache.
+     *
+     * @param maxSize maximale Anzahl gecachter Events
+     * @param ttl     Lebensdauer eines Eintrags ab dem Schreiben
+     */
+    public EventCache(@Value("${calendar.cache.events.max-size:10000}") long maxSize,
+                      @Value("${calendar.cache.events.ttl:PT5M}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .buildAsync();
+    }
+
+    /**
+     * Liefert das Event aus dem Cache oder lädt es über den Loader.
+     *
+     * @param id     die ID des Events
+     * @param loader lädt das Event aus der Datenbank; {@code null} wenn es nicht existiert
+     * @return eine Kopie des Events oder {@code null}, wenn es nicht existiert (wird nicht gecacht)
+     */
+    public Event get(String id, Function<String, Event> loader) {
+        CompletableFuture<Event> loading = new CompletableFuture<>();
+        CompletableFuture<Event> entry = cache.get(id, (key, executor) -> loading);
+        if (entry == loading) {
+            try {
+                loading.complete(copyOf(loader.apply(id)));
+            } catch (RuntimeException | Error e) {
+                loading.completeExceptionally(e);
+                throw e;
+            }
+        }
+        return copyOf(entry.join());
+    }
+
+    /**
+     * Übernimmt den gespeicherten Stand eines Events in den Cache.
+     *
+     * @param event das erfolgreich gespeicherte Event
+     */
+    public void put(Event event) {
+        if (event != null && event.getId() != null) {
+            cache.put(event.getId(), CompletableFuture.completedFuture(copyOf(event)));
+        }
+    }
+
+    /**
+     * Entfernt ein Event aus dem Cache.
+     *
+     * @param id die ID des Events
+     */
+    public void invalidate(String id) {
+        if (id != null) {
+            cache.synchronous().invalidate(id);
+        }
+    }
+
+    /**
+     * Leert den Cache vollständig.
+     */
+    public void invalidateAll() {
+        cache.synchronous().invalidateAll();
+    }
+
+    /**
+     * @return Treffer-, Fehlzugriffs- und Verdrängungsstatistik
+     */
+    public CacheStats stats() {
+        return cache.synchronous().stats();
+    }
+
+    /**
+     * @return der zugrunde liegende Caffeine-Cache (z.B. für Metriken)
+     */
+    public Cache<String, Event> nativeCache() {
+        return cache.synchronous();
+    }
+
+    /**
+     * Erstellt eine Kopie inklusive eigener Listen.
+     */
+    private static Event copyOf(Event event) {
+        if (event == null) {
+            return null;
+        }
+        Event copy = event.toBuilder().build();
+        copy.setTags(event.getTags() == null ? null : new ArrayList<>(event.getTags()));
+        copy.setDaysOfWeek(event.getDaysOfWeek() == null ? null : new ArrayList<>(event.getDaysOfWeek()));
+        copy.setMonths(event.getMonths() == null ? null : new ArrayList<>(event.getMonths()));
+        return copy;
+    }
+}
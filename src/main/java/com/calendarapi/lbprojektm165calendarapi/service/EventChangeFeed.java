@@ -0,0 +1,303 @@
+package com.calendarapi.lbprojektm165calendarapi.service;
+
+import com.calendarapi.lbprojektm165calendarapi.dto.EventChangeDto;
+import com.calendarapi.lbprojektm165calendarapi.dto.FilterDto;
+import com.calendarapi.lbprojektm165calendarapi.model.Event;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocument;
+import jakarta.annotation.PreDestroy;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.messaging.ChangeStreamRequest;
+import org.springframework.data.mongodb.core.messaging.DefaultMessageListenerContainer;
+import org.springframework.data.mongodb.core.messaging.Message;
+import org.springframework.data.mongodb.core.messaging.MessageListenerContainer;
+import org.springframework.data.mongodb.core.messaging.Subscription;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+/**
+ * Live-Feed der Änderungen an der Collection "events" für {@code GET /api/events/feed}.
+ *
+ * <p>Pro Instanz läuft genau ein MongoDB-Change-Stream (Einfügen, Ändern, Ersetzen, Löschen). Jede
+ * Änderung erhält eine laufende Nummer und landet in einem Replay-Puffer mit den letzten
+ * {@code calendar.feed.replay-size} Änderungen, aus dem alle Abonnenten lesen; gefiltert wird pro
+ * Abonnent im Speicher mit {@link FilterDto#matches(Event)}. Ohne Pre-Images ist der alte Stand unbekannt:
+ * Löschungen enthalten nur die ID und gehen an alle Abonnenten, und eine Änderung, deren neuer Stand den
+ * Filter nicht erfüllt, wird als {@link EventChangeDto.Type#LEAVE} (nur ID) gemeldet, damit Clients ein
+ * aus dem Filter herausgeändertes Event entfernen können.</p>
+ *
+ * <p>Fortsetzen: Jede Änderung trägt das Resume-Token von MongoDB als SSE-{@code id}. Liegt das Token
+ * eines wiederverbundenen Clients noch im Puffer, wird ab dort wiedergegeben; sonst erhält der Client
+ * einen eigenen Change Stream ab diesem Token (solange es im Oplog liegt). Bricht der gemeinsame
+ * Stream ab, wird er periodisch ab dem letzten Token neu gestartet.</p>
+ *
+ * <p>Change Streams benötigen ein Replica Set (lokal genügt ein Single-Node-Replica-Set, siehe README).
+ * Aktiv mit {@code calendar.feed.enabled=true}.</p>
+ *
+ * @author Chris
+ */
+@Component
+@ConditionalOnProperty(name = "calendar.feed.enabled", havingValue = "true")
+public class EventChangeFeed {
+
+    /** Logger für Start und Abbruch des Change Streams */
+    private static final Logger logger = LoggerFactory.getLogger(EventChangeFeed.class);
+
+    /** Name der überwachten Collection */
+    private static final String COLLECTION = "events";
+
+    /** Resume-Tokens von MongoDB sind hexadezimal kodiert */
+    private static final Pattern TOKEN = Pattern.compile("[0-9A-Fa-f]{1,1024}");
+
+    private final MongoTemplate mongoTemplate;
+    private final int replaySize;
+    private final Duration heartbeat;
+    private final Duration timeout;
+
+    /** Alle Änderungen in Eingangsreihenfolge; neue Abonnenten erhalten die letzten {@link #replaySize} */
+    private final Sinks.Many<EventChangeDto> changes;
+
+    /** Resume-Token → laufende Nummer für die Änderungen im Replay-Puffer (älteste zuerst); sperrt auch {@link #sequence} */
+    private final Map<String, Long> sequences;
+
+    /** Laufende Nummer der letzten Änderung */
+    private long sequence;
+
+    /** Token der letzten Änderung; Startpunkt beim Neustart des gemeinsamen Streams */
+    private volatile BsonValue lastToken;
+
+    private MessageListenerContainer container;
+    private volatile Subscription subscription;
+
+    /**
+     * Konstruktor mit Dependency Injection.
+     *
+     * @param mongoTemplate Zugriff auf MongoDB
+     * @param replaySize    Anzahl Änderungen, die für wiederverbundene Clients vorgehalten werden
+     * @param heartbeat     Abstand der Heartbeat-Kommentare, die Proxies die Verbindung offen halten lassen
+     * @param timeout       maximale Dauer einer Verbindung; danach verbindet der Client mit seinem Token neu
+     */
+    public EventChangeFeed(MongoTemplate mongoTemplate,
+                           @Value("${calendar.feed.replay-size:1000}") int replaySize,
+                           @Value("${calendar.feed.heartbeat:PT15S}") Duration heartbeat,
+                           @Value("${calendar.feed.timeout:PT30M}") Duration timeout) {
+        this.mongoTemplate = mongoTemplate;
+        this.replaySize = replaySize;
+        this.heartbeat = heartbeat;
+        this.timeout = timeout;
+        this.changes = Sinks.many().replay().limit(replaySize);
+        this.sequences = new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                return size() > EventChangeFeed.this.replaySize;
+            }
+        };
+    }
+
+    /**
+     * Startet den gemeinsamen Change Stream.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void onApplicationReady() {
+        container = new DefaultMessageListenerContainer(mongoTemplate);
+        container.start();
+        subscribe();
+    }
+
+    /**
+     * Startet den gemeinsamen Change Stream ab dem letzten Token neu, falls er abgebrochen ist
+     * (z.B. nach einem Failover, den der Treiber nicht selbst überbrückt).
+     */
+    @Scheduled(fixedDelayString = "${calendar.feed.heartbeat:PT15S}",
+            initialDelayString = "${calendar.feed.heartbeat:PT15S}")
+    public synchronized void checkSubscription() {
+        if (container != null && (subscription == null || !subscription.isActive())) {
+            logger.warn("Change Stream auf '{}' ist nicht aktiv, starte ab Token {} neu", COLLECTION, lastToken);
+            if (subscription != null) {
+                container.remove(subscription);
+            }
+            subscribe();
+        }
+    }
+
+    /**
+     * Beendet alle Change Streams.
+     */
+    @PreDestroy
+    public synchronized void shutdown() {
+        if (container != null) {
+            container.stop();
+        }
+        changes.tryEmitComplete();
+    }
+
+    /**
+     * @return maximale Dauer einer Verbindung
+     */
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    /**
+     * Übernimmt eine Änderung in den Replay-Puffer und verteilt sie an alle Abonnenten.
+     *
+     * @param change die Änderung (ohne laufende Nummer)
+     */
+    public void publish(EventChangeDto change) {
+        synchronized (sequences) {
+            change.setSequence(++sequence);
+            if (change.getToken() != null) {
+                sequences.put(change.getToken(), change.getSequence());
+            }
+            changes.tryEmitNext(change);
+        }
+    }
+
+    /**
+     * Liefert die Änderungen, die den Filter erfüllen, als Server-Sent Events.
+     *
+     * @param filter      Kriterien wie bei {@code GET /api/events}
+     * @param lastEventId Token der zuletzt empfangenen Änderung oder {@code null} für nur neue Änderungen
+     * @return endloser Strom (bis {@link #getTimeout()}) aus Änderungen und Heartbeat-Kommentaren
+     * @throws IllegalArgumentException wenn das Token kein Resume-Token ist
+     */
+    public Flux<ServerSentEvent<EventChangeDto>> events(FilterDto filter, String lastEventId) {
+        Flux<EventChangeDto> source;
+        if (lastEventId == null || lastEventId.isBlank()) {
+            long after = currentSequence();
+            source = changes.asFlux().filter(change -> change.getSequence() > after);
+        } else {
+            String token = lastEventId.trim();
+            if (!TOKEN.matcher(token).matches()) {
+                throw new IllegalArgumentException("Ungültiges Resume-Token: " + lastEventId);
+            }
+            Long after = bufferedSequence(token);
+            source = after != null
+                    ? changes.asFlux().filter(change -> change.getSequence() > after)
+                    : resumeFrom(token);
+        }
+        Flux<ServerSentEvent<EventChangeDto>> data = source
+                .mapNotNull(change -> forFilter(change, filter))
+                .map(change -> ServerSentEvent.builder(change)
+                        .id(change.getToken())
+                        .event(change.getType().name().toLowerCase(Locale.ROOT))
+                        .build());
+        Flux<ServerSentEvent<EventChangeDto>> heartbeats = Flux.interval(heartbeat)
+                .map(tick -> ServerSentEvent.<EventChangeDto>builder().comment("heartbeat").build());
+        return Flux.merge(data, heartbeats).take(timeout);
+    }
+
+    /**
+     * Wendet den Filter eines Abonnenten auf eine Änderung an.
+     *
+     * @return die Änderung, eine {@link EventChangeDto.Type#LEAVE}-Meldung für Änderungen ausserhalb des
+     * Filters oder {@code null} für nicht passende neue Events
+     */
+    private static EventChangeDto forFilter(EventChangeDto change, FilterDto filter) {
+        if (change.getType() == EventChangeDto.Type.DELETE
+                || (change.getEvent() != null && filter.matches(change.getEvent()))) {
+            return change;
+        }
+        if (change.getType() == EventChangeDto.Type.UPDATE) {
+            return EventChangeDto.builder()
+                    .type(EventChangeDto.Type.LEAVE)
+                    .id(change.getId())
+                    .token(change.getToken())
+                    .sequence(change.getSequence())
+                    .build();
+        }
+        return null;
+    }
+
+    private long currentSequence() {
+        synchronized (sequences) {
+            return sequence;
+        }
+    }
+
+    private Long bufferedSequence(String token) {
+        synchronized (sequences) {
+            return sequences.get(token);
+        }
+    }
+
+    /**
+     * Eigener Change Stream ab einem Token, das nicht mehr im Replay-Puffer liegt.
+     */
+    private Flux<EventChangeDto> resumeFrom(String token) {
+        return Flux.create(sink -> {
+            ChangeStreamRequest<Event> request = request(new BsonDocument("_data", new BsonString(token)),
+                    message -> sink.next(toChange(message)));
+            Subscription own = container.register(request, Event.class, sink::error);
+            sink.onDispose(() -> container.remove(own));
+        });
+    }
+
+    private void subscribe() {
+        subscription = container.register(request(lastToken, message -> {
+            EventChangeDto change = toChange(message);
+            lastToken = message.getRaw().getResumeToken();
+            publish(change);
+        }), Event.class, error -> logger.error("Fehler im Change Stream auf '{}'", COLLECTION, error));
+    }
+
+    private static ChangeStreamRequest<Event> request(BsonValue resumeToken,
+                                                      Consumer<Message<ChangeStreamDocument<Document>, Event>> listener) {
+        ChangeStreamRequest.ChangeStreamRequestBuilder<Event> builder = ChangeStreamRequest.builder(listener::accept)
+                .collection(COLLECTION)
+                .filter(Aggregation.newAggregation(Aggregation.match(
+                        where("operationType").in("insert", "update", "replace", "delete"))))
+                .fullDocumentLookup(FullDocument.UPDATE_LOOKUP);
+        if (resumeToken != null) {
+            builder.resumeAfter(resumeToken);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Übersetzt eine Change-Stream-Meldung in das API-Format.
+     */
+    private static EventChangeDto toChange(Message<ChangeStreamDocument<Document>, Event> message) {
+        ChangeStreamDocument<Document> raw = message.getRaw();
+        EventChangeDto.Type type = switch (raw.getOperationType()) {
+            case INSERT -> EventChangeDto.Type.INSERT;
+            case DELETE -> EventChangeDto.Type.DELETE;
+            default -> EventChangeDto.Type.UPDATE;
+        };
+        Event event = type == EventChangeDto.Type.DELETE ? null : message.getBody();
+        BsonValue key = raw.getDocumentKey() == null ? null : raw.getDocumentKey().get("_id");
+        String id = key == null ? null
+                : key.isObjectId() ? key.asObjectId().getValue().toHexString()
+                : key.isString() ? key.asString().getValue()
+                : key.toString();
+        return EventChangeDto.builder()
+                .type(type)
+                .id(id)
+                .event(event)
+                .token(raw.getResumeToken().getString("_data").getValue())
+                .build();
+    }
+}
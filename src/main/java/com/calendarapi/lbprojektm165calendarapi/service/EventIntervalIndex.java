@@ -0,0 +1,358 @@
+package com.calendarapi.lbprojektm165calendarapi.service;
+
+import com.calendarapi.lbprojektm165calendarapi.dto.FilterDto;
+import com.calendarapi.lbprojektm165calendarapi.dto.IntervalMatch;
+import com.calendarapi.lbprojektm165calendarapi.model.CalendarMasks;
+import com.calendarapi.lbprojektm165calendarapi.model.Event;
+import com.calendarapi.lbprojektm165calendarapi.repository.EventRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * In-Process-Index über die Zeiträume {@code [start, end)} aller Events für Überschneidungs- und
+ * Enthaltensein-Abfragen ohne Datenbankzugriff.
+ *
+ * <p>Aufbau: Die Events liegen nach {@code (start, id)} sortiert in primitiven {@code long}-Arrays.
+ * Darüber liegt ein impliziter Segmentbaum mit dem maximalen Ende je Teilbereich. Für
+ * {@link IntervalMatch#OVERLAPS} und {@link IntervalMatch#CONTAINS} begrenzt eine binäre Suche die
+ * Kandidaten auf ein Präfix, der Baum überspringt Teilbereiche, deren maximales Ende zu früh liegt;
+ * die Kosten sind {@code O(log n)} plus {@code O(log n)} je Treffer. {@link IntervalMatch#WITHIN}
+ * liest den Bereich {@code start ∈ [from, to)} linear.</p>
+ *
+ * <p>Aktualisierung: Der sortierte Stand ist unveränderlich. Änderungen aus {@link EventsChanged}
+ * landen in einem kleinen Delta (geänderte und gelöschte IDs), das bei jeder Abfrage mitgeprüft wird.
+ * Die betroffenen Events werden dafür unter der Sperre neu gelesen, da Benachrichtigungen in anderer
+ * Reihenfolge eintreffen können, als geschrieben wurde.
+ * Überschreitet das Delta {@code calendar.index.intervals.max-delta}, wird der Stand neu sortiert.
+ * Abfragen lesen immer einen konsistenten Zustand, ohne zu sperren.</p>
+ *
+ * <p>Der Index hält die vollständigen Events im Speicher. Die gelieferten Events dürfen nicht
+ * verändert werden. Aktiv mit {@code calendar.index.intervals.enabled=true}.</p>
+ *
+ * @author Arvin
+ */
+@Component
+@ConditionalOnProperty(name = "calendar.index.intervals.enabled", havingValue = "true")
+public class EventIntervalIndex {
+
+    /** Logger für den Aufbau des Index */
+    private static final Logger logger = LoggerFactory.getLogger(EventIntervalIndex.class);
+
+    /** Sortierung des Index */
+    private static final Comparator<Event> ORDER = Comparator.comparing(Event::getStart)
+            .thenComparing(Event::getId, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    private final EventRepository repository;
+    private final int maxDelta;
+
+    /** Serialisiert Änderungen; Abfragen lesen {@link #state} ohne Sperre */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /** Aktueller Zustand: sortierter Stand plus Delta; {@code null} bis zum ersten Aufbau */
+    private volatile State state;
+
+    /**
+     * Konstruktor mit Dependency Injection.
+     *
+     * @param repository Quelle für den Aufbau
+     * @param maxDelta   maximale Anzahl Änderungen, bevor neu sortiert wird
+     */
+    public EventIntervalIndex(EventRepository repository,
+                              @Value("${calendar.index.intervals.max-delta:1024}") int maxDelta) {
+        this.repository = repository;
+        this.maxDelta = maxDelta;
+    }
+
+    /**
+     * Baut den Index beim Start aus allen Events auf.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        long begin = System.nanoTime();
+        lock.lock();
+        try (Stream<Event> events = repository.streamByFilters(new FilterDto())) {
+            Snapshot snapshot = Snapshot.of(events.filter(event -> event.getStart() != null)
+                    .map(EventIntervalIndex::withMasks)
+                    .toList());
+            state = new State(snapshot, Map.of(), Set.of());
+            logger.info("Intervall-Index mit {} Events in {} ms aufgebaut",
+                    snapshot.size(), (System.nanoTime() - begin) / 1_000_000);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Übernimmt gespeicherte und gelöschte Events in das Delta. Übernommen wird der aktuell gespeicherte
+     * Stand; nicht mehr vorhandene Events werden entfernt.
+     *
+     * @param change die Änderung (verwendet werden nur die IDs)
+     */
+    @EventListener
+    public void onEventsChanged(EventsChanged change) {
+        lock.lock();
+        try {
+            State current = state;
+            if (current == null) {
+                return;
+            }
+            Set<String> ids = new HashSet<>(change.deletedIds());
+            change.saved().forEach(event -> ids.add(event.getId()));
+            if (ids.isEmpty()) {
+                return;
+            }
+            Map<String, Event> stored = new HashMap<>();
+            repository.findAllById(ids).forEach(event -> stored.put(event.getId(), event));
+
+            Map<String, Event> added = new HashMap<>(current.added());
+            Set<String> removed = new HashSet<>(current.removed());
+            for (String id : ids) {
+                removed.add(id);
+                Event event = stored.get(id);
+                if (event != null && event.getStart() != null) {
+                    added.put(id, withMasks(event));
+                } else {
+                    added.remove(id);
+                }
+            }
+
+            if (added.size() + removed.size() > maxDelta) {
+                state = new State(current.base().merge(added.values(), removed), Map.of(), Set.of());
+            } else {
+                state = new State(current.base(), Map.copyOf(added), Set.copyOf(removed));
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return {@code true}, sobald der Index aufgebaut ist
+     */
+    public boolean isReady() {
+        return state != null;
+    }
+
+    /**
+     * Liefert alle Events in der angegebenen Beziehung zum Fenster {@code [from, to)}.
+     *
+     * @param from  Beginn des Fensters (inklusive)
+     * @param to    Ende des Fensters (exklusive)
+     * @param match gesuchte Beziehung
+     * @return die Events, sortiert nach {@code (start, id)}
+     * @throws IllegalStateException wenn der Index noch nicht aufgebaut ist
+     */
+    public List<Event> query(Instant from, Instant to, IntervalMatch match) {
+        return query(from, to, match, 0, 0);
+    }
+
+    /**
+     * Wie {@link #query(Instant, Instant, IntervalMatch)}, zusätzlich eingeschränkt auf Events mit
+     * mindestens einem der Wochentage bzw. Monate. Geprüft wird per bitweisem UND auf den Masken.
+     *
+     * @param from        Beginn des Fensters (inklusive)
+     * @param to          Ende des Fensters (exklusive)
+     * @param match       gesuchte Beziehung
+     * @param weekdayMask Wochentage, von denen mindestens einer gesetzt sein muss (0 = beliebig)
+     * @param monthMask   Monate, von denen mindestens einer gesetzt sein muss (0 = beliebig)
+     * @return die Events, sortiert nach {@code (start, id)}
+     * @throws IllegalStateException wenn der Index noch nicht aufgebaut ist
+     */
+    public List<Event> query(Instant from, Instant to, IntervalMatch match, int weekdayMask, int monthMask) {
+        State current = state;
+        if (current == null) {
+            throw new IllegalStateException("Intervall-Index ist noch nicht aufgebaut");
+        }
+        long qs = from.toEpochMilli();
+        long qe = to.toEpochMilli();
+
+        List<Event> result = new ArrayList<>();
+        current.base().query(qs, qe, match, event -> {
+            if (!current.removed().contains(event.getId())
+                    && CalendarMasks.anySet(event.getWeekdayMask(), weekdayMask)
+                    && CalendarMasks.anySet(event.getMonthMask(), monthMask)) {
+                result.add(event);
+            }
+        });
+        boolean fromDelta = false;
+        for (Event event : current.added().values()) {
+            long start = event.getStart().toEpochMilli();
+            if (matches(start, effectiveEnd(event, start), qs, qe, match)
+                    && CalendarMasks.anySet(event.getWeekdayMask(), weekdayMask)
+                    && CalendarMasks.anySet(event.getMonthMask(), monthMask)) {
+                result.add(event);
+                fromDelta = true;
+            }
+        }
+        if (fromDelta) {
+            result.sort(ORDER);
+        }
+        return result;
+    }
+
+    /**
+     * Prüft die Beziehung eines einzelnen Zeitraums zum Fenster.
+     */
+    static boolean matches(long start, long end, long qs, long qe, IntervalMatch match) {
+        return switch (match) {
+            case OVERLAPS -> start < qe && end > qs;
+            case WITHIN -> start >= qs && end <= qe;
+            case CONTAINS -> start <= qs && end >= qe;
+        };
+    }
+
+    /**
+     * Stellt sicher, dass die Masken zu den Listen passen (z.B. bei Events vor der Migration).
+     */
+    private static Event withMasks(Event event) {
+        CalendarMasks.apply(event);
+        return event;
+    }
+
+    /**
+     * Ende in Millisekunden; Zeitpunkte belegen eine Millisekunde.
+     */
+    private static long effectiveEnd(Event event, long start) {
+        long end = event.getEnd() == null ? start : event.getEnd().toEpochMilli();
+        return Math.max(end, start + 1);
+    }
+
+    /**
+     * Sortierter Stand plus Delta seit dem letzten Sortieren.
+     *
+     * @param base    sortierter Stand
+     * @param added   seitdem gespeicherte Events (ID → Event)
+     * @param removed IDs, deren Eintrag im sortierten Stand nicht mehr gilt
+     */
+    private record State(Snapshot base, Map<String, Event> added, Set<String> removed) {
+    }
+
+    /**
+     * Unveränderlicher, nach {@code (start, id)} sortierter Stand mit Max-End-Segmentbaum.
+     */
+    static final class Snapshot {
+
+        private final Event[] events;
+        private final long[] starts;
+        private final long[] ends;
+
+        /** Anzahl Blätter des Baums (Zweierpotenz) */
+        private final int leaves;
+
+        /** {@code maxEnd[1]} ist die Wurzel, Kinder von {@code i} sind {@code 2i} und {@code 2i+1} */
+        private final long[] maxEnd;
+
+        private Snapshot(Event[] events) {
+            this.events = events;
+            int n = events.length;
+            this.starts = new long[n];
+            this.ends = new long[n];
+            for (int i = 0; i < n; i++) {
+                starts[i] = events[i].getStart().toEpochMilli();
+                ends[i] = effectiveEnd(events[i], starts[i]);
+            }
+            this.leaves = Integer.highestOneBit(Math.max(1, n - 1)) << 1;
+            this.maxEnd = new long[2 * leaves];
+            Arrays.fill(maxEnd, Long.MIN_VALUE);
+            System.arraycopy(ends, 0, maxEnd, leaves, n);
+            for (int i = leaves - 1; i >= 1; i--) {
+                maxEnd[i] = Math.max(maxEnd[2 * i], maxEnd[2 * i + 1]);
+            }
+        }
+
+        /**
+         * @param events Events mit Startzeit, beliebige Reihenfolge
+         * @return sortierter Stand
+         */
+        static Snapshot of(List<Event> events) {
+            Event[] sorted = events.toArray(new Event[0]);
+            Arrays.sort(sorted, ORDER);
+            return new Snapshot(sorted);
+        }
+
+        /**
+         * @return neuer Stand ohne {@code removed}, ergänzt um {@code added}
+         */
+        Snapshot merge(Iterable<Event> added, Set<String> removed) {
+            List<Event> merged = new ArrayList<>(events.length);
+            for (Event event : events) {
+                if (!removed.contains(event.getId())) {
+                    merged.add(event);
+                }
+            }
+            added.forEach(merged::add);
+            return of(merged);
+        }
+
+        int size() {
+            return events.length;
+        }
+
+        void query(long qs, long qe, IntervalMatch match, Consumer<Event> sink) {
+            switch (match) {
+                // Kandidaten: start < qe, davon end > qs
+                case OVERLAPS -> collect(1, 0, leaves, lowerBound(qe), qs, sink);
+                // Kandidaten: start <= qs, davon end >= qe
+                case CONTAINS -> collect(1, 0, leaves, lowerBound(qs + 1), qe - 1, sink);
+                case WITHIN -> {
+                    for (int i = lowerBound(qs), end = lowerBound(qe); i < end; i++) {
+                        if (ends[i] <= qe) {
+                            sink.accept(events[i]);
+                        }
+                    }
+                }
+            }
+        }
+
+        /**
+         * Meldet alle Einträge mit Index {@code < limit} und {@code end > threshold} in Index-Reihenfolge.
+         */
+        private void collect(int node, int lo, int hi, int limit, long threshold, Consumer<Event> sink) {
+            if (lo >= limit || maxEnd[node] <= threshold) {
+                return;
+            }
+            if (hi - lo == 1) {
+                sink.accept(events[lo]);
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            collect(2 * node, lo, mid, limit, threshold, sink);
+            collect(2 * node + 1, mid, hi, limit, threshold, sink);
+        }
+
+        /**
+         * @return erster Index mit {@code start >= value}
+         */
+        private int lowerBound(long value) {
+            int lo = 0;
+            int hi = starts.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (starts[mid] < value) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package com.calendarapi.lbprojektm165calendarapi.service;
+
+import com.calendarapi.lbprojektm165calendarapi.dto.BulkReportDto;
+import com.calendarapi.lbprojektm165calendarapi.dto.FilterDto;
+import com.calendarapi.lbprojektm165calendarapi.model.Event;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Import und Export von Events im NDJSON-Format ({@code application/x-ndjson}, ein JSON-Objekt pro Zeile).
+ *
+ * <p>Beide Richtungen arbeiten zeilenweise: Beim Export wird jedes Event direkt vom Datenbank-Cursor
+ * in den Response-Stream geschrieben, beim Import wird jede Zeile einzeln gelesen und an eine
+ * {@link BulkIngestService.Ingestion} übergeben. Der Speicherbedarf hängt damit nur von der
+ * Chunk-Größe ab, nicht von der Anzahl der Events. Zeilen über {@code calendar.bulk.import.max-line-length}
+ * Zeichen werden nicht gepuffert, sondern überlesen und als Fehler gemeldet.</p>
+ *
+ * @author Arvin
+ */
+@Service
+public class EventNdjsonService {
+
+    private final EventService eventService;
+    private final BulkIngestService bulkIngestService;
+    private final ObjectReader eventReader;
+    private final ObjectWriter eventWriter;
+    private final ObjectMapper objectMapper;
+    private final int maxReportedErrors;
+    private final int maxLineLength;
+
+    /**
+     * Konstruktor mit Dependency Injection.
+     *
+     * @param eventService      Service zum Lesen der Events
+     * @param bulkIngestService Service für den Bulk-Import
+     * @param objectMapper      von Spring konfigurierter JSON-Mapper
+     * @param maxReportedErrors maximale Anzahl einzeln gemeldeter Fehler im Import-Bericht
+     * @param maxLineLength     maximale Länge einer Zeile in Zeichen
+     */
+    public EventNdjsonService(EventService eventService,
+                              BulkIngestService bulkIngestService,
+                              ObjectMapper objectMapper,
+                              @Value("${calendar.bulk.import.max-reported-errors:1000}") int maxReportedErrors,
+                              @Value("${calendar.bulk.import.max-line-length:1048576}") int maxLineLength) {
+        this.eventService = eventService;
+        this.bulkIngestService = bulkIngestService;
+        this.objectMapper = objectMapper;
+        this.eventReader = objectMapper.readerFor(Event.class)
+                .with(DeserializationFeature.FAIL_ON_TRAILING_TOKENS);
+        this.eventWriter = objectMapper.writerFor(Event.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.maxReportedErrors = maxReportedErrors;
+        this.maxLineLength = maxLineLength;
+    }
+
+    /**
+     * Schreibt alle passenden Events als NDJSON in den Stream.
+     *
+     * @param filter die Filterkriterien
+     * @param out    Ziel-Stream (wird nicht geschlossen)
+     * @throws IOException bei Schreibfehlern
+     */
+    public void exportEvents(FilterDto filter, OutputStream out) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // Trennung erfolgt über den expliziten Zeilenumbruch nach jedem Event
+            generator.setRootValueSeparator(null);
+            eventService.streamEvents(filter, event -> {
+                try {
+                    eventWriter.writeValue(generator, event);
+                    generator.writeRaw('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Liest NDJSON zeilenweise und importiert die Events über den Bulk-Import.
+     *
+     * <p>Leere Zeilen werden ignoriert. Nicht lesbare oder zu lange Zeilen werden mit ihrer Zeilennummer
+     * als Fehler gemeldet und übersprungen; der Import läuft weiter. Der Bericht enthält nur Fehler
+     * (höchstens {@code calendar.bulk.import.max-reported-errors}), die Zähler sind vollständig.</p>
+     *
+     * @param in der Request-Body
+     * @return Bericht des Imports
+     * @throws IOException bei Lesefehlern
+     */
+    public BulkReportDto importEvents(InputStream in) throws IOException {
+        ImportSession session = openImport();
+        Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8);
+        char[] buffer = new char[8192];
+        // Puffer der aktuellen Zeile; wächst höchstens bis maxLineLength
+        StringBuilder line = new StringBuilder();
+        boolean overlong = false;
+
+        int read;
+        while ((read = reader.read(buffer)) != -1) {
+            int begin = 0;
+            for (int i = 0; i < read; i++) {
+                if (buffer[i] != '\n') {
+                    continue;
+                }
+                overlong = append(line, buffer, begin, i, overlong);
+                session.accept(line, overlong);
+                line.setLength(0);
+                overlong = false;
+                begin = i + 1;
+            }
+            overlong = append(line, buffer, begin, read, overlong);
+        }
+        // Letzte Zeile ohne abschliessenden Zeilenumbruch
+        if (!line.isEmpty() || overlong) {
+            session.accept(line, overlong);
+        }
+        return session.finish();
+    }
+
+    /**
+     * Hängt {@code buffer[begin, end)} an die Zeile an, solange sie {@code maxLineLength} nicht überschreitet.
+     *
+     * @return {@code true}, wenn die Zeile zu lang ist (ihr Inhalt wird dann verworfen)
+     */
+    private boolean append(StringBuilder line, char[] buffer, int begin, int end, boolean overlong) {
+        if (overlong || line.length() + (end - begin) > maxLineLength) {
+            line.setLength(0);
+            return true;
+        }
+        line.append(buffer, begin, end - begin);
+        return false;
+    }
+
+    /**
+     * Startet einen zeilenweisen Import, dem die Zeilen einzeln übergeben werden
+     * (z.B. aus einem reaktiven Request-Body).
+     *
+     * @return die neue Import-Sitzung
+     */
+    public ImportSession openImport() {
+        return new ImportSession(bulkIngestService.begin(false, maxReportedErrors));
+    }
+
+    /**
+     * Ein laufender NDJSON-Import. Nicht threadsicher; Zeilen müssen nacheinander übergeben werden.
+     */
+    public final class ImportSession {
+
+        private final BulkIngestService.Ingestion ingestion;
+        private int lineNumber;
+
+        private ImportSession(BulkIngestService.Ingestion ingestion) {
+            this.ingestion = ingestion;
+        }
+
+        /**
+         * Übernimmt die nächste Zeile. Leere Zeilen werden ignoriert, nicht lesbare oder zu lange
+         * als Fehler gemeldet.
+         *
+         * @param line die Zeile ohne Zeilenumbruch
+         */
+        public void accept(String line) {
+            accept(line, line.length() > maxLineLength);
+        }
+
+        private void accept(CharSequence line, boolean overlong) {
+            lineNumber++;
+            if (overlong) {
+                ingestion.reject("Zeile " + lineNumber + ": länger als " + maxLineLength + " Zeichen");
+                return;
+            }
+            String json = line.toString();
+            if (json.isBlank()) {
+                return;
+            }
+            try {
+                ingestion.add(eventReader.readValue(json));
+            } catch (JsonProcessingException e) {
+                ingestion.reject("Zeile " + lineNumber + ": " + e.getOriginalMessage());
+            }
+        }
+
+        /**
+         * Schreibt alle offenen Chunks und liefert den Bericht.
+         *
+         * @return Bericht des Imports
+         */
+        public BulkReportDto finish() {
+            return ingestion.finish();
+        }
+    }
+}
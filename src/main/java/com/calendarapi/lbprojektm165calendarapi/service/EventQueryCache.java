@@ -0,0 +1,204 @@
+package com.calendarapi.lbprojektm165calendarapi.service;
+
+import com.calendarapi.lbprojektm165calendarapi.dto.FilterDto;
+import com.calendarapi.lbprojektm165calendarapi.model.Event;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Cache für Ergebnislisten von {@code findByFilters}, geschlüsselt nach der kanonischen Form
+ * des {@link FilterDto} ({@link FilterDto#normalized()}).
+ *
+ * <p>Invalidierung über eine Generation: Jeder Schreibzugriff im {@link EventService} erhöht sie,
+ * wodurch alle bisherigen Einträge nicht mehr getroffen werden. Ein Ladevorgang, der vor dem
+ * Schreiben begonnen hat, legt sein Ergebnis unter der alten Generation ab und wird daher nie
+ * ausgeliefert. Veraltete Einträge werden über Gewicht und TTL verdrängt.</p>
+ *
+ * <p>Das Gewicht eines Eintrags ist die Anzahl seiner Events ({@code calendar.cache.queries.max-weight}
+ * begrenzt damit die Gesamtzahl gecachter Event-Referenzen). Treffer und Fehlzugriffe werden je
+ * Filterform ({@link FilterDto#shape()}) gezählt und als Metriken {@code calendar.cache.queries.shape}
+ * (Tags {@code shape}, {@code result}) und {@code calendar.cache.queries.shape.hit.ratio} veröffentlicht.</p>
+ *
+ * <p>Wie im {@link EventCache} läuft die Abfrage ausserhalb der Sperren von Caffeine; parallele
+ * Anfragen mit demselben Filter warten auf dasselbe Ergebnis, ohne ihren Träger-Thread zu blockieren.</p>
+ *
+ * <p>Die gelieferten Listen sind unveränderlich; die enthaltenen Events dürfen nicht verändert werden.</p>
+ *
+ * @author Arvin
+ */
+@Component
+public class EventQueryCache implements MeterBinder {
+
+    /** (Generation, kanonischer Filter) → Ergebnis */
+    private final AsyncCache<Key, List<Event>> cache;
+
+    /** Aktuelle Generation; wird bei jedem Schreibzugriff erhöht */
+    private final AtomicLong generation = new AtomicLong();
+
+    /** Treffer/Fehlzugriffe je Filterform */
+    private final Map<String, ShapeStats> shapeStats = new ConcurrentHashMap<>();
+
+    /** Registry für Metriken je Filterform; {@code null}, solange keine gebunden ist */
+    private volatile MeterRegistry registry;
+
+    /**
+     * Erstellt den Cache.
+     *
+     * @param maxWeight maximale Anzahl gecachter Event-Referenzen über alle Einträge
+     * @param ttl       Lebensdauer eines Eintrags ab dem Schreiben
+     */
+    public EventQueryCache(@Value("${calendar.cache.queries.max-weight:100000}") long maxWeight,
+                           @Value("${calendar.cache.queries.ttl:PT1M}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxWeight)
+                .<Key, List<Event>>weigher((key, events) -> Math.max(1, events.size()))
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .buildAsync();
+    }
+
+    /**
+     * Liefert das Ergebnis aus dem Cache oder führt die Abfrage über den Loader aus.
+     *
+     * @param filter der bereits normalisierte Filter
+     * @param loader führt die Abfrage mit dem normalisierten Filter aus
+     * @return unveränderliche Ergebnisliste
+     */
+    public List<Event> get(FilterDto filter, Function<FilterDto, List<Event>> loader) {
+        Key key = new Key(generation.get(), filter);
+        ShapeStats stats = shapeStats.computeIfAbsent(filter.shape(), this::newShapeStats);
+
+        CompletableFuture<List<Event>> loading = new CompletableFuture<>();
+        CompletableFuture<List<Event>> entry = cache.get(key, (k, executor) -> loading);
+        if (entry != loading) {
+            stats.hits.increment();
+            return entry.join();
+        }
+        stats.misses.increment();
+        try {
+            loading.complete(Collections.unmodifiableList(loader.apply(filter)));
+        } catch (RuntimeException | Error e) {
+            loading.completeExceptionally(e);
+            throw e;
+        }
+        return loading.join();
+    }
+
+    /**
+     * Registriert die Zähler aller bisherigen und künftigen Filterformen.
+     *
+     * @param registry die Registry der Anwendung
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        this.registry = registry;
+        shapeStats.forEach((shape, stats) -> register(registry, shape, stats));
+    }
+
+    private ShapeStats newShapeStats(String shape) {
+        ShapeStats stats = new ShapeStats();
+        MeterRegistry current = registry;
+        if (current != null) {
+            register(current, shape, stats);
+        }
+        return stats;
+    }
+
+    private static void register(MeterRegistry registry, String shape, ShapeStats stats) {
+        FunctionCounter.builder("calendar.cache.queries.shape", stats, ShapeStats::getHits)
+                .tag("shape", shape).tag("result", "hit")
+                .description("Zugriffe auf den Abfrage-Cache je Filterform")
+                .register(registry);
+        FunctionCounter.builder("calendar.cache.queries.shape", stats, ShapeStats::getMisses)
+                .tag("shape", shape).tag("result", "miss")
+                .description("Zugriffe auf den Abfrage-Cache je Filterform")
+                .register(registry);
+        Gauge.builder("calendar.cache.queries.shape.hit.ratio", stats, ShapeStats::getHitRatio)
+                .tag("shape", shape)
+                .description("Trefferquote des Abfrage-Caches je Filterform")
+                .register(registry);
+    }
+
+    /**
+     * Macht alle bisherigen Einträge ungültig, indem die Generation erhöht wird.
+     */
+    public void invalidateAll() {
+        generation.incrementAndGet();
+    }
+
+    /**
+     * @return aktuelle Generation
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    /**
+     * @return Treffer/Fehlzugriffe je Filterform (Live-Sicht)
+     */
+    public Map<String, ShapeStats> shapeStats() {
+        return Collections.unmodifiableMap(shapeStats);
+    }
+
+    /**
+     * @return der zugrunde liegende Caffeine-Cache (z.B. für Metriken)
+     */
+    public Cache<?, ?> nativeCache() {
+        return cache.synchronous();
+    }
+
+    /**
+     * Cache-Schlüssel aus Generation und kanonischem Filter.
+     */
+    private record Key(long generation, FilterDto filter) {
+    }
+
+    /**
+     * Zähler für eine Filterform.
+     */
+    public static final class ShapeStats {
+
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+
+        /**
+         * @return Anzahl der Treffer
+         */
+        public long getHits() {
+            return hits.sum();
+        }
+
+        /**
+         * @return Anzahl der Fehlzugriffe
+         */
+        public long getMisses() {
+            return misses.sum();
+        }
+
+        /**
+         * @return Trefferquote zwischen 0 und 1 (0 ohne Zugriffe)
+         */
+        public double getHitRatio() {
+            long h = hits.sum();
+            long total = h + misses.sum();
+            return total == 0 ? 0.0 : (double) h / total;
+        }
+    }
+}
@@ -1,12 +1,37 @@
 package com.calendarapi.lbprojektm165calendarapi.service;
 
-import com.calendarapi.lbprojektm165calendarapi.model.Event;
+import com.calendarapi.lbprojektm165calendarapi.dto.BulkChangeDto;
+import com.calendarapi.lbprojektm165calendarapi.dto.CountGroup;
+import com.calendarapi.lbprojektm165calendarapi.dto.EventChangesDto;
+import com.calendarapi.lbprojektm165calendarapi.dto.EventCountsDto;
+import com.calendarapi.lbprojektm165calendarapi.dto.EventPageDto;
+import com.calendarapi.lbprojektm165calendarapi.dto.EventPatch;
+import com.calendarapi.lbprojektm165calendarapi.dto.EventProjection;
+import com.calendarapi.lbprojektm165calendarapi.dto.EventVersion;
 import com.calendarapi.lbprojektm165calendarapi.dto.FilterDto;
+import com.calendarapi.lbprojektm165calendarapi.dto.IntervalMatch;
+import com.calendarapi.lbprojektm165calendarapi.dto.PageCursor;
+import com.calendarapi.lbprojektm165calendarapi.dto.SearchPageDto;
+import com.calendarapi.lbprojektm165calendarapi.dto.SyncToken;
+import com.calendarapi.lbprojektm165calendarapi.dto.TimeBucket;
+import com.calendarapi.lbprojektm165calendarapi.exception.EventNotFoundException;
+import com.calendarapi.lbprojektm165calendarapi.exception.PreconditionFailedException;
+import com.calendarapi.lbprojektm165calendarapi.model.Event;
+import com.calendarapi.lbprojektm165calendarapi.model.EventTombstone;
 import com.calendarapi.lbprojektm165calendarapi.repository.EventRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Der {@code EventService} stellt die zentrale Geschäftslogik für das Management von Kalender-Events bereit.
@@ -19,24 +44,82 @@ import java.util.List;
  *     <li>Löschen von Events anhand ihrer ID</li>
  *     <li>Abrufen einzelner oder gefilterter Events</li>
  *     <li>Batch-Speicherung mehrerer Events</li>
+ *     <li>Seitenweises Lesen (Keyset-Pagination) und Streaming großer Ergebnismengen</li>
+ *     <li>Volltextsuche mit Relevanz-Sortierung</li>
+ *     <li>Zählungen je Tag, Monat, Wochentag und Zeitabschnitt per Aggregation</li>
+ *     <li>Delta-Synchronisation über Änderungszeitpunkte und Löschvermerke</li>
+ *     <li>Massenänderungen und -löschungen per Filter</li>
  * </ul>
  *
+ * <p>Einzelabrufe über {@link #getById(String)} laufen über den {@link EventCache}, gefilterte Listen
+ * über {@link #listEvents(FilterDto)} über den {@link EventQueryCache}. Alle schreibenden Methoden
+ * halten beide nach erfolgreichem Datenbankzugriff aktuell und veröffentlichen anschliessend ein
+ * {@link EventsChanged} für weitere abgeleitete Strukturen.</p>
+ *
+ * <p>Alle öffentlichen Methoden werden als {@code calendar.service} (Tags {@code class}, {@code method})
+ * mit Histogramm gemessen.</p>
+ *
  * @author Arvin
  */
 @Service
+@Timed(value = "calendar.service", histogram = true)
 public class EventService {
 
     /** Zugriff auf die Datenbank für Event-Entitäten */
     private final EventRepository repository;
 
+    /** Read-Through-Cache für Einzelabrufe */
+    private final EventCache eventCache;
+
+    /** Ergebnis-Cache für gefilterte Listen */
+    private final EventQueryCache queryCache;
+
+    /** Veröffentlicht {@link EventsChanged} nach Schreibzugriffen */
+    private final ApplicationEventPublisher publisher;
+
+    /** Seitengröße, wenn kein Limit angegeben wird */
+    @Value("${calendar.pagination.default-limit:50}")
+    private int defaultPageLimit = 50;
+
+    /** Maximale Seitengröße */
+    @Value("${calendar.pagination.max-limit:500}")
+    private int maxPageLimit = 500;
+
+    /** Maximale Anzahl übersprungener Treffer der Volltextsuche */
+    @Value("${calendar.search.max-offset:1000}")
+    private int maxSearchOffset = 1000;
+
+    /** Aufbewahrung der Löschvermerke; ältere Sync-Tokens erzwingen eine vollständige Synchronisation */
+    @Value("${calendar.sync.tombstone-retention:P30D}")
+    private Duration tombstoneRetention = Duration.ofDays(30);
+
+    /** Jüngere Änderungen liefert die Delta-Synchronisation erst bei der nächsten Anfrage */
+    @Value("${calendar.sync.settle:PT2S}")
+    private Duration syncSettle = Duration.ofSeconds(2);
+
+    /** Höchstzahl der Events, die eine Massenänderung per Filter betreffen darf */
+    @Value("${calendar.bulk.filter.max-affected:1000}")
+    private int maxBulkAffected = 1000;
+
+    /** Optionaler In-Process-Intervall-Index ({@code calendar.index.intervals.enabled}) */
+    @Autowired(required = false)
+    private EventIntervalIndex intervalIndex;
+
     /**
      * Konstruktor mit Dependency Injection des Repositories.
      *
      * @param repository die Repository-Instanz zum Zugriff auf Event-Daten
+     * @param eventCache Read-Through-Cache für Einzelabrufe
+     * @param queryCache Ergebnis-Cache für gefilterte Listen
+     * @param publisher  Publisher für {@link EventsChanged}
      */
     @Autowired
-    public EventService(EventRepository repository) {
+    public EventService(EventRepository repository, EventCache eventCache, EventQueryCache queryCache,
+                        ApplicationEventPublisher publisher) {
         this.repository = repository;
+        this.eventCache = eventCache;
+        this.queryCache = queryCache;
+        this.publisher = publisher;
     }
 
     /**
@@ -46,52 +129,448 @@ public class EventService {
      * @return das gespeicherte Event mit generierter ID
      */
     public Event createEvent(Event event) {
-        return repository.save(event);
+        Event saved = repository.save(event);
+        eventCache.put(saved);
+        queryCache.invalidateAll();
+        publisher.publishEvent(EventsChanged.saved(List.of(saved)));
+        return saved;
     }
 
     /**
-     * Aktualisiert ein bestehendes Event. Falls das Event nicht existiert, wird es neu angelegt.
+     * Aktualisiert ein bestehendes Event (siehe {@link #updateEvent(Event, EventVersion)} ohne {@code If-Match}).
      *
      * @param event das zu aktualisierende Event-Objekt
-     * @return das aktualisierte (oder neu angelegte) Event
+     * @return das aktualisierte Event
+     * @throws EventNotFoundException wenn kein Event mit der ID existiert
      */
     public Event updateEvent(Event event) {
-        // Optional: prüfen, ob das Event existiert
-        // repository.findById(event.getId()).orElseThrow(...)
-        return repository.save(event);
+        return updateEvent(event, null);
+    }
+
+    /**
+     * Aktualisiert ein bestehendes Event; fehlende Events werden nicht angelegt.
+     *
+     * <p>Mit {@code expected} (aus {@code If-Match}) wird nur gespeichert, wenn das Event noch in diesem
+     * Stand ist; fehlt es, gilt die Vorbedingung als nicht erfüllt. Sonst gilt die mitgesendete {@code version}
+     * (veraltet: {@code 409}) bzw. ohne sie die gespeicherte Version (letzter Schreiber gewinnt). Zwischen
+     * Prüfung und Speichern sichert das optimistische Sperren von MongoDB.</p>
+     *
+     * @param event    das zu aktualisierende Event-Objekt (mit ID)
+     * @param expected erwarteter Stand oder {@code null}
+     * @return das aktualisierte Event
+     * @throws EventNotFoundException      wenn ohne {@code expected} kein Event mit der ID existiert
+     * @throws PreconditionFailedException wenn das Event nicht (mehr) im Stand {@code expected} ist
+     * @throws org.springframework.dao.OptimisticLockingFailureException wenn {@code version} veraltet ist
+     */
+    public Event updateEvent(Event event, EventVersion expected) {
+        EventVersion stored = repository.findVersionById(event.getId());
+        if (expected != null && !expected.matches(stored)) {
+            throw new PreconditionFailedException("Event '" + event.getId() + "' wurde zwischenzeitlich geändert.");
+        }
+        if (stored == null) {
+            throw new EventNotFoundException(event.getId());
+        }
+        if (expected != null || event.getVersion() == null) {
+            event.setVersion(stored.version());
+        }
+        Event saved;
+        try {
+            saved = repository.save(event);
+        } catch (OptimisticLockingFailureException e) {
+            if (expected == null) {
+                throw e;
+            }
+            throw new PreconditionFailedException("Event '" + event.getId() + "' wurde zwischenzeitlich geändert.");
+        }
+        eventCache.put(saved);
+        queryCache.invalidateAll();
+        publisher.publishEvent(EventsChanged.saved(List.of(saved)));
+        return saved;
+    }
+
+    /**
+     * Ändert einzelne Felder eines Events direkt in MongoDB, ohne das Dokument vorher zu lesen.
+     *
+     * <p>Version und {@code lastModified} werden im selben Update gesetzt; mit {@code expected}
+     * (aus {@code If-Match}) wird nur geändert, wenn das Event noch in diesem Stand ist.</p>
+     *
+     * @param id       die ID des Events
+     * @param patch    die Änderungen
+     * @param expected erwarteter Stand oder {@code null}
+     * @return das geänderte Event
+     * @throws EventNotFoundException      wenn ohne {@code expected} kein Event mit der ID existiert
+     * @throws PreconditionFailedException wenn das Event nicht (mehr) im Stand {@code expected} ist
+     */
+    public Event patchEvent(String id, EventPatch patch, EventVersion expected) {
+        Event saved = repository.patch(id, patch, expected, Instant.now());
+        if (saved == null) {
+            if (expected == null) {
+                throw new EventNotFoundException(id);
+            }
+            throw new PreconditionFailedException("Event '" + id + "' wurde zwischenzeitlich geändert.");
+        }
+        eventCache.put(saved);
+        queryCache.invalidateAll();
+        publisher.publishEvent(EventsChanged.saved(List.of(saved)));
+        return saved;
+    }
+
+    /**
+     * Wendet einen Patch auf alle Events an, die den Filter erfüllen.
+     *
+     * <p>Die passenden IDs werden zuerst per Projektion gelesen (höchstens {@code max + 1}); trifft der
+     * Filter mehr als {@code max} Events, wird nichts geändert. Danach ändert ein einziges {@code updateMulti}
+     * diese Events, soweit sie den Filter noch erfüllen, erhöht ihre Version und setzt {@code lastModified}.
+     * Cache und Benachrichtigung umfassen nur die tatsächlich geänderten Events. Mit {@code dryRun} wird nur gezählt.</p>
+     *
+     * @param filter die Filterkriterien (mindestens eines muss gesetzt sein)
+     * @param patch  die Änderungen
+     * @param dryRun {@code true}, um nur die betroffenen Events zu ermitteln
+     * @param max    Höchstzahl betroffener Events oder {@code null} für {@code calendar.bulk.filter.max-affected}
+     * @return Anzahl passender und geänderter Events
+     * @throws IllegalArgumentException bei leerem Filter, ungültigem {@code max} oder zu vielen Treffern
+     */
+    public BulkChangeDto patchByFilter(FilterDto filter, EventPatch patch, boolean dryRun, Integer max) {
+        int limit = checkBulkLimit(filter, max, maxBulkAffected);
+        List<String> ids = repository.findIdsByFilters(filter, limit + 1);
+        if (dryRun) {
+            return preview(filter, ids, limit);
+        }
+        requireWithinLimit(ids, limit);
+        List<Event> saved = ids.isEmpty() ? List.of() : repository.patchAll(filter, ids, patch, Instant.now());
+        saved.forEach(eventCache::put);
+        queryCache.invalidateAll();
+        publisher.publishEvent(EventsChanged.saved(saved));
+        return BulkChangeDto.builder().matched(ids.size()).affected(saved.size()).max(limit).ids(ids).build();
     }
 
     /**
-     * Löscht ein Event anhand seiner eindeutigen ID.
+     * Löscht alle Events, die den Filter erfüllen, und hinterlegt ihre Löschvermerke.
+     *
+     * <p>Wie bei {@link #patchByFilter} werden zuerst die IDs gelesen und begrenzt; gelöscht werden danach
+     * die Events, die den Filter noch erfüllen. Löschvermerke (in einem Bulk-Write) und Benachrichtigung
+     * gibt es nur für die tatsächlich gelöschten IDs.</p>
+     *
+     * @param filter die Filterkriterien (mindestens eines muss gesetzt sein)
+     * @param dryRun {@code true}, um nur die betroffenen Events zu ermitteln
+     * @param max    Höchstzahl betroffener Events oder {@code null} für {@code calendar.bulk.filter.max-affected}
+     * @return Anzahl passender und gelöschter Events
+     * @throws IllegalArgumentException bei leerem Filter, ungültigem {@code max} oder zu vielen Treffern
+     */
+    public BulkChangeDto deleteByFilter(FilterDto filter, boolean dryRun, Integer max) {
+        int limit = checkBulkLimit(filter, max, maxBulkAffected);
+        List<String> ids = repository.findIdsByFilters(filter, limit + 1);
+        if (dryRun) {
+            return preview(filter, ids, limit);
+        }
+        requireWithinLimit(ids, limit);
+        List<String> deleted = ids.isEmpty() ? List.of() : repository.removeAll(filter, ids);
+        if (!deleted.isEmpty()) {
+            repository.markDeleted(deleted, Instant.now());
+        }
+        deleted.forEach(eventCache::invalidate);
+        queryCache.invalidateAll();
+        publisher.publishEvent(EventsChanged.deleted(deleted));
+        return BulkChangeDto.builder().matched(ids.size()).affected(deleted.size()).max(limit).ids(ids).build();
+    }
+
+    /**
+     * Ergebnis eines Probelaufs; bei mehr als {@code limit} Treffern wird exakt gezählt.
+     */
+    private BulkChangeDto preview(FilterDto filter, List<String> ids, int limit) {
+        long matched = ids.size() > limit ? repository.countMatching(filter) : ids.size();
+        return bulkPreview(matched, ids, limit);
+    }
+
+    /**
+     * Prüft Filter und Höchstzahl einer Massenänderung.
+     *
+     * @param filter die Filterkriterien
+     * @param max    angefragte Höchstzahl oder {@code null}
+     * @param cap    konfigurierte Höchstzahl
+     * @return die anzuwendende Höchstzahl
+     * @throws IllegalArgumentException bei leerem Filter oder {@code max} ausserhalb von 1 bis {@code cap}
+     */
+    static int checkBulkLimit(FilterDto filter, Integer max, int cap) {
+        if (filter.isEmpty()) {
+            throw new IllegalArgumentException("Massenänderungen benötigen mindestens einen Filterparameter.");
+        }
+        if (max != null && (max < 1 || max > cap)) {
+            throw new IllegalArgumentException("'max' muss zwischen 1 und " + cap + " liegen.");
+        }
+        return max == null ? cap : max;
+    }
+
+    /**
+     * @param ids   die gelesenen IDs (höchstens {@code limit + 1})
+     * @param limit Höchstzahl betroffener Events
+     * @throws IllegalArgumentException wenn der Filter mehr als {@code limit} Events trifft
+     */
+    static void requireWithinLimit(List<String> ids, int limit) {
+        if (ids.size() > limit) {
+            throw new IllegalArgumentException("Der Filter trifft mehr als " + limit
+                    + " Events; Filter einschränken oder 'max' erhöhen (Probelauf mit 'dryRun=true').");
+        }
+    }
+
+    /**
+     * @param matched Anzahl passender Events
+     * @param ids     die gelesenen IDs (höchstens {@code limit + 1})
+     * @param limit   Höchstzahl betroffener Events
+     * @return Ergebnis eines Probelaufs mit höchstens {@code limit} IDs
+     */
+    static BulkChangeDto bulkPreview(long matched, List<String> ids, int limit) {
+        return BulkChangeDto.builder()
+                .dryRun(true)
+                .matched(matched)
+                .max(limit)
+                .ids(ids.size() > limit ? ids.subList(0, limit) : ids)
+                .build();
+    }
+
+    /**
+     * Löscht ein Event anhand seiner eindeutigen ID (ohne {@code If-Match}).
      *
      * @param id die ID des zu löschenden Events
      */
     public void deleteEvent(String id) {
-        repository.deleteById(id);
+        deleteEvent(id, null);
     }
 
     /**
-     * Gibt ein einzelnes Event anhand seiner ID zurück.
+     * Löscht ein Event und hinterlegt einen Löschvermerk für die Delta-Synchronisation.
+     *
+     * <p>Mit {@code expected} wird nur gelöscht, wenn das Event noch in diesem Stand ist; ein fehlendes
+     * Event erfüllt keine Vorbedingung, auch nicht {@link EventVersion#ANY}. Ohne {@code expected} ist das
+     * Löschen eines fehlenden Events ein No-op: Löschvermerk und Benachrichtigung gibt es nur, wenn
+     * tatsächlich ein Dokument gelöscht wurde.</p>
+     *
+     * @param id       die ID des zu löschenden Events
+     * @param expected erwarteter Stand oder {@code null}
+     * @throws PreconditionFailedException wenn das Event fehlt oder nicht (mehr) im Stand {@code expected} ist
+     */
+    public void deleteEvent(String id, EventVersion expected) {
+        long deleted = repository.deleteIfMatches(id, expected);
+        eventCache.invalidate(id);
+        if (deleted == 0 && expected != null) {
+            throw new PreconditionFailedException("Event '" + id + "' wurde zwischenzeitlich geändert.");
+        }
+        if (deleted == 0) {
+            return;
+        }
+        repository.markDeleted(id, Instant.now());
+        queryCache.invalidateAll();
+        publisher.publishEvent(EventsChanged.deleted(id));
+    }
+
+    /**
+     * Gibt ein einzelnes Event anhand seiner ID zurück (über den {@link EventCache}).
      *
      * @param id die eindeutige ID des gesuchten Events
      * @return das gefundene Event-Objekt
      * @throws IllegalArgumentException wenn kein Event mit der angegebenen ID existiert
      */
     public Event getById(String id) {
-        return repository.findById(id)
-                .orElseThrow(() ->
-                        new IllegalArgumentException("Event nicht gefunden: " + id)
-                );
+        Event event = eventCache.get(id, key -> repository.findById(key).orElse(null));
+        if (event == null) {
+            throw new IllegalArgumentException("Event nicht gefunden: " + id);
+        }
+        return event;
     }
 
     /**
      * Listet alle Events basierend auf den angegebenen Filterkriterien.
      *
+     * <p>Die Abfrage wird mit der kanonischen Form des Filters ausgeführt und über den
+     * {@link EventQueryCache} zwischengespeichert.</p>
+     *
      * @param filter das {@link FilterDto}-Objekt mit Kriterien wie Datum, Titel oder Wochentag
-     * @return eine Liste von Events, die den Filterkriterien entsprechen
+     * @return eine unveränderliche Liste von Events, die den Filterkriterien entsprechen
      */
     public List<Event> listEvents(FilterDto filter) {
-        return repository.findByFilters(filter);
+        return queryCache.get(filter.normalized(), repository::findByFilters);
+    }
+
+    /**
+     * Listet Events wie {@link #listEvents(FilterDto)}, liest und liefert aber nur die Felder der Projektion.
+     *
+     * <p>Läuft am {@link EventQueryCache} vorbei, da dieser vollständige Events hält.</p>
+     *
+     * @param filter     das {@link FilterDto}-Objekt mit den Filterkriterien
+     * @param projection die auszugebenden Felder
+     * @return je Event eine Zuordnung Feldname → Wert
+     */
+    public List<Map<String, Object>> listEvents(FilterDto filter, EventProjection projection) {
+        return repository.findByFilters(filter.normalized(), projection).stream()
+                .map(projection::apply)
+                .toList();
+    }
+
+    /**
+     * Liefert die Änderungen seit einem Sync-Token: geänderte Events und IDs gelöschter Events,
+     * sortiert nach {@code (lastModified, id)} über die Indizes {@code lastModified/_id}.
+     *
+     * <p>Ohne Token oder mit einem Token, das älter als die Aufbewahrung der Löschvermerke ist, werden alle
+     * Events geliefert und {@code reset} gesetzt. Änderungen der letzten {@code calendar.sync.settle}
+     * werden erst bei der nächsten Anfrage geliefert, damit noch laufende Schreibzugriffe mit früherem
+     * Zeitstempel nicht übersprungen werden.</p>
+     *
+     * @param since Token {@code nextToken} der vorherigen Antwort oder {@code null}
+     * @param limit gewünschte Seitengröße; {@code null} für den Standardwert, wird auf das Maximum begrenzt
+     * @return die Änderungen inklusive Token für die nächste Anfrage
+     * @throws IllegalArgumentException wenn Token oder Limit ungültig sind
+     */
+    public EventChangesDto changesSince(String since, Integer limit) {
+        if (limit != null && limit < 1) {
+            throw new IllegalArgumentException("'limit' muss mindestens 1 sein.");
+        }
+        int pageSize = limit == null ? defaultPageLimit : Math.min(limit, maxPageLimit);
+        SyncToken after = SyncToken.decode(since);
+        Instant now = Instant.now();
+        boolean reset = after == null || after.getLastModified().isBefore(now.minus(tombstoneRetention));
+        if (reset) {
+            after = null;
+        }
+        Instant until = now.minus(syncSettle);
+
+        // Je eine Zeile mehr lesen, um zu erkennen, ob eine weitere Seite existiert
+        List<Event> changed = repository.findModifiedSince(after, until, pageSize + 1);
+        List<EventTombstone> deleted = reset ? List.of() : repository.findDeletedSince(after, until, pageSize + 1);
+        return EventChangesDto.of(changed, deleted, pageSize, until, reset);
+    }
+
+    /**
+     * Liefert eine Seite von Events per Keyset-Pagination, sortiert nach {@code (start, id)}.
+     *
+     * @param filter das {@link FilterDto}-Objekt mit den Filterkriterien
+     * @param cursor Token aus {@link EventPageDto#getNextCursor()} der vorherigen Seite oder {@code null}
+     * @param limit  gewünschte Seitengröße; {@code null} für den Standardwert, wird auf das Maximum begrenzt
+     * @return die Seite inklusive Token für die nächste Seite
+     * @throws IllegalArgumentException wenn Cursor oder Limit ungültig sind
+     */
+    public EventPageDto listEventsPage(FilterDto filter, String cursor, Integer limit) {
+        if (limit != null && limit < 1) {
+            throw new IllegalArgumentException("'limit' muss mindestens 1 sein.");
+        }
+        int pageSize = limit == null ? defaultPageLimit : Math.min(limit, maxPageLimit);
+
+        // Eine Zeile mehr lesen, um zu erkennen, ob eine weitere Seite existiert
+        List<Event> rows = repository.findPageByFilters(filter, PageCursor.decode(cursor), pageSize + 1);
+        return EventPageDto.of(rows, pageSize);
+    }
+
+    /**
+     * Zählt die passenden Events je Tag, Monat, Wochentag oder Zeitabschnitt von {@code start}.
+     *
+     * <p>Gruppiert wird in einer MongoDB-Aggregation; übertragen werden nur die Gruppen und ihre Anzahl.</p>
+     *
+     * @param filter die Filterkriterien (werden normalisiert)
+     * @param by     Gruppierungsmerkmal
+     * @param bucket Zeitabschnitt bei {@link CountGroup#START}; {@code null} für Monate
+     * @return die Gruppen mit ihrer Anzahl
+     * @throws IllegalArgumentException wenn {@code bucket} ohne {@code by=start} angegeben wird
+     */
+    public EventCountsDto countEvents(FilterDto filter, CountGroup by, TimeBucket bucket) {
+        TimeBucket applied = checkBucket(by, bucket);
+        return EventCountsDto.builder()
+                .by(by)
+                .bucket(applied)
+                .counts(repository.countByFilters(filter.normalized(), by, applied))
+                .build();
+    }
+
+    /**
+     * Prüft die Kombination aus Gruppierung und Zeitabschnitt.
+     *
+     * @param by     Gruppierungsmerkmal
+     * @param bucket angefragter Zeitabschnitt oder {@code null}
+     * @return der anzuwendende Zeitabschnitt, {@code null} ausser bei {@link CountGroup#START}
+     * @throws IllegalArgumentException wenn {@code bucket} ohne {@code by=start} angegeben wird
+     */
+    static TimeBucket checkBucket(CountGroup by, TimeBucket bucket) {
+        if (by != CountGroup.START) {
+            if (bucket != null) {
+                throw new IllegalArgumentException("'bucket' ist nur mit 'by=start' zulässig.");
+            }
+            return null;
+        }
+        return bucket == null ? TimeBucket.MONTH : bucket;
+    }
+
+    /**
+     * Volltextsuche über Titel, Tags und Beschreibung, absteigend nach Relevanz.
+     *
+     * <p>Die Suche läuft über den Text-Index; der Aufwand hängt von der Anzahl Treffer des Begriffs ab,
+     * nicht von der Grösse der Collection. Geblättert wird per {@code skip}, die Tiefe ist daher auf
+     * {@code calendar.search.max-offset} Treffer begrenzt.</p>
+     *
+     * @param query Suchbegriffe (Syntax von {@code $text})
+     * @param page  Nummer der Seite ab 0; {@code null} für die erste Seite
+     * @param limit gewünschte Seitengröße; {@code null} für den Standardwert, wird auf das Maximum begrenzt
+     * @return die Seite mit Treffern und Relevanz
+     * @throws IllegalArgumentException wenn Suchbegriff, Seite oder Limit ungültig sind
+     */
+    public SearchPageDto search(String query, Integer page, Integer limit) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Der Parameter 'q' ist erforderlich.");
+        }
+        if (page != null && page < 0) {
+            throw new IllegalArgumentException("'page' darf nicht negativ sein.");
+        }
+        if (limit != null && limit < 1) {
+            throw new IllegalArgumentException("'limit' muss mindestens 1 sein.");
+        }
+        int pageSize = limit == null ? defaultPageLimit : Math.min(limit, maxPageLimit);
+        int pageNumber = page == null ? 0 : page;
+        long skip = (long) pageNumber * pageSize;
+        if (skip > maxSearchOffset) {
+            throw new IllegalArgumentException("Die Suche liefert höchstens die ersten " + maxSearchOffset
+                    + " Treffer; bitte den Suchbegriff eingrenzen.");
+        }
+        List<Event> rows = repository.search(query.trim(), (int) skip, pageSize + 1);
+        return SearchPageDto.of(query.trim(), pageNumber, rows, pageSize);
+    }
+
+    /**
+     * Findet alle Events in der angegebenen Beziehung zum Fenster {@code [from, to)}.
+     *
+     * <p>Ist der {@link EventIntervalIndex} aktiv und aufgebaut, wird ohne Datenbankzugriff im Speicher
+     * gesucht, sonst über eine Bereichsabfrage auf {@code start}/{@code end}. Wochentage und Monate
+     * werden über die Bitmasken geprüft ({@code $bitsAnySet} bzw. bitweises UND im Speicher).</p>
+     *
+     * @param from        Beginn des Fensters (inklusive)
+     * @param to          Ende des Fensters (exklusive)
+     * @param match       gesuchte Beziehung
+     * @param weekdayMask Wochentage, von denen mindestens einer gesetzt sein muss (0 = beliebig)
+     * @param monthMask   Monate, von denen mindestens einer gesetzt sein muss (0 = beliebig)
+     * @return die Events, sortiert nach {@code (start, id)}
+     * @throws IllegalArgumentException wenn das Fenster fehlt oder leer ist
+     */
+    public List<Event> findByInterval(Instant from, Instant to, IntervalMatch match,
+                                      int weekdayMask, int monthMask) {
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("Die Parameter 'from' und 'to' sind erforderlich.");
+        }
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("'from' muss vor 'to' liegen.");
+        }
+        if (intervalIndex != null && intervalIndex.isReady()) {
+            return intervalIndex.query(from, to, match, weekdayMask, monthMask);
+        }
+        return repository.findByInterval(from, to, match, weekdayMask, monthMask);
+    }
+
+    /**
+     * Übergibt alle passenden Events einzeln an den Consumer, während sie vom Datenbank-Cursor gelesen werden.
+     * Der Cursor wird in jedem Fall geschlossen.
+     *
+     * @param filter   das {@link FilterDto}-Objekt mit den Filterkriterien
+     * @param consumer Empfänger der Events, z.B. ein JSON-Writer auf den Response-Stream
+     */
+    public void streamEvents(FilterDto filter, Consumer<Event> consumer) {
+        try (Stream<Event> events = repository.streamByFilters(filter)) {
+            events.forEach(consumer);
+        }
     }
 
     /**
@@ -101,6 +580,31 @@ public class EventService {
      * @return eine Liste der gespeicherten Events
      */
     public List<Event> saveAll(List<Event> events) {
-        return repository.saveAll(events);
+        List<Event> saved = repository.saveAll(events);
+        saved.forEach(eventCache::put);
+        queryCache.invalidateAll();
+        publisher.publishEvent(EventsChanged.saved(saved));
+        return saved;
+    }
+
+    /**
+     * Übernimmt die Ergebnisse eines Massenimports in die Caches.
+     * Wird vom {@link BulkIngestService} nach den Bulk-Writes aufgerufen.
+     *
+     * <p>Ersetzte Events werden nur aus dem Cache entfernt, da ihre neue Version erst in MongoDB
+     * vergeben wird (siehe {@link EventRepository#bulkSave}).</p>
+     *
+     * @param saved die erfolgreich geschriebenen Events
+     */
+    void onBulkSaved(List<Event> saved) {
+        saved.forEach(event -> {
+            if (event.getVersion() == null) {
+                eventCache.invalidate(event.getId());
+            } else {
+                eventCache.put(event);
+            }
+        });
+        queryCache.invalidateAll();
+        publisher.publishEvent(EventsChanged.saved(saved));
     }
-}
\ No newline at end of file
+}
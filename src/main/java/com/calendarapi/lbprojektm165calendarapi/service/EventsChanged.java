@@ -0,0 +1,44 @@
+package com.calendarapi.lbprojektm165calendarapi.service;
+
+import com.calendarapi.lbprojektm165calendarapi.model.Event;
+
+import java.util.List;
+
+/**
+ * Benachrichtigung über erfolgreich geschriebene bzw. gelöschte Events.
+ *
+ * <p>Wird von {@link EventService} (und {@link ReactiveEventService}) nach jedem Schreibzugriff als
+ * Spring-Application-Event veröffentlicht. Abgeleitete Strukturen wie die materialisierten Vorkommen
+ * halten sich darüber aktuell, ohne dass der Service sie kennen muss. Listener laufen synchron im
+ * schreibenden Thread.</p>
+ *
+ * @param saved      die gespeicherten Events im neuen Stand
+ * @param deletedIds die IDs der gelöschten Events
+ * @author Arvin
+ */
+public record EventsChanged(List<Event> saved, List<String> deletedIds) {
+
+    /**
+     * @param saved die gespeicherten Events
+     * @return Benachrichtigung über gespeicherte Events
+     */
+    public static EventsChanged saved(List<Event> saved) {
+        return new EventsChanged(List.copyOf(saved), List.of());
+    }
+
+    /**
+     * @param id die ID des gelöschten Events
+     * @return Benachrichtigung über ein gelöschtes Event
+     */
+    public static EventsChanged deleted(String id) {
+        return new EventsChanged(List.of(), List.of(id));
+    }
+
+    /**
+     * @param ids die IDs der gelöschten Events
+     * @return Benachrichtigung über mehrere gelöschte Events
+     */
+    public static EventsChanged deleted(List<String> ids) {
+        return new EventsChanged(List.of(), List.copyOf(ids));
+    }
+}
@@ -0,0 +1,284 @@
+package com.calendarapi.lbprojektm165calendarapi.service;
+
+import com.calendarapi.lbprojektm165calendarapi.dto.BusyIntervalDto;
+import com.calendarapi.lbprojektm165calendarapi.dto.ConflictDto;
+import com.calendarapi.lbprojektm165calendarapi.dto.FilterDto;
+import com.calendarapi.lbprojektm165calendarapi.dto.FreeBusyDto;
+import com.calendarapi.lbprojektm165calendarapi.dto.OccurrenceDto;
+import com.calendarapi.lbprojektm165calendarapi.dto.OccurrenceWindowDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Berechnet belegte Zeiträume und Konflikte für eine Menge von Tags in einem Zeitfenster.
+ *
+ * <p>Die Vorkommen aller passenden Events werden über den {@link OccurrenceService} expandiert
+ * (bei Bedarf aus der materialisierten Collection), auf das Fenster zugeschnitten und in primitive,
+ * nach Beginn sortierte {@code long}-Arrays übertragen. Ein Sweep über diese Arrays mit einem
+ * Min-Heap der aktiven Vorkommen (nach Ende) liefert in {@code O(n log n)}:</p>
+ * <ul>
+ *     <li>belegte Zeiträume: mindestens ein Vorkommen aktiv; aneinandergrenzende werden zusammengeführt,</li>
+ *     <li>Konflikte: mindestens zwei Vorkommen gleichzeitig aktiv, mit den beteiligten Events;
+ *         nahtlos aneinander anschliessende Überschneidungen bilden einen Konflikt.</li>
+ * </ul>
+ *
+ * <p>Zeiträume sind halboffen {@code [start, end)}; ein Vorkommen, das endet, wenn ein anderes beginnt,
+ * ist kein Konflikt. Vorkommen ohne Dauer belegen keine Zeit. Da der {@link OccurrenceService} nur
+ * Vorkommen liefert, die im Fenster beginnen, wird ab {@code from - calendar.freebusy.lookback}
+ * expandiert, damit auch früher begonnene Termine berücksichtigt werden.</p>
+ *
+ * @author Arvin
+ */
+@Service
+public class FreeBusyService {
+
+    /** Reihenfolge beim Zusammenführen mehrerer Tags */
+    private static final Comparator<OccurrenceDto> BY_START = Comparator.comparing(OccurrenceDto::getStart)
+            .thenComparing(OccurrenceDto::getEventId, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    private final OccurrenceService occurrenceService;
+    private final Duration lookback;
+
+    /**
+     * Konstruktor mit Dependency Injection.
+     *
+     * @param occurrenceService Service zur Expansion wiederkehrender Events
+     * @param lookback          wie weit vor dem Fenster begonnene Vorkommen berücksichtigt werden
+     */
+    public FreeBusyService(OccurrenceService occurrenceService,
+                           @Value("${calendar.freebusy.lookback:P1D}") Duration lookback) {
+        this.occurrenceService = occurrenceService;
+        this.lookback = lookback;
+    }
+
+    /**
+     * Berechnet die Frei/Belegt-Auskunft.
+     *
+     * @param tags Tags, deren Events berücksichtigt werden; leer oder {@code null} für alle Events
+     * @param from Beginn des Fensters (inklusive)
+     * @param to   Ende des Fensters (exklusive)
+     * @return belegte Zeiträume und Konflikte im Fenster
+     * @throws IllegalArgumentException wenn das Fenster fehlt oder leer ist
+     */
+    public FreeBusyDto compute(List<String> tags, Instant from, Instant to) {
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("Die Parameter 'from' und 'to' sind erforderlich.");
+        }
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("'from' muss vor 'to' liegen.");
+        }
+        List<String> selected = tags == null ? List.of()
+                : tags.stream().map(String::trim).filter(tag -> !tag.isEmpty()).distinct().toList();
+
+        Instant expandFrom = from.minus(lookback);
+        List<OccurrenceDto> occurrences = new ArrayList<>();
+        boolean truncated = false;
+        if (selected.isEmpty()) {
+            OccurrenceWindowDto window = occurrenceService.expand(new FilterDto(), expandFrom, to, null);
+            occurrences.addAll(window.getOccurrences());
+            truncated = window.isTruncated();
+        } else {
+            // Ein Event mit mehreren der Tags darf nur einmal zählen
+            Set<String> seen = new HashSet<>();
+            for (String tag : selected) {
+                FilterDto filter = new FilterDto();
+                filter.setTag(tag);
+                OccurrenceWindowDto window = occurrenceService.expand(filter, expandFrom, to, null);
+                truncated |= window.isTruncated();
+                for (OccurrenceDto occurrence : window.getOccurrences()) {
+                    if (seen.add(occurrence.getEventId() + '@' + occurrence.getStart().toEpochMilli())) {
+                        occurrences.add(occurrence);
+                    }
+                }
+            }
+            if (selected.size() > 1) {
+                occurrences.sort(BY_START);
+            }
+        }
+
+        Sweep sweep = Sweep.of(occurrences, from.toEpochMilli(), to.toEpochMilli());
+        sweep.run();
+        return FreeBusyDto.builder()
+                .from(from)
+                .to(to)
+                .tags(selected)
+                .occurrences(sweep.size)
+                .truncated(truncated)
+                .busy(sweep.busy)
+                .conflicts(sweep.conflicts)
+                .build();
+    }
+
+    /**
+     * Sweep über die nach Beginn sortierten, auf das Fenster zugeschnittenen Vorkommen.
+     */
+    private static final class Sweep {
+
+        private final long[] starts;
+        private final long[] ends;
+        private final String[] eventIds;
+        private final int size;
+
+        /** Min-Heap der aktiven Vorkommen (Indizes), geordnet nach {@code ends} */
+        private final int[] heap;
+        private int active;
+
+        private final List<BusyIntervalDto> busy = new ArrayList<>();
+        private final List<ConflictDto> conflicts = new ArrayList<>();
+
+        private Sweep(long[] starts, long[] ends, String[] eventIds, int size) {
+            this.starts = starts;
+            this.ends = ends;
+            this.eventIds = eventIds;
+            this.size = size;
+            this.heap = new int[size];
+        }
+
+        /**
+         * Schneidet die Vorkommen auf {@code [from, to)} zu und verwirft solche ohne Dauer im Fenster.
+         * Die Sortierung nach Beginn bleibt dabei erhalten.
+         */
+        static Sweep of(List<OccurrenceDto> occurrences, long from, long to) {
+            int n = occurrences.size();
+            long[] starts = new long[n];
+            long[] ends = new long[n];
+            String[] eventIds = new String[n];
+            int size = 0;
+            for (OccurrenceDto occurrence : occurrences) {
+                long start = Math.max(occurrence.getStart().toEpochMilli(), from);
+                long end = Math.min(occurrence.getEnd().toEpochMilli(), to);
+                if (end > start) {
+                    starts[size] = start;
+                    ends[size] = end;
+                    eventIds[size] = occurrence.getEventId();
+                    size++;
+                }
+            }
+            return new Sweep(starts, ends, eventIds, size);
+        }
+
+        void run() {
+            long busyStart = 0;
+            long busyEnd = Long.MIN_VALUE;
+            long conflictStart = 0;
+            long conflictEnd = Long.MIN_VALUE;
+            boolean inConflict = false;
+            int conflictMax = 0;
+            int[] conflictMembers = new int[0];
+            int conflictSize = 0;
+
+            for (int i = 0; i <= size; i++) {
+                long t = i < size ? starts[i] : Long.MAX_VALUE;
+
+                // Enden vor Beginnen verarbeiten: [a, b) und [b, c) überschneiden sich nicht
+                while (active > 0 && ends[heap[0]] <= t) {
+                    long end = ends[poll()];
+                    if (active == 1 && inConflict) {
+                        inConflict = false;
+                        conflictEnd = end;
+                    } else if (active == 0) {
+                        busyEnd = end;
+                    }
+                }
+                if (i == size) {
+                    break;
+                }
+
+                if (active == 0 && t != busyEnd) {
+                    if (busyEnd != Long.MIN_VALUE) {
+                        busy.add(new BusyIntervalDto(Instant.ofEpochMilli(busyStart), Instant.ofEpochMilli(busyEnd)));
+                    }
+                    busyStart = t;
+                }
+                offer(i);
+
+                if (active == 2 && !inConflict && conflictSize > 0 && t == conflictEnd) {
+                    // Nahtlos anschliessende Überschneidung gehört zum selben Konflikt
+                    inConflict = true;
+                    conflictMembers = append(conflictMembers, conflictSize++, i);
+                } else if (active == 2 && !inConflict) {
+                    if (conflictSize > 0) {
+                        conflicts.add(conflict(conflictStart, conflictEnd, conflictMax, conflictMembers, conflictSize));
+                    }
+                    inConflict = true;
+                    conflictStart = t;
+                    conflictMax = 2;
+                    conflictMembers = Arrays.copyOf(heap, Math.max(conflictMembers.length, 2));
+                    conflictSize = 2;
+                } else if (active > 2) {
+                    conflictMax = Math.max(conflictMax, active);
+                    conflictMembers = append(conflictMembers, conflictSize++, i);
+                }
+            }
+            if (conflictSize > 0) {
+                conflicts.add(conflict(conflictStart, conflictEnd, conflictMax, conflictMembers, conflictSize));
+            }
+            if (busyEnd != Long.MIN_VALUE) {
+                busy.add(new BusyIntervalDto(Instant.ofEpochMilli(busyStart), Instant.ofEpochMilli(busyEnd)));
+            }
+        }
+
+        private static int[] append(int[] members, int position, int index) {
+            int[] target = position < members.length ? members : Arrays.copyOf(members, position * 2);
+            target[position] = index;
+            return target;
+        }
+
+        private ConflictDto conflict(long start, long end, int maxOverlap, int[] members, int count) {
+            // Indizes entsprechen der Reihenfolge des Beginns
+            int[] ordered = Arrays.copyOf(members, count);
+            Arrays.sort(ordered);
+            Set<String> ids = new LinkedHashSet<>();
+            for (int index : ordered) {
+                ids.add(eventIds[index]);
+            }
+            return new ConflictDto(Instant.ofEpochMilli(start), Instant.ofEpochMilli(end),
+                    maxOverlap, List.copyOf(ids));
+        }
+
+        private void offer(int index) {
+            int position = active++;
+            while (position > 0) {
+                int parent = (position - 1) >>> 1;
+                if (ends[heap[parent]] <= ends[index]) {
+                    break;
+                }
+                heap[position] = heap[parent];
+                position = parent;
+            }
+            heap[position] = index;
+        }
+
+        private int poll() {
+            int top = heap[0];
+            int last = heap[--active];
+            int position = 0;
+            while (true) {
+                int child = 2 * position + 1;
+                if (child >= active) {
+                    break;
+                }
+                if (child + 1 < active && ends[heap[child + 1]] < ends[heap[child]]) {
+                    child++;
+                }
+                if (ends[last] <= ends[heap[child]]) {
+                    break;
+                }
+                heap[position] = heap[child];
+                position = child;
+            }
+            heap[position] = last;
+            return top;
+        }
+    }
+}
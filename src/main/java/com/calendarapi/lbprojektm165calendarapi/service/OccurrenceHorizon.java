@@ -0,0 +1,69 @@
+package com.calendarapi.lbprojektm165calendarapi.service;
+
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Set;
+
+/**
+ * Aktuell materialisiertes Zeitfenster der Collection "occurrences".
+ *
+ * <p>Wird vom {@link OccurrenceMaterializer} gesetzt und vom {@link OccurrenceService} gelesen, um zu
+ * entscheiden, ob eine Anfrage aus den materialisierten Vorkommen beantwortet werden kann. Ohne
+ * Materialisierung (oder während eines Neuaufbaus) ist kein Fenster gesetzt.</p>
+ *
+ * @author Arvin
+ */
+@Component
+public class OccurrenceHorizon {
+
+    /** Das materialisierte Fenster oder {@code null} */
+    private volatile Window window;
+
+    /**
+     * Prüft, ob {@code [from, to)} vollständig materialisiert ist.
+     *
+     * @param from Beginn des Fensters (inklusive)
+     * @param to   Ende des Fensters (exklusive)
+     * @return {@code true}, wenn alle Vorkommen im Fenster in der Collection liegen
+     */
+    public boolean covers(Instant from, Instant to) {
+        Window current = window;
+        return current != null
+                && current.overflowed().isEmpty()
+                && !from.isBefore(current.from())
+                && !to.isAfter(current.to());
+    }
+
+    /**
+     * @return das materialisierte Fenster oder {@code null}
+     */
+    public Window current() {
+        return window;
+    }
+
+    /**
+     * @param window das neue materialisierte Fenster
+     */
+    void set(Window window) {
+        this.window = window;
+    }
+
+    /**
+     * Markiert die Materialisierung als nicht verfügbar.
+     */
+    void clear() {
+        this.window = null;
+    }
+
+    /**
+     * Materialisiertes Fenster.
+     *
+     * @param from       Beginn (inklusive)
+     * @param to         Ende (exklusive)
+     * @param overflowed IDs der Events mit mehr als {@code calendar.occurrences.materialize.max-per-event}
+     *                   Vorkommen; solange welche existieren, werden Anfragen live expandiert
+     */
+    public record Window(Instant from, Instant to, Set<String> overflowed) {
+    }
+}
@@ -0,0 +1,273 @@
+package com.calendarapi.lbprojektm165calendarapi.service;
+
+import com.calendarapi.lbprojektm165calendarapi.dto.FilterDto;
+import com.calendarapi.lbprojektm165calendarapi.dto.OccurrenceDto;
+import com.calendarapi.lbprojektm165calendarapi.dto.OccurrenceWindowDto;
+import com.calendarapi.lbprojektm165calendarapi.model.Event;
+import com.calendarapi.lbprojektm165calendarapi.model.Occurrence;
+import com.calendarapi.lbprojektm165calendarapi.repository.EventRepository;
+import com.calendarapi.lbprojektm165calendarapi.repository.OccurrenceRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Hält die Collection "occurrences" mit einem Dokument pro konkretem Vorkommen aktuell.
+ *
+ * <p>Materialisiert wird das rollende Fenster {@code [jetzt - retention, jetzt + horizon + refresh)}:</p>
+ * <ul>
+ *     <li>Beim Start wird die Collection vollständig neu aufgebaut (Events können sich geändert haben,
+ *     während die Anwendung nicht lief).</li>
+ *     <li>Alle {@code calendar.occurrences.materialize.refresh} wird das Fenster nach vorne erweitert
+ *     (nur der neue Abschnitt wird expandiert) und vergangene Vorkommen werden entfernt.</li>
+ *     <li>Nach jedem Schreibzugriff ({@link EventsChanged}) werden nur die Vorkommen der betroffenen
+ *     Events ersetzt. Die Events werden dafür unter der Sperre neu gelesen, statt den Stand aus der
+ *     Benachrichtigung zu übernehmen: Listener verschiedener Schreibzugriffe können in anderer
+ *     Reihenfolge laufen, als geschrieben wurde.</li>
+ * </ul>
+ *
+ * <p>Alle Änderungen an der Collection laufen unter einer Sperre, damit Erweiterung und Einzel-Updates
+ * sich nicht überschneiden. Events mit mehr als {@code max-per-event} Vorkommen im Fenster werden
+ * nicht vollständig materialisiert; solange es solche gibt, beantwortet der {@link OccurrenceService}
+ * Anfragen per Live-Expansion.</p>
+ *
+ * <p>Aktiv mit {@code calendar.occurrences.materialize.enabled=true}.</p>
+ *
+ * @author Arvin
+ */
+@Service
+@ConditionalOnProperty(name = "calendar.occurrences.materialize.enabled", havingValue = "true")
+public class OccurrenceMaterializer {
+
+    /** Logger für Neuaufbau und Erweiterung */
+    private static final Logger logger = LoggerFactory.getLogger(OccurrenceMaterializer.class);
+
+    private final EventRepository eventRepository;
+    private final OccurrenceRepository occurrenceRepository;
+    private final OccurrenceService occurrenceService;
+    private final OccurrenceHorizon horizon;
+    private final Duration horizonLength;
+    private final Duration retention;
+    private final Duration refresh;
+    private final int maxPerEvent;
+    private final int batchSize;
+
+    /** Serialisiert alle Änderungen an der Collection (keine Pinning-Gefahr für virtuelle Threads) */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * Konstruktor mit Dependency Injection.
+     *
+     * @param eventRepository      Quelle der Events
+     * @param occurrenceRepository Ziel-Collection
+     * @param occurrenceService    Expansion einzelner Events
+     * @param horizon              veröffentlicht das materialisierte Fenster
+     * @param horizonLength        wie weit in die Zukunft materialisiert wird
+     * @param retention            wie lange vergangene Vorkommen erhalten bleiben
+     * @param refresh              Abstand der Erweiterungen
+     * @param maxPerEvent          maximale Anzahl Vorkommen pro Event und Abschnitt
+     * @param batchSize            Vorkommen pro Bulk-Insert
+     */
+    public OccurrenceMaterializer(EventRepository eventRepository,
+                                  OccurrenceRepository occurrenceRepository,
+                                  OccurrenceService occurrenceService,
+                                  OccurrenceHorizon horizon,
+                                  @Value("${calendar.occurrences.materialize.horizon:P31D}") Duration horizonLength,
+                                  @Value("${calendar.occurrences.materialize.retention:P1D}") Duration retention,
+                                  @Value("${calendar.occurrences.materialize.refresh:PT1H}") Duration refresh,
+                                  @Value("${calendar.occurrences.materialize.max-per-event:5000}") int maxPerEvent,
+                                  @Value("${calendar.occurrences.materialize.batch-size:1000}") int batchSize) {
+        this.eventRepository = eventRepository;
+        this.occurrenceRepository = occurrenceRepository;
+        this.occurrenceService = occurrenceService;
+        this.horizon = horizon;
+        this.horizonLength = horizonLength;
+        this.retention = retention;
+        this.refresh = refresh;
+        this.maxPerEvent = maxPerEvent;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Baut die Collection beim Start neu auf.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    /**
+     * Erweitert das Fenster periodisch; ohne bestehendes Fenster wird neu aufgebaut.
+     */
+    @Scheduled(fixedDelayString = "${calendar.occurrences.materialize.refresh:PT1H}",
+            initialDelayString = "${calendar.occurrences.materialize.refresh:PT1H}")
+    public void refresh() {
+        lock.lock();
+        try {
+            OccurrenceHorizon.Window current = horizon.current();
+            if (current == null) {
+                rebuildLocked();
+                return;
+            }
+            Instant from = windowFrom();
+            Instant to = windowTo();
+            Set<String> overflowed = new HashSet<>(current.overflowed());
+
+            long inserted = 0;
+            if (to.isAfter(current.to())) {
+                inserted = materializeAll(current.to(), to, overflowed);
+            } else {
+                to = current.to();
+            }
+            long removed = 0;
+            if (from.isAfter(current.from())) {
+                removed = occurrenceRepository.deleteStartingBefore(from);
+            } else {
+                from = current.from();
+            }
+            horizon.set(new OccurrenceHorizon.Window(from, to, Set.copyOf(overflowed)));
+            logger.debug("Vorkommen materialisiert bis {}: {} neu, {} entfernt", to, inserted, removed);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Verwirft alle materialisierten Vorkommen und baut das Fenster neu auf.
+     */
+    public void rebuild() {
+        lock.lock();
+        try {
+            rebuildLocked();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Ersetzt die Vorkommen der geänderten Events innerhalb des materialisierten Fensters. Expandiert
+     * wird der aktuell gespeicherte Stand; nicht mehr vorhandene Events werden nur entfernt.
+     *
+     * @param change die gespeicherten bzw. gelöschten Events (verwendet werden nur die IDs)
+     */
+    @EventListener
+    public void onEventsChanged(EventsChanged change) {
+        if (change.saved().isEmpty() && change.deletedIds().isEmpty()) {
+            return;
+        }
+        lock.lock();
+        try {
+            OccurrenceHorizon.Window current = horizon.current();
+            if (current == null) {
+                // Noch kein Fenster: der laufende bzw. nächste Neuaufbau liest den neuen Stand
+                return;
+            }
+            Set<String> ids = new HashSet<>(change.deletedIds());
+            change.saved().forEach(event -> ids.add(event.getId()));
+            occurrenceRepository.deleteByEventIds(ids);
+
+            Set<String> overflowed = new HashSet<>(current.overflowed());
+            overflowed.removeAll(ids);
+            List<Occurrence> batch = new ArrayList<>();
+            for (Event event : eventRepository.findAllById(ids)) {
+                batch.addAll(expand(event, current.from(), current.to(), overflowed));
+                if (batch.size() >= batchSize) {
+                    occurrenceRepository.insertAll(batch);
+                    batch.clear();
+                }
+            }
+            occurrenceRepository.insertAll(batch);
+
+            if (!overflowed.equals(current.overflowed())) {
+                horizon.set(new OccurrenceHorizon.Window(current.from(), current.to(), Set.copyOf(overflowed)));
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void rebuildLocked() {
+        long begin = System.nanoTime();
+        horizon.clear();
+        occurrenceRepository.deleteAll();
+
+        Instant from = windowFrom();
+        Instant to = windowTo();
+        Set<String> overflowed = new HashSet<>();
+        long inserted = materializeAll(from, to, overflowed);
+        horizon.set(new OccurrenceHorizon.Window(from, to, Set.copyOf(overflowed)));
+
+        logger.info("Vorkommen für [{}, {}) materialisiert: {} Dokumente in {} ms{}",
+                from, to, inserted, Duration.ofNanos(System.nanoTime() - begin).toMillis(),
+                overflowed.isEmpty() ? "" : ", unvollständig für Events " + overflowed);
+    }
+
+    /**
+     * Expandiert alle Events, deren Serie vor {@code to} beginnt, in {@code [from, to)}.
+     *
+     * @return Anzahl eingefügter Vorkommen
+     */
+    private long materializeAll(Instant from, Instant to, Set<String> overflowed) {
+        FilterDto filter = new FilterDto();
+        filter.setTo(to.toString());
+
+        long inserted = 0;
+        List<Occurrence> batch = new ArrayList<>(batchSize);
+        try (Stream<Event> events = eventRepository.streamByFilters(filter)) {
+            for (Event event : (Iterable<Event>) events::iterator) {
+                batch.addAll(expand(event, from, to, overflowed));
+                if (batch.size() >= batchSize) {
+                    occurrenceRepository.insertAll(batch);
+                    inserted += batch.size();
+                    batch.clear();
+                }
+            }
+        }
+        occurrenceRepository.insertAll(batch);
+        return inserted + batch.size();
+    }
+
+    /**
+     * Expandiert ein einzelnes Event in {@code [from, to)}.
+     */
+    private List<Occurrence> expand(Event event, Instant from, Instant to, Set<String> overflowed) {
+        OccurrenceWindowDto window = occurrenceService.expand(List.of(event), from, to, maxPerEvent);
+        if (window.isTruncated()) {
+            overflowed.add(event.getId());
+        }
+        List<Occurrence> occurrences = new ArrayList<>(window.getOccurrences().size());
+        for (OccurrenceDto dto : window.getOccurrences()) {
+            occurrences.add(Occurrence.builder()
+                    .eventId(dto.getEventId())
+                    .title(dto.getTitle())
+                    .start(dto.getStart())
+                    .end(dto.getEnd())
+                    .tags(dto.getTags())
+                    .build());
+        }
+        return occurrences;
+    }
+
+    private Instant windowFrom() {
+        return Instant.now().minus(retention).truncatedTo(ChronoUnit.SECONDS);
+    }
+
+    private Instant windowTo() {
+        return Instant.now().plus(horizonLength).plus(refresh).truncatedTo(ChronoUnit.SECONDS);
+    }
+}
@@ -0,0 +1,418 @@
+package com.calendarapi.lbprojektm165calendarapi.service;
+
+import com.calendarapi.lbprojektm165calendarapi.cron.CompiledCron;
+import com.calendarapi.lbprojektm165calendarapi.cron.CronCache;
+import com.calendarapi.lbprojektm165calendarapi.dto.FilterDto;
+import com.calendarapi.lbprojektm165calendarapi.dto.OccurrenceDto;
+import com.calendarapi.lbprojektm165calendarapi.dto.OccurrenceWindowDto;
+import com.calendarapi.lbprojektm165calendarapi.model.Event;
+import com.calendarapi.lbprojektm165calendarapi.model.Occurrence;
+import com.calendarapi.lbprojektm165calendarapi.repository.EventRepository;
+import com.calendarapi.lbprojektm165calendarapi.repository.OccurrenceRepository;
+import com.cronutils.model.time.ExecutionTime;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * Expandiert wiederkehrende Events (Quartz-Cron) in konkrete Vorkommen innerhalb eines Zeitfensters.
+ *
+ * <p>Die Ausführungszeitpunkte werden inkrementell über {@link ExecutionTime#nextExecution(ZonedDateTime)}
+ * berechnet. Pro Event wird nur das jeweils nächste Vorkommen gehalten; ein k-Wege-Merge über eine
+ * {@link PriorityQueue} liefert die Vorkommen aller Events global nach Startzeit sortiert.
+ * Der Speicherbedarf ist dadurch durch {@code Anzahl Events + Limit} begrenzt, unabhängig davon,
+ * wie breit das Fenster ist.</p>
+ *
+ * <p>Liegt das angefragte Fenster im materialisierten Horizont ({@link OccurrenceMaterializer}) und
+ * filtert die Anfrage höchstens nach Tag und Titel, werden die Vorkommen direkt per Index-Scan aus der
+ * Collection "occurrences" gelesen; die Expansion entfällt.</p>
+ *
+ * <p>Ab {@code calendar.occurrences.parallel-threshold} Events wird die Liste in Partitionen zu
+ * {@code calendar.occurrences.partition-size} Events aufgeteilt. Jede Partition wird auf dem
+ * {@code occurrenceExecutor} unabhängig expandiert (höchstens {@code Limit} Vorkommen), die sortierten
+ * Teilergebnisse werden anschliessend zusammengeführt. Das Ergebnis ist identisch mit der sequentiellen
+ * Expansion.</p>
+ *
+ * <p>Regeln:</p>
+ * <ul>
+ *     <li>Ein Vorkommen liegt im Fenster, wenn sein Beginn in {@code [from, to)} liegt.</li>
+ *     <li>Eine Serie beginnt frühestens beim {@code start} des Events.</li>
+ *     <li>Die Dauer eines Vorkommens entspricht {@code end - start} des Events.</li>
+ *     <li>Events ohne (gültiges) Cron-Pattern liefern genau ein Vorkommen.</li>
+ * </ul>
+ *
+ * @author Arvin
+ */
+@Service
+public class OccurrenceService {
+
+    /** Logger für Debugging und Fehlerdiagnose */
+    private static final Logger logger = LoggerFactory.getLogger(OccurrenceService.class);
+
+    /** Zugriff auf die Datenbank für Event-Entitäten */
+    private final EventRepository repository;
+
+    /** Materialisierte Vorkommen */
+    private final OccurrenceRepository occurrenceRepository;
+
+    /** Aktuell materialisiertes Fenster */
+    private final OccurrenceHorizon horizon;
+
+    /** Gemeinsamer Cache für geparste Quartz-Cron-Ausdrücke */
+    private final CronCache cronCache;
+
+    /** Harte Obergrenze für die Anzahl Vorkommen pro Anfrage */
+    private final int maxResults;
+
+    /** Executor für die Expansion einzelner Partitionen */
+    private final Executor executor;
+
+    /** Anzahl Events, ab der partitioniert expandiert wird */
+    private final int parallelThreshold;
+
+    /** Anzahl Events pro Partition */
+    private final int partitionSize;
+
+    /** Reihenfolge der Vorkommen: Startzeit, dann Event-ID */
+    private static final Comparator<OccurrenceDto> OCCURRENCE_ORDER =
+            Comparator.comparing(OccurrenceDto::getStart)
+                    .thenComparing(OccurrenceDto::getEventId, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    /**
+     * Konstruktor mit Dependency Injection.
+     *
+     * @param repository           die Repository-Instanz zum Zugriff auf Event-Daten
+     * @param occurrenceRepository materialisierte Vorkommen
+     * @param horizon              aktuell materialisiertes Fenster
+     * @param cronCache            gemeinsamer Cache für geparste Cron-Ausdrücke
+     * @param maxResults           maximale Anzahl Vorkommen pro Anfrage ({@code calendar.occurrences.max-results})
+     * @param executor             Executor für die parallele Expansion
+     * @param parallelThreshold    Anzahl Events, ab der partitioniert wird
+     * @param partitionSize        Anzahl Events pro Partition
+     */
+    @Autowired
+    public OccurrenceService(EventRepository repository,
+                             OccurrenceRepository occurrenceRepository,
+                             OccurrenceHorizon horizon,
+                             CronCache cronCache,
+                             @Value("${calendar.occurrences.max-results:10000}") int maxResults,
+                             @Qualifier("occurrenceExecutor") Executor executor,
+                             @Value("${calendar.occurrences.parallel-threshold:2000}") int parallelThreshold,
+                             @Value("${calendar.occurrences.partition-size:500}") int partitionSize) {
+        if (partitionSize < 1) {
+            throw new IllegalArgumentException("calendar.occurrences.partition-size muss mindestens 1 sein");
+        }
+        this.repository = repository;
+        this.occurrenceRepository = occurrenceRepository;
+        this.horizon = horizon;
+        this.cronCache = cronCache;
+        this.maxResults = maxResults;
+        this.executor = executor;
+        this.parallelThreshold = parallelThreshold;
+        this.partitionSize = partitionSize;
+    }
+
+    /**
+     * Liefert alle Vorkommen der zum Filter passenden Events im Fenster {@code [from, to)}.
+     *
+     * <p>Die Zeitfilter {@code from}/{@code to} des {@link FilterDto} werden für die Abfrage durch das
+     * Fenster ersetzt, ohne den übergebenen Filter zu verändern: Es werden nur Events geladen, deren
+     * Serie vor dem Fensterende beginnt.</p>
+     *
+     * @param filter Filterkriterien auf Event-Ebene (Tag, Titel, Wochentag, Monat)
+     * @param from   Beginn des Fensters (inklusive)
+     * @param to     Ende des Fensters (exklusive)
+     * @param limit  optionales Limit; wird auf {@code calendar.occurrences.max-results} begrenzt
+     * @return die Vorkommen, aufsteigend nach Startzeit sortiert
+     * @throws IllegalArgumentException wenn das Fenster fehlt oder leer ist
+     */
+    public OccurrenceWindowDto expand(FilterDto filter, Instant from, Instant to, Integer limit) {
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("Die Parameter 'from' und 'to' sind erforderlich.");
+        }
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("'from' muss vor 'to' liegen.");
+        }
+        int cap = (limit == null || limit <= 0) ? maxResults : Math.min(limit, maxResults);
+
+        if (isMaterializable(filter) && horizon.covers(from, to)) {
+            return readMaterialized(filter, from, to, cap);
+        }
+
+        // Nur Serien laden, die vor dem Fensterende beginnen
+        List<Event> events = repository.findByFilters(filter.withTimeRange(null, to));
+
+        return expand(events, from, to, cap);
+    }
+
+    /**
+     * Nur Filter auf Felder, die auch an den materialisierten Vorkommen stehen, können dort
+     * beantwortet werden.
+     */
+    private static boolean isMaterializable(FilterDto filter) {
+        return filter.getWeekday() == null && filter.getMonth() == null
+                && filter.getDateFrom() == null && filter.getDateTo() == null;
+    }
+
+    /**
+     * Liest die Vorkommen aus der Collection "occurrences".
+     */
+    private OccurrenceWindowDto readMaterialized(FilterDto filter, Instant from, Instant to, int cap) {
+        List<Occurrence> rows = occurrenceRepository.findInWindow(
+                from, to, filter.getTag(), filter.getTitleContains(), cap + 1);
+        List<OccurrenceDto> occurrences = new ArrayList<>(Math.min(rows.size(), cap));
+        for (Occurrence row : rows.subList(0, Math.min(rows.size(), cap))) {
+            occurrences.add(OccurrenceDto.builder()
+                    .eventId(row.getEventId())
+                    .title(row.getTitle())
+                    .start(row.getStart())
+                    .end(row.getEnd())
+                    .tags(row.getTags())
+                    .build());
+        }
+        return OccurrenceWindowDto.builder()
+                .from(from)
+                .to(to)
+                .count(occurrences.size())
+                .truncated(rows.size() > cap)
+                .occurrences(occurrences)
+                .build();
+    }
+
+    /**
+     * Expandiert die übergebenen Events im Fenster {@code [from, to)}.
+     *
+     * @param events die zu expandierenden Events
+     * @param from   Beginn des Fensters (inklusive)
+     * @param to     Ende des Fensters (exklusive)
+     * @param cap    maximale Anzahl zurückgegebener Vorkommen
+     * @return die frühesten {@code cap} Vorkommen, aufsteigend nach Startzeit sortiert
+     */
+    OccurrenceWindowDto expand(List<Event> events, Instant from, Instant to, int cap) {
+        if (events.size() < parallelThreshold || events.size() <= partitionSize) {
+            return expandSequential(events, from, to, cap);
+        }
+
+        List<CompletableFuture<OccurrenceWindowDto>> partitions = new ArrayList<>();
+        for (int offset = 0; offset < events.size(); offset += partitionSize) {
+            List<Event> partition = events.subList(offset, Math.min(offset + partitionSize, events.size()));
+            partitions.add(CompletableFuture.supplyAsync(() -> expandSequential(partition, from, to, cap), executor));
+        }
+
+        List<OccurrenceWindowDto> results = new ArrayList<>(partitions.size());
+        try {
+            partitions.forEach(partition -> results.add(partition.join()));
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+        return merge(results, from, to, cap);
+    }
+
+    /**
+     * Führt die sortierten Teilergebnisse der Partitionen zu den frühesten {@code cap} Vorkommen zusammen.
+     */
+    private static OccurrenceWindowDto merge(List<OccurrenceWindowDto> results, Instant from, Instant to, int cap) {
+        PriorityQueue<PartitionCursor> queue = new PriorityQueue<>(results.size(),
+                (a, b) -> OCCURRENCE_ORDER.compare(a.current(), b.current()));
+        int available = 0;
+        boolean truncated = false;
+        for (OccurrenceWindowDto result : results) {
+            available += result.getOccurrences().size();
+            truncated |= result.isTruncated();
+            if (!result.getOccurrences().isEmpty()) {
+                queue.add(new PartitionCursor(result.getOccurrences()));
+            }
+        }
+
+        List<OccurrenceDto> occurrences = new ArrayList<>(Math.min(cap, available));
+        while (!queue.isEmpty() && occurrences.size() < cap) {
+            PartitionCursor cursor = queue.poll();
+            occurrences.add(cursor.current());
+            if (cursor.advance()) {
+                queue.add(cursor);
+            }
+        }
+
+        return OccurrenceWindowDto.builder()
+                .from(from)
+                .to(to)
+                .count(occurrences.size())
+                .truncated(truncated || available > occurrences.size())
+                .occurrences(occurrences)
+                .build();
+    }
+
+    /**
+     * Expandiert die Events im aufrufenden Thread (k-Wege-Merge über alle Serien).
+     */
+    private OccurrenceWindowDto expandSequential(List<Event> events, Instant from, Instant to, int cap) {
+        PriorityQueue<SeriesCursor> queue = new PriorityQueue<>(
+                Math.max(1, events.size()),
+                Comparator.comparing((SeriesCursor c) -> c.next)
+                        .thenComparing(c -> c.event.getId(), Comparator.nullsFirst(Comparator.naturalOrder()))
+        );
+
+        for (Event event : events) {
+            SeriesCursor cursor = openCursor(event, from, to);
+            if (cursor != null) {
+                queue.add(cursor);
+            }
+        }
+
+        List<OccurrenceDto> occurrences = new ArrayList<>(Math.min(cap, 1024));
+        while (!queue.isEmpty() && occurrences.size() < cap) {
+            SeriesCursor cursor = queue.poll();
+            occurrences.add(cursor.toOccurrence());
+            if (cursor.advance(to)) {
+                queue.add(cursor);
+            }
+        }
+
+        return OccurrenceWindowDto.builder()
+                .from(from)
+                .to(to)
+                .count(occurrences.size())
+                .truncated(!queue.isEmpty())
+                .occurrences(occurrences)
+                .build();
+    }
+
+    /**
+     * Erstellt den Cursor für ein Event und positioniert ihn auf das erste Vorkommen im Fenster.
+     *
+     * @return der Cursor oder {@code null}, wenn das Event im Fenster kein Vorkommen hat
+     */
+    private SeriesCursor openCursor(Event event, Instant from, Instant to) {
+        if (event.getStart() == null) {
+            return null;
+        }
+        Duration duration = (event.getEnd() != null && !event.getEnd().isBefore(event.getStart()))
+                ? Duration.between(event.getStart(), event.getEnd())
+                : Duration.ZERO;
+
+        ExecutionTime executionTime = executionTimeOf(event);
+        if (executionTime == null) {
+            // Einmaliges Event: genau ein Vorkommen, falls der Beginn im Fenster liegt
+            Instant start = event.getStart();
+            if (start.isBefore(from) || !start.isBefore(to)) {
+                return null;
+            }
+            return new SeriesCursor(event, null, duration, start);
+        }
+
+        Instant anchor = event.getStart().isAfter(from) ? event.getStart() : from;
+        // nextExecution liefert strikt spätere Zeitpunkte, daher eine Sekunde vor dem Anker beginnen
+        Optional<ZonedDateTime> first = executionTime.nextExecution(anchor.minusSeconds(1).atZone(ZoneOffset.UTC));
+        while (first.isPresent() && first.get().toInstant().isBefore(anchor)) {
+            first = executionTime.nextExecution(first.get());
+        }
+        if (first.isEmpty() || !first.get().toInstant().isBefore(to)) {
+            return null;
+        }
+        return new SeriesCursor(event, executionTime, duration, first.get().toInstant());
+    }
+
+    /**
+     * Liefert die (gecachte) Ausführungszeiten-Berechnung für das Cron-Pattern eines Events.
+     *
+     * @return die {@link ExecutionTime} oder {@code null} bei fehlendem bzw. ungültigem Pattern
+     */
+    private ExecutionTime executionTimeOf(Event event) {
+        String cron = event.getCron();
+        if (cron == null || cron.isBlank()) {
+            return null;
+        }
+        CompiledCron compiled = cronCache.compile(cron);
+        if (!compiled.isValid()) {
+            logger.debug("Event '{}' hat ein ungültiges Cron-Pattern '{}', wird als Einzeltermin behandelt",
+                    event.getId(), cron);
+            return null;
+        }
+        return compiled.getExecutionTime();
+    }
+
+    /**
+     * Position in der sortierten Vorkommensliste einer Partition.
+     */
+    private static final class PartitionCursor {
+
+        private final List<OccurrenceDto> occurrences;
+        private int position;
+
+        PartitionCursor(List<OccurrenceDto> occurrences) {
+            this.occurrences = occurrences;
+        }
+
+        OccurrenceDto current() {
+            return occurrences.get(position);
+        }
+
+        boolean advance() {
+            return ++position < occurrences.size();
+        }
+    }
+
+    /**
+     * Zustand der Expansion eines einzelnen Events: hält nur das nächste Vorkommen.
+     */
+    private static final class SeriesCursor {
+
+        private final Event event;
+        private final ExecutionTime executionTime;
+        private final Duration duration;
+        private Instant next;
+
+        SeriesCursor(Event event, ExecutionTime executionTime, Duration duration, Instant first) {
+            this.event = event;
+            this.executionTime = executionTime;
+            this.duration = duration;
+            this.next = first;
+        }
+
+        OccurrenceDto toOccurrence() {
+            return OccurrenceDto.builder()
+                    .eventId(event.getId())
+                    .title(event.getTitle())
+                    .start(next)
+                    .end(next.plus(duration))
+                    .tags(event.getTags())
+                    .build();
+        }
+
+        /**
+         * Rückt auf das nächste Vorkommen vor.
+         *
+         * @return {@code true}, wenn ein weiteres Vorkommen vor {@code to} existiert
+         */
+        boolean advance(Instant to) {
+            if (executionTime == null) {
+                return false;
+            }
+            Optional<ZonedDateTime> following = executionTime.nextExecution(next.atZone(ZoneOffset.UTC));
+            if (following.isEmpty() || !following.get().toInstant().isBefore(to)) {
+                return false;
+            }
+            next = following.get().toInstant();
+            return true;
+        }
+    }
+}
@@ -0,0 +1,426 @@
+package com.calendarapi.lbprojektm165calendarapi.service;
+
+import com.calendarapi.lbprojektm165calendarapi.dto.BulkChangeDto;
+import com.calendarapi.lbprojektm165calendarapi.dto.CountGroup;
+import com.calendarapi.lbprojektm165calendarapi.dto.EventChangesDto;
+import com.calendarapi.lbprojektm165calendarapi.dto.EventCountsDto;
+import com.calendarapi.lbprojektm165calendarapi.dto.EventPageDto;
+import com.calendarapi.lbprojektm165calendarapi.dto.EventPatch;
+import com.calendarapi.lbprojektm165calendarapi.dto.EventProjection;
+import com.calendarapi.lbprojektm165calendarapi.dto.EventVersion;
+import com.calendarapi.lbprojektm165calendarapi.dto.FilterDto;
+import com.calendarapi.lbprojektm165calendarapi.dto.IntervalMatch;
+import com.calendarapi.lbprojektm165calendarapi.dto.PageCursor;
+import com.calendarapi.lbprojektm165calendarapi.dto.SearchPageDto;
+import com.calendarapi.lbprojektm165calendarapi.dto.SyncToken;
+import com.calendarapi.lbprojektm165calendarapi.dto.TimeBucket;
+import com.calendarapi.lbprojektm165calendarapi.exception.EventNotFoundException;
+import com.calendarapi.lbprojektm165calendarapi.exception.PreconditionFailedException;
+import com.calendarapi.lbprojektm165calendarapi.model.Event;
+import com.calendarapi.lbprojektm165calendarapi.model.EventTombstone;
+import com.calendarapi.lbprojektm165calendarapi.repository.ReactiveEventRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reaktive Variante des {@link EventService} für das Profil {@code reactive}.
+ *
+ * <p>Alle Methoden sind nicht-blockierend. Fehler werden wie im {@link EventService} als
+ * {@link IllegalArgumentException} signalisiert und vom {@code RestExceptionHandler} auf HTTP 400 abgebildet.
+ * Die In-Process-Caches des blockierenden Stacks werden nicht verwendet; die Schreibpfade
+ * invalidieren sie dennoch, damit parallel genutzte blockierende Pfade (Bulk-Import, Vorkommen)
+ * keine veralteten Stände liefern. {@link EventsChanged} wird wie im {@link EventService} veröffentlicht;
+ * da die Listener blockierend arbeiten, geschieht das auf dem {@code boundedElastic}-Scheduler.</p>
+ *
+ * @author Arvin
+ */
+@Service
+@Profile("reactive")
+public class ReactiveEventService {
+
+    private final ReactiveEventRepository repository;
+    private final EventCache eventCache;
+    private final EventQueryCache queryCache;
+    private final ApplicationEventPublisher publisher;
+
+    /** Seitengröße, wenn kein Limit angegeben wird */
+    @Value("${calendar.pagination.default-limit:50}")
+    private int defaultPageLimit = 50;
+
+    /** Obergrenze für die Seitengröße */
+    @Value("${calendar.pagination.max-limit:500}")
+    private int maxPageLimit = 500;
+
+    /** Maximale Anzahl übersprungener Treffer der Volltextsuche */
+    @Value("${calendar.search.max-offset:1000}")
+    private int maxSearchOffset = 1000;
+
+    /** Aufbewahrung der Löschvermerke */
+    @Value("${calendar.sync.tombstone-retention:P30D}")
+    private Duration tombstoneRetention = Duration.ofDays(30);
+
+    /** Verzögerung der Delta-Synchronisation */
+    @Value("${calendar.sync.settle:PT2S}")
+    private Duration syncSettle = Duration.ofSeconds(2);
+
+    /** Höchstzahl der Events, die eine Massenänderung per Filter betreffen darf */
+    @Value("${calendar.bulk.filter.max-affected:1000}")
+    private int maxBulkAffected = 1000;
+
+    /** Optionaler In-Process-Intervall-Index (nicht-blockierend abfragbar) */
+    @Autowired(required = false)
+    private EventIntervalIndex intervalIndex;
+
+    /**
+     * Konstruktor mit Dependency Injection.
+     *
+     * @param repository reaktives Repository
+     * @param eventCache Cache des blockierenden Stacks (wird bei Schreibzugriffen aktualisiert)
+     * @param queryCache Abfrage-Cache des blockierenden Stacks (wird bei Schreibzugriffen invalidiert)
+     * @param publisher  Publisher für {@link EventsChanged}
+     */
+    public ReactiveEventService(ReactiveEventRepository repository, EventCache eventCache, EventQueryCache queryCache,
+                                ApplicationEventPublisher publisher) {
+        this.repository = repository;
+        this.eventCache = eventCache;
+        this.queryCache = queryCache;
+        this.publisher = publisher;
+    }
+
+    /**
+     * @param event das zu speichernde Event
+     * @return das gespeicherte Event mit generierter ID
+     */
+    public Mono<Event> createEvent(Event event) {
+        return repository.save(event).publishOn(Schedulers.boundedElastic()).doOnNext(this::afterWrite);
+    }
+
+    /**
+     * @param event das zu aktualisierende Event (mit ID)
+     * @return das aktualisierte Event
+     */
+    public Mono<Event> updateEvent(Event event) {
+        return updateEvent(event, null);
+    }
+
+    /**
+     * Aktualisiert ein bestehendes Event (siehe {@link EventService#updateEvent(Event, EventVersion)}).
+     *
+     * @param event    das zu aktualisierende Event (mit ID)
+     * @param expected erwarteter Stand aus {@code If-Match} oder {@code null}
+     * @return das aktualisierte Event oder ein Fehler-Signal mit {@link EventNotFoundException} bzw.
+     * {@link PreconditionFailedException}
+     */
+    public Mono<Event> updateEvent(Event event, EventVersion expected) {
+        return repository.findVersionById(event.getId())
+                .switchIfEmpty(Mono.error(() -> expected == null
+                        ? new EventNotFoundException(event.getId()) : changed(event.getId())))
+                .flatMap(stored -> {
+                    if (expected != null && !expected.matches(stored)) {
+                        return Mono.error(changed(event.getId()));
+                    }
+                    if (expected != null || event.getVersion() == null) {
+                        event.setVersion(stored.version());
+                    }
+                    Mono<Event> saved = repository.save(event);
+                    return expected == null ? saved
+                            : saved.onErrorMap(OptimisticLockingFailureException.class, e -> changed(event.getId()));
+                })
+                .publishOn(Schedulers.boundedElastic()).doOnNext(this::afterWrite);
+    }
+
+    /**
+     * Ändert einzelne Felder eines Events (siehe {@link EventService#patchEvent(String, EventPatch, EventVersion)}).
+     *
+     * @param id       die ID des Events
+     * @param patch    die Änderungen
+     * @param expected erwarteter Stand aus {@code If-Match} oder {@code null}
+     * @return das geänderte Event oder ein Fehler-Signal mit {@link EventNotFoundException} bzw.
+     * {@link PreconditionFailedException}
+     */
+    public Mono<Event> patchEvent(String id, EventPatch patch, EventVersion expected) {
+        return repository.patch(id, patch, expected, Instant.now())
+                .switchIfEmpty(Mono.error(() -> expected == null ? new EventNotFoundException(id) : changed(id)))
+                .publishOn(Schedulers.boundedElastic()).doOnNext(this::afterWrite);
+    }
+
+    /**
+     * Wendet einen Patch auf alle passenden Events an (siehe {@link EventService#patchByFilter}).
+     *
+     * @param filter die Filterkriterien (mindestens eines muss gesetzt sein)
+     * @param patch  die Änderungen
+     * @param dryRun {@code true}, um nur die betroffenen Events zu ermitteln
+     * @param max    Höchstzahl betroffener Events oder {@code null}
+     * @return Anzahl passender und geänderter Events
+     */
+    public Mono<BulkChangeDto> patchByFilter(FilterDto filter, EventPatch patch, boolean dryRun, Integer max) {
+        return Mono.defer(() -> {
+            int limit = EventService.checkBulkLimit(filter, max, maxBulkAffected);
+            return repository.findIdsByFilters(filter, limit + 1).flatMap(ids -> {
+                if (dryRun) {
+                    return preview(filter, ids, limit);
+                }
+                EventService.requireWithinLimit(ids, limit);
+                if (ids.isEmpty()) {
+                    return Mono.just(BulkChangeDto.builder().max(limit).ids(ids).build());
+                }
+                return repository.patchAll(filter, ids, patch, Instant.now())
+                        .publishOn(Schedulers.boundedElastic())
+                        .map(saved -> {
+                            saved.forEach(eventCache::put);
+                            queryCache.invalidateAll();
+                            publisher.publishEvent(EventsChanged.saved(saved));
+                            return BulkChangeDto.builder()
+                                    .matched(ids.size()).affected(saved.size()).max(limit).ids(ids).build();
+                        });
+            });
+        });
+    }
+
+    /**
+     * Löscht alle passenden Events (siehe {@link EventService#deleteByFilter}).
+     *
+     * @param filter die Filterkriterien (mindestens eines muss gesetzt sein)
+     * @param dryRun {@code true}, um nur die betroffenen Events zu ermitteln
+     * @param max    Höchstzahl betroffener Events oder {@code null}
+     * @return Anzahl passender und gelöschter Events
+     */
+    public Mono<BulkChangeDto> deleteByFilter(FilterDto filter, boolean dryRun, Integer max) {
+        return Mono.defer(() -> {
+            int limit = EventService.checkBulkLimit(filter, max, maxBulkAffected);
+            return repository.findIdsByFilters(filter, limit + 1).flatMap(ids -> {
+                if (dryRun) {
+                    return preview(filter, ids, limit);
+                }
+                EventService.requireWithinLimit(ids, limit);
+                if (ids.isEmpty()) {
+                    return Mono.just(BulkChangeDto.builder().max(limit).ids(ids).build());
+                }
+                return repository.removeAll(filter, ids)
+                        .flatMap(deleted -> deleted.isEmpty() ? Mono.just(deleted)
+                                : repository.markDeleted(deleted, Instant.now()).thenReturn(deleted))
+                        .publishOn(Schedulers.boundedElastic())
+                        .map(deleted -> {
+                            deleted.forEach(eventCache::invalidate);
+                            queryCache.invalidateAll();
+                            publisher.publishEvent(EventsChanged.deleted(deleted));
+                            return BulkChangeDto.builder()
+                                    .matched(ids.size()).affected(deleted.size()).max(limit).ids(ids).build();
+                        });
+            });
+        });
+    }
+
+    private Mono<BulkChangeDto> preview(FilterDto filter, List<String> ids, int limit) {
+        Mono<Long> matched = ids.size() > limit ? repository.countMatching(filter) : Mono.just((long) ids.size());
+        return matched.map(count -> EventService.bulkPreview(count, ids, limit));
+    }
+
+    /**
+     * @param id die ID des zu löschenden Events
+     * @return Abschluss-Signal
+     */
+    public Mono<Void> deleteEvent(String id) {
+        return deleteEvent(id, null);
+    }
+
+    /**
+     * Löscht ein Event (siehe {@link EventService#deleteEvent(String, EventVersion)}).
+     *
+     * @param id       die ID des zu löschenden Events
+     * @param expected erwarteter Stand aus {@code If-Match} oder {@code null}
+     * @return Abschluss-Signal oder ein Fehler-Signal mit {@link PreconditionFailedException}
+     */
+    public Mono<Void> deleteEvent(String id, EventVersion expected) {
+        return repository.deleteIfMatches(id, expected)
+                .doOnNext(deleted -> eventCache.invalidate(id))
+                .flatMap(deleted -> {
+                    if (deleted > 0) {
+                        return repository.markDeleted(id, Instant.now())
+                                .publishOn(Schedulers.boundedElastic())
+                                .then(Mono.fromRunnable(() -> {
+                                    queryCache.invalidateAll();
+                                    publisher.publishEvent(EventsChanged.deleted(id));
+                                }));
+                    }
+                    // Ohne If-Match ist ein fehlendes Event kein Fehler, aber auch keine Löschung
+                    return expected == null ? Mono.<Void>empty() : Mono.<Void>error(changed(id));
+                })
+                .then();
+    }
+
+    /**
+     * @param id die ID des gesuchten Events
+     * @return das Event oder ein Fehler-Signal mit {@link IllegalArgumentException}
+     */
+    public Mono<Event> getById(String id) {
+        return repository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new IllegalArgumentException("Event nicht gefunden: " + id)));
+    }
+
+    /**
+     * @param filter die Filterkriterien (werden normalisiert)
+     * @return die passenden Events direkt vom MongoDB-Cursor
+     */
+    public Flux<Event> listEvents(FilterDto filter) {
+        return repository.findByFilters(filter.normalized());
+    }
+
+    /**
+     * @param filter     die Filterkriterien (werden normalisiert)
+     * @param projection die auszugebenden Felder
+     * @return je Event eine Zuordnung Feldname → Wert (siehe {@link EventService#listEvents(FilterDto, EventProjection)})
+     */
+    public Flux<Map<String, Object>> listEvents(FilterDto filter, EventProjection projection) {
+        return repository.findByFilters(filter.normalized(), projection).map(projection::apply);
+    }
+
+    /**
+     * @param filter die Filterkriterien
+     * @return die passenden Events sortiert nach {@code (start, id)}
+     */
+    public Flux<Event> streamEvents(FilterDto filter) {
+        return repository.streamByFilters(filter);
+    }
+
+    /**
+     * Findet Events nach ihrer Beziehung zum Fenster (siehe {@link EventService#findByInterval}).
+     *
+     * @param from        Beginn des Fensters (inklusive)
+     * @param to          Ende des Fensters (exklusive)
+     * @param match       gesuchte Beziehung
+     * @param weekdayMask Wochentage, von denen mindestens einer gesetzt sein muss (0 = beliebig)
+     * @param monthMask   Monate, von denen mindestens einer gesetzt sein muss (0 = beliebig)
+     * @return die Events, sortiert nach {@code (start, id)}
+     */
+    public Flux<Event> findByInterval(Instant from, Instant to, IntervalMatch match, int weekdayMask, int monthMask) {
+        return Flux.defer(() -> {
+            if (from == null || to == null) {
+                return Flux.error(new IllegalArgumentException("Die Parameter 'from' und 'to' sind erforderlich."));
+            }
+            if (!from.isBefore(to)) {
+                return Flux.error(new IllegalArgumentException("'from' muss vor 'to' liegen."));
+            }
+            if (intervalIndex != null && intervalIndex.isReady()) {
+                return Flux.fromIterable(intervalIndex.query(from, to, match, weekdayMask, monthMask));
+            }
+            return repository.findByInterval(from, to, match, weekdayMask, monthMask);
+        });
+    }
+
+    /**
+     * Liefert eine Seite per Keyset-Pagination (siehe {@link EventService#listEventsPage}).
+     *
+     * @param filter die Filterkriterien
+     * @param cursor Token der vorherigen Seite oder {@code null}
+     * @param limit  gewünschte Seitengröße oder {@code null}
+     * @return die Seite inklusive Token für die nächste Seite
+     */
+    public Mono<EventPageDto> listEventsPage(FilterDto filter, String cursor, Integer limit) {
+        return Mono.defer(() -> {
+            if (limit != null && limit < 1) {
+                return Mono.error(new IllegalArgumentException("'limit' muss mindestens 1 sein."));
+            }
+            int pageSize = limit == null ? defaultPageLimit : Math.min(limit, maxPageLimit);
+            return repository.findPageByFilters(filter, PageCursor.decode(cursor), pageSize + 1)
+                    .collectList()
+                    .map(rows -> EventPageDto.of(rows, pageSize));
+        });
+    }
+
+    /**
+     * Zählt die passenden Events je Gruppe (siehe {@link EventService#countEvents}).
+     *
+     * @param filter die Filterkriterien (werden normalisiert)
+     * @param by     Gruppierungsmerkmal
+     * @param bucket Zeitabschnitt bei {@link CountGroup#START} oder {@code null}
+     * @return die Gruppen mit ihrer Anzahl
+     */
+    public Mono<EventCountsDto> countEvents(FilterDto filter, CountGroup by, TimeBucket bucket) {
+        return Mono.defer(() -> {
+            TimeBucket applied = EventService.checkBucket(by, bucket);
+            return repository.countByFilters(filter.normalized(), by, applied)
+                    .map(counts -> EventCountsDto.builder().by(by).bucket(applied).counts(counts).build());
+        });
+    }
+
+    /**
+     * Volltextsuche (siehe {@link EventService#search}).
+     *
+     * @param query Suchbegriffe
+     * @param page  Nummer der Seite ab 0 oder {@code null}
+     * @param limit gewünschte Seitengröße oder {@code null}
+     * @return die Seite mit Treffern und Relevanz
+     */
+    public Mono<SearchPageDto> search(String query, Integer page, Integer limit) {
+        return Mono.defer(() -> {
+            if (query == null || query.isBlank()) {
+                return Mono.error(new IllegalArgumentException("Der Parameter 'q' ist erforderlich."));
+            }
+            if (page != null && page < 0) {
+                return Mono.error(new IllegalArgumentException("'page' darf nicht negativ sein."));
+            }
+            if (limit != null && limit < 1) {
+                return Mono.error(new IllegalArgumentException("'limit' muss mindestens 1 sein."));
+            }
+            int pageSize = limit == null ? defaultPageLimit : Math.min(limit, maxPageLimit);
+            int pageNumber = page == null ? 0 : page;
+            long skip = (long) pageNumber * pageSize;
+            if (skip > maxSearchOffset) {
+                return Mono.error(new IllegalArgumentException("Die Suche liefert höchstens die ersten "
+                        + maxSearchOffset + " Treffer; bitte den Suchbegriff eingrenzen."));
+            }
+            String terms = query.trim();
+            return repository.search(terms, (int) skip, pageSize + 1)
+                    .collectList()
+                    .map(rows -> SearchPageDto.of(terms, pageNumber, rows, pageSize));
+        });
+    }
+
+    /**
+     * Delta-Synchronisation (siehe {@link EventService#changesSince}).
+     *
+     * @param since Token der vorherigen Antwort oder {@code null}
+     * @param limit gewünschte Seitengröße oder {@code null}
+     * @return die Änderungen inklusive Token für die nächste Anfrage
+     */
+    public Mono<EventChangesDto> changesSince(String since, Integer limit) {
+        return Mono.defer(() -> {
+            if (limit != null && limit < 1) {
+                return Mono.error(new IllegalArgumentException("'limit' muss mindestens 1 sein."));
+            }
+            int pageSize = limit == null ? defaultPageLimit : Math.min(limit, maxPageLimit);
+            SyncToken decoded = SyncToken.decode(since);
+            Instant now = Instant.now();
+            boolean reset = decoded == null || decoded.getLastModified().isBefore(now.minus(tombstoneRetention));
+            SyncToken after = reset ? null : decoded;
+            Instant until = now.minus(syncSettle);
+            Mono<List<EventTombstone>> deleted = reset ? Mono.just(List.of())
+                    : repository.findDeletedSince(after, until, pageSize + 1).collectList();
+            return Mono.zip(repository.findModifiedSince(after, until, pageSize + 1).collectList(), deleted)
+                    .map(rows -> EventChangesDto.of(rows.getT1(), rows.getT2(), pageSize, until, reset));
+        });
+    }
+
+    private static PreconditionFailedException changed(String id) {
+        return new PreconditionFailedException("Event '" + id + "' wurde zwischenzeitlich geändert.");
+    }
+
+    private void afterWrite(Event saved) {
+        eventCache.put(saved);
+        queryCache.invalidateAll();
+        publisher.publishEvent(EventsChanged.saved(List.of(saved)));
+    }
+}
@@ -8,10 +8,9 @@ import jakarta.validation.Payload;
 
 import java.lang.annotation.*;
 
-// Import von CronUtils-Klassen für Cron-Parsing und -Definition
-import com.cronutils.model.CronType;
-import com.cronutils.model.definition.CronDefinitionBuilder;
-import com.cronutils.parser.CronParser;
+// Gemeinsamer Cache für geparste Cron-Ausdrücke
+import com.calendarapi.lbprojektm165calendarapi.cron.CompiledCron;
+import com.calendarapi.lbprojektm165calendarapi.cron.CronCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -68,10 +67,8 @@ public @interface ValidCron {
         /** Logger für Debugging und Fehlerdiagnose */
         private static final Logger logger = LoggerFactory.getLogger(ValidCronValidator.class);
 
-        /** CronParser-Instanz für Quartz-Cron-Ausdrücke */
-        private static final CronParser CRON_PARSER = new CronParser(
-                CronDefinitionBuilder.instanceDefinitionFor(CronType.QUARTZ)
-        );
+        /** Gemeinsamer Cache für Quartz-Cron-Ausdrücke (jedes Pattern wird nur einmal geparst) */
+        private static final CronCache CRON_CACHE = CronCache.getDefault();
 
         /**
          * Prüft, ob der übergebene String ein gültiger Cron-Ausdruck ist.
@@ -88,15 +85,15 @@ public @interface ValidCron {
                     return false;
                 }
 
-                // Validiert den geparsten Cron-Ausdruck
-                CRON_PARSER.parse(value).validate();
+                // Validiert den Cron-Ausdruck über den gemeinsamen Cache
+                CompiledCron compiled = CRON_CACHE.compile(value);
+                if (!compiled.isValid()) {
+                    logger.debug("Ungültiger Cron-Ausdruck '{}': {}", value, compiled.getError());
+                    return false;
+                }
                 logger.debug("Cron-Ausdruck '{}' erfolgreich validiert", value);
                 return true;
 
-            } catch (IllegalArgumentException e) {
-                logger.debug("Ungültiger Cron-Ausdruck '{}': {}", value, e.getMessage());
-                return false;
-
             } catch (Exception e) {
                 logger.warn("Unerwarteter Fehler bei der Validierung des Cron-Ausdrucks '{}': {}",
                         value, e.getMessage());
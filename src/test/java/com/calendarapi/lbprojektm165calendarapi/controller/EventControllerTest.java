@@ -1,19 +1,37 @@
 package com.calendarapi.lbprojektm165calendarapi.controller;
 
+import com.calendarapi.lbprojektm165calendarapi.config.CronConfig;
+import com.calendarapi.lbprojektm165calendarapi.dto.BulkChangeDto;
+import com.calendarapi.lbprojektm165calendarapi.dto.BulkItemResultDto;
+import com.calendarapi.lbprojektm165calendarapi.dto.BulkReportDto;
+import com.calendarapi.lbprojektm165calendarapi.dto.CountDto;
+import com.calendarapi.lbprojektm165calendarapi.dto.CountGroup;
+import com.calendarapi.lbprojektm165calendarapi.dto.EventCountsDto;
+import com.calendarapi.lbprojektm165calendarapi.dto.EventPatch;
+import com.calendarapi.lbprojektm165calendarapi.dto.EventProjection;
+import com.calendarapi.lbprojektm165calendarapi.dto.EventVersion;
+import com.calendarapi.lbprojektm165calendarapi.dto.FilterDto;
+import com.calendarapi.lbprojektm165calendarapi.dto.TimeBucket;
 import com.calendarapi.lbprojektm165calendarapi.model.Event;
+import com.calendarapi.lbprojektm165calendarapi.service.BulkIngestService;
+import com.calendarapi.lbprojektm165calendarapi.service.EventNdjsonService;
 import com.calendarapi.lbprojektm165calendarapi.service.EventService;
-import com.calendarapi.lbprojektm165calendarapi.dto.FilterDto;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
-import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
@@ -31,6 +49,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  * @since 1.0
  */
 @WebMvcTest(EventController.class)
+@Import(CronConfig.class)
 public class EventControllerTest {
 
     /**
@@ -45,6 +64,18 @@ public class EventControllerTest {
     @MockitoBean
     private EventService eventService;
 
+    /**
+     * Mock des {@link BulkIngestService} für den Batch-Endpunkt.
+     */
+    @MockitoBean
+    private BulkIngestService bulkIngestService;
+
+    /**
+     * Mock des {@link EventNdjsonService} für Import und Export.
+     */
+    @MockitoBean
+    private EventNdjsonService ndjsonService;
+
     /**
      * Basis-URL für alle Event-Endpunkte.
      */
@@ -137,6 +168,27 @@ public class EventControllerTest {
         verifyNoInteractions(eventService);
     }
 
+    /**
+     * Testet, dass Monate ausserhalb von 1–12 beim Erstellen und per Patch mit HTTP 400 abgewiesen
+     * statt beim Speichern verworfen werden.
+     *
+     * @throws Exception falls der Mock-Request fehlschlägt
+     */
+    @Test
+    @DisplayName("POST/PATCH /api/events mit ungültigem Monat → 400 Bad Request")
+    void testInvalidMonth() throws Exception {
+        mockMvc.perform(post(BASE)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"cron\": \"0 0 * * * ?\", \"title\": \"X\", \"months\": [1, 13]}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(status().reason("Ungültiger Monat: 13"));
+        mockMvc.perform(patch(BASE + "/e1")
+                        .contentType(EventPatch.MERGE_PATCH_JSON)
+                        .content("{\"months\": [0]}"))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(eventService);
+    }
+
     /**
      * Testet das Abrufen eines Events nach ID.
      * Erwartet HTTP 200 und das korrekte Event im Response-Body.
@@ -172,14 +224,130 @@ public class EventControllerTest {
     void testDelete() throws Exception {
         String id = UUID.randomUUID().toString();
         // Service-Mock: deleteEvent tut nichts
-        doNothing().when(eventService).deleteEvent(id);
+        doNothing().when(eventService).deleteEvent(id, null);
 
         // DELETE-Request ausführen und Status prüfen
         mockMvc.perform(delete(BASE + "/" + id))
                 .andExpect(status().isNoContent());          // HTTP 204
 
-        // Verifizieren, dass deleteEvent(id) aufgerufen wurde
-        verify(eventService).deleteEvent(id);
+        // Verifizieren, dass deleteEvent(id) ohne erwartete Version aufgerufen wurde
+        verify(eventService).deleteEvent(id, null);
+    }
+
+    /**
+     * Testet bedingte Requests: ETag beim Lesen, 304 bei passendem {@code If-None-Match}
+     * und Weitergabe des Stands aus {@code If-Match} (auch {@code *}) beim Löschen.
+     *
+     * @throws Exception falls der Mock-Request fehlschlägt
+     */
+    @Test
+    @DisplayName("GET/DELETE /api/events/{id} – ETag, If-None-Match und If-Match")
+    void testConditionalRequests() throws Exception {
+        Event e = Event.builder().id("e1").title("Versioniert").version(4L)
+                .lastModified(java.time.Instant.ofEpochMilli(1000)).build();
+        when(eventService.getById("e1")).thenReturn(e);
+
+        mockMvc.perform(get(BASE + "/e1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"4-1000\""));
+        mockMvc.perform(get(BASE + "/e1").header("If-None-Match", "\"4-1000\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        mockMvc.perform(delete(BASE + "/e1").header("If-Match", "\"4-1000\""))
+                .andExpect(status().isNoContent());
+        verify(eventService).deleteEvent("e1", new EventVersion(4L, java.time.Instant.ofEpochMilli(1000)));
+        mockMvc.perform(delete(BASE + "/e1").header("If-Match", "W/\"4-1000\""))
+                .andExpect(status().isPreconditionFailed());
+        mockMvc.perform(delete(BASE + "/e1").header("If-Match", "\"4\""))
+                .andExpect(status().isPreconditionFailed());
+        mockMvc.perform(delete(BASE + "/e1").header("If-Match", "*"))
+                .andExpect(status().isNoContent());
+        verify(eventService).deleteEvent("e1", EventVersion.ANY);
+    }
+
+    /**
+     * Testet {@code PATCH}: Merge Patch wird an den Service übergeben, ein geändertes Cron-Pattern
+     * wird geprüft, und JSON Patch wird über seinen Content-Type erkannt.
+     *
+     * @throws Exception falls der Mock-Request fehlschlägt
+     */
+    @Test
+    @DisplayName("PATCH /api/events/{id} – Merge Patch und JSON Patch")
+    void testPatch() throws Exception {
+        Event out = Event.builder().id("e1").title("Neu").version(2L)
+                .lastModified(java.time.Instant.ofEpochMilli(2000)).build();
+        when(eventService.patchEvent(eq("e1"), any(EventPatch.class),
+                eq(new EventVersion(1L, java.time.Instant.ofEpochMilli(1000))))).thenReturn(out);
+
+        mockMvc.perform(patch(BASE + "/e1")
+                        .contentType(EventPatch.MERGE_PATCH_JSON)
+                        .header("If-Match", "\"1-1000\"")
+                        .content("{\"title\": \"Neu\"}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"2-2000\""))
+                .andExpect(jsonPath("$.title").value("Neu"));
+
+        mockMvc.perform(patch(BASE + "/e1")
+                        .contentType(EventPatch.MERGE_PATCH_JSON)
+                        .content("{\"cron\": \"kein-cron\"}"))
+                .andExpect(status().isBadRequest());
+
+        when(eventService.patchEvent(eq("e1"), any(EventPatch.class), isNull())).thenReturn(out);
+        mockMvc.perform(patch(BASE + "/e1")
+                        .contentType(EventPatch.JSON_PATCH_JSON)
+                        .content("[{\"op\": \"add\", \"path\": \"/tags/-\", \"value\": \"Team\"}]"))
+                .andExpect(status().isOk());
+        verify(eventService, times(2)).patchEvent(eq("e1"), any(EventPatch.class), any());
+    }
+
+    /**
+     * Testet Massenlöschung und -änderung per Filter: Filter, {@code dryRun} und {@code max}
+     * werden an den Service übergeben.
+     *
+     * @throws Exception falls der Mock-Request fehlschlägt
+     */
+    @Test
+    @DisplayName("DELETE/PATCH /api/events – per Filter")
+    void testBulkChangesByFilter() throws Exception {
+        BulkChangeDto report = BulkChangeDto.builder().dryRun(true).matched(3).max(10)
+                .ids(List.of("a", "b", "c")).build();
+        ArgumentCaptor<FilterDto> filter = ArgumentCaptor.forClass(FilterDto.class);
+        when(eventService.deleteByFilter(filter.capture(), eq(true), eq(10))).thenReturn(report);
+
+        mockMvc.perform(delete(BASE).param("tag", "Feiertag").param("dateTo", "2024-12-31")
+                        .param("dryRun", "true").param("max", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.matched").value(3))
+                .andExpect(jsonPath("$.dryRun").value(true));
+        assertThat(filter.getValue().getTag()).isEqualTo("Feiertag");
+
+        when(eventService.patchByFilter(any(FilterDto.class), any(EventPatch.class), eq(false), isNull()))
+                .thenReturn(BulkChangeDto.builder().matched(2).affected(2).max(1000).build());
+        mockMvc.perform(patch(BASE).param("tag", "Alt")
+                        .contentType(EventPatch.JSON_PATCH_JSON)
+                        .content("[{\"op\": \"remove\", \"path\": \"/tags\", \"value\": \"Alt\"}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affected").value(2));
+    }
+
+    /**
+     * Testet, dass ein ungültiger Zeitpunkt den Filter einer Massenlöschung nicht erweitert,
+     * sondern mit HTTP 400 abgewiesen wird, ohne etwas zu löschen.
+     *
+     * @throws Exception falls der Mock-Request fehlschlägt
+     */
+    @Test
+    @DisplayName("DELETE /api/events mit ungültigem 'to' → 400, nichts gelöscht")
+    void testBulkDelete_InvalidInstant() throws Exception {
+        mockMvc.perform(delete(BASE).param("tag", "Feiertag").param("to", "2024-12-31"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(patch(BASE).param("tag", "Feiertag").param("from", "gestern")
+                        .contentType(EventPatch.MERGE_PATCH_JSON)
+                        .content("{\"title\": \"X\"}"))
+                .andExpect(status().isBadRequest());
+        verify(eventService, never()).deleteByFilter(any(), anyBoolean(), any());
+        verify(eventService, never()).patchByFilter(any(), any(), anyBoolean(), any());
     }
 
     /**
@@ -208,4 +376,108 @@ public class EventControllerTest {
         assertThat(fdCap.getValue().getWeekday()).isEqualTo("MONDAY");
         assertThat(fdCap.getValue().getFrom()).isEqualTo("2025-07-01T00:00:00Z");
     }
+
+    /**
+     * Testet das Streaming der Events als JSON-Array.
+     * Die Antwort wird asynchron geschrieben und muss alle vom Service gelieferten Events enthalten.
+     *
+     * @throws Exception falls der Mock-Request fehlschlägt
+     */
+    @Test
+    @DisplayName("GET /api/events/stream → 200 + JSON-Array")
+    @SuppressWarnings("unchecked")
+    void testStreamEvents() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<Event> consumer = invocation.getArgument(1);
+            Event e = new Event();
+            e.setId("s1");
+            e.setTitle("Streamed");
+            consumer.accept(e);
+            return null;
+        }).when(eventService).streamEvents(any(FilterDto.class), any(Consumer.class));
+
+        var result = mockMvc.perform(get(BASE + "/stream").param("tag", "Arbeit"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value("s1"))
+                .andExpect(jsonPath("$[0].title").value("Streamed"));
+    }
+
+    /**
+     * Testet den Batch-Endpunkt: Der Bericht des Import-Service wird unverändert zurückgegeben.
+     *
+     * @throws Exception falls der Mock-Request fehlschlägt
+     */
+    @Test
+    @DisplayName("POST /api/events/batch → Bericht je Eintrag")
+    void testBatchReturnsReport() throws Exception {
+        BulkReportDto report = BulkReportDto.builder()
+                .total(2).succeeded(1).failed(1)
+                .items(List.of(
+                        BulkItemResultDto.builder().index(0).id("e1").success(true).build(),
+                        BulkItemResultDto.builder().index(1).success(false).error("Ungültiges Cron-Pattern: x").build()))
+                .build();
+        when(bulkIngestService.ingest(anyList())).thenReturn(report);
+
+        mockMvc.perform(post(BASE + "/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"title\":\"A\",\"cron\":\"0 0 12 * * ? *\"},{\"title\":\"B\",\"cron\":\"x\"}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.succeeded").value(1))
+                .andExpect(jsonPath("$.items[0].id").value("e1"))
+                .andExpect(jsonPath("$.items[1].error").value("Ungültiges Cron-Pattern: x"));
+    }
+
+    /**
+     * Testet die Projektion der Liste: {@code view=summary} gibt nur die Felder der Sicht an den Service weiter,
+     * unbekannte Felder werden mit HTTP 400 abgelehnt.
+     *
+     * @throws Exception falls der Mock-Request fehlschlägt
+     */
+    @Test
+    @DisplayName("GET /api/events?view=summary → nur Felder der Sicht")
+    void testListEvents_WithProjection() throws Exception {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("id", "e1");
+        row.put("title", "Daily");
+        when(eventService.listEvents(any(FilterDto.class), any(EventProjection.class))).thenReturn(List.of(row));
+
+        mockMvc.perform(get(BASE).param("view", "summary").param("tag", "Agile"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].title").value("Daily"))
+                .andExpect(jsonPath("$[0].description").doesNotExist());
+
+        ArgumentCaptor<EventProjection> captor = ArgumentCaptor.forClass(EventProjection.class);
+        verify(eventService).listEvents(any(FilterDto.class), captor.capture());
+        assertThat(captor.getValue().getFields()).containsExactly("id", "title", "start", "end", "tags");
+        verify(eventService, never()).listEvents(any(FilterDto.class));
+
+        mockMvc.perform(get(BASE).param("fields", "title,weekdayMask"))
+                .andExpect(status().isBadRequest());
+    }
+
+    /**
+     * Testet die Zählung je Gruppe: Gruppierung und Zeitabschnitt werden geparst,
+     * unbekannte Gruppierungen mit HTTP 400 abgelehnt.
+     *
+     * @throws Exception falls der Mock-Request fehlschlägt
+     */
+    @Test
+    @DisplayName("GET /api/events/counts?by=start&bucket=week → Anzahl je Woche")
+    void testCountEvents() throws Exception {
+        when(eventService.countEvents(any(FilterDto.class), eq(CountGroup.START), eq(TimeBucket.WEEK)))
+                .thenReturn(EventCountsDto.builder().by(CountGroup.START).bucket(TimeBucket.WEEK)
+                        .counts(List.of(new CountDto("2025-W29", 4))).build());
+
+        mockMvc.perform(get(BASE + "/counts").param("by", "start").param("bucket", "week").param("tag", "Agile"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.counts[0].key").value("2025-W29"))
+                .andExpect(jsonPath("$.counts[0].count").value(4));
+
+        mockMvc.perform(get(BASE + "/counts").param("by", "calendar"))
+                .andExpect(status().isBadRequest());
+    }
 }
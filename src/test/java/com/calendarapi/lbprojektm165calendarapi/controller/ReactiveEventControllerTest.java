@@ -0,0 +1,106 @@
+package com.calendarapi.lbprojektm165calendarapi.controller;
+
+import com.calendarapi.lbprojektm165calendarapi.config.CronConfig;
+import com.calendarapi.lbprojektm165calendarapi.dto.BulkReportDto;
+import com.calendarapi.lbprojektm165calendarapi.dto.FilterDto;
+import com.calendarapi.lbprojektm165calendarapi.model.Event;
+import com.calendarapi.lbprojektm165calendarapi.service.BulkIngestService;
+import com.calendarapi.lbprojektm165calendarapi.service.EventNdjsonService;
+import com.calendarapi.lbprojektm165calendarapi.service.ReactiveEventService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests für den {@link ReactiveEventController} mit {@link WebTestClient} im Profil {@code reactive}.
+ *
+ * @author Chris
+ */
+@WebFluxTest(ReactiveEventController.class)
+@ActiveProfiles("reactive")
+@Import(CronConfig.class)
+public class ReactiveEventControllerTest {
+
+    @Autowired
+    private WebTestClient client;
+
+    @MockitoBean
+    private ReactiveEventService eventService;
+
+    @MockitoBean
+    private BulkIngestService bulkIngestService;
+
+    @MockitoBean
+    private EventNdjsonService ndjsonService;
+
+    private static final String BASE = "/api/events";
+
+    @Test
+    @DisplayName("GET /api/events?weekday=MONDAY → Flux aus dem reaktiven Service")
+    void listEventsWithFilter() {
+        Event event = Event.builder().id("e1").title("Standup").cron("0 0 9 ? * MON").build();
+        when(eventService.listEvents(any())).thenReturn(Flux.just(event));
+
+        client.get().uri(BASE + "?weekday=MONDAY").exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[0].id").isEqualTo("e1")
+                .jsonPath("$[0].title").isEqualTo("Standup");
+
+        ArgumentCaptor<FilterDto> captor = ArgumentCaptor.forClass(FilterDto.class);
+        verify(eventService).listEvents(captor.capture());
+        assertThat(captor.getValue().getWeekday()).isEqualTo("MONDAY");
+    }
+
+    @Test
+    @DisplayName("POST /api/events mit ungültigem Cron → 400, Service wird nicht aufgerufen")
+    void createRejectsInvalidCron() {
+        client.post().uri(BASE).contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"title\":\"x\",\"cron\":\"kein cron\"}")
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        verify(eventService, never()).createEvent(any());
+    }
+
+    @Test
+    @DisplayName("GET /api/events/{id} für unbekannte ID → 400 über den RestExceptionHandler")
+    void getByIdNotFound() {
+        when(eventService.getById("missing"))
+                .thenReturn(Mono.error(new IllegalArgumentException("Event nicht gefunden: missing")));
+
+        client.get().uri(BASE + "/missing").exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("Event nicht gefunden: missing");
+    }
+
+    @Test
+    @DisplayName("POST /api/events/batch → Bericht des blockierenden Bulk-Imports")
+    void batchDelegatesToBulkIngest() {
+        when(bulkIngestService.ingest(any())).thenReturn(
+                BulkReportDto.builder().total(1).succeeded(1).failed(0).items(List.of()).build());
+
+        client.post().uri(BASE + "/batch").contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("[{\"title\":\"a\",\"cron\":\"0 0 9 ? * MON\"}]")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.succeeded").isEqualTo(1);
+    }
+}
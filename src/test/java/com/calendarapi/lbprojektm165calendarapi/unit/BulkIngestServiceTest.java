@@ -0,0 +1,73 @@
+package com.calendarapi.lbprojektm165calendarapi.unit;
+
+import com.calendarapi.lbprojektm165calendarapi.cron.CronCache;
+import com.calendarapi.lbprojektm165calendarapi.dto.BulkItemResultDto;
+import com.calendarapi.lbprojektm165calendarapi.dto.BulkReportDto;
+import com.calendarapi.lbprojektm165calendarapi.model.Event;
+import com.calendarapi.lbprojektm165calendarapi.repository.EventRepository;
+import com.calendarapi.lbprojektm165calendarapi.service.BulkIngestService;
+import com.calendarapi.lbprojektm165calendarapi.service.EventService;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit-Testklasse für {@link BulkIngestService}.
+ * Prüft Chunking, Validierung und die Zuordnung von Bulk-Write-Fehlern zu den Einträgen.
+ *
+ * @author Arvin
+ */
+class BulkIngestServiceTest {
+
+    private static final String CRON = "0 0 12 * * ? *";
+
+    private final EventRepository repository = mock(EventRepository.class);
+    private final BulkIngestService service = new BulkIngestService(
+            repository, mock(EventService.class), new CronCache(16), Runnable::run, 2, 1, false);
+
+    /**
+     * Ungültige Einträge werden nicht geschrieben, Schreibfehler landen am richtigen Index.
+     */
+    @Test
+    void ingest_shouldReportPerItem() {
+        List<Event> events = new ArrayList<>();
+        events.add(event("a", CRON));
+        events.add(event("b", "kein cron"));
+        events.add(event("c", CRON));
+        events.add(null);
+        events.add(event("d", CRON));
+
+        when(repository.bulkSave(anyList())).thenAnswer(invocation -> {
+            List<Event> batch = invocation.getArgument(0);
+            batch.forEach(e -> e.setId("id-" + e.getTitle()));
+            // Der zweite Chunk (c) schlägt beim Schreiben fehl
+            return batch.get(0).getTitle().equals("c") ? Map.of(0, "duplicate key") : Map.of();
+        });
+
+        BulkReportDto report = service.ingest(events);
+
+        assertThat(report.getTotal()).isEqualTo(5);
+        assertThat(report.getSucceeded()).isEqualTo(2);
+        assertThat(report.getFailed()).isEqualTo(3);
+        assertThat(report.getItems()).extracting(BulkItemResultDto::isSuccess)
+                .containsExactly(true, false, false, false, true);
+        assertThat(report.getItems()).extracting(BulkItemResultDto::getIndex)
+                .containsExactly(0, 1, 2, 3, 4);
+        assertThat(report.getItems().get(1).getError()).startsWith("Ungültiges Cron-Pattern");
+        assertThat(report.getItems().get(2).getError()).isEqualTo("duplicate key");
+        assertThat(report.getItems().get(4).getId()).isEqualTo("id-d");
+
+        // 3 Chunks à höchstens 2 Einträge
+        verify(repository, times(3)).bulkSave(anyList());
+    }
+
+    private static Event event(String title, String cron) {
+        return Event.builder().title(title).cron(cron).build();
+    }
+}
@@ -0,0 +1,86 @@
+package com.calendarapi.lbprojektm165calendarapi.unit;
+
+import com.calendarapi.lbprojektm165calendarapi.dto.FilterDto;
+import com.calendarapi.lbprojektm165calendarapi.model.CalendarMasks;
+import com.calendarapi.lbprojektm165calendarapi.model.Event;
+import com.calendarapi.lbprojektm165calendarapi.repository.EventMaskCallback;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit-Testklasse für {@link CalendarMasks}.
+ * Prüft die Kodierung von Wochentagen und Monaten sowie die Filtermasken des {@link FilterDto}.
+ *
+ * @author Ricardo Cardoso
+ */
+class CalendarMasksTest {
+
+    /**
+     * Kurz- und Vollform ergeben dasselbe Bit; unbekannte Werte und Monate ausserhalb 1–12 werden ignoriert.
+     */
+    @Test
+    void weekdaysAndMonths_shouldEncodeBits() {
+        assertThat(CalendarMasks.weekdays(List.of("MON", "monday", "Sun", "Feiertag"))).isEqualTo(0b100_0001);
+        assertThat(CalendarMasks.weekdays(null)).isZero();
+        assertThat(CalendarMasks.months(Arrays.asList(1, 3, 12, 13, null))).isEqualTo(0b1000_0000_0101);
+    }
+
+    /**
+     * Der Callback setzt die Masken vor dem Speichern aus den Listen.
+     */
+    @Test
+    void callback_shouldDeriveMasksFromLists() {
+        Event event = Event.builder().daysOfWeek(List.of("TUE", "FRIDAY")).months(List.of(6)).build();
+
+        new EventMaskCallback().onBeforeConvert(event, "events");
+
+        assertThat(event.getWeekdayMask()).isEqualTo(0b001_0010);
+        assertThat(event.getMonthMask()).isEqualTo(1 << 5);
+        assertThat(CalendarMasks.anySet(event.getWeekdayMask(), 0b000_0010)).isTrue();
+        assertThat(CalendarMasks.anySet(event.getWeekdayMask(), 0b000_0001)).isFalse();
+        assertThat(CalendarMasks.anySet(null, 0)).isTrue();
+    }
+
+    /**
+     * Der Filter kodiert mehrere Wochentage als eine Maske und lehnt unbekannte Werte ab.
+     */
+    @Test
+    void filter_shouldBuildMasksAndRejectInvalidValues() {
+        FilterDto filter = FilterDto.of("MONDAY, tue", "3,1", null, null, null, null, null, null);
+
+        assertThat(filter.weekdayMask()).isEqualTo(0b000_0011);
+        assertThat(filter.monthMask()).isEqualTo(0b101);
+        assertThat(new FilterDto().weekdayMask()).isZero();
+        assertThatThrownBy(() -> FilterDto.of("MONTAG", null, null, null, null, null, null, null).weekdayMask())
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> FilterDto.of(null, "13", null, null, null, null, null, null).monthMask())
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * Gespeicherte Wochentage werden kanonisch abgelegt; der Filter liefert die passenden Masken für {@code $in}.
+     */
+    @Test
+    void weekdays_shouldBeNormalizedAndMatchedAsMaskSet() {
+        Event event = Event.builder().daysOfWeek(List.of("fri", "MON", "Monday")).months(List.of(12, 1, 12)).build();
+
+        CalendarMasks.apply(event);
+
+        assertThat(event.getDaysOfWeek()).containsExactly("MONDAY", "FRIDAY");
+        assertThat(event.getMonths()).containsExactly(1, 12);
+        assertThat(CalendarMasks.firstInvalidWeekday(List.of("MON", "Montag"))).isEqualTo("Montag");
+        assertThat(CalendarMasks.firstInvalidMonth(List.of(1, 12, 13, 0))).isEqualTo(13);
+        assertThat(CalendarMasks.firstInvalidMonth(List.of(1, 12))).isNull();
+
+        List<Integer> masks = CalendarMasks.weekdayMasksMatching(0b000_0001);
+        assertThat(masks).hasSize(64).contains(event.getWeekdayMask()).doesNotContain(0b000_0010);
+        assertThat(CalendarMasks.weekdayMasksMatching(CalendarMasks.ALL_WEEKDAYS)).hasSize(127);
+        assertThat(FilterDto.of("sun,MONDAY,mon", null, null, null, null, null, null, null).getWeekday())
+                .isEqualTo("MONDAY,SUNDAY");
+    }
+}
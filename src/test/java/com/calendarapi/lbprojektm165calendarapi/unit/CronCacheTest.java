@@ -0,0 +1,71 @@
+package com.calendarapi.lbprojektm165calendarapi.unit;
+
+import com.calendarapi.lbprojektm165calendarapi.cron.CompiledCron;
+import com.calendarapi.lbprojektm165calendarapi.cron.CronCache;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit-Testklasse für {@link CronCache}.
+ * Prüft Normalisierung, Wiederverwendung kompilierter Patterns und das Cachen ungültiger Patterns.
+ *
+ * @author Arvin
+ */
+class CronCacheTest {
+
+    /**
+     * Unterschiedliche Schreibweisen desselben Patterns werden nur einmal geparst.
+     */
+    @Test
+    void compile_shouldReuseNormalizedPattern() {
+        CronCache cache = new CronCache(16);
+
+        CompiledCron first = cache.compile("0 0 9 ? * MON#1");
+        CompiledCron second = cache.compile("  0  0 9 ? * mon#1 ");
+
+        assertThat(first.isValid()).isTrue();
+        assertThat(second).isSameAs(first);
+        assertThat(cache.stats().missCount()).isEqualTo(1);
+        assertThat(cache.stats().hitCount()).isEqualTo(1);
+    }
+
+    /**
+     * Ungültige Patterns werden ebenfalls gecacht und liefern eine Fehlermeldung.
+     */
+    @Test
+    void compile_shouldCacheInvalidPatterns() {
+        CronCache cache = new CronCache(16);
+
+        assertThat(cache.isValid("invalid-cron")).isFalse();
+        assertThat(cache.compile("invalid-cron").getError()).isNotBlank();
+        assertThat(cache.stats().missCount()).isEqualTo(1);
+    }
+
+    /**
+     * Ein Pattern, das die Validierung besteht, dessen Ausführungszeiten aber nicht berechnet werden
+     * können, gilt als ungültig.
+     */
+    @Test
+    void compile_shouldRejectPatternWithoutExecutionTimes() {
+        CronCache cache = new CronCache(16);
+
+        CompiledCron compiled = cache.compile("0 0 12 ? * 1-L *");
+
+        assertThat(compiled.isValid()).isFalse();
+        assertThat(compiled.getExecutionTime()).isNull();
+        assertThat(compiled.getError()).isNotBlank();
+    }
+
+    /**
+     * Leere Patterns sind ungültig und belegen keinen Cache-Eintrag.
+     */
+    @Test
+    void compile_shouldRejectBlankPattern() {
+        CronCache cache = new CronCache(16);
+
+        assertThat(cache.isValid(null)).isFalse();
+        assertThat(cache.isValid("   ")).isFalse();
+        assertThat(cache.size()).isZero();
+    }
+}
@@ -0,0 +1,109 @@
+package com.calendarapi.lbprojektm165calendarapi.unit;
+
+import com.calendarapi.lbprojektm165calendarapi.dto.EventChangeDto;
+import com.calendarapi.lbprojektm165calendarapi.dto.FilterDto;
+import com.calendarapi.lbprojektm165calendarapi.model.Event;
+import com.calendarapi.lbprojektm165calendarapi.service.EventChangeFeed;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.http.codec.ServerSentEvent;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Unit-Testklasse für {@link EventChangeFeed} und {@link FilterDto#matches(Event)}.
+ * Die Änderungen werden direkt über {@link EventChangeFeed#publish} eingespeist.
+ *
+ * @author Chris
+ */
+class EventChangeFeedTest {
+
+    private final EventChangeFeed feed = new EventChangeFeed(mock(MongoTemplate.class), 3,
+            Duration.ofHours(1), Duration.ofMinutes(5));
+
+    private static EventChangeDto change(EventChangeDto.Type type, String id, String tag, String token) {
+        Event event = type == EventChangeDto.Type.DELETE ? null
+                : Event.builder().id(id).title("Event " + id).tags(List.of(tag))
+                .start(Instant.parse("2025-08-04T09:00:00Z")).build();
+        return EventChangeDto.builder().type(type).id(id).event(event).token(token).build();
+    }
+
+    private static List<String> ids(List<ServerSentEvent<EventChangeDto>> events) {
+        return events.stream().map(event -> event.event() + ":" + event.data().getId()).toList();
+    }
+
+    /**
+     * Testet, dass nur neue, passende Änderungen und alle Löschungen geliefert werden; eine Änderung
+     * aus dem Filter heraus wird als {@code leave} ohne Event gemeldet, ein nicht passendes neues Event gar nicht.
+     */
+    @Test
+    void testFiltersChangesAndKeepsDeletes() throws Exception {
+        feed.publish(change(EventChangeDto.Type.INSERT, "old", "Arbeit", "01"));
+        FilterDto filter = FilterDto.of(null, null, null, null, "Arbeit", null, null, null);
+
+        CompletableFuture<List<ServerSentEvent<EventChangeDto>>> events = feed.events(filter, null)
+                .take(3).collectList().toFuture();
+        feed.publish(change(EventChangeDto.Type.INSERT, "a", "Arbeit", "02"));
+        feed.publish(change(EventChangeDto.Type.INSERT, "c", "Privat", "03"));
+        feed.publish(change(EventChangeDto.Type.UPDATE, "b", "Privat", "04"));
+        feed.publish(change(EventChangeDto.Type.DELETE, "b", null, "05"));
+
+        List<ServerSentEvent<EventChangeDto>> received = events.get(5, TimeUnit.SECONDS);
+        assertThat(ids(received)).containsExactly("insert:a", "leave:b", "delete:b");
+        assertThat(received.get(1).data().getEvent()).isNull();
+        assertThat(received.get(1).id()).isEqualTo("04");
+    }
+
+    /**
+     * Testet das Fortsetzen ab einem Token im Replay-Puffer und die SSE-ID.
+     */
+    @Test
+    void testResumesFromBufferedToken() {
+        feed.publish(change(EventChangeDto.Type.INSERT, "a", "Arbeit", "0A"));
+        feed.publish(change(EventChangeDto.Type.INSERT, "b", "Arbeit", "0B"));
+        feed.publish(change(EventChangeDto.Type.UPDATE, "a", "Arbeit", "0C"));
+
+        List<ServerSentEvent<EventChangeDto>> events = feed.events(new FilterDto(), "0A")
+                .take(2).collectList().block(Duration.ofSeconds(5));
+
+        assertThat(ids(events)).containsExactly("insert:b", "update:a");
+        assertThat(events.get(1).id()).isEqualTo("0C");
+    }
+
+    /**
+     * Testet, dass ungültige Tokens abgewiesen werden.
+     */
+    @Test
+    void testRejectsInvalidToken() {
+        assertThatThrownBy(() -> feed.events(new FilterDto(), "kein-token"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * Testet die Filterprüfung im Speicher.
+     */
+    @Test
+    void testFilterMatches() {
+        Event event = Event.builder().id("e").title("Sprint Planung").tags(List.of("Arbeit"))
+                .start(Instant.parse("2025-08-04T09:00:00Z")).end(Instant.parse("2025-08-04T10:00:00Z"))
+                .daysOfWeek(List.of("MONDAY")).months(List.of(8)).build();
+
+        assertThat(new FilterDto().matches(event)).isTrue();
+        assertThat(FilterDto.of("mon", "8", null, null, "Arbeit", "sprint", "2025-08-04", "2025-08-04")
+                .matches(event)).isTrue();
+        assertThat(FilterDto.of("TUESDAY", null, null, null, null, null, null, null).matches(event)).isFalse();
+        assertThat(FilterDto.of(null, "1,2", null, null, null, null, null, null).matches(event)).isFalse();
+        assertThat(FilterDto.of(null, null, "2025-08-05T00:00:00Z", null, null, null, null, null)
+                .matches(event)).isFalse();
+        assertThat(FilterDto.of(null, null, null, null, null, "review", null, null).matches(event)).isFalse();
+        assertThat(FilterDto.of(null, null, null, null, null, null, null, "2025-08-03").matches(event)).isFalse();
+    }
+}
@@ -0,0 +1,55 @@
+package com.calendarapi.lbprojektm165calendarapi.unit;
+
+import com.calendarapi.lbprojektm165calendarapi.repository.EventIndexes;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.index.Index;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit-Testklasse für {@link EventIndexes}.
+ * Prüft die statische COLLSCAN-Analyse der Filterkombinationen.
+ *
+ * @author Arvin
+ */
+class EventIndexesTest {
+
+    /**
+     * Mit dem definierten Index-Satz laufen nur Abfragen ohne Filter oder nur mit {@code month}
+     * ({@code $bitsAnySet}, ohne Indexgrenzen) als Scan; {@code titleContains} wird über
+     * {@code titleGrams} indexgestützt vorgefiltert.
+     */
+    @Test
+    void collectionScanShapes_shouldOnlyContainUnindexableFilters() {
+        List<Set<String>> shapes = EventIndexes.collectionScanShapes(EventIndexes.definitions());
+
+        assertThat(shapes).containsExactly(Set.of(), Set.of("month"));
+    }
+
+    /**
+     * Ein {@code titleContains} unter drei Zeichen hat keine Trigramme; allein läuft er daher als COLLSCAN,
+     * zusammen mit einem anderen indexgestützten Parameter nicht.
+     */
+    @Test
+    void shortTitleScanShapes_shouldFlagTitleContainsAlone() {
+        List<Set<String>> shapes = EventIndexes.shortTitleScanShapes(EventIndexes.definitions());
+
+        assertThat(shapes).containsExactly(Set.of("titleContains"), Set.of("month", "titleContains"));
+    }
+
+    /**
+     * Ohne Index auf {@code end} wird ein reiner {@code dateTo}-Filter als COLLSCAN erkannt.
+     */
+    @Test
+    void collectionScanShapes_shouldDetectMissingLeadingField() {
+        List<Set<String>> shapes = EventIndexes.collectionScanShapes(List.of(
+                new Index().on("start", Sort.Direction.ASC).on("end", Sort.Direction.ASC)));
+
+        assertThat(shapes).contains(Set.of("dateTo"), Set.of("tag", "titleContains"));
+        assertThat(shapes).doesNotContain(Set.of("from"), Set.of("dateFrom", "dateTo"));
+    }
+}
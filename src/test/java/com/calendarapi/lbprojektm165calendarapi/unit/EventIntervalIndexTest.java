@@ -0,0 +1,205 @@
+package com.calendarapi.lbprojektm165calendarapi.unit;
+
+import com.calendarapi.lbprojektm165calendarapi.dto.IntervalMatch;
+import com.calendarapi.lbprojektm165calendarapi.model.Event;
+import com.calendarapi.lbprojektm165calendarapi.repository.EventRepository;
+import com.calendarapi.lbprojektm165calendarapi.service.EventIntervalIndex;
+import com.calendarapi.lbprojektm165calendarapi.service.EventsChanged;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit-Testklasse für {@link EventIntervalIndex}.
+ * Vergleicht die Abfragen mit einer linearen Suche über alle Events.
+ *
+ * @author Arvin
+ */
+class EventIntervalIndexTest {
+
+    private static final Instant BASE = Instant.parse("2025-01-01T00:00:00Z");
+
+    private final EventRepository repository = mock(EventRepository.class);
+
+    private static Event event(String id, long startMinutes, Long endMinutes) {
+        return Event.builder().id(id).title(id)
+                .start(BASE.plusSeconds(startMinutes * 60))
+                .end(endMinutes == null ? null : BASE.plusSeconds(endMinutes * 60))
+                .build();
+    }
+
+    private EventIntervalIndex buildIndex(List<Event> events, int maxDelta) {
+        when(repository.streamByFilters(any())).thenAnswer(invocation -> events.stream());
+        EventIntervalIndex index = new EventIntervalIndex(repository, maxDelta);
+        index.onApplicationReady();
+        return index;
+    }
+
+    /**
+     * Lässt {@code findAllById} aus dem jeweils aktuellen Inhalt der Liste lesen.
+     */
+    @SuppressWarnings("unchecked")
+    private void storeIn(List<Event> events) {
+        when(repository.findAllById(any())).thenAnswer(invocation -> {
+            Set<String> ids = new HashSet<>();
+            ((Iterable<String>) invocation.getArgument(0)).forEach(ids::add);
+            return events.stream().filter(event -> ids.contains(event.getId())).toList();
+        });
+    }
+
+    /**
+     * Erwartetes Ergebnis per linearer Suche, sortiert nach (start, id).
+     */
+    private static List<String> bruteForce(List<Event> events, Instant from, Instant to, IntervalMatch match) {
+        return events.stream()
+                .filter(e -> {
+                    long start = e.getStart().toEpochMilli();
+                    long end = Math.max(e.getEnd() == null ? start : e.getEnd().toEpochMilli(), start + 1);
+                    return switch (match) {
+                        case OVERLAPS -> start < to.toEpochMilli() && end > from.toEpochMilli();
+                        case WITHIN -> start >= from.toEpochMilli() && end <= to.toEpochMilli();
+                        case CONTAINS -> start <= from.toEpochMilli() && end >= to.toEpochMilli();
+                    };
+                })
+                .sorted((a, b) -> a.getStart().equals(b.getStart())
+                        ? a.getId().compareTo(b.getId()) : a.getStart().compareTo(b.getStart()))
+                .map(Event::getId)
+                .toList();
+    }
+
+    private static List<String> ids(List<Event> events) {
+        return events.stream().map(Event::getId).toList();
+    }
+
+    private static List<Event> randomEvents(Random random, int count, String prefix) {
+        List<Event> events = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            long start = random.nextInt(10_000);
+            Long end = random.nextInt(5) == 0 ? null : start + random.nextInt(600);
+            events.add(event(prefix + i, start, end));
+        }
+        return events;
+    }
+
+    /**
+     * Testet alle Beziehungen mit zufälligen Events und Fenstern gegen die lineare Suche.
+     */
+    @Test
+    void testQueryMatchesBruteForce() {
+        Random random = new Random(42);
+        List<Event> events = randomEvents(random, 2000, "e");
+        EventIntervalIndex index = buildIndex(events, 1024);
+
+        for (int i = 0; i < 300; i++) {
+            long from = random.nextInt(11_000) - 500;
+            long to = from + 1 + random.nextInt(i % 2 == 0 ? 30 : 1500);
+            Instant qFrom = BASE.plusSeconds(from * 60);
+            Instant qTo = BASE.plusSeconds(to * 60);
+            for (IntervalMatch match : IntervalMatch.values()) {
+                assertThat(ids(index.query(qFrom, qTo, match)))
+                        .as("%s [%d, %d)", match, from, to)
+                        .isEqualTo(bruteForce(events, qFrom, qTo, match));
+            }
+        }
+    }
+
+    /**
+     * Testet, dass gespeicherte und gelöschte Events sofort berücksichtigt werden,
+     * auch über einen Neuaufbau des sortierten Stands hinweg.
+     */
+    @Test
+    void testChangesAreVisibleBeforeAndAfterMerge() {
+        Random random = new Random(7);
+        List<Event> events = new ArrayList<>(randomEvents(random, 200, "e"));
+        EventIntervalIndex index = buildIndex(List.copyOf(events), 8);
+        storeIn(events);
+
+        for (int round = 0; round < 20; round++) {
+            Event moved = event(events.get(round).getId(), random.nextInt(10_000), null);
+            events.set(round, moved);
+            Event created = event("n" + round, random.nextInt(10_000), (long) random.nextInt(10_000) + 10_000);
+            events.add(created);
+            index.onEventsChanged(new EventsChanged(List.of(moved, created), List.of()));
+
+            String deleted = events.remove(events.size() / 2).getId();
+            index.onEventsChanged(EventsChanged.deleted(deleted));
+
+            Instant from = BASE.plusSeconds(random.nextInt(10_000) * 60L);
+            Instant to = from.plusSeconds(3600);
+            for (IntervalMatch match : IntervalMatch.values()) {
+                assertThat(ids(index.query(from, to, match)))
+                        .as("Runde %d, %s", round, match)
+                        .isEqualTo(bruteForce(events, from, to, match));
+            }
+        }
+    }
+
+    /**
+     * Testet, dass eine verspätete Benachrichtigung weder einen älteren Stand übernimmt noch ein
+     * inzwischen gelöschtes Event wiederherstellt.
+     */
+    @Test
+    void testStaleNotificationsUseStoredState() {
+        Event current = event("a", 100, 160L);
+        List<Event> store = new ArrayList<>(List.of(current));
+        EventIntervalIndex index = buildIndex(List.copyOf(store), 16);
+        storeIn(store);
+
+        index.onEventsChanged(EventsChanged.saved(List.of(event("a", 500, 560L))));
+        assertThat(ids(index.query(BASE.plusSeconds(120 * 60), BASE.plusSeconds(130 * 60), IntervalMatch.OVERLAPS)))
+                .containsExactly("a");
+
+        store.clear();
+        index.onEventsChanged(EventsChanged.deleted("a"));
+        index.onEventsChanged(EventsChanged.saved(List.of(current)));
+        assertThat(index.query(BASE, BASE.plusSeconds(1000 * 60), IntervalMatch.OVERLAPS)).isEmpty();
+    }
+
+    /**
+     * Testet die Einschränkung auf Wochentage und Monate über die Bitmasken.
+     */
+    @Test
+    void testQueryFiltersByMasks() {
+        Event monday = event("monday", 0, 60L);
+        monday.setDaysOfWeek(List.of("MON"));
+        monday.setMonths(List.of(1));
+        Event friday = event("friday", 10, 70L);
+        friday.setDaysOfWeek(List.of("FRIDAY"));
+        EventIntervalIndex index = buildIndex(List.of(monday, friday), 16);
+
+        Event sunday = event("sunday", 20, 80L);
+        sunday.setDaysOfWeek(List.of("SUN"));
+        storeIn(List.of(monday, friday, sunday));
+        index.onEventsChanged(EventsChanged.saved(List.of(sunday)));
+
+        Instant from = BASE;
+        Instant to = BASE.plusSeconds(3600);
+        assertThat(ids(index.query(from, to, IntervalMatch.OVERLAPS, 0b100_0001, 0)))
+                .containsExactly("monday", "sunday");
+        assertThat(ids(index.query(from, to, IntervalMatch.OVERLAPS, 0, 0b1))).containsExactly("monday");
+        assertThat(ids(index.query(from, to, IntervalMatch.OVERLAPS, 0b001_0000, 0b1))).isEmpty();
+    }
+
+    /**
+     * Testet, dass der Index vor dem Aufbau keine Ergebnisse liefert.
+     */
+    @Test
+    void testQueryBeforeBuildFails() {
+        EventIntervalIndex index = new EventIntervalIndex(repository, 16);
+
+        assertThat(index.isReady()).isFalse();
+        assertThatThrownBy(() -> index.query(BASE, BASE.plusSeconds(60), IntervalMatch.OVERLAPS))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,118 @@
+package com.calendarapi.lbprojektm165calendarapi.unit;
+
+import com.calendarapi.lbprojektm165calendarapi.cron.CronCache;
+import com.calendarapi.lbprojektm165calendarapi.dto.BulkItemResultDto;
+import com.calendarapi.lbprojektm165calendarapi.dto.BulkReportDto;
+import com.calendarapi.lbprojektm165calendarapi.dto.FilterDto;
+import com.calendarapi.lbprojektm165calendarapi.model.Event;
+import com.calendarapi.lbprojektm165calendarapi.repository.EventRepository;
+import com.calendarapi.lbprojektm165calendarapi.service.BulkIngestService;
+import com.calendarapi.lbprojektm165calendarapi.service.EventNdjsonService;
+import com.calendarapi.lbprojektm165calendarapi.service.EventService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit-Testklasse für {@link EventNdjsonService}.
+ * Prüft zeilenweisen Import (inklusive fehlerhafter Zeilen) und Export.
+ *
+ * @author Arvin
+ */
+class EventNdjsonServiceTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final EventRepository repository = mock(EventRepository.class);
+    private final EventService eventService = mock(EventService.class);
+    private final EventNdjsonService service = new EventNdjsonService(
+            eventService,
+            new BulkIngestService(repository, eventService, new CronCache(16), Runnable::run, 2, 1, false),
+            objectMapper,
+            10,
+            100);
+
+    /**
+     * Leere Zeilen werden ignoriert, nicht lesbare Zeilen mit Zeilennummer gemeldet;
+     * der Bericht enthält nur Fehler.
+     */
+    @Test
+    void importEvents_shouldSkipBrokenLinesAndReportErrorsOnly() throws Exception {
+        when(repository.bulkSave(anyList())).thenReturn(Map.of());
+        String ndjson = """
+                {"title":"A","cron":"0 0 12 * * ? *"}
+
+                kein json
+                {"title":"B","cron":"falsch"}
+                {"title":"C","cron":"0 0 12 * * ? *"} {"title":"D"}
+                {"title":"E","cron":"0 0 8 ? * MON *"}
+                """;
+
+        BulkReportDto report = service.importEvents(
+                new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(report.getTotal()).isEqualTo(5);
+        assertThat(report.getSucceeded()).isEqualTo(2);
+        assertThat(report.getFailed()).isEqualTo(3);
+        assertThat(report.getItems()).extracting(BulkItemResultDto::getIndex).containsExactly(1, 2, 3);
+        assertThat(report.getItems().get(0).getError()).startsWith("Zeile 3:");
+        assertThat(report.getItems().get(1).getError()).startsWith("Ungültiges Cron-Pattern");
+        assertThat(report.getItems().get(2).getError()).startsWith("Zeile 5:");
+    }
+
+    /**
+     * Zu lange Zeilen werden ohne Pufferung überlesen und gemeldet, auch als letzte Zeile ohne Zeilenumbruch;
+     * die Zeilen danach werden normal importiert.
+     */
+    @Test
+    void importEvents_shouldRejectOverlongLines() throws Exception {
+        when(repository.bulkSave(anyList())).thenReturn(Map.of());
+        String ndjson = "{\"title\":\"" + "x".repeat(20_000) + "\"}\n"
+                + "{\"title\":\"A\",\"cron\":\"0 0 12 * * ? *\"}\n"
+                + "{\"title\":\"" + "y".repeat(200) + "\"}";
+
+        BulkReportDto report = service.importEvents(
+                new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(report.getTotal()).isEqualTo(3);
+        assertThat(report.getSucceeded()).isEqualTo(1);
+        assertThat(report.getItems()).extracting(BulkItemResultDto::getError)
+                .containsExactly("Zeile 1: länger als 100 Zeichen", "Zeile 3: länger als 100 Zeichen");
+    }
+
+    /**
+     * Jedes Event wird als eigene, vollständige JSON-Zeile geschrieben.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void exportEvents_shouldWriteOneEventPerLine() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<Event> consumer = invocation.getArgument(1);
+            consumer.accept(Event.builder().id("e1").title("A").start(Instant.parse("2025-01-01T08:00:00Z")).build());
+            consumer.accept(Event.builder().id("e2").title("B").build());
+            return null;
+        }).when(eventService).streamEvents(any(FilterDto.class), any(Consumer.class));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        service.exportEvents(new FilterDto(), out);
+
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertThat(lines).hasSize(2);
+        assertThat(objectMapper.readValue(lines.get(0), Event.class).getStart())
+                .isEqualTo(Instant.parse("2025-01-01T08:00:00Z"));
+        assertThat(objectMapper.readValue(lines.get(1), Event.class).getId()).isEqualTo("e2");
+        assertThat(out.toString(StandardCharsets.UTF_8)).endsWith("\n");
+    }
+}
@@ -0,0 +1,105 @@
+package com.calendarapi.lbprojektm165calendarapi.unit;
+
+import com.calendarapi.lbprojektm165calendarapi.dto.EventPatch;
+import com.calendarapi.lbprojektm165calendarapi.model.TitleGrams;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit-Testklasse für {@link EventPatch}.
+ * Prüft die Übersetzung von Merge Patch und JSON Patch in MongoDB-Update-Operatoren.
+ *
+ * @author Ricardo Cardoso
+ */
+class EventPatchTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private EventPatch merge(String json) throws Exception {
+        return EventPatch.fromMergePatch(objectMapper.readTree(json), objectMapper);
+    }
+
+    private EventPatch jsonPatch(String json) throws Exception {
+        return EventPatch.fromJsonPatch(objectMapper.readTree(json), objectMapper);
+    }
+
+    /**
+     * Ein Merge Patch setzt nur die genannten Felder, {@code null} entfernt ein Feld;
+     * abgeleitete Felder werden mitgeschrieben.
+     */
+    @Test
+    void mergePatch_shouldSetChangedFieldsAndDerivedFields() throws Exception {
+        EventPatch patch = merge("""
+                {"title": "Review", "description": null, "start": "2025-08-04T09:00:00Z",
+                 "daysOfWeek": ["fri", "MON"], "months": [12, 3, 3]}
+                """);
+        Document update = patch.toUpdate().getUpdateObject();
+        Document set = update.get("$set", Document.class);
+
+        assertThat(set.get("title")).isEqualTo("Review");
+        assertThat(set.get("titleGrams")).isEqualTo(TitleGrams.of("Review"));
+        assertThat(set.get("start")).isEqualTo(Instant.parse("2025-08-04T09:00:00Z"));
+        assertThat(set.get("daysOfWeek")).isEqualTo(List.of("MONDAY", "FRIDAY"));
+        assertThat(set.get("weekdayMask")).isEqualTo(0b10001);
+        assertThat(set.get("months")).isEqualTo(List.of(3, 12));
+        assertThat(set.get("monthMask")).isEqualTo((1 << 2) | (1 << 11));
+        assertThat(update.get("$unset", Document.class)).containsOnlyKeys("description");
+        assertThat(set).doesNotContainKeys("cron", "tags", "end");
+        assertThat(patch.changes("cron")).isFalse();
+        assertThat(patch.changes("daysOfWeek")).isTrue();
+    }
+
+    /**
+     * JSON Patch fügt Tags per {@code $addToSet} hinzu bzw. entfernt sie per {@code $pull};
+     * nach einem {@code replace} wird die neue Liste direkt angepasst.
+     */
+    @Test
+    void jsonPatch_shouldCompileTagOperations() throws Exception {
+        Update added = jsonPatch("""
+                [{"op": "add", "path": "/tags/-", "value": "Team"},
+                 {"op": "replace", "path": "/cron", "value": "0 0 9 * * ?"}]
+                """).toUpdate();
+        assertThat(added.getUpdateObject().get("$addToSet", Document.class)).containsOnlyKeys("tags");
+        assertThat(added.toString()).contains("\"$each\" : [ \"Team\" ]");
+        assertThat(added.getUpdateObject().get("$set", Document.class).get("cron")).isEqualTo("0 0 9 * * ?");
+
+        Document removed = jsonPatch("""
+                [{"op": "remove", "path": "/tags", "value": "Feiertag"}]
+                """).toUpdate().getUpdateObject();
+        assertThat(removed.get("$pullAll", Document.class).get("tags")).isEqualTo(List.of("Feiertag"));
+
+        Document replaced = jsonPatch("""
+                [{"op": "replace", "path": "/tags", "value": ["A"]},
+                 {"op": "add", "path": "/tags/-", "value": "B"}]
+                """).toUpdate().getUpdateObject();
+        assertThat(replaced.get("$set", Document.class).get("tags")).isEqualTo(List.of("A", "B"));
+        assertThat(replaced).doesNotContainKey("$addToSet");
+    }
+
+    /**
+     * Unbekannte oder nicht änderbare Felder, Array-Indizes, falsche Typen und leere Patches werden abgewiesen.
+     */
+    @Test
+    void shouldRejectInvalidPatches() {
+        assertThatThrownBy(() -> merge("{\"version\": 3}")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> merge("{\"weekdayMask\": 1}")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> merge("{\"start\": \"morgen\"}")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> merge("{}")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> jsonPatch("[{\"op\": \"remove\", \"path\": \"/tags/0\"}]"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> jsonPatch("[{\"op\": \"move\", \"from\": \"/title\", \"path\": \"/description\"}]"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> jsonPatch("""
+                [{"op": "add", "path": "/tags/-", "value": "A"},
+                 {"op": "remove", "path": "/tags", "value": "B"}]
+                """)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,42 @@
+package com.calendarapi.lbprojektm165calendarapi.unit;
+
+import com.calendarapi.lbprojektm165calendarapi.dto.FilterDto;
+import com.calendarapi.lbprojektm165calendarapi.service.EventQueryCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit-Testklasse für {@link EventQueryCache}.
+ * Prüft die Metriken je Filterform.
+ *
+ * @author Arvin
+ */
+class EventQueryCacheTest {
+
+    /**
+     * Auch Filterformen, die erst nach dem Binden auftreten, erscheinen in der Registry.
+     */
+    @Test
+    void bindTo_shouldPublishHitsAndMissesPerShape() {
+        EventQueryCache cache = new EventQueryCache(100, Duration.ofMinutes(1));
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        cache.bindTo(registry);
+
+        FilterDto filter = new FilterDto();
+        filter.setTag("Arbeit");
+        cache.get(filter.normalized(), f -> List.of());
+        cache.get(filter.normalized(), f -> List.of());
+
+        assertThat(registry.get("calendar.cache.queries.shape").tags("shape", "tag", "result", "hit")
+                .functionCounter().count()).isEqualTo(1.0);
+        assertThat(registry.get("calendar.cache.queries.shape").tags("shape", "tag", "result", "miss")
+                .functionCounter().count()).isEqualTo(1.0);
+        assertThat(registry.get("calendar.cache.queries.shape.hit.ratio").tags("shape", "tag")
+                .gauge().value()).isEqualTo(0.5);
+    }
+}
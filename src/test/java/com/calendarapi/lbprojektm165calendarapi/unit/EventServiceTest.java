@@ -1,15 +1,47 @@
 package com.calendarapi.lbprojektm165calendarapi.unit;
 
+import com.calendarapi.lbprojektm165calendarapi.dto.BulkChangeDto;
+import com.calendarapi.lbprojektm165calendarapi.dto.CountDto;
+import com.calendarapi.lbprojektm165calendarapi.dto.CountGroup;
+import com.calendarapi.lbprojektm165calendarapi.dto.EventChangesDto;
+import com.calendarapi.lbprojektm165calendarapi.dto.EventCountsDto;
+import com.calendarapi.lbprojektm165calendarapi.dto.EventPageDto;
+import com.calendarapi.lbprojektm165calendarapi.dto.EventVersion;
 import com.calendarapi.lbprojektm165calendarapi.dto.FilterDto;
+import com.calendarapi.lbprojektm165calendarapi.dto.PageCursor;
+import com.calendarapi.lbprojektm165calendarapi.dto.SearchHitDto;
+import com.calendarapi.lbprojektm165calendarapi.dto.SearchPageDto;
+import com.calendarapi.lbprojektm165calendarapi.dto.SyncToken;
+import com.calendarapi.lbprojektm165calendarapi.dto.TimeBucket;
+import com.calendarapi.lbprojektm165calendarapi.exception.EventNotFoundException;
+import com.calendarapi.lbprojektm165calendarapi.exception.PreconditionFailedException;
+import com.calendarapi.lbprojektm165calendarapi.model.Event;
+import com.calendarapi.lbprojektm165calendarapi.model.EventTombstone;
 import com.calendarapi.lbprojektm165calendarapi.repository.EventRepository;
+import com.calendarapi.lbprojektm165calendarapi.service.EventCache;
+import com.calendarapi.lbprojektm165calendarapi.service.EventQueryCache;
 import com.calendarapi.lbprojektm165calendarapi.service.EventService;
+import com.calendarapi.lbprojektm165calendarapi.service.EventsChanged;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.context.ApplicationEventPublisher;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 /**
@@ -30,6 +62,24 @@ class EventServiceTest {
     @Mock
     private EventRepository repository;
 
+    /**
+     * Echter Cache für Einzelabrufe, damit Read-Through und Invalidierung geprüft werden können.
+     */
+    @Spy
+    private EventCache eventCache = new EventCache(100, Duration.ofMinutes(1));
+
+    /**
+     * Echter Abfrage-Cache, damit Treffer und Invalidierung geprüft werden können.
+     */
+    @Spy
+    private EventQueryCache queryCache = new EventQueryCache(1000, Duration.ofMinutes(1));
+
+    /**
+     * Publisher für {@code EventsChanged}; Listener werden hier nicht benötigt.
+     */
+    @Mock
+    private ApplicationEventPublisher publisher;
+
     /**
      * Die getestete Service-Klasse mit automatisch injiziertem Mock-Repository.
      */
@@ -68,4 +118,274 @@ class EventServiceTest {
         // THEN – Verifiziere, dass das Repository genau einmal mit dem Filter aufgerufen wurde
         verify(repository, times(1)).findByFilters(filter);
     }
+
+    /**
+     * Testfall:
+     * Liefert das Repository mehr Zeilen als das Limit, enthält die Seite genau {@code limit}
+     * Events und einen Cursor hinter dem letzten Event.
+     */
+    @Test
+    void listEventsPage_shouldReturnCursorWhenMoreRowsExist() {
+        FilterDto filter = new FilterDto();
+        Event a = Event.builder().id("a").start(Instant.parse("2025-07-01T09:00:00Z")).build();
+        Event b = Event.builder().id("b").start(Instant.parse("2025-07-02T09:00:00Z")).build();
+        Event c = Event.builder().id("c").start(Instant.parse("2025-07-03T09:00:00Z")).build();
+        when(repository.findPageByFilters(eq(filter), isNull(), eq(3))).thenReturn(List.of(a, b, c));
+
+        EventPageDto page = eventService.listEventsPage(filter, null, 2);
+
+        assertThat(page.getItems()).containsExactly(a, b);
+        PageCursor next = PageCursor.decode(page.getNextCursor());
+        assertThat(next.getId()).isEqualTo("b");
+        assertThat(next.getStart()).isEqualTo(b.getStart());
+    }
+
+    /**
+     * Testfall:
+     * Auf der letzten Seite ist kein Cursor gesetzt; der übergebene Cursor wird dekodiert weitergereicht.
+     */
+    @Test
+    void listEventsPage_shouldEndWithoutCursor() {
+        FilterDto filter = new FilterDto();
+        String cursor = new PageCursor(null, "x").encode();
+        when(repository.findPageByFilters(eq(filter), any(PageCursor.class), eq(51))).thenReturn(List.of());
+
+        EventPageDto page = eventService.listEventsPage(filter, cursor, null);
+
+        assertThat(page.getItems()).isEmpty();
+        assertThat(page.getNextCursor()).isNull();
+        assertThat(page.getLimit()).isEqualTo(50);
+    }
+
+    /**
+     * Testfall:
+     * Ein manipuliertes Cursor-Token führt zu einer {@link IllegalArgumentException} (HTTP 400).
+     */
+    @Test
+    void listEventsPage_shouldRejectInvalidCursor() {
+        assertThatThrownBy(() -> eventService.listEventsPage(new FilterDto(), "kein-cursor", 10))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * Testfall:
+     * Wiederholte Einzelabrufe lesen das Event nur einmal aus dem Repository.
+     */
+    @Test
+    void getById_shouldReadThroughCache() {
+        Event event = Event.builder().id("e1").title("Daily").build();
+        when(repository.findById("e1")).thenReturn(Optional.of(event));
+
+        assertThat(eventService.getById("e1").getTitle()).isEqualTo("Daily");
+        assertThat(eventService.getById("e1").getTitle()).isEqualTo("Daily");
+
+        verify(repository, times(1)).findById("e1");
+    }
+
+    /**
+     * Testfall:
+     * Ein Update ersetzt den gecachten Stand, ein Delete entfernt ihn.
+     */
+    @Test
+    void writes_shouldKeepCacheConsistent() {
+        Event stored = Event.builder().id("e1").title("Alt").build();
+        Event updated = Event.builder().id("e1").title("Neu").build();
+        when(repository.findById("e1")).thenReturn(Optional.of(stored));
+        when(repository.findVersionById("e1")).thenReturn(new EventVersion(0L, null));
+        when(repository.save(updated)).thenReturn(updated);
+
+        eventService.getById("e1");
+        eventService.updateEvent(updated);
+        assertThat(eventService.getById("e1").getTitle()).isEqualTo("Neu");
+
+        when(repository.deleteIfMatches("e1", null)).thenReturn(1L);
+        eventService.deleteEvent("e1");
+        verify(repository).markDeleted(eq("e1"), any(Instant.class));
+        when(repository.findById("e1")).thenReturn(Optional.empty());
+        assertThatThrownBy(() -> eventService.getById("e1"))
+                .isInstanceOf(IllegalArgumentException.class);
+        verify(repository, times(2)).findById("e1");
+    }
+
+    /**
+     * Testfall:
+     * Filter mit gleicher kanonischer Form teilen sich einen Cache-Eintrag,
+     * ein Schreibzugriff macht ihn ungültig.
+     */
+    @Test
+    void listEvents_shouldCacheByNormalizedFilterAndInvalidateOnWrite() {
+        FilterDto first = new FilterDto();
+        first.setMonth("12,3,3");
+        first.setWeekday("friday, monday");
+        FilterDto second = new FilterDto();
+        second.setMonth("3,12");
+        second.setWeekday("MONDAY,FRIDAY");
+        when(repository.findByFilters(any())).thenReturn(List.of(Event.builder().id("e1").build()));
+
+        eventService.listEvents(first);
+        eventService.listEvents(second);
+        verify(repository, times(1)).findByFilters(second.normalized());
+        assertThat(queryCache.shapeStats().get("weekday+month").getHitRatio()).isEqualTo(0.5);
+
+        Event created = Event.builder().id("e2").build();
+        when(repository.save(created)).thenReturn(created);
+        eventService.createEvent(created);
+        eventService.listEvents(first);
+        verify(repository, times(2)).findByFilters(any());
+    }
+
+    /**
+     * Testfall:
+     * Die Suche liest eine Zeile mehr als die Seitengröße, übernimmt die Relevanz
+     * und begrenzt die Blättertiefe.
+     */
+    @Test
+    void search_shouldPageByRelevanceAndLimitDepth() {
+        Event first = Event.builder().id("e1").title("Sprint Planung").score(2.5F).build();
+        Event second = Event.builder().id("e2").title("Sprint Review").score(1.2F).build();
+        when(repository.search("sprint", 2, 3)).thenReturn(List.of(first, second));
+
+        SearchPageDto page = eventService.search("  sprint ", 1, 2);
+
+        assertThat(page.isHasMore()).isFalse();
+        assertThat(page.getItems()).extracting(SearchHitDto::getScore).containsExactly(2.5F, 1.2F);
+        assertThat(page.getItems().get(0).getEvent().getId()).isEqualTo("e1");
+        assertThatThrownBy(() -> eventService.search(" ", null, null))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> eventService.search("sprint", 11, 100))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * Testfall:
+     * Die Zählung übergibt den normalisierten Filter an das Repository, setzt den Standard-Zeitabschnitt
+     * nur bei {@code by=start} und lehnt {@code bucket} bei anderen Gruppierungen ab.
+     */
+    @Test
+    void countEvents_shouldDelegateWithDefaultBucket() {
+        FilterDto filter = new FilterDto();
+        filter.setWeekday("mon");
+        when(repository.countByFilters(filter.normalized(), CountGroup.START, TimeBucket.MONTH))
+                .thenReturn(List.of(new CountDto("2025-07", 3)));
+
+        EventCountsDto counts = eventService.countEvents(filter, CountGroup.START, null);
+
+        assertThat(counts.getBucket()).isEqualTo(TimeBucket.MONTH);
+        assertThat(counts.getCounts()).containsExactly(new CountDto("2025-07", 3));
+        assertThat(eventService.countEvents(filter, CountGroup.TAG, null).getBucket()).isNull();
+        assertThatThrownBy(() -> eventService.countEvents(filter, CountGroup.TAG, TimeBucket.DAY))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * Testfall:
+     * Ohne Token liefert die Delta-Synchronisation alle Events mit {@code reset}; mit Token werden
+     * Änderungen und Löschvermerke in {@code (lastModified, id)}-Reihenfolge zusammengeführt.
+     */
+    @Test
+    void changesSince_shouldMergeChangesAndTombstones() {
+        Instant t = Instant.now().minusSeconds(60);
+        Event a = Event.builder().id("a").lastModified(t).build();
+        Event c = Event.builder().id("c").lastModified(t.plusSeconds(2)).build();
+        EventTombstone b = new EventTombstone("b", t.plusSeconds(1));
+        when(repository.findModifiedSince(isNull(), any(), eq(3))).thenReturn(List.of(a));
+
+        EventChangesDto full = eventService.changesSince(null, 2);
+
+        assertThat(full.isReset()).isTrue();
+        assertThat(full.isHasMore()).isFalse();
+        verify(repository, never()).findDeletedSince(any(), any(), anyInt());
+
+        when(repository.findModifiedSince(any(SyncToken.class), any(), eq(3))).thenReturn(List.of(a, c));
+        when(repository.findDeletedSince(any(SyncToken.class), any(), eq(3))).thenReturn(List.of(b));
+
+        EventChangesDto delta = eventService.changesSince(full.getNextToken(), 2);
+
+        assertThat(delta.isReset()).isFalse();
+        assertThat(delta.isHasMore()).isTrue();
+        assertThat(delta.getChanged()).containsExactly(a);
+        assertThat(delta.getDeleted()).containsExactly("b");
+        SyncToken next = SyncToken.decode(delta.getNextToken());
+        assertThat(next.getLastModified()).isEqualTo(t.plusSeconds(1));
+        assertThat(next.getId()).isEqualTo("b");
+        assertThatThrownBy(() -> eventService.changesSince("kein-token", null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * Testfall:
+     * Ein Update ohne bestehendes Event ergibt 404, mit {@code If-Match} 412; ein {@code If-Match} mit
+     * passender Version, aber anderem {@code lastModified} ergibt 412 ohne Schreibzugriff. Ein Löschen
+     * mit veraltetem Stand schlägt ebenfalls mit 412 fehl.
+     */
+    @Test
+    void conditionalWrites_shouldCheckVersionAndLastModified() {
+        Instant modified = Instant.parse("2025-08-01T10:00:00Z");
+        Event event = Event.builder().id("e1").title("Neu").build();
+        when(repository.findVersionById("e1")).thenReturn(null);
+        assertThatThrownBy(() -> eventService.updateEvent(event))
+                .isInstanceOf(EventNotFoundException.class);
+        assertThatThrownBy(() -> eventService.updateEvent(event, EventVersion.ANY))
+                .isInstanceOf(PreconditionFailedException.class);
+
+        when(repository.findVersionById("e1")).thenReturn(new EventVersion(3L, modified));
+        assertThatThrownBy(() -> eventService.updateEvent(event, new EventVersion(2L, modified)))
+                .isInstanceOf(PreconditionFailedException.class);
+        assertThatThrownBy(() -> eventService.updateEvent(event, new EventVersion(3L, modified.minusSeconds(1))))
+                .isInstanceOf(PreconditionFailedException.class);
+        verify(repository, never()).save(any(Event.class));
+
+        when(repository.save(event)).thenReturn(event);
+        eventService.updateEvent(event, new EventVersion(3L, modified));
+        assertThat(event.getVersion()).isEqualTo(3L);
+
+        EventVersion stale = new EventVersion(2L, modified);
+        when(repository.deleteIfMatches("e1", stale)).thenReturn(0L);
+        assertThatThrownBy(() -> eventService.deleteEvent("e1", stale))
+                .isInstanceOf(PreconditionFailedException.class);
+        when(repository.deleteIfMatches("e2", EventVersion.ANY)).thenReturn(0L);
+        assertThatThrownBy(() -> eventService.deleteEvent("e2", EventVersion.ANY))
+                .isInstanceOf(PreconditionFailedException.class);
+
+        // Ohne If-Match ist ein fehlendes Event ein No-op ohne Löschvermerk und Benachrichtigung
+        when(repository.deleteIfMatches("e3", null)).thenReturn(0L);
+        eventService.deleteEvent("e3");
+        verify(repository, never()).markDeleted(anyString(), any(Instant.class));
+        verify(publisher, never()).publishEvent(EventsChanged.deleted("e3"));
+    }
+
+    /**
+     * Testfall:
+     * Massenlöschung per Filter löscht die gelesenen IDs, die den Filter noch erfüllen, schreibt nur für
+     * tatsächlich gelöschte Events Löschvermerke und bricht bei leerem Filter oder zu vielen Treffern
+     * ohne Schreibzugriff ab.
+     */
+    @Test
+    void deleteByFilter_shouldRespectLimitsAndWriteTombstones() {
+        FilterDto filter = new FilterDto();
+        filter.setTag("Feiertag");
+        when(repository.findIdsByFilters(filter, 3)).thenReturn(List.of("a", "b"));
+        when(repository.removeAll(filter, List.of("a", "b"))).thenReturn(List.of("a"));
+
+        BulkChangeDto result = eventService.deleteByFilter(filter, false, 2);
+
+        assertThat(result.getMatched()).isEqualTo(2);
+        assertThat(result.getAffected()).isEqualTo(1);
+        verify(repository).markDeleted(eq(List.of("a")), any(Instant.class));
+
+        when(repository.findIdsByFilters(filter, 2)).thenReturn(List.of("a", "b"));
+        when(repository.countMatching(filter)).thenReturn(7L);
+        BulkChangeDto preview = eventService.deleteByFilter(filter, true, 1);
+        assertThat(preview.isDryRun()).isTrue();
+        assertThat(preview.getMatched()).isEqualTo(7);
+        assertThat(preview.getIds()).containsExactly("a");
+
+        assertThatThrownBy(() -> eventService.deleteByFilter(filter, false, 1))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> eventService.deleteByFilter(new FilterDto(), false, null))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> eventService.deleteByFilter(filter, false, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        verify(repository, times(1)).removeAll(any(), any());
+    }
 }
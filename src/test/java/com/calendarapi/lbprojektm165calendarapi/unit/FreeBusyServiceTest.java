@@ -0,0 +1,116 @@
+package com.calendarapi.lbprojektm165calendarapi.unit;
+
+import com.calendarapi.lbprojektm165calendarapi.cron.CronCache;
+import com.calendarapi.lbprojektm165calendarapi.dto.BusyIntervalDto;
+import com.calendarapi.lbprojektm165calendarapi.dto.ConflictDto;
+import com.calendarapi.lbprojektm165calendarapi.dto.FilterDto;
+import com.calendarapi.lbprojektm165calendarapi.dto.FreeBusyDto;
+import com.calendarapi.lbprojektm165calendarapi.model.Event;
+import com.calendarapi.lbprojektm165calendarapi.repository.EventRepository;
+import com.calendarapi.lbprojektm165calendarapi.repository.OccurrenceRepository;
+import com.calendarapi.lbprojektm165calendarapi.service.FreeBusyService;
+import com.calendarapi.lbprojektm165calendarapi.service.OccurrenceHorizon;
+import com.calendarapi.lbprojektm165calendarapi.service.OccurrenceService;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit-Testklasse für {@link FreeBusyService}.
+ * Prüft das Zusammenführen belegter Zeiträume und die Erkennung von Konflikten.
+ *
+ * @author Arvin
+ */
+class FreeBusyServiceTest {
+
+    private static final Instant FROM = Instant.parse("2025-07-07T00:00:00Z");
+    private static final Instant TO = Instant.parse("2025-07-08T00:00:00Z");
+
+    private final EventRepository repository = mock(EventRepository.class);
+
+    private final FreeBusyService service = new FreeBusyService(
+            new OccurrenceService(repository, mock(OccurrenceRepository.class), new OccurrenceHorizon(),
+                    new CronCache(16), 1000, Runnable::run, Integer.MAX_VALUE, 500),
+            Duration.ofDays(1));
+
+    private static Event event(String id, String tag, String start, String end) {
+        return Event.builder().id(id).title(id).tags(List.of(tag))
+                .start(Instant.parse(start)).end(Instant.parse(end)).build();
+    }
+
+    private static BusyIntervalDto busy(String start, String end) {
+        return new BusyIntervalDto(Instant.parse(start), Instant.parse(end));
+    }
+
+    private void givenEvents(String tag, Event... events) {
+        when(repository.findByFilters(argThat((FilterDto f) -> f != null && tag.equals(f.getTag()))))
+                .thenReturn(List.of(events));
+    }
+
+    /**
+     * Überschneidende und angrenzende Termine werden zu einem Zeitraum zusammengeführt;
+     * nur echte Überschneidungen sind Konflikte.
+     */
+    @Test
+    void compute_shouldMergeBusyAndReportConflicts() {
+        givenEvents("Anna",
+                event("a1", "Anna", "2025-07-07T09:00:00Z", "2025-07-07T10:00:00Z"),
+                event("a2", "Anna", "2025-07-07T10:00:00Z", "2025-07-07T11:00:00Z"),
+                event("a3", "Anna", "2025-07-07T14:00:00Z", "2025-07-07T15:00:00Z"));
+        givenEvents("Ben",
+                event("b1", "Ben", "2025-07-07T09:30:00Z", "2025-07-07T10:30:00Z"),
+                event("b2", "Ben", "2025-07-07T14:30:00Z", "2025-07-07T14:45:00Z"));
+
+        FreeBusyDto result = service.compute(List.of("Anna", "Ben"), FROM, TO);
+
+        assertThat(result.getOccurrences()).isEqualTo(5);
+        assertThat(result.getBusy()).containsExactly(
+                busy("2025-07-07T09:00:00Z", "2025-07-07T11:00:00Z"),
+                busy("2025-07-07T14:00:00Z", "2025-07-07T15:00:00Z"));
+        assertThat(result.getConflicts()).containsExactly(
+                new ConflictDto(Instant.parse("2025-07-07T09:30:00Z"), Instant.parse("2025-07-07T10:30:00Z"),
+                        2, List.of("a1", "b1", "a2")),
+                new ConflictDto(Instant.parse("2025-07-07T14:30:00Z"), Instant.parse("2025-07-07T14:45:00Z"),
+                        2, List.of("a3", "b2")));
+    }
+
+    /**
+     * Vorkommen wiederkehrender Events werden expandiert; vor dem Fenster begonnene Termine
+     * werden auf das Fenster zugeschnitten, Events mit mehreren Tags zählen nur einmal.
+     */
+    @Test
+    void compute_shouldExpandRecurrencesAndClipToWindow() {
+        Event daily = event("daily", "Anna", "2025-07-01T09:00:00Z", "2025-07-01T09:15:00Z");
+        daily.setCron("0 0 9 * * ?");
+        Event night = event("night", "Anna", "2025-07-06T22:00:00Z", "2025-07-07T02:00:00Z");
+        givenEvents("Anna", daily, night);
+        givenEvents("Team", daily);
+
+        FreeBusyDto result = service.compute(List.of("Anna", "Team"), FROM, TO);
+
+        assertThat(result.getBusy()).containsExactly(
+                busy("2025-07-07T00:00:00Z", "2025-07-07T02:00:00Z"),
+                busy("2025-07-07T09:00:00Z", "2025-07-07T09:15:00Z"));
+        assertThat(result.getConflicts()).isEmpty();
+    }
+
+    /**
+     * Ein leeres Fenster wird abgelehnt.
+     */
+    @Test
+    void compute_shouldRejectEmptyWindow() {
+        when(repository.findByFilters(any(FilterDto.class))).thenReturn(List.of());
+
+        assertThatThrownBy(() -> service.compute(List.of(), TO, FROM))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,145 @@
+package com.calendarapi.lbprojektm165calendarapi.unit;
+
+import com.calendarapi.lbprojektm165calendarapi.cron.CronCache;
+import com.calendarapi.lbprojektm165calendarapi.dto.FilterDto;
+import com.calendarapi.lbprojektm165calendarapi.dto.OccurrenceWindowDto;
+import com.calendarapi.lbprojektm165calendarapi.model.Event;
+import com.calendarapi.lbprojektm165calendarapi.model.Occurrence;
+import com.calendarapi.lbprojektm165calendarapi.repository.EventRepository;
+import com.calendarapi.lbprojektm165calendarapi.repository.OccurrenceRepository;
+import com.calendarapi.lbprojektm165calendarapi.service.EventsChanged;
+import com.calendarapi.lbprojektm165calendarapi.service.OccurrenceHorizon;
+import com.calendarapi.lbprojektm165calendarapi.service.OccurrenceMaterializer;
+import com.calendarapi.lbprojektm165calendarapi.service.OccurrenceService;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit-Testklasse für {@link OccurrenceMaterializer}.
+ * Prüft Neuaufbau, Einzel-Updates und das Lesen aus dem materialisierten Fenster.
+ *
+ * @author Arvin
+ */
+class OccurrenceMaterializerTest {
+
+    private final EventRepository eventRepository = mock(EventRepository.class);
+    private final OccurrenceRepository occurrenceRepository = mock(OccurrenceRepository.class);
+    private final OccurrenceHorizon horizon = new OccurrenceHorizon();
+    private final OccurrenceService occurrenceService = new OccurrenceService(eventRepository, occurrenceRepository,
+            horizon, new CronCache(16), 100, Runnable::run, Integer.MAX_VALUE, 500);
+
+    /** Fenster von 1 Tag zurück bis 10 Tage (+1 h Refresh) voraus, 100 Vorkommen pro Event. */
+    private final OccurrenceMaterializer materializer = new OccurrenceMaterializer(eventRepository,
+            occurrenceRepository, occurrenceService, horizon,
+            Duration.ofDays(10), Duration.ofDays(1), Duration.ofHours(1), 100, 1000);
+
+    /**
+     * Täglich um 12:00 UTC, beginnend am Vortag.
+     */
+    private static Event daily(String id) {
+        Instant yesterday = Instant.now().minus(1, ChronoUnit.DAYS).truncatedTo(ChronoUnit.DAYS);
+        return Event.builder().id(id).title(id).tags(List.of("Team"))
+                .start(yesterday).end(yesterday.plus(1, ChronoUnit.HOURS))
+                .cron("0 0 12 * * ?").build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Occurrence> inserted() {
+        ArgumentCaptor<List<Occurrence>> captor = ArgumentCaptor.forClass(List.class);
+        verify(occurrenceRepository, atLeastOnce()).insertAll(captor.capture());
+        List<Occurrence> all = new ArrayList<>();
+        captor.getAllValues().forEach(all::addAll);
+        return all;
+    }
+
+    /**
+     * Der Neuaufbau expandiert alle Events in das Fenster und veröffentlicht es.
+     */
+    @Test
+    void rebuild_shouldMaterializeAllEventsAndPublishWindow() {
+        when(eventRepository.streamByFilters(any(FilterDto.class)))
+                .thenReturn(Stream.of(daily("a"), daily("b")));
+
+        materializer.rebuild();
+
+        verify(occurrenceRepository).deleteAll();
+        List<Occurrence> occurrences = inserted();
+        assertThat(occurrences).extracting(Occurrence::getEventId).containsOnly("a", "b");
+        assertThat(occurrences).hasSizeBetween(2 * 10, 2 * 12);
+        assertThat(horizon.covers(Instant.now(), Instant.now().plus(10, ChronoUnit.DAYS))).isTrue();
+        assertThat(horizon.covers(Instant.now(), Instant.now().plus(12, ChronoUnit.DAYS))).isFalse();
+    }
+
+    /**
+     * Ein Update ersetzt nur die Vorkommen des geänderten Events mit dem gespeicherten Stand; ein Löschen
+     * entfernt sie. Eine verspätete Benachrichtigung für ein inzwischen gelöschtes Event stellt nichts wieder her.
+     */
+    @Test
+    void onEventsChanged_shouldRewriteOnlyAffectedEvent() {
+        when(eventRepository.streamByFilters(any(FilterDto.class))).thenReturn(Stream.of(daily("a")));
+        materializer.rebuild();
+        clearInvocations(occurrenceRepository);
+        Event stored = daily("b");
+        stored.setTitle("Neu");
+        when(eventRepository.findAllById(Set.of("b"))).thenReturn(List.of(stored));
+
+        materializer.onEventsChanged(EventsChanged.saved(List.of(daily("b"))));
+
+        verify(occurrenceRepository).deleteByEventIds(Set.of("b"));
+        assertThat(inserted()).isNotEmpty().extracting(Occurrence::getEventId, Occurrence::getTitle)
+                .containsOnly(tuple("b", "Neu"));
+
+        clearInvocations(occurrenceRepository);
+        when(eventRepository.findAllById(Set.of("a"))).thenReturn(List.of());
+        materializer.onEventsChanged(EventsChanged.saved(List.of(daily("a"))));
+        verify(occurrenceRepository).deleteByEventIds(Set.of("a"));
+        verify(occurrenceRepository).insertAll(List.of());
+
+        materializer.onEventsChanged(EventsChanged.deleted("a"));
+        verify(occurrenceRepository, times(2)).deleteByEventIds(Set.of("a"));
+        verify(eventRepository, times(1)).streamByFilters(any());
+    }
+
+    /**
+     * Liegt die Anfrage im Fenster, liest der {@link OccurrenceService} aus der Collection
+     * statt die Events zu expandieren; Anfragen mit Wochentag-Filter werden weiterhin expandiert.
+     */
+    @Test
+    void expand_shouldReadMaterializedWindow() {
+        when(eventRepository.streamByFilters(any(FilterDto.class))).thenReturn(Stream.of());
+        materializer.rebuild();
+        Instant from = Instant.now();
+        Instant to = from.plus(7, ChronoUnit.DAYS);
+        Occurrence row = Occurrence.builder().eventId("a").title("a").start(from).end(from).build();
+        when(occurrenceRepository.findInWindow(eq(from), eq(to), eq("Team"), any(), anyInt()))
+                .thenReturn(List.of(row, row, row));
+
+        FilterDto byTag = new FilterDto();
+        byTag.setTag("Team");
+        OccurrenceWindowDto window = occurrenceService.expand(byTag, from, to, 2);
+
+        assertThat(window.getCount()).isEqualTo(2);
+        assertThat(window.isTruncated()).isTrue();
+        verify(eventRepository, never()).findByFilters(any());
+
+        FilterDto byWeekday = new FilterDto();
+        byWeekday.setWeekday("MON");
+        occurrenceService.expand(byWeekday, from, to, 2);
+        verify(eventRepository).findByFilters(any());
+    }
+}
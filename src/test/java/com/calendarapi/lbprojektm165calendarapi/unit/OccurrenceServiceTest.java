@@ -0,0 +1,166 @@
+package com.calendarapi.lbprojektm165calendarapi.unit;
+
+import com.calendarapi.lbprojektm165calendarapi.cron.CronCache;
+import com.calendarapi.lbprojektm165calendarapi.dto.FilterDto;
+import com.calendarapi.lbprojektm165calendarapi.dto.OccurrenceDto;
+import com.calendarapi.lbprojektm165calendarapi.dto.OccurrenceWindowDto;
+import com.calendarapi.lbprojektm165calendarapi.model.Event;
+import com.calendarapi.lbprojektm165calendarapi.repository.EventRepository;
+import com.calendarapi.lbprojektm165calendarapi.repository.OccurrenceRepository;
+import com.calendarapi.lbprojektm165calendarapi.service.OccurrenceHorizon;
+import com.calendarapi.lbprojektm165calendarapi.service.OccurrenceService;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit-Testklasse für {@link OccurrenceService}.
+ * Prüft die Expansion von Cron-Patterns in konkrete Vorkommen sowie das Limit.
+ *
+ * @author Arvin
+ */
+class OccurrenceServiceTest {
+
+    /** Simuliertes Repository – liefert die zu expandierenden Events. */
+    private final EventRepository repository = mock(EventRepository.class);
+
+    /** Der getestete Service mit einem Limit von 100 Vorkommen. */
+    private final OccurrenceService service =
+            new OccurrenceService(repository, mock(OccurrenceRepository.class), new OccurrenceHorizon(),
+                    new CronCache(16), 100, Runnable::run, Integer.MAX_VALUE, 500);
+
+    /**
+     * Erstellt ein Event mit Start, Ende und Cron-Pattern.
+     */
+    private static Event event(String id, String start, String end, String cron) {
+        Event e = new Event();
+        e.setId(id);
+        e.setTitle(id);
+        e.setStart(Instant.parse(start));
+        e.setEnd(Instant.parse(end));
+        e.setCron(cron);
+        return e;
+    }
+
+    /**
+     * Der erste Montag im Monat wird für Juli bis September korrekt expandiert;
+     * die Dauer des Events wird auf jedes Vorkommen übertragen.
+     */
+    @Test
+    void expand_shouldComputeMonthlyOccurrences() {
+        Event sprint = event("sprint", "2025-07-01T09:00:00Z", "2025-07-01T10:00:00Z", "0 0 9 ? * MON#1");
+        when(repository.findByFilters(any(FilterDto.class))).thenReturn(List.of(sprint));
+
+        OccurrenceWindowDto window = service.expand(new FilterDto(),
+                Instant.parse("2025-07-01T00:00:00Z"), Instant.parse("2025-10-01T00:00:00Z"), null);
+
+        assertThat(window.isTruncated()).isFalse();
+        assertThat(window.getOccurrences())
+                .extracting(OccurrenceDto::getStart)
+                .containsExactly(
+                        Instant.parse("2025-07-07T09:00:00Z"),
+                        Instant.parse("2025-08-04T09:00:00Z"),
+                        Instant.parse("2025-09-01T09:00:00Z"));
+        assertThat(window.getOccurrences().get(0).getEnd()).isEqualTo(Instant.parse("2025-07-07T10:00:00Z"));
+    }
+
+    /**
+     * Vorkommen mehrerer Events werden global nach Startzeit sortiert;
+     * einmalige Events liefern genau ein Vorkommen.
+     */
+    @Test
+    void expand_shouldMergeSeriesAndSingleEvents() {
+        Event daily = event("daily", "2025-07-01T08:00:00Z", "2025-07-01T08:15:00Z", "0 0 8 * * ?");
+        Event single = event("single", "2025-07-02T07:00:00Z", "2025-07-02T09:00:00Z", null);
+        when(repository.findByFilters(any(FilterDto.class))).thenReturn(List.of(daily, single));
+
+        OccurrenceWindowDto window = service.expand(new FilterDto(),
+                Instant.parse("2025-07-01T00:00:00Z"), Instant.parse("2025-07-03T00:00:00Z"), null);
+
+        assertThat(window.getOccurrences())
+                .extracting(OccurrenceDto::getEventId)
+                .containsExactly("daily", "single", "daily");
+    }
+
+    /**
+     * Das Limit begrenzt die Anzahl Vorkommen und setzt {@code truncated}.
+     */
+    @Test
+    void expand_shouldCapOccurrences() {
+        Event minutely = event("minutely", "2025-01-01T00:00:00Z", "2025-01-01T00:00:30Z", "0 * * * * ?");
+        when(repository.findByFilters(any(FilterDto.class))).thenReturn(List.of(minutely));
+
+        OccurrenceWindowDto window = service.expand(new FilterDto(),
+                Instant.parse("2025-01-01T00:00:00Z"), Instant.parse("2026-01-01T00:00:00Z"), 500);
+
+        assertThat(window.getCount()).isEqualTo(100);
+        assertThat(window.isTruncated()).isTrue();
+    }
+
+    /**
+     * Es werden nur Events geladen, deren Serie vor dem Fensterende beginnt; der übergebene
+     * Filter (auch Cache-Schlüssel) bleibt dabei unverändert.
+     */
+    @Test
+    void expand_shouldRestrictQueryToWindowEnd() {
+        when(repository.findByFilters(any(FilterDto.class))).thenReturn(List.of());
+        FilterDto filter = FilterDto.of(null, null, "2025-01-01T00:00:00Z", null, "Team", null, null, null);
+        FilterDto before = filter.normalized();
+
+        service.expand(filter,
+                Instant.parse("2025-07-01T00:00:00Z"), Instant.parse("2025-08-01T00:00:00Z"), null);
+
+        ArgumentCaptor<FilterDto> captor = ArgumentCaptor.forClass(FilterDto.class);
+        verify(repository).findByFilters(captor.capture());
+        assertThat(captor.getValue().getTo()).isEqualTo(Instant.parse("2025-08-01T00:00:00Z"));
+        assertThat(captor.getValue().getFrom()).isNull();
+        assertThat(captor.getValue().getTag()).isEqualTo("Team");
+        assertThat(filter.normalized()).isEqualTo(before);
+        assertThat(filter.getFrom()).isEqualTo(Instant.parse("2025-01-01T00:00:00Z"));
+    }
+
+    /**
+     * Die partitionierte Expansion liefert dieselben Vorkommen (inklusive Limit und
+     * {@code truncated}) wie die sequentielle.
+     */
+    @Test
+    void expand_partitionedShouldMatchSequential() {
+        List<Event> events = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            events.add(event("e" + i, "2025-07-01T0" + i + ":00:00Z", "2025-07-01T0" + i + ":30:00Z",
+                    i % 3 == 0 ? null : "0 0 " + i + " ? * MON-FRI"));
+        }
+        when(repository.findByFilters(any(FilterDto.class))).thenReturn(events);
+        OccurrenceService partitioned = new OccurrenceService(repository, mock(OccurrenceRepository.class),
+                new OccurrenceHorizon(), new CronCache(16), 100, ForkJoinPool.commonPool(), 1, 2);
+        Instant from = Instant.parse("2025-07-01T00:00:00Z");
+
+        for (Integer limit : new Integer[]{null, 10}) {
+            Instant to = Instant.parse("2025-08-01T00:00:00Z");
+            OccurrenceWindowDto expected = service.expand(new FilterDto(), from, to, limit);
+            OccurrenceWindowDto actual = partitioned.expand(new FilterDto(), from, to, limit);
+
+            assertThat(actual.getOccurrences()).isEqualTo(expected.getOccurrences());
+            assertThat(actual.isTruncated()).isEqualTo(expected.isTruncated());
+        }
+    }
+
+    /**
+     * Ein leeres Fenster wird abgelehnt.
+     */
+    @Test
+    void expand_shouldRejectEmptyWindow() {
+        Instant t = Instant.parse("2025-07-01T00:00:00Z");
+        assertThatThrownBy(() -> service.expand(new FilterDto(), t, t, null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
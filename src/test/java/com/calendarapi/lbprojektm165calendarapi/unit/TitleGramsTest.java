@@ -0,0 +1,46 @@
+package com.calendarapi.lbprojektm165calendarapi.unit;
+
+import com.calendarapi.lbprojektm165calendarapi.model.Event;
+import com.calendarapi.lbprojektm165calendarapi.model.TitleGrams;
+import com.calendarapi.lbprojektm165calendarapi.repository.EventMaskCallback;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit-Testklasse für {@link TitleGrams}.
+ * Prüft, dass jeder Teilstring eines Titels nur Trigramme enthält, die auch im Titel vorkommen.
+ *
+ * @author Ricardo Cardoso
+ */
+class TitleGramsTest {
+
+    /**
+     * Trigramme werden kleingeschrieben, ohne Duplikate und sortiert geliefert.
+     */
+    @Test
+    void of_shouldReturnDistinctLowerCaseTrigrams() {
+        assertThat(TitleGrams.of("Daily Daily")).containsExactly(" da", "ail", "dai", "ily", "ly ", "y d");
+        assertThat(TitleGrams.of("Qa")).isEmpty();
+        assertThat(TitleGrams.of(null)).isEmpty();
+    }
+
+    /**
+     * Die Trigramme jedes Teilstrings (case-insensitive) sind im Index des Titels enthalten,
+     * die Vorfilterung verliert also keine Treffer.
+     */
+    @Test
+    void callback_shouldStoreGramsCoveringEverySubstring() {
+        Event event = Event.builder().title("Sprint-Planung Q3").build();
+        new EventMaskCallback().onBeforeConvert(event, "events");
+
+        String title = event.getTitle();
+        for (int from = 0; from < title.length(); from++) {
+            for (int to = from + 1; to <= title.length(); to++) {
+                String term = title.substring(from, to).toUpperCase();
+                assertThat(event.getTitleGrams()).as(term).containsAll(TitleGrams.of(term));
+            }
+        }
+        assertThat(event.getTitleGrams()).doesNotContainAnyElementsOf(TitleGrams.of("Review"));
+    }
+}